@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.DefaultBufferAllocators;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded, least recently used cache of compressed response bodies that can be shared by
+ * {@link HttpContentCompressor}s of many channels. When the same body is sent repeatedly, only the first response
+ * pays for the compression and later responses with an identical body are served from the cache.
+ * <p>
+ * Bodies are identified by the target content encoding, their length, their strong {@code ETag} and a
+ * {@code CRC32C} checksum. Only full responses with a strong {@code ETag} are cached, all other responses are
+ * always compressed on the fly.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class CompressedContentCache implements AutoCloseable {
+    // Rough estimation of the memory used by an entry in addition to its key and compressed body.
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final long maxBytes;
+    private final BufferAllocator allocator;
+    private final LinkedHashMap<String, Buffer> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new instance that stores the compressed bodies in buffers of
+     * {@link DefaultBufferAllocators#offHeapAllocator()}.
+     *
+     * @param maxBytes  the maximum estimated number of bytes used by the cached bodies.
+     */
+    public CompressedContentCache(long maxBytes) {
+        this(maxBytes, DefaultBufferAllocators.offHeapAllocator());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxBytes  the maximum estimated number of bytes used by the cached bodies.
+     * @param allocator the allocator of the buffers the compressed bodies are stored in.
+     */
+    public CompressedContentCache(long maxBytes, BufferAllocator allocator) {
+        this.maxBytes = checkPositive(maxBytes, "maxBytes");
+        this.allocator = requireNonNull(allocator, "allocator");
+    }
+
+    /**
+     * Returns the number of lookups that found a compressed body.
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a compressed body.
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of cached bodies.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the estimated number of bytes used by the cached bodies.
+     */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Removes all cached bodies.
+     */
+    public void invalidateAll() {
+        synchronized (this) {
+            for (Buffer body : entries.values()) {
+                body.close();
+            }
+            entries.clear();
+            usedBytes = 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        invalidateAll();
+    }
+
+    /**
+     * Returns the key that identifies the given body once compressed with the given content encoding, or
+     * {@code null} if the body can not be cached because it has no strong {@code ETag}.
+     *
+     * @param contentEncoding   the target content encoding.
+     * @param etag              the {@code ETag} of the response or {@code null} if none.
+     * @param content           the uncompressed body, its offsets are not modified.
+     */
+    static String key(String contentEncoding, CharSequence etag, Buffer content) {
+        if (etag == null || etag.length() == 0 || etag.charAt(0) != '"') {
+            // Without a strong ETag we would need a cryptographic digest of every body to identify it, which costs
+            // about as much as compressing it.
+            return null;
+        }
+        // A strong ETag identifies the representation byte-by-byte, but only within the resource it belongs to.
+        // The checksum guards against two resources that happen to use the same ETag.
+        CRC32C crc = new CRC32C();
+        try (var iteration = content.forEachReadable()) {
+            for (var c = iteration.first(); c != null; c = c.next()) {
+                if (c.hasReadableArray()) {
+                    crc.update(c.readableArray(), c.readableArrayOffset(), c.readableBytes());
+                } else {
+                    crc.update(c.readableBuffer());
+                }
+            }
+        }
+        return new StringBuilder(contentEncoding.length() + etag.length() + 32)
+                .append(contentEncoding).append(' ').append(content.readableBytes()).append(' ')
+                .append(Long.toHexString(crc.getValue())).append(' ').append(etag).toString();
+    }
+
+    /**
+     * Returns a read-only view of the compressed body stored for the given key, or {@code null} if there is none.
+     * The caller takes ownership of the returned {@link Buffer}.
+     */
+    Buffer get(String key) {
+        synchronized (this) {
+            Buffer body = entries.get(key);
+            if (body == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return body.copy(true);
+        }
+    }
+
+    /**
+     * Stores a copy of the readable bytes of the given compressed body for the given key. The offsets of the given
+     * {@link Buffer} are not modified.
+     */
+    void put(String key, Buffer compressed) {
+        int length = compressed.readableBytes();
+        long bytes = bytes(key, length);
+        if (bytes > maxBytes) {
+            return;
+        }
+        Buffer body = allocator.allocate(length);
+        compressed.copyInto(compressed.readerOffset(), body, 0, length);
+        body.skipWritableBytes(length);
+        body.makeReadOnly();
+        synchronized (this) {
+            Buffer old = entries.put(key, body);
+            if (old != null) {
+                usedBytes -= bytes(key, old.readableBytes());
+                old.close();
+            }
+            usedBytes += bytes;
+            Iterator<Map.Entry<String, Buffer>> it = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Buffer> eldest = it.next();
+                it.remove();
+                usedBytes -= bytes(eldest.getKey(), eldest.getValue().readableBytes());
+                eldest.getValue().close();
+            }
+        }
+    }
+
+    private static long bytes(String key, int length) {
+        return ENTRY_OVERHEAD + 2L * key.length() + length;
+    }
+}
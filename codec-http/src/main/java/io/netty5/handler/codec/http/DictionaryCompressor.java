@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.handler.codec.compression.CompressionException;
+import io.netty5.handler.codec.compression.Compressor;
+
+/**
+ * Prefixes the output of a {@link Compressor} that uses a dictionary with the header of the dictionary-compressed
+ * content encodings of <a href="https://www.rfc-editor.org/rfc/rfc9842">RFC 9842</a>: the magic number of the
+ * encoding followed by the {@code SHA-256} digest of the dictionary.
+ */
+final class DictionaryCompressor implements Compressor {
+    private static final byte[] DCB_MAGIC = { (byte) 0xff, 0x44, 0x43, 0x42 };
+    private static final byte[] DCZ_MAGIC = { 0x5e, 0x2a, 0x4d, 0x18, 0x20, 0x00, 0x00, 0x00 };
+
+    private final Compressor compressor;
+    private byte[] header;
+
+    private DictionaryCompressor(Compressor compressor, byte[] magic, byte[] sha256) {
+        this.compressor = compressor;
+        header = new byte[magic.length + sha256.length];
+        System.arraycopy(magic, 0, header, 0, magic.length);
+        System.arraycopy(sha256, 0, header, magic.length, sha256.length);
+    }
+
+    /**
+     * Wraps a brotli {@link Compressor} that uses the dictionary with the given digest for the {@code dcb} encoding.
+     */
+    static DictionaryCompressor dcb(Compressor compressor, byte[] sha256) {
+        return new DictionaryCompressor(compressor, DCB_MAGIC, sha256);
+    }
+
+    /**
+     * Wraps a zstd {@link Compressor} that uses the dictionary with the given digest for the {@code dcz} encoding.
+     */
+    static DictionaryCompressor dcz(Compressor compressor, byte[] sha256) {
+        return new DictionaryCompressor(compressor, DCZ_MAGIC, sha256);
+    }
+
+    @Override
+    public Buffer compress(Buffer input, BufferAllocator allocator) throws CompressionException {
+        return prependHeader(compressor.compress(input, allocator), allocator);
+    }
+
+    @Override
+    public Buffer finish(BufferAllocator allocator) throws CompressionException {
+        return prependHeader(compressor.finish(allocator), allocator);
+    }
+
+    private Buffer prependHeader(Buffer compressed, BufferAllocator allocator) {
+        byte[] header = this.header;
+        if (header == null || compressed.readableBytes() == 0 && !compressor.isFinished()) {
+            return compressed;
+        }
+        this.header = null;
+        try (compressed) {
+            return allocator.allocate(header.length + compressed.readableBytes())
+                    .writeBytes(header).writeBytes(compressed);
+        }
+    }
+
+    @Override
+    public boolean isFinished() {
+        return compressor.isFinished();
+    }
+
+    @Override
+    public boolean isClosed() {
+        return compressor.isClosed();
+    }
+
+    @Override
+    public void close() {
+        compressor.close();
+    }
+}
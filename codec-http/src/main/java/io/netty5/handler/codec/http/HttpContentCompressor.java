@@ -18,6 +18,7 @@ package io.netty5.handler.codec.http;
 import io.netty5.handler.codec.compression.Brotli;
 import io.netty5.handler.codec.compression.BrotliCompressor;
 import io.netty5.handler.codec.compression.BrotliOptions;
+import io.netty5.handler.codec.compression.CompressionDictionary;
 import io.netty5.handler.codec.compression.CompressionOptions;
 import io.netty5.handler.codec.compression.Compressor;
 import io.netty5.handler.codec.compression.DeflateOptions;
@@ -28,8 +29,12 @@ import io.netty5.handler.codec.compression.ZlibWrapper;
 import io.netty5.handler.codec.compression.Zstd;
 import io.netty5.handler.codec.compression.ZstdCompressor;
 import io.netty5.handler.codec.compression.ZstdOptions;
+import io.netty5.util.concurrent.EventExecutorGroup;
 import io.netty5.util.internal.ObjectUtil;
 
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -40,6 +45,15 @@ import java.util.function.Supplier;
  * If there is no matching encoding, no compression is done.  For more
  * information on how this handler modifies the message, please refer to
  * {@link HttpContentEncoder}.
+ * <p>
+ * Large bodies can be compressed outside the event loop and compressed bodies can be cached, see
+ * {@link #HttpContentCompressor(int, EventExecutorGroup, int, CompressedContentCache, CompressionOptions...)}.
+ * <p>
+ * Small bodies that are similar to a shared {@link CompressionDictionary} can be compressed with the
+ * {@code dcb} and {@code dcz} encodings of <a href="https://www.rfc-editor.org/rfc/rfc9842">Compression Dictionary
+ * Transport</a>, see
+ * {@link #HttpContentCompressor(int, EventExecutorGroup, int, CompressedContentCache, Collection,
+ * CompressionOptions...)}.
  */
 public class HttpContentCompressor extends HttpContentEncoder {
 
@@ -54,6 +68,8 @@ public class HttpContentCompressor extends HttpContentEncoder {
     private final int memLevel;
     private final int contentSizeThreshold;
     private final Map<String, Supplier<? extends Compressor>> factories;
+    // Keyed by the base64 encoded SHA-256 digest of the dictionary, as sent in the Available-Dictionary header.
+    private final Map<String, DictionaryEncodings> dictionaryEncodings;
 
     /**
      * Creates a new handler with the default compression level (<tt>6</tt>),
@@ -135,6 +151,7 @@ public class HttpContentCompressor extends HttpContentEncoder {
         deflateOptions = null;
         zstdOptions = null;
         factories = null;
+        dictionaryEncodings = Collections.emptyMap();
         supportsCompressionOptions = false;
     }
 
@@ -161,6 +178,76 @@ public class HttpContentCompressor extends HttpContentEncoder {
      *        if the default should be used.
      */
     public HttpContentCompressor(int contentSizeThreshold, CompressionOptions... compressionOptions) {
+        this(contentSizeThreshold, null, Integer.MAX_VALUE, null, compressionOptions);
+    }
+
+    /**
+     * Create a new {@link HttpContentCompressor} instance with specified
+     * {@link CompressionOptions}s that compresses large bodies on the given {@link EventExecutorGroup} and
+     * caches compressed bodies in the given {@link CompressedContentCache}.
+     *
+     * @param contentSizeThreshold
+     *        The response body is compressed when the size of the response
+     *        body exceeds the threshold. The value should be a non negative
+     *        number. {@code 0} will enable compression for all responses.
+     * @param compressionExecutor
+     *        The {@link EventExecutorGroup} that compresses the bodies of full
+     *        responses whose size is at least {@code offloadThreshold}, or
+     *        {@code null} to compress all bodies on the event loop.
+     * @param offloadThreshold
+     *        The minimum size of a body to compress it on the
+     *        {@code compressionExecutor}. The value should be a positive number.
+     * @param contentCache
+     *        The cache of compressed bodies of full responses, which may be
+     *        shared by many channels, or {@code null} to not cache them.
+     * @param compressionOptions {@link CompressionOptions} or {@code null}
+     *        if the default should be used.
+     */
+    public HttpContentCompressor(int contentSizeThreshold, EventExecutorGroup compressionExecutor,
+                                 int offloadThreshold, CompressedContentCache contentCache,
+                                 CompressionOptions... compressionOptions) {
+        this(contentSizeThreshold, compressionExecutor, offloadThreshold, contentCache,
+                Collections.emptyList(), compressionOptions);
+    }
+
+    /**
+     * Create a new {@link HttpContentCompressor} instance with specified
+     * {@link CompressionOptions}s that additionally compresses bodies with the given
+     * {@link CompressionDictionary}s if the client announces that it has one of them via the
+     * {@code "Available-Dictionary"} header and accepts the {@code dcb} (brotli) or {@code dcz} (zstd)
+     * encoding. Responses compressed this way carry a {@code "Vary: available-dictionary"} header.
+     * <p>
+     * How the clients obtain the dictionaries, for example via a {@code "Use-As-Dictionary"} response header, is
+     * up to the application.
+     *
+     * @param contentSizeThreshold
+     *        The response body is compressed when the size of the response
+     *        body exceeds the threshold. The value should be a non negative
+     *        number. {@code 0} will enable compression for all responses.
+     * @param compressionExecutor
+     *        The {@link EventExecutorGroup} that compresses the bodies of full
+     *        responses whose size is at least {@code offloadThreshold}, or
+     *        {@code null} to compress all bodies on the event loop.
+     * @param offloadThreshold
+     *        The minimum size of a body to compress it on the
+     *        {@code compressionExecutor}. The value should be a positive number.
+     * @param contentCache
+     *        The cache of compressed bodies of full responses, which may be
+     *        shared by many channels, or {@code null} to not cache them.
+     * @param dictionaries
+     *        The dictionaries that may be used. {@code dcz} is only used if zstd
+     *        and {@code dcb} is only used if brotli is enabled, and is preferred
+     *        only if the client prefers it. Brotli only makes use of the dictionary
+     *        with a quality of at least {@code 5}.
+     * @param compressionOptions {@link CompressionOptions} or {@code null}
+     *        if the default should be used.
+     */
+    public HttpContentCompressor(int contentSizeThreshold, EventExecutorGroup compressionExecutor,
+                                 int offloadThreshold, CompressedContentCache contentCache,
+                                 Collection<CompressionDictionary> dictionaries,
+                                 CompressionOptions... compressionOptions) {
+        super(compressionExecutor, offloadThreshold, contentCache);
+        ObjectUtil.deepCheckNotNull("dictionaries", dictionaries.toArray());
         this.contentSizeThreshold = ObjectUtil.checkPositiveOrZero(contentSizeThreshold, "contentSizeThreshold");
         BrotliOptions brotliOptions = null;
         GzipOptions gzipOptions = null;
@@ -219,6 +306,19 @@ public class HttpContentCompressor extends HttpContentEncoder {
                     zstdOptions.blockSize(), zstdOptions.maxEncodeSize()));
         }
 
+        dictionaryEncodings = new HashMap<>();
+        for (CompressionDictionary dictionary : dictionaries) {
+            Supplier<? extends Compressor> dcb = Brotli.isAvailable() && this.brotliOptions != null ?
+                    BrotliCompressor.newFactory(brotliOptions.parameters(), dictionary) : null;
+            Supplier<? extends Compressor> dcz = this.zstdOptions != null ?
+                    ZstdCompressor.newFactory(zstdOptions.compressionLevel(), zstdOptions.blockSize(),
+                            zstdOptions.maxEncodeSize(), dictionary) : null;
+            if (dcb != null || dcz != null) {
+                dictionaryEncodings.put(Base64.getEncoder().encodeToString(dictionary.sha256()),
+                        new DictionaryEncodings(dictionary, dcb, dcz));
+            }
+        }
+
         compressionLevel = -1;
         windowBits = -1;
         memLevel = -1;
@@ -242,6 +342,13 @@ public class HttpContentCompressor extends HttpContentEncoder {
         }
 
         if (supportsCompressionOptions) {
+            if (!dictionaryEncodings.isEmpty()) {
+                Result result = beginDictionaryEncode(httpResponse, acceptEncoding);
+                if (result != null) {
+                    return result;
+                }
+            }
+
             String targetContentEncoding = determineEncoding(acceptEncoding);
             if (targetContentEncoding == null) {
                 return null;
@@ -277,6 +384,62 @@ public class HttpContentCompressor extends HttpContentEncoder {
         }
     }
 
+    private Result beginDictionaryEncode(HttpResponse httpResponse, String acceptEncoding) {
+        float dcbQ = -1.0f;
+        float dczQ = -1.0f;
+        for (String encoding : acceptEncoding.split(",")) {
+            float q = 1.0f;
+            int equalsPos = encoding.indexOf('=');
+            if (equalsPos != -1) {
+                try {
+                    q = Float.parseFloat(encoding.substring(equalsPos + 1));
+                } catch (NumberFormatException e) {
+                    // Ignore encoding
+                    q = 0.0f;
+                }
+            }
+            int semicolonPos = encoding.indexOf(';');
+            String coding = (semicolonPos == -1 ? encoding : encoding.substring(0, semicolonPos)).trim();
+            if (HttpHeaderValues.DCB.contentEqualsIgnoreCase(coding) && q > dcbQ) {
+                dcbQ = q;
+            } else if (HttpHeaderValues.DCZ.contentEqualsIgnoreCase(coding) && q > dczQ) {
+                dczQ = q;
+            }
+        }
+        boolean dcb = dcbQ > 0.0f && brotliOptions != null && Brotli.isAvailable();
+        boolean dcz = dczQ > 0.0f && zstdOptions != null;
+        if (!dcb && !dcz) {
+            // The response does not depend on the Available-Dictionary header.
+            return null;
+        }
+        // Whether a dictionary is used depends on the request header, so caches must take it into account.
+        httpResponse.headers().add(HttpHeaderNames.VARY, HttpHeaderNames.AVAILABLE_DICTIONARY);
+
+        CharSequence availableDictionary = availableDictionary();
+        if (availableDictionary == null) {
+            return null;
+        }
+        // The header is a structured field byte sequence: the base64 encoded digest enclosed in colons.
+        String hash = availableDictionary.toString().trim();
+        if (hash.length() < 2 || hash.charAt(0) != ':' || hash.charAt(hash.length() - 1) != ':') {
+            return null;
+        }
+        DictionaryEncodings encodings = dictionaryEncodings.get(hash.substring(1, hash.length() - 1));
+        if (encodings == null) {
+            return null;
+        }
+        // Prefer dcz as brotli ignores the dictionary below quality 5, which is above its default quality.
+        if (encodings.dcz != null && dcz && (!dcb || encodings.dcb == null || dczQ >= dcbQ)) {
+            return new Result(HttpHeaderValues.DCZ.toString(), DictionaryCompressor.dcz(
+                    encodings.dcz.get(), encodings.sha256), encodings.dictionary);
+        }
+        if (encodings.dcb != null && dcb) {
+            return new Result(HttpHeaderValues.DCB.toString(), DictionaryCompressor.dcb(
+                    encodings.dcb.get(), encodings.sha256), encodings.dictionary);
+        }
+        return null;
+    }
+
     @SuppressWarnings("FloatingPointEquality")
     protected String determineEncoding(String acceptEncoding) {
         float starQ = -1.0f;
@@ -377,4 +540,19 @@ public class HttpContentCompressor extends HttpContentEncoder {
         }
         return null;
     }
+
+    private static final class DictionaryEncodings {
+        final CompressionDictionary dictionary;
+        final byte[] sha256;
+        final Supplier<? extends Compressor> dcb;
+        final Supplier<? extends Compressor> dcz;
+
+        DictionaryEncodings(CompressionDictionary dictionary, Supplier<? extends Compressor> dcb,
+                            Supplier<? extends Compressor> dcz) {
+            this.dictionary = dictionary;
+            sha256 = dictionary.sha256();
+            this.dcb = dcb;
+            this.dcz = dcz;
+        }
+    }
 }
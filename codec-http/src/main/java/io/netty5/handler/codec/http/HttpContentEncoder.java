@@ -19,16 +19,26 @@ import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.EncoderException;
 import io.netty5.handler.codec.MessageToMessageCodec;
+import io.netty5.handler.codec.compression.CompressionDictionary;
 import io.netty5.handler.codec.compression.Compressor;
 import io.netty5.util.Resource;
+import io.netty5.util.Send;
+import io.netty5.util.concurrent.EventExecutorGroup;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.Promise;
+import io.netty5.util.concurrent.PromiseCombiner;
 import io.netty5.util.internal.StringUtil;
 
+import java.nio.channels.ClosedChannelException;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
 
 import static io.netty5.handler.codec.http.HttpHeaderNames.ACCEPT_ENCODING;
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -52,6 +62,16 @@ import static java.util.Objects.requireNonNull;
  * This handler must be placed after {@link HttpObjectEncoder} in the pipeline
  * so that this handler can intercept HTTP responses before {@link HttpObjectEncoder}
  * converts them into {@link Buffer}s.
+ * <p>
+ * Compressing a large body can take long enough to stall all the other channels of the same event loop. When
+ * constructed with an {@link EventExecutorGroup}, full responses (that implement both {@link HttpResponse} and
+ * {@link LastHttpContent}) whose body is at least as large as the offload threshold are compressed on that group
+ * instead. Messages written while such a body is compressed are queued and written once it is done, so the order of
+ * the messages is preserved, and the queued bytes are reported via {@link #pendingOutboundBytes(ChannelHandlerContext)}
+ * so they count against the writability of the channel. Streamed responses are always compressed on the event loop.
+ * <p>
+ * When constructed with a {@link CompressedContentCache}, the compressed bodies of full responses are cached and
+ * reused for later responses with an identical body and content encoding.
  */
 public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpRequest, HttpObject> {
 
@@ -65,15 +85,236 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
     private static final CharSequence ZERO_LENGTH_CONNECT = "CONNECT";
     private static final int CONTINUE_CODE = HttpResponseStatus.CONTINUE.code();
 
+    private final EventExecutorGroup compressionExecutor;
+    private final int offloadThreshold;
+    private final CompressedContentCache contentCache;
     private final Queue<CharSequence> acceptEncodingQueue = new ArrayDeque<>();
+    // The Available-Dictionary header of each request, or the empty string if none.
+    private final Queue<CharSequence> availableDictionaryQueue = new ArrayDeque<>();
+    private CharSequence availableDictionary;
     private Compressor compressor;
     private State state = State.AWAIT_HEADERS;
 
+    // Writes that arrived while a body is compressed on the compressionExecutor.
+    private Queue<PendingWrite> pendingWrites;
+    private long pendingBytes;
+    private boolean offloading;
+    /**
+     * Set while a full response is written for which {@link #beginEncode(HttpResponse, String)} returned
+     * {@code null} already, when deciding whether to compress it on the compression executor.
+     */
+    private boolean encodeDeclined;
+    private boolean flushPending;
+
+    /**
+     * Creates a new instance that compresses all bodies on the event loop and does not cache compressed bodies.
+     */
+    protected HttpContentEncoder() {
+        compressionExecutor = null;
+        offloadThreshold = Integer.MAX_VALUE;
+        contentCache = null;
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param compressionExecutor   the {@link EventExecutorGroup} that compresses the bodies of full responses whose
+     *                              size is at least {@code offloadThreshold}, or {@code null} to compress all bodies
+     *                              on the event loop.
+     * @param offloadThreshold      the minimum size of a body to compress it on the {@code compressionExecutor}.
+     * @param contentCache          the cache of compressed bodies of full responses, or {@code null} to not cache
+     *                              them.
+     */
+    protected HttpContentEncoder(EventExecutorGroup compressionExecutor, int offloadThreshold,
+                                 CompressedContentCache contentCache) {
+        this.compressionExecutor = compressionExecutor;
+        this.offloadThreshold = checkPositive(offloadThreshold, "offloadThreshold");
+        this.contentCache = contentCache;
+    }
+
     @Override
     public boolean acceptOutboundMessage(Object msg) throws Exception {
         return msg instanceof HttpContent || msg instanceof HttpResponse;
     }
 
+    @Override
+    public Future<Void> write(ChannelHandlerContext ctx, Object msg) {
+        if (offloading) {
+            // Keep the order of the messages by queueing everything that is written while a body is compressed.
+            Promise<Void> promise = ctx.newPromise();
+            if (pendingWrites == null) {
+                pendingWrites = new ArrayDeque<>();
+            }
+            int size = size(msg);
+            pendingWrites.add(new PendingWrite(msg, size, promise));
+            pendingBytes += size;
+            return promise.asFuture();
+        }
+        if (compressionExecutor != null && state == State.AWAIT_HEADERS &&
+                msg instanceof HttpResponse && msg instanceof LastHttpContent &&
+                ((LastHttpContent<?>) msg).payload().readableBytes() >= offloadThreshold) {
+            HttpResponse res = (HttpResponse) msg;
+            int code = res.status().code();
+            CharSequence acceptEncoding = acceptEncodingQueue.peek();
+            if (code != CONTINUE_CODE && acceptEncoding != null &&
+                    !isPassthru(res.protocolVersion(), code, acceptEncoding)) {
+                final Result result;
+                try {
+                    availableDictionary = availableDictionaryQueue.peek();
+                    result = beginEncode(res, acceptEncoding.toString());
+                } catch (Throwable cause) {
+                    Resource.dispose(msg);
+                    return ctx.newFailedFuture(new EncoderException(
+                            "Unhandled exception in encoder " + getClass().getName(), cause));
+                }
+                if (result != null) {
+                    acceptEncodingQueue.poll();
+                    availableDictionaryQueue.poll();
+                    return offload(ctx, res, result);
+                }
+                // Don't call beginEncode(...) a second time, it may have modified the response already.
+                encodeDeclined = true;
+                try {
+                    return super.write(ctx, msg);
+                } finally {
+                    encodeDeclined = false;
+                }
+            }
+        }
+        return super.write(ctx, msg);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) {
+        if (offloading) {
+            // Flush again once the queued writes were written.
+            flushPending = true;
+        }
+        ctx.flush();
+    }
+
+    @Override
+    public long pendingOutboundBytes(ChannelHandlerContext ctx) {
+        // Once removed the bytes of a body that is still compressed do not count against the pipeline anymore.
+        return ctx.isRemoved() ? 0 : pendingBytes;
+    }
+
+    private Future<Void> offload(ChannelHandlerContext ctx, HttpResponse res, Result result) {
+        res.headers().set(HttpHeaderNames.CONTENT_ENCODING, result.targetContentEncoding());
+        String cacheVariant = contentCache == null ? null : cacheVariant(result);
+        HttpResponse newRes = new DefaultHttpResponse(res.protocolVersion(), res.status());
+        newRes.headers().set(res.headers());
+        LastHttpContent<?> content = (LastHttpContent<?>) res;
+        HttpHeaders trailers = content.trailingHeaders().copy();
+        CharSequence etag = newRes.headers().get(HttpHeaderNames.ETAG);
+        int size = content.payload().readableBytes();
+        Send<? extends LastHttpContent<?>> send = content.send();
+        Compressor compressor = result.contentCompressor();
+        BufferAllocator allocator = ctx.bufferAllocator();
+
+        offloading = true;
+        pendingBytes += size;
+        Promise<Void> promise = ctx.newPromise();
+        compressionExecutor.next().submit(() -> {
+            try (LastHttpContent<?> received = send.receive()) {
+                return compressFully(compressor, cacheVariant, etag, received.payload(), allocator).send();
+            }
+        }).addListener(future -> {
+            try {
+                ctx.executor().execute(() -> offloadComplete(ctx, newRes, trailers, size, future, promise));
+            } catch (Throwable cause) {
+                // The event loop was shut down already.
+                if (future.isSuccess()) {
+                    future.getNow().close();
+                }
+                promise.tryFailure(cause);
+            }
+        });
+        return promise.asFuture();
+    }
+
+    private void offloadComplete(ChannelHandlerContext ctx, HttpResponse newRes, HttpHeaders trailers, int size,
+                                 Future<? extends Send<Buffer>> future, Promise<Void> promise) {
+        offloading = false;
+        pendingBytes -= size;
+        if (future.isSuccess()) {
+            List<Object> out = new ArrayList<>(3);
+            out.add(newRes);
+            addEncodedContent(ctx.bufferAllocator(), newRes, future.getNow().receive(), trailers, out);
+            PromiseCombiner combiner = new PromiseCombiner(ctx.executor());
+            for (Object msg : out) {
+                combiner.add(ctx.write(msg));
+            }
+            combiner.finish(promise);
+        } else {
+            promise.setFailure(new EncoderException(
+                    "Unhandled exception in encoder " + getClass().getName(), future.cause()));
+        }
+
+        PendingWrite pending;
+        while (!offloading && pendingWrites != null && (pending = pendingWrites.poll()) != null) {
+            pendingBytes -= pending.size;
+            write(ctx, pending.msg).cascadeTo(pending.promise);
+        }
+        if (flushPending) {
+            flushPending = offloading;
+            ctx.flush();
+        }
+    }
+
+    private static String cacheVariant(Result result) {
+        CompressionDictionary dictionary = result.dictionary();
+        return dictionary == null ? result.targetContentEncoding() :
+                result.targetContentEncoding() + ':' + StringUtil.toHexString(dictionary.sha256());
+    }
+
+    private Buffer compressFully(Compressor compressor, String cacheVariant, CharSequence etag, Buffer content,
+                                 BufferAllocator allocator) {
+        String key = null;
+        try (compressor) {
+            if (contentCache != null) {
+                key = CompressedContentCache.key(cacheVariant, etag, content);
+                Buffer cached = key == null ? null : contentCache.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+            Buffer compressed = compressor.compress(content, allocator);
+            try (Buffer trailer = compressor.finish(allocator)) {
+                if (trailer.readableBytes() > 0) {
+                    compressed.ensureWritable(trailer.readableBytes(), trailer.readableBytes(), true);
+                    compressed.writeBytes(trailer);
+                }
+            } catch (Throwable cause) {
+                compressed.close();
+                throw cause;
+            }
+            if (key != null) {
+                contentCache.put(key, compressed);
+            }
+            return compressed;
+        }
+    }
+
+    private static void addEncodedContent(BufferAllocator allocator, HttpResponse newRes, Buffer encoded,
+                                          HttpHeaders trailers, List<Object> out) {
+        if (HttpUtil.isContentLengthSet(newRes)) {
+            HttpUtil.setContentLength(newRes, encoded.readableBytes());
+        } else {
+            newRes.headers().set(HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderValues.CHUNKED);
+        }
+        out.add(new DefaultHttpContent(encoded));
+        if (trailers.isEmpty()) {
+            out.add(new EmptyLastHttpContent(allocator));
+        } else {
+            out.add(new DefaultLastHttpContent(allocator.allocate(0), trailers));
+        }
+    }
+
+    private static int size(Object msg) {
+        return msg instanceof HttpContent ? ((HttpContent<?>) msg).payload().readableBytes() : 0;
+    }
+
     @Override
     protected void decode(ChannelHandlerContext ctx, HttpRequest msg) throws Exception {
         throw new UnsupportedOperationException("HttpContentEncoder use decodeAndClose().");
@@ -104,6 +345,8 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
         }
 
         acceptEncodingQueue.add(acceptEncoding);
+        CharSequence availableDictionary = msg.headers().get(HttpHeaderNames.AVAILABLE_DICTIONARY);
+        availableDictionaryQueue.add(availableDictionary == null ? StringUtil.EMPTY_STRING : availableDictionary);
         ctx.fireChannelRead(msg);
     }
 
@@ -130,6 +373,7 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
                     if (acceptEncoding == null) {
                         throw new IllegalStateException("cannot send more responses than requests");
                     }
+                    availableDictionary = availableDictionaryQueue.poll();
                 }
 
                 /*
@@ -164,7 +408,7 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
 
                 // Prepare to encode the content.
                 assert acceptEncoding != null;
-                final Result result = beginEncode(res, acceptEncoding.toString());
+                final Result result = encodeDeclined ? null : beginEncode(res, acceptEncoding.toString());
 
                 // If unable to encode, pass through.
                 if (result == null) {
@@ -191,7 +435,17 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
                     out.add(newRes);
 
                     ensureContent(res);
-                    encodeFullResponse(ctx, newRes, (HttpContent<?>) res, out);
+                    if (contentCache != null) {
+                        Compressor compressor = this.compressor;
+                        this.compressor = null;
+                        LastHttpContent<?> content = (LastHttpContent<?>) res;
+                        Buffer encoded = compressFully(compressor, cacheVariant(result),
+                                newRes.headers().get(HttpHeaderNames.ETAG), content.payload(),
+                                ctx.bufferAllocator());
+                        addEncodedContent(ctx.bufferAllocator(), newRes, encoded, content.trailingHeaders(), out);
+                    } else {
+                        encodeFullResponse(ctx, newRes, (HttpContent<?>) res, out);
+                    }
                     break;
                 } else {
                     // Make the response chunked to simplify content transformation.
@@ -312,6 +566,16 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
      */
     protected abstract Result beginEncode(HttpResponse httpResponse, String acceptEncoding) throws Exception;
 
+    /**
+     * Returns the value of the {@code "Available-Dictionary"} header of the request that is answered by the response
+     * passed to {@link #beginEncode(HttpResponse, String)}, or {@code null} if the request had none. Must only be
+     * called from {@link #beginEncode(HttpResponse, String)}.
+     */
+    protected final CharSequence availableDictionary() {
+        CharSequence availableDictionary = this.availableDictionary;
+        return availableDictionary == null || availableDictionary.length() == 0 ? null : availableDictionary;
+    }
+
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
         cleanupSafely(ctx);
@@ -335,8 +599,21 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
         }
     }
 
+    private void failPendingWrites() {
+        if (pendingWrites == null) {
+            return;
+        }
+        PendingWrite pending;
+        while ((pending = pendingWrites.poll()) != null) {
+            pendingBytes -= pending.size;
+            Resource.dispose(pending.msg);
+            pending.promise.tryFailure(new ClosedChannelException());
+        }
+    }
+
     private void cleanupSafely(ChannelHandlerContext ctx) {
         try {
+            failPendingWrites();
             cleanup();
         } catch (Throwable cause) {
             // If cleanup throws any error we need to propagate it through the pipeline
@@ -355,25 +632,54 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
     }
 
     private void finishEncode(BufferAllocator allocator, List<Object> out) {
-        Buffer trailer = compressor.finish(allocator);
+        Buffer trailer;
+        try (Compressor compressor = this.compressor) {
+            // Reset the compressor even if it finished without a trailer, so the next response starts fresh.
+            this.compressor = null;
+            trailer = compressor.finish(allocator);
+        }
         if (trailer.readableBytes() == 0) {
             trailer.close();
             return;
         }
         out.add(new DefaultHttpContent(trailer));
-        compressor = null;
+    }
+
+    private static final class PendingWrite {
+        final Object msg;
+        final int size;
+        final Promise<Void> promise;
+
+        PendingWrite(Object msg, int size, Promise<Void> promise) {
+            this.msg = msg;
+            this.size = size;
+            this.promise = promise;
+        }
     }
 
     public static final class Result {
         private final String targetContentEncoding;
         private final Compressor contentCompressor;
+        private final CompressionDictionary dictionary;
 
         public Result(String targetContentEncoding, Compressor contentCompressor) {
+            this(targetContentEncoding, contentCompressor, null);
+        }
+
+        /**
+         * Creates a new result for a content encoding that compresses with the given dictionary.
+         *
+         * @param targetContentEncoding the content encoding.
+         * @param contentCompressor     the compressor.
+         * @param dictionary            the dictionary the compressor uses, or {@code null} if none.
+         */
+        public Result(String targetContentEncoding, Compressor contentCompressor, CompressionDictionary dictionary) {
             requireNonNull(targetContentEncoding, "targetContentEncoding");
             requireNonNull(contentCompressor, "contentCompressor");
 
             this.targetContentEncoding = targetContentEncoding;
             this.contentCompressor = contentCompressor;
+            this.dictionary = dictionary;
         }
 
         public String targetContentEncoding() {
@@ -383,5 +689,12 @@ public abstract class HttpContentEncoder extends MessageToMessageCodec<HttpReque
         public Compressor contentCompressor() {
             return contentCompressor;
         }
+
+        /**
+         * Returns the dictionary the compressor uses, or {@code null} if none.
+         */
+        public CompressionDictionary dictionary() {
+            return dictionary;
+        }
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http;
+
+import io.netty5.handler.codec.DateFormatter;
+import io.netty5.util.AsciiString;
+import io.netty5.util.concurrent.FastThreadLocal;
+
+import java.util.Date;
+
+/**
+ * Provides the value of the {@link HttpHeaderNames#DATE} header for responses. The value is cached per thread, which
+ * for an event loop means per loop, and only formatted again once the second changes.
+ */
+public final class HttpDateCache {
+    private static final FastThreadLocal<HttpDateCache> CACHE = new FastThreadLocal<>() {
+        @Override
+        protected HttpDateCache initialValue() {
+            return new HttpDateCache();
+        }
+    };
+
+    private final Date date = new Date();
+    private final StringBuilder sb = new StringBuilder(29);
+    private long second = Long.MIN_VALUE;
+    private AsciiString value;
+
+    HttpDateCache() { }
+
+    /**
+     * Returns the current time formatted as
+     * <a href="https://tools.ietf.org/html/rfc7231#section-7.1.1.1">IMF-fixdate</a>. Calls within the same second
+     * return the same instance.
+     */
+    public static AsciiString currentDate() {
+        return CACHE.get().date(System.currentTimeMillis());
+    }
+
+    AsciiString date(long millis) {
+        long second = Math.floorDiv(millis, 1000);
+        if (second != this.second) {
+            this.second = second;
+            date.setTime(second * 1000);
+            sb.setLength(0);
+            value = new AsciiString(DateFormatter.append(date, sb));
+        }
+        return value;
+    }
+}
@@ -110,6 +110,10 @@ public final class HttpHeaderNames {
      * {@code "authorization"}
      */
     public static final AsciiString AUTHORIZATION = AsciiString.cached("authorization");
+    /**
+     * {@code "available-dictionary"}
+     */
+    public static final AsciiString AVAILABLE_DICTIONARY = AsciiString.cached("available-dictionary");
     /**
      * {@code "cache-control"}
      */
@@ -326,6 +330,10 @@ public final class HttpHeaderNames {
      * {@code "upgrade-insecure-requests"}
      */
     public static final AsciiString UPGRADE_INSECURE_REQUESTS = AsciiString.cached("upgrade-insecure-requests");
+    /**
+     * {@code "use-as-dictionary"}
+     */
+    public static final AsciiString USE_AS_DICTIONARY = AsciiString.cached("use-as-dictionary");
     /**
      * {@code "user-agent"}
      */
@@ -123,6 +123,16 @@ public final class HttpHeaderValues {
      * {@code "zstd"}
      */
     public static final AsciiString ZSTD = AsciiString.cached("zstd");
+    /**
+     * {@code "dcb"}, brotli compressed with a dictionary, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9842">Compression Dictionary Transport</a>.
+     */
+    public static final AsciiString DCB = AsciiString.cached("dcb");
+    /**
+     * {@code "dcz"}, zstd compressed with a dictionary, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9842">Compression Dictionary Transport</a>.
+     */
+    public static final AsciiString DCZ = AsciiString.cached("dcz");
     /**
      * {@code "gzip,deflate"}
      */
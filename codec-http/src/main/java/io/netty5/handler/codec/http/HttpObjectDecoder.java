@@ -23,11 +23,16 @@ import io.netty5.handler.codec.ByteToMessageDecoder;
 import io.netty5.handler.codec.DecoderResult;
 import io.netty5.handler.codec.PrematureChannelClosureException;
 import io.netty5.handler.codec.TooLongFrameException;
+import io.netty5.util.AsciiString;
 import io.netty5.util.ByteProcessor;
 import io.netty5.util.internal.AppendableCharSequence;
+import io.netty5.util.internal.EmptyArrays;
+import io.netty5.util.internal.PlatformDependent;
 
 import java.util.List;
 
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
 import static io.netty5.util.internal.ObjectUtil.checkPositive;
 
 /**
@@ -68,6 +73,15 @@ import static io.netty5.util.internal.ObjectUtil.checkPositive;
  *     The duplicated field-values will be replaced with a single valid Content-Length field.
  *     See <a href="https://tools.ietf.org/html/rfc7230#section-3.3.2">RFC 7230, Section 3.3.2</a>.</td>
  * </tr>
+ * <tr>
+ * <td>{@code zeroCopyHeaders}</td>
+ * <td>{@value #DEFAULT_ZERO_COPY_HEADERS}</td>
+ * <td>When set to {@code true}, the header lines of a message are copied into a shared {@code byte[]} block and the
+ *     header names and values are {@link AsciiString} views into it, instead of a {@link String} per name and value.
+ *     Well-known names are replaced by the matching {@link HttpHeaderNames} constant, so they are reported in lower
+ *     case. A block is shared by consecutive messages and is retained as long as any of their headers is
+ *     referenced.</td>
+ * </tr>
  * </table>
  *
  * <h3>Chunked Content</h3>
@@ -118,6 +132,7 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
     public static final boolean DEFAULT_VALIDATE_HEADERS = true;
     public static final int DEFAULT_INITIAL_BUFFER_SIZE = 128;
     public static final boolean DEFAULT_ALLOW_DUPLICATE_CONTENT_LENGTHS = false;
+    public static final boolean DEFAULT_ZERO_COPY_HEADERS = false;
 
     private static final String EMPTY_VALUE = "";
 
@@ -126,13 +141,14 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
     private final boolean allowDuplicateContentLengths;
     private final HeaderParser headerParser;
     private final LineParser lineParser;
+    private final HeaderBlockParser headerBlockParser;
 
     private HttpMessage message;
     private long chunkSize;
     private long contentLength = Long.MIN_VALUE;
     private volatile boolean resetRequested;
 
-    // These will be updated by splitHeader(...)
+    // These will be updated by splitHeader(...) and splitHeaderLine(...)
     private CharSequence name;
     private CharSequence value;
 
@@ -198,11 +214,20 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
             int maxInitialLineLength, int maxHeaderSize,
             boolean chunkedSupported, boolean validateHeaders, int initialBufferSize,
             boolean allowDuplicateContentLengths) {
+        this(maxInitialLineLength, maxHeaderSize, chunkedSupported, validateHeaders, initialBufferSize,
+             allowDuplicateContentLengths, DEFAULT_ZERO_COPY_HEADERS);
+    }
+
+    protected HttpObjectDecoder(
+            int maxInitialLineLength, int maxHeaderSize,
+            boolean chunkedSupported, boolean validateHeaders, int initialBufferSize,
+            boolean allowDuplicateContentLengths, boolean zeroCopyHeaders) {
         checkPositive(maxInitialLineLength, "maxInitialLineLength");
         checkPositive(maxHeaderSize, "maxHeaderSize");
         AppendableCharSequence seq = new AppendableCharSequence(initialBufferSize);
         lineParser = new LineParser(seq, maxInitialLineLength);
         headerParser = new HeaderParser(seq, maxHeaderSize);
+        headerBlockParser = zeroCopyHeaders ? new HeaderBlockParser(maxHeaderSize, initialBufferSize) : null;
         this.chunkedSupported = chunkedSupported;
         this.validateHeaders = validateHeaders;
         this.allowDuplicateContentLengths = allowDuplicateContentLengths;
@@ -521,6 +546,9 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
         contentLength = Long.MIN_VALUE;
         lineParser.reset();
         headerParser.reset();
+        if (headerBlockParser != null) {
+            headerBlockParser.reset();
+        }
         trailer = null;
         if (!isDecodingRequest()) {
             HttpResponse res = (HttpResponse) message;
@@ -569,31 +597,16 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
         final HttpMessage message = this.message;
         final HttpHeaders headers = message.headers();
 
-        AppendableCharSequence line = headerParser.parse(buffer);
-        if (line == null) {
-            return null;
-        }
-        if (line.length() > 0) {
-            do {
-                char firstChar = line.charAtUnsafe(0);
-                if (name != null && (firstChar == ' ' || firstChar == '\t')) {
-                    //please do not make one line from below code
-                    //as it breaks +XX:OptimizeStringConcat optimization
-                    String trimmedLine = line.toString().trim();
-                    String valueStr = String.valueOf(value);
-                    value = valueStr + ' ' + trimmedLine;
-                } else {
-                    if (name != null) {
-                        headers.add(name, value);
-                    }
-                    splitHeader(line);
-                }
-
-                line = headerParser.parse(buffer);
-                if (line == null) {
-                    return null;
-                }
-            } while (line.length() > 0);
+        if (headerBlockParser == null) {
+            if (!readHeaderLines(buffer, headers)) {
+                return null;
+            }
+        } else {
+            if (!readHeaderBlock(buffer, headers)) {
+                return null;
+            }
+            // Trailers are parsed by the headerParser and count against the same limit.
+            headerParser.size = headerBlockParser.size;
         }
 
         // Add the last header.
@@ -638,6 +651,57 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
         }
     }
 
+    private boolean readHeaderLines(Buffer buffer, HttpHeaders headers) {
+        AppendableCharSequence line = headerParser.parse(buffer);
+        if (line == null) {
+            return false;
+        }
+        while (line.length() > 0) {
+            char firstChar = line.charAtUnsafe(0);
+            if (name != null && (firstChar == ' ' || firstChar == '\t')) {
+                //please do not make one line from below code
+                //as it breaks +XX:OptimizeStringConcat optimization
+                String trimmedLine = line.toString().trim();
+                String valueStr = String.valueOf(value);
+                value = valueStr + ' ' + trimmedLine;
+            } else {
+                if (name != null) {
+                    headers.add(name, value);
+                }
+                splitHeader(line);
+            }
+
+            line = headerParser.parse(buffer);
+            if (line == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean readHeaderBlock(Buffer buffer, HttpHeaders headers) {
+        final HeaderBlockParser parser = headerBlockParser;
+        int length;
+        while ((length = parser.parse(buffer)) > 0) {
+            byte[] block = parser.block;
+            int start = parser.lineStart;
+            byte firstByte = block[start];
+            if (name != null && (firstByte == ' ' || firstByte == '\t')) {
+                //please do not make one line from below code
+                //as it breaks +XX:OptimizeStringConcat optimization
+                String trimmedLine = new String(block, start, length, ISO_8859_1).trim();
+                String valueStr = String.valueOf(value);
+                value = valueStr + ' ' + trimmedLine;
+            } else {
+                if (name != null) {
+                    headers.add(name, value);
+                }
+                splitHeaderLine(block, start, start + length);
+            }
+        }
+        return length == 0;
+    }
+
     /**
      * Invoked when a message with both a "Transfer-Encoding: chunked" and a "Content-Length" header field is detected.
      * The default behavior is to <i>remove</i> the Content-Length field, but this method could be overridden
@@ -814,6 +878,50 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
         }
     }
 
+    /**
+     * Same as {@link #splitHeader(AppendableCharSequence)} but for a line in a {@link HeaderBlockParser} block, which
+     * produces {@link AsciiString} views instead of copies.
+     */
+    private void splitHeaderLine(byte[] block, int start, int end) {
+        int nameStart;
+        int nameEnd;
+        int colonEnd;
+        int valueStart;
+
+        nameStart = findNonWhitespace(block, start, end);
+        for (nameEnd = nameStart; nameEnd < end; nameEnd ++) {
+            byte b = block[nameEnd];
+            // See splitHeader(...) for why whitespace before the colon is only skipped when decoding a response.
+            if (b == ':' || (!isDecodingRequest() && isOWS((char) b))) {
+                break;
+            }
+        }
+
+        if (nameEnd == end) {
+            // There was no colon present at all.
+            throw new IllegalArgumentException("No colon found");
+        }
+
+        for (colonEnd = nameEnd; colonEnd < end; colonEnd ++) {
+            if (block[colonEnd] == ':') {
+                colonEnd ++;
+                break;
+            }
+        }
+
+        name = WellKnownHeaderNames.find(block, nameStart, nameEnd - nameStart);
+        if (name == null) {
+            name = new AsciiString(block, nameStart, nameEnd - nameStart, false);
+        }
+        valueStart = findNonWhitespace(block, colonEnd, end);
+        if (valueStart == end) {
+            value = EMPTY_VALUE;
+        } else {
+            int valueEnd = findEndOfString(block, start, end);
+            value = new AsciiString(block, valueStart, valueEnd - valueStart, false);
+        }
+    }
+
     private static int findNonSPLenient(AppendableCharSequence sb, int offset) {
         for (int result = offset; result < sb.length(); ++result) {
             char c = sb.charAtUnsafe(result);
@@ -867,6 +975,29 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
         return 0;
     }
 
+    private static int findNonWhitespace(byte[] block, int offset, int end) {
+        for (int result = offset; result < end; ++result) {
+            char c = (char) (block[result] & 0xFF);
+            if (!Character.isWhitespace(c)) {
+                return result;
+            } else if (!isOWS(c)) {
+                // Only OWS is supported for whitespace
+                throw new IllegalArgumentException("Invalid separator, only a single space or horizontal tab allowed," +
+                        " but received a '" + c + "' (0x" + Integer.toHexString(c) + ")");
+            }
+        }
+        return end;
+    }
+
+    private static int findEndOfString(byte[] block, int start, int end) {
+        for (int result = end - 1; result > start; --result) {
+            if (!Character.isWhitespace((char) (block[result] & 0xFF))) {
+                return result + 1;
+            }
+        }
+        return start;
+    }
+
     private static boolean isOWS(char ch) {
         return ch == ' ' || ch == (char) 0x09;
     }
@@ -962,4 +1093,171 @@ public abstract class HttpObjectDecoder extends ByteToMessageDecoder {
             return new TooLongHttpLineException("An HTTP line is larger than " + maxLength + " bytes.");
         }
     }
+
+    /**
+     * Copies header lines, without their line delimiter, into a {@code byte[]} block so that names and values can be
+     * exposed as {@link AsciiString} views. The block is only replaced once a line does not fit anymore and is never
+     * written twice, so views handed out for previous messages stay valid.
+     */
+    private static final class HeaderBlockParser {
+        private final int maxLength;
+        private final int initialBlockSize;
+        byte[] block = EmptyArrays.EMPTY_BYTES;
+        int lineStart;
+        int size;
+        private int blockIndex;
+
+        HeaderBlockParser(int maxLength, int initialBlockSize) {
+            this.maxLength = maxLength;
+            this.initialBlockSize = initialBlockSize;
+        }
+
+        /**
+         * Copies the next line into the {@link #block}, starting at {@link #lineStart}, and returns its length or
+         * {@code -1} if the buffer does not contain a complete line yet.
+         */
+        int parse(Buffer buffer) {
+            int length = buffer.bytesBefore(HttpConstants.LF);
+            if (length == -1) {
+                if (size + buffer.readableBytes() > maxLength) {
+                    throw newException(maxLength);
+                }
+                return -1;
+            }
+            if (size + length > maxLength) {
+                throw newException(maxLength);
+            }
+            int readerOffset = buffer.readerOffset();
+            int lineLength = length;
+            // Drop CR if we had a CRLF pair
+            if (lineLength > 0 && buffer.getByte(readerOffset + lineLength - 1) == HttpConstants.CR) {
+                lineLength--;
+            }
+            if (block.length - blockIndex < lineLength) {
+                // Size the new block for the remaining header section of this message, and possibly the following
+                // ones, so that a whole header section is usually copied into a single block.
+                int blockSize = Math.min(maxLength, Math.max(initialBlockSize, buffer.readableBytes()));
+                block = new byte[Math.max(lineLength, blockSize)];
+                blockIndex = 0;
+            }
+            buffer.copyInto(readerOffset, block, blockIndex, lineLength);
+            buffer.skipReadableBytes(length + 1);
+            lineStart = blockIndex;
+            blockIndex += lineLength;
+            size += lineLength;
+            return lineLength;
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        private static TooLongFrameException newException(int maxLength) {
+            return new TooLongHttpHeaderException("HTTP header is larger than " + maxLength + " bytes.");
+        }
+    }
+
+    /**
+     * Case-insensitive lookup of the {@link HttpHeaderNames} that are commonly seen on the wire, so that they are
+     * shared instead of being allocated per message.
+     */
+    private static final class WellKnownHeaderNames {
+        // HttpHeaderNames.KEEP_ALIVE is deprecated as a header to send, but it is still common to receive it.
+        private static final AsciiString KEEP_ALIVE = AsciiString.cached("keep-alive");
+        private static final AsciiString[] NAMES = {
+                HttpHeaderNames.ACCEPT,
+                HttpHeaderNames.ACCEPT_CHARSET,
+                HttpHeaderNames.ACCEPT_ENCODING,
+                HttpHeaderNames.ACCEPT_LANGUAGE,
+                HttpHeaderNames.ACCEPT_RANGES,
+                HttpHeaderNames.ACCESS_CONTROL_ALLOW_ORIGIN,
+                HttpHeaderNames.AGE,
+                HttpHeaderNames.AUTHORIZATION,
+                HttpHeaderNames.CACHE_CONTROL,
+                HttpHeaderNames.CONNECTION,
+                HttpHeaderNames.CONTENT_DISPOSITION,
+                HttpHeaderNames.CONTENT_ENCODING,
+                HttpHeaderNames.CONTENT_LANGUAGE,
+                HttpHeaderNames.CONTENT_LENGTH,
+                HttpHeaderNames.CONTENT_RANGE,
+                HttpHeaderNames.CONTENT_TYPE,
+                HttpHeaderNames.COOKIE,
+                HttpHeaderNames.DATE,
+                HttpHeaderNames.ETAG,
+                HttpHeaderNames.EXPECT,
+                HttpHeaderNames.EXPIRES,
+                HttpHeaderNames.HOST,
+                HttpHeaderNames.IF_MATCH,
+                HttpHeaderNames.IF_MODIFIED_SINCE,
+                HttpHeaderNames.IF_NONE_MATCH,
+                HttpHeaderNames.IF_RANGE,
+                KEEP_ALIVE,
+                HttpHeaderNames.LAST_MODIFIED,
+                HttpHeaderNames.LOCATION,
+                HttpHeaderNames.ORIGIN,
+                HttpHeaderNames.PRAGMA,
+                HttpHeaderNames.RANGE,
+                HttpHeaderNames.REFERER,
+                HttpHeaderNames.SERVER,
+                HttpHeaderNames.SET_COOKIE,
+                HttpHeaderNames.TE,
+                HttpHeaderNames.TRAILER,
+                HttpHeaderNames.TRANSFER_ENCODING,
+                HttpHeaderNames.UPGRADE,
+                HttpHeaderNames.USER_AGENT,
+                HttpHeaderNames.VARY,
+                HttpHeaderNames.VIA,
+                HttpHeaderNames.WWW_AUTHENTICATE,
+                HttpHeaderNames.X_REQUESTED_WITH,
+        };
+        // Open addressing with linear probing, kept at most half full.
+        private static final AsciiString[] TABLE = new AsciiString[128];
+        private static final int MASK = TABLE.length - 1;
+
+        static {
+            for (AsciiString name : NAMES) {
+                int index = name.hashCode() & MASK;
+                while (TABLE[index] != null) {
+                    index = index + 1 & MASK;
+                }
+                TABLE[index] = name;
+            }
+        }
+
+        private WellKnownHeaderNames() { }
+
+        /**
+         * Returns the well-known name that equals the given bytes, ignoring case, or {@code null} if there is none.
+         */
+        static AsciiString find(byte[] bytes, int start, int length) {
+            int index = PlatformDependent.hashCodeAscii(bytes, start, length) & MASK;
+            for (;;) {
+                AsciiString candidate = TABLE[index];
+                if (candidate == null) {
+                    return null;
+                }
+                if (equalsIgnoreCase(candidate, bytes, start, length)) {
+                    return candidate;
+                }
+                index = index + 1 & MASK;
+            }
+        }
+
+        private static boolean equalsIgnoreCase(AsciiString name, byte[] bytes, int start, int length) {
+            if (name.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                byte b = bytes[start + i];
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                }
+                // Well-known names are lower case already.
+                if (b != name.byteAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
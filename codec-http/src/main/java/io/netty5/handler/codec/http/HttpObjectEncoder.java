@@ -92,13 +92,20 @@ public abstract class HttpObjectEncoder<H extends HttpMessage> extends MessageTo
 
             buf = ctx.bufferAllocator().allocate((int) headersEncodedSizeAccumulator);
             // Encode the message.
-            encodeInitialLine(buf, m);
+            final HttpResponseTemplate template = HttpResponseTemplate.templateOf(m);
+            if (template == null) {
+                encodeInitialLine(buf, m);
+            }
             state = isContentAlwaysEmpty(m) ? ST_CONTENT_ALWAYS_EMPTY :
                     HttpUtil.isTransferEncodingChunked(m) ? ST_CONTENT_CHUNK : ST_CONTENT_NON_CHUNK;
 
             sanitizeHeadersBeforeEncode(m, state == ST_CONTENT_ALWAYS_EMPTY);
 
-            encodeHeaders(m.headers(), buf);
+            if (template == null) {
+                encodeHeaders(m.headers(), buf);
+            } else {
+                encodeTemplatedHeaders(template, m, buf);
+            }
             buf.writeShort(CRLF_SHORT);
 
             headersEncodedSizeAccumulator = HEADERS_WEIGHT_NEW * padSizeForAccumulation(buf.readableBytes()) +
@@ -187,6 +194,21 @@ public abstract class HttpObjectEncoder<H extends HttpMessage> extends MessageTo
         }
     }
 
+    private void encodeTemplatedHeaders(HttpResponseTemplate template, H m, Buffer buf) throws Exception {
+        Iterator<Entry<CharSequence, CharSequence>> iter = m.headers().iteratorCharSequence();
+        if (template.matches((HttpResponse) m, iter)) {
+            // Copy the pre-encoded status line and headers of the template and only encode what was added.
+            template.encode(buf);
+            while (iter.hasNext()) {
+                Entry<CharSequence, CharSequence> header = iter.next();
+                HttpHeadersEncoder.encoderHeader(header.getKey(), header.getValue(), buf);
+            }
+        } else {
+            encodeInitialLine(buf, m);
+            encodeHeaders(m.headers(), buf);
+        }
+    }
+
     private void encodeChunkedContent(ChannelHandlerContext ctx, Object msg, long contentLength, List<Object> out) {
         if (contentLength > 0) {
             String lengthHex = Long.toHexString(contentLength);
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http;
+
+import io.netty5.util.Resource;
+import io.netty5.util.Send;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link FullHttpRequest} that was tagged with its position on the connection by {@link HttpPipeliningHandler}.
+ * The response to it must be written as the {@link HttpPipelinedResponse} returned by
+ * {@link #response(FullHttpResponse)}, which may happen in any order relative to the other requests.
+ */
+public final class HttpPipelinedRequest implements Resource<HttpPipelinedRequest> {
+    private final long sequence;
+    private final FullHttpRequest request;
+
+    HttpPipelinedRequest(long sequence, FullHttpRequest request) {
+        this.sequence = sequence;
+        this.request = request;
+    }
+
+    /**
+     * The position of this request on the connection, starting at {@code 0}.
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * The request that was received.
+     */
+    public FullHttpRequest request() {
+        return request;
+    }
+
+    /**
+     * Creates the {@link HttpPipelinedResponse} that answers this request.
+     */
+    public HttpPipelinedResponse response(FullHttpResponse response) {
+        return new HttpPipelinedResponse(sequence, requireNonNull(response, "response"));
+    }
+
+    @Override
+    public Send<HttpPipelinedRequest> send() {
+        return request.send().map(HttpPipelinedRequest.class, req -> new HttpPipelinedRequest(sequence, req));
+    }
+
+    @Override
+    public void close() {
+        request.close();
+    }
+
+    @Override
+    public boolean isAccessible() {
+        return request.isAccessible();
+    }
+
+    @Override
+    public HttpPipelinedRequest touch(Object hint) {
+        request.touch(hint);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpPipelinedRequest [sequence=" + sequence + ", request=" + request + ']';
+    }
+}
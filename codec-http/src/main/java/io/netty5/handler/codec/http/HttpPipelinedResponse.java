@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http;
+
+import io.netty5.util.Resource;
+import io.netty5.util.Send;
+
+/**
+ * The response to a {@link HttpPipelinedRequest}, created via {@link HttpPipelinedRequest#response(FullHttpResponse)}.
+ * {@link HttpPipeliningHandler} holds it back until the responses to all earlier requests were written.
+ */
+public final class HttpPipelinedResponse implements Resource<HttpPipelinedResponse> {
+    private final long sequence;
+    private final FullHttpResponse response;
+
+    HttpPipelinedResponse(long sequence, FullHttpResponse response) {
+        this.sequence = sequence;
+        this.response = response;
+    }
+
+    /**
+     * The {@link HttpPipelinedRequest#sequence() sequence} of the request this response answers.
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * The response to write.
+     */
+    public FullHttpResponse response() {
+        return response;
+    }
+
+    @Override
+    public Send<HttpPipelinedResponse> send() {
+        return response.send().map(HttpPipelinedResponse.class, res -> new HttpPipelinedResponse(sequence, res));
+    }
+
+    @Override
+    public void close() {
+        response.close();
+    }
+
+    @Override
+    public boolean isAccessible() {
+        return response.isAccessible();
+    }
+
+    @Override
+    public HttpPipelinedResponse touch(Object hint) {
+        response.touch(hint);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpPipelinedResponse [sequence=" + sequence + ", response=" + response + ']';
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http;
+
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.util.Resource;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.Promise;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+
+/**
+ * Allows to handle the requests a client pipelines on a connection concurrently, while still writing the responses
+ * in the order of the requests as required by
+ * <a href="https://tools.ietf.org/html/rfc7230#section-6.3.2">RFC 7230, Section 6.3.2</a>.
+ * <p>
+ * Every {@link FullHttpRequest} is forwarded as a {@link HttpPipelinedRequest} that carries its sequence number on the
+ * connection. The application answers it by writing {@link HttpPipelinedRequest#response(FullHttpResponse)}, which
+ * may happen in any order and from any thread. A response that completes before the responses to all earlier requests
+ * were written is held back by this handler and written as soon as it is its turn. The {@link Future} returned for it
+ * is only notified once it was actually written.
+ * <p>
+ * At most {@code maxInFlightRequests} requests are handed to the application before their responses were written,
+ * which also bounds the number of responses this handler holds back. Further requests are queued and no more data is
+ * read from the connection until the responses to earlier requests were written.
+ * <p>
+ * {@link HttpPipeliningHandler} expects {@link FullHttpRequest}s and should therefore be added after the
+ * {@link HttpObjectAggregator}. Any other message is forwarded as is. <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("serverCodec", new {@link HttpServerCodec}());
+ *  p.addLast("httpKeepAlive", new {@link HttpServerKeepAliveHandler}());
+ *  p.addLast("aggregator", new {@link HttpObjectAggregator}(1048576));
+ *  p.addLast("pipelining", <b>new {@link HttpPipeliningHandler}(16)</b>);
+ *  ...
+ *  p.addLast("handler", new HttpPipelinedRequestHandler());
+ *  </pre>
+ * </blockquote>
+ */
+public class HttpPipeliningHandler implements ChannelHandler {
+    private final int maxInFlightRequests;
+    // Responses that completed early, indexed by their sequence modulo maxInFlightRequests.
+    private final PendingResponse[] pendingResponses;
+    private final ArrayDeque<FullHttpRequest> queuedRequests = new ArrayDeque<>();
+
+    // The sequence of the next request that is handed to the application.
+    private long readSequence;
+    // The sequence of the next response that is written.
+    private long writeSequence;
+    private boolean readRequested;
+    private boolean dequeueing;
+    private boolean closed;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxInFlightRequests the maximum number of requests that are handled concurrently.
+     */
+    public HttpPipeliningHandler(int maxInFlightRequests) {
+        this.maxInFlightRequests = checkPositive(maxInFlightRequests, "maxInFlightRequests");
+        pendingResponses = new PendingResponse[maxInFlightRequests];
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof FullHttpRequest) {
+            if (queuedRequests.isEmpty() && hasCapacity()) {
+                ctx.fireChannelRead(new HttpPipelinedRequest(readSequence++, (FullHttpRequest) msg));
+            } else {
+                queuedRequests.add((FullHttpRequest) msg);
+            }
+        } else {
+            ctx.fireChannelRead(msg);
+        }
+    }
+
+    @Override
+    public void read(ChannelHandlerContext ctx) {
+        if (queuedRequests.isEmpty() && hasCapacity()) {
+            ctx.read();
+        } else {
+            // Resumed once the responses to earlier requests were written.
+            readRequested = true;
+        }
+    }
+
+    @Override
+    public Future<Void> write(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof HttpPipelinedResponse)) {
+            return ctx.write(msg);
+        }
+        HttpPipelinedResponse pipelined = (HttpPipelinedResponse) msg;
+        long sequence = pipelined.sequence();
+        if (sequence == writeSequence && sequence < readSequence) {
+            Future<Void> future = ctx.write(pipelined.response());
+            writeSequence++;
+            writePendingResponses(ctx);
+            return future;
+        }
+        if (closed) {
+            pipelined.close();
+            return ctx.newFailedFuture(new ClosedChannelException());
+        }
+        int index = index(sequence);
+        if (sequence < writeSequence || sequence >= readSequence || pendingResponses[index] != null) {
+            pipelined.close();
+            return ctx.newFailedFuture(new IllegalArgumentException(
+                    "Unexpected response sequence " + sequence + " (expected: " + writeSequence + '-' +
+                    (readSequence - 1) + " and not written before)"));
+        }
+        Promise<Void> promise = ctx.newPromise();
+        pendingResponses[index] = new PendingResponse(pipelined.response(), promise);
+        return promise.asFuture();
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        destroy();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        // Requests that were not handed out yet are forwarded as is, as nobody could answer them otherwise.
+        FullHttpRequest request;
+        while ((request = queuedRequests.poll()) != null) {
+            ctx.fireChannelRead(request);
+        }
+        destroy();
+        if (readRequested) {
+            readRequested = false;
+            ctx.read();
+        }
+    }
+
+    private void writePendingResponses(ChannelHandlerContext ctx) {
+        PendingResponse pending;
+        while ((pending = pendingResponses[index(writeSequence)]) != null) {
+            pendingResponses[index(writeSequence)] = null;
+            writeSequence++;
+            ctx.write(pending.response).cascadeTo(pending.promise);
+        }
+        if (!closed) {
+            dequeueRequests(ctx);
+        }
+    }
+
+    private void dequeueRequests(ChannelHandlerContext ctx) {
+        if (dequeueing) {
+            // The application wrote a response while handling a request that we dequeued, the outer loop picks up
+            // any further requests.
+            return;
+        }
+        dequeueing = true;
+        try {
+            boolean dequeued = false;
+            while (!closed && !queuedRequests.isEmpty() && hasCapacity()) {
+                dequeued = true;
+                ctx.fireChannelRead(new HttpPipelinedRequest(readSequence++, queuedRequests.poll()));
+            }
+            if (dequeued) {
+                ctx.fireChannelReadComplete();
+            }
+        } finally {
+            dequeueing = false;
+        }
+        if (readRequested && !closed && queuedRequests.isEmpty() && hasCapacity()) {
+            readRequested = false;
+            ctx.read();
+        }
+    }
+
+    private boolean hasCapacity() {
+        return readSequence - writeSequence < maxInFlightRequests;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % maxInFlightRequests);
+    }
+
+    private void destroy() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        FullHttpRequest request;
+        while ((request = queuedRequests.poll()) != null) {
+            Resource.dispose(request);
+        }
+        for (int i = 0; i < pendingResponses.length; i++) {
+            PendingResponse pending = pendingResponses[i];
+            if (pending != null) {
+                pendingResponses[i] = null;
+                Resource.dispose(pending.response);
+                pending.promise.tryFailure(new ClosedChannelException());
+            }
+        }
+    }
+
+    private static final class PendingResponse {
+        final FullHttpResponse response;
+        final Promise<Void> promise;
+
+        PendingResponse(FullHttpResponse response, Promise<Void> promise) {
+            this.response = response;
+            this.promise = promise;
+        }
+    }
+}
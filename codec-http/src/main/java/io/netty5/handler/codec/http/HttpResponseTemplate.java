@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.DefaultBufferAllocators;
+import io.netty5.util.AsciiString;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import static io.netty5.handler.codec.http.HttpConstants.SP;
+import static io.netty5.handler.codec.http.HttpObjectEncoder.CRLF_SHORT;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A status line and a fixed set of headers that many responses share, for example the {@code Server} and
+ * {@code Content-Type} headers. The status line and headers are encoded once when the template is created, and
+ * {@link HttpResponseEncoder} copies the encoded bytes as a whole for every response created by
+ * {@link #newResponse()} or {@link #newFullResponse(Buffer)}, only encoding the headers that were added afterwards.
+ * <p>
+ * The created responses are regular mutable responses whose {@link HttpMessage#headers()} contain the headers of the
+ * template. If the status, the protocol version or any of these headers is changed, the response is encoded as usual.
+ * <p>
+ * If enabled, a {@link HttpHeaderNames#DATE} header with the value of {@link HttpDateCache#currentDate()} is added
+ * after the headers of the template.
+ */
+public final class HttpResponseTemplate {
+    private final HttpVersion version;
+    private final HttpResponseStatus status;
+    private final AsciiString[] names;
+    private final AsciiString[] values;
+    private final boolean dateHeader;
+    private final boolean validateHeaders;
+    private final byte[] encoded;
+
+    /**
+     * Creates a new template that adds a {@link HttpHeaderNames#DATE} header to every response.
+     *
+     * @param version   the protocol version of the responses.
+     * @param status    the status of the responses.
+     * @param headers   the headers every response starts with.
+     */
+    public HttpResponseTemplate(HttpVersion version, HttpResponseStatus status, HttpHeaders headers) {
+        this(version, status, headers, true, true);
+    }
+
+    /**
+     * Creates a new template.
+     *
+     * @param version           the protocol version of the responses.
+     * @param status            the status of the responses.
+     * @param headers           the headers every response starts with.
+     * @param dateHeader        {@code true} to add a {@link HttpHeaderNames#DATE} header to every response.
+     * @param validateHeaders   {@code true} to validate the headers that are added to the created responses.
+     */
+    public HttpResponseTemplate(HttpVersion version, HttpResponseStatus status, HttpHeaders headers,
+                                boolean dateHeader, boolean validateHeaders) {
+        this.version = requireNonNull(version, "version");
+        this.status = requireNonNull(status, "status");
+        requireNonNull(headers, "headers");
+        this.dateHeader = dateHeader;
+        this.validateHeaders = validateHeaders;
+
+        // Validate the headers once, so that they can be copied to the responses as they are.
+        HttpHeaders validated = new DefaultHttpHeaders(true);
+        int size = headers.size();
+        names = new AsciiString[size];
+        values = new AsciiString[size];
+        Iterator<Entry<CharSequence, CharSequence>> iter = headers.iteratorCharSequence();
+        for (int i = 0; i < size; i++) {
+            Entry<CharSequence, CharSequence> header = iter.next();
+            names[i] = AsciiString.of(header.getKey());
+            values[i] = AsciiString.of(header.getValue());
+            validated.add(names[i], values[i]);
+        }
+
+        try (Buffer buf = DefaultBufferAllocators.onHeapAllocator().allocate(256)) {
+            version.encode(buf);
+            buf.writeByte(SP);
+            status.encode(buf);
+            buf.writeShort(CRLF_SHORT);
+            for (int i = 0; i < size; i++) {
+                HttpHeadersEncoder.encoderHeader(names[i], values[i], buf);
+            }
+            encoded = new byte[buf.readableBytes()];
+            buf.copyInto(buf.readerOffset(), encoded, 0, encoded.length);
+        }
+    }
+
+    /**
+     * Creates a new {@link HttpResponse} with the status and headers of this template.
+     */
+    public HttpResponse newResponse() {
+        TemplatedHttpResponse response = new TemplatedHttpResponse(this);
+        addHeaders(response.headers());
+        return response;
+    }
+
+    /**
+     * Creates a new {@link FullHttpResponse} with the status and headers of this template.
+     *
+     * @param payload the payload of the response.
+     */
+    public FullHttpResponse newFullResponse(Buffer payload) {
+        TemplatedFullHttpResponse response = new TemplatedFullHttpResponse(this, payload);
+        addHeaders(response.headers());
+        return response;
+    }
+
+    private void addHeaders(HttpHeaders headers) {
+        for (int i = 0; i < names.length; i++) {
+            headers.add(names[i], values[i]);
+        }
+        if (dateHeader) {
+            headers.add(HttpHeaderNames.DATE, HttpDateCache.currentDate());
+        }
+    }
+
+    /**
+     * Returns the template the given message was created by, or {@code null} if it was not created by a template.
+     */
+    static HttpResponseTemplate templateOf(HttpMessage message) {
+        if (message instanceof TemplatedHttpResponse) {
+            return ((TemplatedHttpResponse) message).template;
+        }
+        if (message instanceof TemplatedFullHttpResponse) {
+            return ((TemplatedFullHttpResponse) message).template;
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@code true} if the status line and the first headers of the given message are still those of this
+     * template, in which case the given iterator over its headers was advanced past them.
+     */
+    boolean matches(HttpResponse response, Iterator<Entry<CharSequence, CharSequence>> headers) {
+        if (response.protocolVersion() != version || response.status() != status) {
+            return false;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (!headers.hasNext()) {
+                return false;
+            }
+            Entry<CharSequence, CharSequence> header = headers.next();
+            // The headers were added as the very same instances, so any change shows as a different instance.
+            if (header.getKey() != names[i] || header.getValue() != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the encoded status line and headers of this template.
+     */
+    void encode(Buffer buf) {
+        buf.ensureWritable(encoded.length);
+        buf.writeBytes(encoded);
+    }
+
+    private static final class TemplatedHttpResponse extends DefaultHttpResponse {
+        final HttpResponseTemplate template;
+
+        TemplatedHttpResponse(HttpResponseTemplate template) {
+            super(template.version, template.status, template.validateHeaders);
+            this.template = template;
+        }
+    }
+
+    private static final class TemplatedFullHttpResponse extends DefaultFullHttpResponse {
+        final HttpResponseTemplate template;
+
+        TemplatedFullHttpResponse(HttpResponseTemplate template, Buffer payload) {
+            super(template.version, template.status, payload, template.validateHeaders);
+            this.template = template;
+        }
+    }
+}
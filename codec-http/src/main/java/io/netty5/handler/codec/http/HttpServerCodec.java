@@ -84,6 +84,16 @@ public final class HttpServerCodec extends CombinedChannelDuplexHandler<HttpRequ
              new HttpServerResponseEncoder());
     }
 
+    /**
+     * Creates a new instance with the specified decoder options.
+     */
+    public HttpServerCodec(int maxInitialLineLength, int maxHeaderSize, boolean validateHeaders,
+                           int initialBufferSize, boolean allowDuplicateContentLengths, boolean zeroCopyHeaders) {
+        init(new HttpServerRequestDecoder(maxInitialLineLength, maxHeaderSize, validateHeaders,
+                                          initialBufferSize, allowDuplicateContentLengths, zeroCopyHeaders),
+             new HttpServerResponseEncoder());
+    }
+
     /**
      * Upgrades to another protocol from HTTP. Removes the {@link HttpRequestDecoder} and
      * {@link HttpResponseEncoder} from the pipeline.
@@ -122,6 +132,13 @@ public final class HttpServerCodec extends CombinedChannelDuplexHandler<HttpRequ
                   allowDuplicateContentLengths);
         }
 
+        HttpServerRequestDecoder(int maxInitialLineLength, int maxHeaderSize,
+                                 boolean validateHeaders, int initialBufferSize, boolean allowDuplicateContentLengths,
+                                 boolean zeroCopyHeaders) {
+            super(maxInitialLineLength, maxHeaderSize, validateHeaders, initialBufferSize,
+                  allowDuplicateContentLengths, zeroCopyHeaders);
+        }
+
         @Override
         protected void handlerAdded0(final ChannelHandlerContext ctx) {
             context = new DelegatingChannelHandlerContext(ctx) {
@@ -75,6 +75,31 @@ public final class HttpUtil {
         return "*".equals(uri);
     }
 
+    /**
+     * Returns {@code true} if the given entity tag matches any of the entity tags in the value of an
+     * {@link HttpHeaderNames#IF_NONE_MATCH} header, using the weak comparison of
+     * <a href="https://tools.ietf.org/html/rfc7232#section-2.3.2">rfc7232, 2.3.2</a>.
+     *
+     * @param etags the comma separated list of entity tags, or {@code *}.
+     * @param etag the entity tag of the selected representation, which may be weak itself.
+     */
+    public static boolean matchesEntityTagWeakly(String etags, String etag) {
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : etags.split(COMMA_STRING)) {
+            candidate = candidate.trim();
+            if ("*".equals(candidate)) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Returns {@code true} if and only if the connection can remain open and
      * thus 'kept alive'.  This methods respects the value of the.
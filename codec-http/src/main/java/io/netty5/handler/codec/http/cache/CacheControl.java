@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.cache;
+
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpHeaderValues;
+import io.netty5.handler.codec.http.HttpHeaders;
+import io.netty5.util.AsciiString;
+
+import java.util.Iterator;
+
+/**
+ * The directives of the {@code Cache-Control} header that are relevant to a shared cache, see
+ * <a href="https://www.rfc-editor.org/rfc/rfc9111#section-5.2">RFC 9111, Section 5.2</a>.
+ */
+final class CacheControl {
+    static final CacheControl EMPTY = new CacheControl();
+
+    boolean noStore;
+    boolean noCache;
+    boolean privateResponse;
+    long maxAge = -1;
+    long sMaxAge = -1;
+
+    private CacheControl() {
+    }
+
+    static CacheControl parse(HttpHeaders headers) {
+        Iterator<? extends CharSequence> values = headers.valueCharSequenceIterator(HttpHeaderNames.CACHE_CONTROL);
+        if (!values.hasNext()) {
+            return EMPTY;
+        }
+        CacheControl cacheControl = new CacheControl();
+        while (values.hasNext()) {
+            String value = values.next().toString();
+            int start = 0;
+            while (start < value.length()) {
+                int end = value.indexOf(',', start);
+                if (end < 0) {
+                    end = value.length();
+                }
+                cacheControl.directive(value.substring(start, end).trim());
+                start = end + 1;
+            }
+        }
+        return cacheControl;
+    }
+
+    private void directive(String directive) {
+        int equals = directive.indexOf('=');
+        String name = equals < 0 ? directive : directive.substring(0, equals).trim();
+        if (AsciiString.contentEqualsIgnoreCase(HttpHeaderValues.NO_STORE, name)) {
+            noStore = true;
+        } else if (AsciiString.contentEqualsIgnoreCase(HttpHeaderValues.NO_CACHE, name)) {
+            // A no-cache directive with field names still allows to use the response, but we do not keep track of
+            // the fields and always revalidate instead.
+            noCache = true;
+        } else if (AsciiString.contentEqualsIgnoreCase(HttpHeaderValues.PRIVATE, name)) {
+            privateResponse = true;
+        } else if (AsciiString.contentEqualsIgnoreCase(HttpHeaderValues.MAX_AGE, name)) {
+            maxAge = seconds(directive, equals);
+        } else if (AsciiString.contentEqualsIgnoreCase(HttpHeaderValues.S_MAXAGE, name)) {
+            sMaxAge = seconds(directive, equals);
+        }
+    }
+
+    /**
+     * Parses the delta-seconds of a directive, an invalid value is treated as {@code 0} so that the response is
+     * considered stale, see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2.1">RFC 9111, Section
+     * 4.2.1</a>.
+     */
+    private static long seconds(String directive, int equals) {
+        if (equals < 0) {
+            return 0;
+        }
+        String value = directive.substring(equals + 1).trim();
+        if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            value = value.substring(1, value.length() - 1);
+        }
+        return parseSeconds(value);
+    }
+
+    /**
+     * Parses non-negative delta-seconds, returns {@code 0} if invalid and caps them at {@link Integer#MAX_VALUE}.
+     */
+    static long parseSeconds(CharSequence value) {
+        if (value == null || value.length() == 0) {
+            return 0;
+        }
+        long seconds = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            seconds = Math.min(seconds * 10 + c - '0', Integer.MAX_VALUE);
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.cache;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.handler.codec.http.DefaultFullHttpResponse;
+import io.netty5.handler.codec.http.DefaultHttpHeaders;
+import io.netty5.handler.codec.http.FullHttpResponse;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpHeaders;
+import io.netty5.handler.codec.http.HttpResponseStatus;
+import io.netty5.handler.codec.http.HttpVersion;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A response stored by a {@link HttpResponseCache}. All fields are immutable, except for the segment it is in, which
+ * is guarded by the cache.
+ */
+final class CacheEntry {
+    final String key;
+    final HttpVersion version;
+    final HttpResponseStatus status;
+    final HttpHeaders headers;
+    final Buffer body;
+    final String etag;
+    final long bytes;
+    private final List<String> varyNames;
+    private final List<String> varyValues;
+    private final long responseNanos;
+    private final long initialAgeNanos;
+    private final long freshnessNanos;
+
+    boolean protectedSegment;
+
+    CacheEntry(String key, HttpVersion version, HttpResponseStatus status, HttpHeaders headers, Buffer body,
+               List<String> varyNames, List<String> varyValues, long responseNanos, long initialAgeNanos,
+               long freshnessNanos) {
+        this.key = key;
+        this.version = version;
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.varyNames = varyNames;
+        this.varyValues = varyValues;
+        this.responseNanos = responseNanos;
+        this.initialAgeNanos = initialAgeNanos;
+        this.freshnessNanos = freshnessNanos;
+        etag = headers.get(HttpHeaderNames.ETAG);
+        bytes = body.readableBytes() + headersSize(headers) + 128;
+    }
+
+    private static long headersSize(HttpHeaders headers) {
+        long size = 0;
+        Iterator<Entry<CharSequence, CharSequence>> iterator = headers.iteratorCharSequence();
+        while (iterator.hasNext()) {
+            Entry<CharSequence, CharSequence> header = iterator.next();
+            size += header.getKey().length() + header.getValue().length() + 32;
+        }
+        return size;
+    }
+
+    long ageNanos(long nowNanos) {
+        return initialAgeNanos + Math.max(0, nowNanos - responseNanos);
+    }
+
+    /**
+     * Returns {@code true} if the entry can be used without revalidation, taking the {@code max-age} and
+     * {@code no-cache} directives of the request into account.
+     */
+    boolean isFresh(long nowNanos, CacheControl request) {
+        if (request.noCache) {
+            return false;
+        }
+        long freshness = freshnessNanos;
+        if (request.maxAge >= 0) {
+            freshness = Math.min(freshness, TimeUnit.SECONDS.toNanos(request.maxAge));
+        }
+        return ageNanos(nowNanos) < freshness;
+    }
+
+    boolean hasValidator() {
+        return etag != null || headers.contains(HttpHeaderNames.LAST_MODIFIED);
+    }
+
+    /**
+     * Returns {@code true} if the selecting headers of the request match those of the request that this entry was
+     * stored for, see <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.1">RFC 9111, Section 4.1</a>.
+     */
+    boolean matches(HttpHeaders requestHeaders) {
+        for (int i = 0; i < varyNames.size(); i++) {
+            if (!varyValues.get(i).equals(varyValue(requestHeaders, varyNames.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if both entries are stored for the same selecting headers, so one replaces the other.
+     */
+    boolean isSameVariant(CacheEntry other) {
+        return varyNames.equals(other.varyNames) && varyValues.equals(other.varyValues);
+    }
+
+    /**
+     * Creates a new response with a read-only view of the body. Must only be called while the body is accessible.
+     */
+    FullHttpResponse newResponse(long nowNanos) {
+        HttpHeaders responseHeaders = headers.copy();
+        responseHeaders.set(HttpHeaderNames.AGE, TimeUnit.NANOSECONDS.toSeconds(ageNanos(nowNanos)));
+        return new DefaultFullHttpResponse(version, status, body.copy(true), responseHeaders,
+                new DefaultHttpHeaders());
+    }
+
+    static String varyValue(HttpHeaders headers, CharSequence name) {
+        List<String> values = headers.getAll(name);
+        if (values.isEmpty()) {
+            return "";
+        }
+        if (values.size() == 1) {
+            return values.get(0).trim();
+        }
+        StringBuilder builder = new StringBuilder();
+        for (String value : values) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(value.trim());
+        }
+        return builder.toString();
+    }
+}
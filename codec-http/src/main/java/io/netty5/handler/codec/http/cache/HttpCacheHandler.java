@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.cache;
+
+import io.netty5.channel.ChannelFutureListeners;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.handler.codec.http.DefaultFullHttpResponse;
+import io.netty5.handler.codec.http.FullHttpRequest;
+import io.netty5.handler.codec.http.FullHttpResponse;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpHeaders;
+import io.netty5.handler.codec.http.HttpMethod;
+import io.netty5.handler.codec.http.HttpObjectAggregator;
+import io.netty5.handler.codec.http.HttpRequest;
+import io.netty5.handler.codec.http.HttpResponse;
+import io.netty5.handler.codec.http.HttpResponseStatus;
+import io.netty5.handler.codec.http.HttpServerCodec;
+import io.netty5.handler.codec.http.HttpStatusClass;
+import io.netty5.handler.codec.http.HttpUtil;
+import io.netty5.handler.codec.http.HttpVersion;
+import io.netty5.util.Resource;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.Promise;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Answers requests from a {@link HttpResponseCache} and stores the responses that are written back for the requests
+ * it forwarded. It is meant for servers that act as a reverse proxy: the handler that forwards the requests to the
+ * upstream server is added after this handler, and writes the responses of the upstream server back through it.
+ * <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("serverCodec", new {@link HttpServerCodec}());
+ *  p.addLast("aggregator", new {@link HttpObjectAggregator}(1048576));
+ *  p.addLast("cache", <b>new {@link HttpCacheHandler}(cache)</b>);
+ *  ...
+ *  p.addLast("proxy", new UpstreamHandler());
+ *  </pre>
+ * </blockquote>
+ * Only {@link FullHttpRequest}s are considered and only {@link FullHttpResponse}s are stored, other messages pass
+ * through unchanged. Responses must be written in the order of the requests.
+ * <p>
+ * A stale response that has a validator is revalidated by adding {@code If-None-Match} or {@code If-Modified-Since}
+ * to the forwarded request, a {@code 304 Not Modified} response then refreshes the cached response, which is sent in
+ * its place. If another channel is fetching the response for the same resource already, the request waits for it
+ * and is only forwarded if the fetched response can not be used for it. Successful requests with an unsafe method
+ * invalidate the cached responses for their target. While a request waits, no further messages are read from the
+ * channel.
+ */
+public class HttpCacheHandler implements ChannelHandler {
+    private static final PendingRequest PASS_THROUGH = new PendingRequest(null, false, null, null, null, null);
+
+    private final HttpResponseCache cache;
+    private final Queue<PendingRequest> pending = new ArrayDeque<>();
+    private final Queue<Object> deferred = new ArrayDeque<>();
+    private FullHttpRequest waitingRequest;
+    private boolean readRequested;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param cache the cache to use, usually shared by all channels.
+     */
+    public HttpCacheHandler(HttpResponseCache cache) {
+        this.cache = requireNonNull(cache, "cache");
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (waitingRequest != null) {
+            // Keep the order of the requests while we wait for a fetch of another channel.
+            deferred.add(msg);
+            return;
+        }
+        if (!(msg instanceof FullHttpRequest)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        FullHttpRequest request = (FullHttpRequest) msg;
+        HttpMethod method = request.method();
+        if (HttpMethod.GET.equals(method)) {
+            handleGet(ctx, request, true);
+            return;
+        }
+        if (isUnsafe(method)) {
+            pending.add(new PendingRequest(cacheKey(request), true, null, null, null, null));
+        } else {
+            pending.add(PASS_THROUGH);
+        }
+        ctx.fireChannelRead(request);
+    }
+
+    @Override
+    public void read(ChannelHandlerContext ctx) {
+        if (waitingRequest == null) {
+            ctx.read();
+        } else {
+            // Resumed once the fetch we wait for completed, so the deferred messages stay bounded.
+            readRequested = true;
+        }
+    }
+
+    @Override
+    public Future<Void> write(ChannelHandlerContext ctx, Object msg) {
+        if (!(msg instanceof HttpResponse) || pending.isEmpty()) {
+            return ctx.write(msg);
+        }
+        HttpResponse response = (HttpResponse) msg;
+        if (response.status().codeClass() == HttpStatusClass.INFORMATIONAL) {
+            return ctx.write(msg);
+        }
+        PendingRequest request = pending.poll();
+        try {
+            if (request.key == null) {
+                return ctx.write(msg);
+            }
+            if (request.invalidate) {
+                if (response.status().code() < 400) {
+                    cache.invalidate(request.key);
+                }
+                return ctx.write(msg);
+            }
+            if (request.stale != null && response.status().code() == HttpResponseStatus.NOT_MODIFIED.code()) {
+                cache.freshen(request.entry, response, request.headers);
+                FullHttpResponse stale = request.stale;
+                request.stale = null;
+                HttpResponseCache.updateHeaders(stale.headers(), response.headers());
+                stale.headers().set(HttpHeaderNames.AGE, 0);
+                Resource.dispose(response);
+                return ctx.write(stale);
+            }
+            if (response instanceof FullHttpResponse) {
+                cache.store(request.key, request.headers, (FullHttpResponse) response);
+            }
+            return ctx.write(msg);
+        } finally {
+            request.complete(cache);
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        destroy();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        destroy();
+    }
+
+    /**
+     * Returns the primary key of the cached responses for the given request, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9111#section-2">RFC 9111, Section 2</a>. By default the
+     * {@code Host} header and the request target.
+     */
+    protected String cacheKey(HttpRequest request) {
+        return request.headers().get(HttpHeaderNames.HOST, "") + ' ' + request.uri();
+    }
+
+    private void handleGet(ChannelHandlerContext ctx, FullHttpRequest request, boolean coalesce) {
+        HttpHeaders headers = request.headers();
+        CacheControl cacheControl = CacheControl.parse(headers);
+        if (cacheControl.noStore || headers.contains(HttpHeaderNames.AUTHORIZATION) ||
+                !request.decoderResult().isSuccess()) {
+            pending.add(PASS_THROUGH);
+            ctx.fireChannelRead(request);
+            return;
+        }
+
+        String key = cacheKey(request);
+        CacheEntry entry = cache.select(key, headers);
+        // Responses from the cache can only be written if no other response is outstanding.
+        if (entry != null && pending.isEmpty()) {
+            long nowNanos = System.nanoTime();
+            if (entry.isFresh(nowNanos, cacheControl)) {
+                FullHttpResponse response = cache.newResponse(entry, nowNanos);
+                if (response != null) {
+                    respond(ctx, request, entry, response);
+                    return;
+                }
+            } else if (entry.hasValidator() && !isConditional(headers)) {
+                FullHttpResponse stale = cache.newResponse(entry, nowNanos);
+                if (stale != null) {
+                    if (entry.etag != null) {
+                        headers.set(HttpHeaderNames.IF_NONE_MATCH, entry.etag);
+                    } else {
+                        headers.set(HttpHeaderNames.IF_MODIFIED_SINCE,
+                                entry.headers.get(HttpHeaderNames.LAST_MODIFIED));
+                    }
+                    cache.recordRevalidation();
+                    pending.add(new PendingRequest(key, false, headers.copy(), entry, stale, null));
+                    ctx.fireChannelRead(request);
+                    return;
+                }
+            }
+        }
+
+        Promise<Void> fetch = null;
+        if (coalesce) {
+            Promise<Void> promise = ctx.newPromise();
+            Future<Void> inFlight = cache.startFetch(key, promise.asFuture());
+            if (inFlight == null) {
+                fetch = promise;
+            } else if (pending.isEmpty()) {
+                cache.recordCoalesced();
+                waitingRequest = request;
+                inFlight.addListener(future -> ctx.executor().execute(() -> resume(ctx, request)));
+                return;
+            }
+        }
+        cache.recordMiss();
+        pending.add(new PendingRequest(key, false, headers.copy(), null, null, fetch));
+        ctx.fireChannelRead(request);
+    }
+
+    private void resume(ChannelHandlerContext ctx, FullHttpRequest request) {
+        if (waitingRequest != request) {
+            // Disposed while waiting.
+            return;
+        }
+        waitingRequest = null;
+        handleGet(ctx, request, false);
+        while (waitingRequest == null && !deferred.isEmpty()) {
+            channelRead(ctx, deferred.poll());
+        }
+        if (waitingRequest == null && readRequested) {
+            readRequested = false;
+            ctx.read();
+        }
+    }
+
+    private void respond(ChannelHandlerContext ctx, FullHttpRequest request, CacheEntry entry,
+                         FullHttpResponse response) {
+        cache.recordHit();
+        boolean keepAlive = HttpUtil.isKeepAlive(request);
+        String ifNoneMatch = request.headers().get(HttpHeaderNames.IF_NONE_MATCH);
+        request.close();
+        if (ifNoneMatch != null && entry.etag != null &&
+                HttpUtil.matchesEntityTagWeakly(ifNoneMatch, entry.etag)) {
+            HttpVersion version = response.protocolVersion();
+            HttpHeaders headers = response.headers().copy();
+            headers.remove(HttpHeaderNames.CONTENT_LENGTH);
+            HttpHeaders trailers = response.trailingHeaders().copy();
+            response.close();
+            response = new DefaultFullHttpResponse(version, HttpResponseStatus.NOT_MODIFIED,
+                    ctx.bufferAllocator().allocate(0), headers, trailers);
+        }
+        HttpUtil.setKeepAlive(response, keepAlive);
+        Future<Void> future = ctx.writeAndFlush(response);
+        if (!keepAlive) {
+            future.addListener(ctx, ChannelFutureListeners.CLOSE);
+        }
+    }
+
+    private void destroy() {
+        PendingRequest request;
+        while ((request = pending.poll()) != null) {
+            request.complete(cache);
+        }
+        if (waitingRequest != null) {
+            waitingRequest.close();
+            waitingRequest = null;
+        }
+        Object msg;
+        while ((msg = deferred.poll()) != null) {
+            Resource.dispose(msg);
+        }
+    }
+
+    private static boolean isUnsafe(HttpMethod method) {
+        return !HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method) &&
+                !HttpMethod.TRACE.equals(method);
+    }
+
+    private static boolean isConditional(HttpHeaders headers) {
+        return headers.contains(HttpHeaderNames.IF_NONE_MATCH) || headers.contains(HttpHeaderNames.IF_MATCH) ||
+                headers.contains(HttpHeaderNames.IF_MODIFIED_SINCE) ||
+                headers.contains(HttpHeaderNames.IF_UNMODIFIED_SINCE) || headers.contains(HttpHeaderNames.IF_RANGE);
+    }
+
+    private static final class PendingRequest {
+        final String key;
+        final boolean invalidate;
+        final HttpHeaders headers;
+        final CacheEntry entry;
+        final Promise<Void> fetch;
+        FullHttpResponse stale;
+
+        PendingRequest(String key, boolean invalidate, HttpHeaders headers, CacheEntry entry, FullHttpResponse stale,
+                       Promise<Void> fetch) {
+            this.key = key;
+            this.invalidate = invalidate;
+            this.headers = headers;
+            this.entry = entry;
+            this.stale = stale;
+            this.fetch = fetch;
+        }
+
+        void complete(HttpResponseCache cache) {
+            if (stale != null) {
+                stale.close();
+                stale = null;
+            }
+            if (fetch != null) {
+                // Unregister first, so waiting requests do not find it anymore.
+                cache.endFetch(key, fetch.asFuture());
+                fetch.trySuccess(null);
+            }
+        }
+    }
+}
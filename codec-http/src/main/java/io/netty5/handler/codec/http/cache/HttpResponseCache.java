@@ -0,0 +1,522 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.cache;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.DefaultBufferAllocators;
+import io.netty5.handler.codec.http.FullHttpResponse;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpHeaders;
+import io.netty5.handler.codec.http.HttpResponse;
+import io.netty5.util.AsciiString;
+import io.netty5.util.concurrent.Future;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A shared, in-memory cache of HTTP responses, following the rules of a shared cache of
+ * <a href="https://www.rfc-editor.org/rfc/rfc9111">RFC 9111</a>. A single instance is usually shared by the
+ * {@link HttpCacheHandler}s of all channels.
+ * <p>
+ * The bodies of the responses are copied into read-only buffers of the given {@link BufferAllocator}, and responses
+ * served from the cache use read-only views of them, so they are not copied again.
+ * <p>
+ * The cache is bounded by the estimated number of bytes used by the responses. It uses a segmented LRU policy:
+ * new responses start in a probationary segment and are only moved to a protected segment, which may use up to 80% of
+ * the budget, once they are served from the cache. Responses are evicted from the probationary segment first, so a scan
+ * over many resources that are requested only once does not evict the frequently used ones.
+ * <p>
+ * Only responses to {@code GET} requests without {@code Authorization} are stored, and only if they have a status
+ * code that is cacheable by default, do not contain {@code Cache-Control: no-store} or {@code private},
+ * {@code Vary: *} or {@code Set-Cookie}, and are either fresh for some time or have a validator.
+ */
+public final class HttpResponseCache implements AutoCloseable {
+    private static final long MAX_HEURISTIC_FRESHNESS_MILLIS = TimeUnit.DAYS.toMillis(1);
+    // The HttpHeaderNames constants of these are deprecated, but they must still be stripped if a response has them.
+    private static final AsciiString KEEP_ALIVE = AsciiString.cached("keep-alive");
+    private static final AsciiString PROXY_CONNECTION = AsciiString.cached("proxy-connection");
+    private static final AsciiString[] HOP_BY_HOP_HEADERS = {
+            HttpHeaderNames.CONNECTION, KEEP_ALIVE, PROXY_CONNECTION,
+            HttpHeaderNames.PROXY_AUTHENTICATE, HttpHeaderNames.TE, HttpHeaderNames.TRAILER,
+            HttpHeaderNames.TRANSFER_ENCODING, HttpHeaderNames.UPGRADE
+    };
+
+    private final long maxBytes;
+    private final long maxProtectedBytes;
+    private final int maxContentLength;
+    private final BufferAllocator allocator;
+    private final Map<String, List<CacheEntry>> entries = new HashMap<>();
+    private final LinkedHashSet<CacheEntry> probation = new LinkedHashSet<>();
+    private final LinkedHashSet<CacheEntry> protectedEntries = new LinkedHashSet<>();
+    private final ConcurrentMap<String, Future<Void>> fetches = new ConcurrentHashMap<>();
+    private final Metric metric = new Metric();
+    private long usedBytes;
+    private long protectedBytes;
+
+    /**
+     * Creates a new instance that stores bodies in buffers of {@link DefaultBufferAllocators#offHeapAllocator()}.
+     *
+     * @param maxBytes          the maximum estimated number of bytes used by the cached responses.
+     * @param maxContentLength  the maximum length of the body of a response to cache.
+     */
+    public HttpResponseCache(long maxBytes, int maxContentLength) {
+        this(maxBytes, maxContentLength, DefaultBufferAllocators.offHeapAllocator());
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param maxBytes          the maximum estimated number of bytes used by the cached responses.
+     * @param maxContentLength  the maximum length of the body of a response to cache.
+     * @param allocator         the allocator of the buffers the bodies are stored in.
+     */
+    public HttpResponseCache(long maxBytes, int maxContentLength, BufferAllocator allocator) {
+        this.maxBytes = checkPositive(maxBytes, "maxBytes");
+        this.maxContentLength = checkPositive(maxContentLength, "maxContentLength");
+        this.allocator = requireNonNull(allocator, "allocator");
+        maxProtectedBytes = maxBytes / 5 * 4;
+    }
+
+    /**
+     * Returns the {@link HttpResponseCacheMetric} of this cache.
+     */
+    public HttpResponseCacheMetric metric() {
+        return metric;
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void invalidateAll() {
+        synchronized (this) {
+            for (List<CacheEntry> variants : entries.values()) {
+                for (CacheEntry entry : variants) {
+                    entry.body.close();
+                }
+            }
+            entries.clear();
+            probation.clear();
+            protectedEntries.clear();
+            usedBytes = 0;
+            protectedBytes = 0;
+        }
+    }
+
+    /**
+     * Removes all cached responses, responses that are currently served from the cache stay valid.
+     */
+    @Override
+    public void close() {
+        invalidateAll();
+    }
+
+    /**
+     * Removes all cached variants of the response for the given key.
+     */
+    void invalidate(String key) {
+        synchronized (this) {
+            List<CacheEntry> variants = entries.get(key);
+            if (variants != null) {
+                for (CacheEntry entry : new ArrayList<>(variants)) {
+                    remove(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the most recently stored variant for the given key that matches the request, or {@code null}.
+     */
+    CacheEntry select(String key, HttpHeaders requestHeaders) {
+        synchronized (this) {
+            List<CacheEntry> variants = entries.get(key);
+            if (variants != null) {
+                for (int i = variants.size() - 1; i >= 0; i--) {
+                    CacheEntry entry = variants.get(i);
+                    if (entry.matches(requestHeaders)) {
+                        return entry;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Creates a response from the given entry and records the access, or returns {@code null} if the entry was
+     * removed in the meantime.
+     */
+    FullHttpResponse newResponse(CacheEntry entry, long nowNanos) {
+        synchronized (this) {
+            if (!entry.body.isAccessible()) {
+                return null;
+            }
+            if (entry.protectedSegment) {
+                protectedEntries.remove(entry);
+                protectedEntries.add(entry);
+            } else {
+                probation.remove(entry);
+                protectedEntries.add(entry);
+                entry.protectedSegment = true;
+                protectedBytes += entry.bytes;
+                while (protectedBytes > maxProtectedBytes) {
+                    CacheEntry demoted = first(protectedEntries);
+                    protectedEntries.remove(demoted);
+                    demoted.protectedSegment = false;
+                    protectedBytes -= demoted.bytes;
+                    probation.add(demoted);
+                }
+            }
+            return entry.newResponse(nowNanos);
+        }
+    }
+
+    /**
+     * Stores the response to a request with the given headers if it is cacheable.
+     *
+     * @return the stored entry, or {@code null} if the response is not cacheable.
+     */
+    CacheEntry store(String key, HttpHeaders requestHeaders, FullHttpResponse response) {
+        Buffer payload = response.payload();
+        int length = payload.readableBytes();
+        if (!isCacheable(response.status().code()) || length > maxContentLength) {
+            return null;
+        }
+        HttpHeaders headers = response.headers();
+        CacheControl cacheControl = CacheControl.parse(headers);
+        if (cacheControl.noStore || cacheControl.privateResponse || headers.contains(HttpHeaderNames.SET_COOKIE)) {
+            return null;
+        }
+        List<String> varyNames = varyNames(headers);
+        if (varyNames == null) {
+            return null;
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        long freshnessMillis = freshnessMillis(headers, cacheControl, nowMillis);
+        if (freshnessMillis == 0 && !headers.contains(HttpHeaderNames.ETAG) &&
+                !headers.contains(HttpHeaderNames.LAST_MODIFIED)) {
+            // Never fresh and not revalidatable, so it would never be used.
+            return null;
+        }
+
+        List<String> varyValues;
+        if (varyNames.isEmpty()) {
+            varyValues = Collections.emptyList();
+        } else {
+            varyValues = new ArrayList<>(varyNames.size());
+            for (String name : varyNames) {
+                varyValues.add(CacheEntry.varyValue(requestHeaders, name));
+            }
+        }
+
+        Buffer body = allocator.allocate(length);
+        payload.copyInto(payload.readerOffset(), body, 0, length);
+        body.skipWritableBytes(length);
+        CacheEntry entry = new CacheEntry(key, response.protocolVersion(), response.status(),
+                storedHeaders(headers), body.makeReadOnly(), varyNames, varyValues, System.nanoTime(),
+                initialAgeNanos(headers, nowMillis), TimeUnit.MILLISECONDS.toNanos(freshnessMillis));
+        if (entry.bytes > maxBytes) {
+            body.close();
+            return null;
+        }
+        insert(entry);
+        return entry;
+    }
+
+    /**
+     * Updates the stored entry with the headers of a {@code 304 Not Modified} response, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.3.4">RFC 9111, Section 4.3.4</a>.
+     *
+     * @return the updated entry, or {@code null} if the entry was removed in the meantime.
+     */
+    CacheEntry freshen(CacheEntry entry, HttpResponse notModified, HttpHeaders requestHeaders) {
+        HttpHeaders headers = entry.headers.copy();
+        updateHeaders(headers, notModified.headers());
+        HttpHeaders stored = storedHeaders(headers);
+        long nowMillis = System.currentTimeMillis();
+        synchronized (this) {
+            if (!entry.body.isAccessible()) {
+                return null;
+            }
+            CacheControl cacheControl = CacheControl.parse(stored);
+            List<String> varyValues = new ArrayList<>();
+            List<String> varyNames = varyNames(stored);
+            if (cacheControl.noStore || cacheControl.privateResponse || varyNames == null) {
+                remove(entry);
+                return null;
+            }
+            for (String name : varyNames) {
+                varyValues.add(CacheEntry.varyValue(requestHeaders, name));
+            }
+            CacheEntry freshened = new CacheEntry(entry.key, entry.version, entry.status, stored,
+                    entry.body.copy(true), varyNames, varyValues, System.nanoTime(),
+                    initialAgeNanos(stored, nowMillis),
+                    TimeUnit.MILLISECONDS.toNanos(freshnessMillis(stored, cacheControl, nowMillis)));
+            insert(freshened);
+            return freshened;
+        }
+    }
+
+    /**
+     * Registers the given {@link Future} as the fetch of the response for the given key, unless another fetch is
+     * in progress already.
+     *
+     * @return the {@link Future} of the fetch in progress, or {@code null} if the given one was registered.
+     */
+    Future<Void> startFetch(String key, Future<Void> fetch) {
+        return fetches.putIfAbsent(key, fetch);
+    }
+
+    /**
+     * Unregisters a fetch that was registered via {@link #startFetch(String, Future)}.
+     */
+    void endFetch(String key, Future<Void> fetch) {
+        fetches.remove(key, fetch);
+    }
+
+    void recordHit() {
+        metric.hits.increment();
+    }
+
+    void recordMiss() {
+        metric.misses.increment();
+    }
+
+    void recordRevalidation() {
+        metric.revalidations.increment();
+    }
+
+    void recordCoalesced() {
+        metric.coalesced.increment();
+    }
+
+    private void insert(CacheEntry entry) {
+        synchronized (this) {
+            List<CacheEntry> variants = entries.computeIfAbsent(entry.key, key -> new ArrayList<>(1));
+            for (CacheEntry variant : new ArrayList<>(variants)) {
+                if (variant.isSameVariant(entry)) {
+                    remove(variant);
+                }
+            }
+            // remove() may have dropped the list, so look it up again.
+            entries.computeIfAbsent(entry.key, key -> new ArrayList<>(1)).add(entry);
+            probation.add(entry);
+            usedBytes += entry.bytes;
+            while (usedBytes > maxBytes) {
+                remove(probation.isEmpty() ? first(protectedEntries) : first(probation));
+                metric.evictions.increment();
+            }
+        }
+    }
+
+    private void remove(CacheEntry entry) {
+        assert Thread.holdsLock(this);
+        List<CacheEntry> variants = entries.get(entry.key);
+        if (variants == null || !variants.remove(entry)) {
+            return;
+        }
+        if (variants.isEmpty()) {
+            entries.remove(entry.key);
+        }
+        if (entry.protectedSegment) {
+            protectedEntries.remove(entry);
+            protectedBytes -= entry.bytes;
+        } else {
+            probation.remove(entry);
+        }
+        usedBytes -= entry.bytes;
+        // Responses that were served from this entry hold their own reference to the memory.
+        entry.body.close();
+    }
+
+    /**
+     * Replaces the headers with those of a {@code 304 Not Modified} response, except for {@code Content-Length}.
+     */
+    static void updateHeaders(HttpHeaders headers, HttpHeaders notModifiedHeaders) {
+        List<CharSequence> names = new ArrayList<>();
+        Iterator<Map.Entry<CharSequence, CharSequence>> iterator = notModifiedHeaders.iteratorCharSequence();
+        while (iterator.hasNext()) {
+            CharSequence name = iterator.next().getKey();
+            if (!HttpHeaderNames.CONTENT_LENGTH.contentEqualsIgnoreCase(name)) {
+                names.add(name);
+            }
+        }
+        for (CharSequence name : names) {
+            headers.set(name, notModifiedHeaders.getAll(name));
+        }
+    }
+
+    private static CacheEntry first(LinkedHashSet<CacheEntry> segment) {
+        return segment.iterator().next();
+    }
+
+    /**
+     * Returns {@code true} for the status codes that are heuristically cacheable, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9110#section-15.1">RFC 9110, Section 15.1</a>.
+     */
+    private static boolean isCacheable(int code) {
+        switch (code) {
+            case 200:
+            case 203:
+            case 204:
+            case 300:
+            case 301:
+            case 308:
+            case 404:
+            case 405:
+            case 410:
+            case 414:
+            case 501:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the lower case names of the {@code Vary} header, or {@code null} if it contains {@code *}.
+     */
+    private static List<String> varyNames(HttpHeaders headers) {
+        List<String> values = headers.getAll(HttpHeaderNames.VARY);
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>();
+        for (String value : values) {
+            for (String name : value.split(",")) {
+                name = name.trim().toLowerCase(Locale.ROOT);
+                if ("*".equals(name)) {
+                    return null;
+                }
+                if (!name.isEmpty() && !names.contains(name)) {
+                    names.add(name);
+                }
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * Calculates the freshness lifetime, see
+     * <a href="https://www.rfc-editor.org/rfc/rfc9111#section-4.2.1">RFC 9111, Section 4.2.1</a>.
+     */
+    private static long freshnessMillis(HttpHeaders headers, CacheControl cacheControl, long nowMillis) {
+        if (cacheControl.noCache) {
+            return 0;
+        }
+        if (cacheControl.sMaxAge >= 0) {
+            return TimeUnit.SECONDS.toMillis(cacheControl.sMaxAge);
+        }
+        if (cacheControl.maxAge >= 0) {
+            return TimeUnit.SECONDS.toMillis(cacheControl.maxAge);
+        }
+        long date = headers.getTimeMillis(HttpHeaderNames.DATE, nowMillis);
+        if (headers.contains(HttpHeaderNames.EXPIRES)) {
+            // An invalid date, like 0, means already expired.
+            return Math.max(0, headers.getTimeMillis(HttpHeaderNames.EXPIRES, date) - date);
+        }
+        Long lastModified = headers.getTimeMillis(HttpHeaderNames.LAST_MODIFIED);
+        if (lastModified != null) {
+            // The heuristic freshness of RFC 9111, Section 4.2.2, a fraction of the time since the last modification.
+            return Math.min(Math.max(0, date - lastModified) / 10, MAX_HEURISTIC_FRESHNESS_MILLIS);
+        }
+        return 0;
+    }
+
+    private static long initialAgeNanos(HttpHeaders headers, long nowMillis) {
+        long ageSeconds = CacheControl.parseSeconds(headers.get(HttpHeaderNames.AGE));
+        long apparentAgeMillis = Math.max(0, nowMillis - headers.getTimeMillis(HttpHeaderNames.DATE, nowMillis));
+        return Math.max(TimeUnit.SECONDS.toNanos(ageSeconds), TimeUnit.MILLISECONDS.toNanos(apparentAgeMillis));
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = headers.copy();
+        for (String connectionOption : headers.getAll(HttpHeaderNames.CONNECTION)) {
+            for (String name : connectionOption.split(",")) {
+                stored.remove(name.trim());
+            }
+        }
+        for (AsciiString name : HOP_BY_HOP_HEADERS) {
+            stored.remove(name);
+        }
+        stored.remove(HttpHeaderNames.AGE);
+        return stored;
+    }
+
+    private final class Metric implements HttpResponseCacheMetric {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder revalidations = new LongAdder();
+        final LongAdder coalesced = new LongAdder();
+        final LongAdder evictions = new LongAdder();
+
+        @Override
+        public long hits() {
+            return hits.sum();
+        }
+
+        @Override
+        public long misses() {
+            return misses.sum();
+        }
+
+        @Override
+        public long revalidations() {
+            return revalidations.sum();
+        }
+
+        @Override
+        public long coalesced() {
+            return coalesced.sum();
+        }
+
+        @Override
+        public long evictions() {
+            return evictions.sum();
+        }
+
+        @Override
+        public int entries() {
+            synchronized (HttpResponseCache.this) {
+                return probation.size() + protectedEntries.size();
+            }
+        }
+
+        @Override
+        public long usedBytes() {
+            synchronized (HttpResponseCache.this) {
+                return usedBytes;
+            }
+        }
+    }
+}
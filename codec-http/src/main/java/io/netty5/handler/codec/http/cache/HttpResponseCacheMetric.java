@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.cache;
+
+/**
+ * Exposes metrics of a {@link HttpResponseCache}.
+ */
+public interface HttpResponseCacheMetric {
+
+    /**
+     * Returns the number of requests that were answered from the cache.
+     */
+    long hits();
+
+    /**
+     * Returns the number of requests that were forwarded because no usable response was cached.
+     */
+    long misses();
+
+    /**
+     * Returns the number of requests that were forwarded to revalidate a stale response.
+     */
+    long revalidations();
+
+    /**
+     * Returns the number of requests that waited for a concurrent request for the same resource instead of being
+     * forwarded.
+     */
+    long coalesced();
+
+    /**
+     * Returns the number of responses that were evicted to stay within the byte budget.
+     */
+    long evictions();
+
+    /**
+     * Returns the number of responses that are currently cached.
+     */
+    int entries();
+
+    /**
+     * Returns the estimated number of bytes used by the cached responses.
+     */
+    long usedBytes();
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.file;
+
+import io.netty5.util.AbstractReferenceCounted;
+import io.netty5.util.internal.PlatformDependent;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * An open file and its metadata, as held by a {@link FileCache}.
+ * <p>
+ * The file is closed once the {@link FileCache} evicted it and all users released it, so every user must
+ * {@linkplain #release() release} it once done. The {@link FileChannel} is shared and must therefore only be accessed
+ * with absolute positions.
+ */
+public final class CachedFile extends AbstractReferenceCounted {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(CachedFile.class);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private final long lastModified;
+    private final String etag;
+    private final String contentType;
+    private final MappedByteBuffer mapped;
+    volatile long validatedNanos;
+
+    CachedFile(Path path, FileChannel channel, long size, long lastModified, String contentType,
+               MappedByteBuffer mapped, long validatedNanos) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.contentType = contentType;
+        this.mapped = mapped;
+        this.validatedNanos = validatedNanos;
+        etag = '"' + Long.toHexString(lastModified) + '-' + Long.toHexString(size) + '"';
+    }
+
+    /**
+     * The path of the file.
+     */
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * The channel to read the file from, which must only be accessed with absolute positions.
+     */
+    public FileChannel channel() {
+        return channel;
+    }
+
+    /**
+     * The size of the file in bytes, at the time it was opened.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * The time the file was last modified in milliseconds since the epoch, at the time it was opened.
+     */
+    public long lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * A strong entity tag for the current content of the file, derived from its size and modification time.
+     */
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * The media type of the file.
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns a read-only view of the memory mapped content of the file, or {@code null} if it is not mapped. The
+     * mapping is released together with the file, so the view must not be used after the file was released.
+     */
+    public ByteBuffer mapped() {
+        return mapped == null ? null : mapped.asReadOnlyBuffer();
+    }
+
+    @Override
+    public CachedFile retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public CachedFile touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    protected void deallocate() {
+        if (mapped != null) {
+            // Don't wait for the garbage collector to unmap the file.
+            PlatformDependent.freeDirectBuffer(mapped);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close {}.", path, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CachedFile(" + path + ", size: " + size + ", etag: " + etag + ')';
+    }
+}
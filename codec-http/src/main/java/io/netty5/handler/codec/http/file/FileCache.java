@@ -0,0 +1,235 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.file;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded, least recently used cache of open files and their metadata that can be shared by all channels.
+ * <p>
+ * A cached file is checked again for modifications at most once per {@code revalidateMillis}, and reopened if its
+ * size or modification time changed. Files that are not larger than {@code mmapThreshold} bytes are memory mapped
+ * when they are opened.
+ * <p>
+ * {@link #acquire(Path)} accesses the file system, which may block, and should therefore not be called from an
+ * {@link io.netty5.channel.EventLoop}. {@link #acquireCached(Path)} never blocks and can be used to serve files that
+ * need no revalidation directly.
+ */
+public final class FileCache implements AutoCloseable {
+    public static final long DEFAULT_REVALIDATE_MILLIS = 1000;
+
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final int maxEntries;
+    private final long revalidateNanos;
+    private final long mmapThreshold;
+    private final Map<Path, CachedFile> files;
+
+    /**
+     * Creates a new cache that revalidates files once per second and does not memory map them.
+     *
+     * @param maxEntries the maximum number of files to keep open.
+     */
+    public FileCache(int maxEntries) {
+        this(maxEntries, DEFAULT_REVALIDATE_MILLIS, 0);
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxEntries        the maximum number of files to keep open.
+     * @param revalidateMillis  the time after which a cached file is checked for modifications again.
+     * @param mmapThreshold     the maximum size of files that are memory mapped, {@code 0} disables memory mapping.
+     */
+    public FileCache(int maxEntries, long revalidateMillis, long mmapThreshold) {
+        this.maxEntries = checkPositive(maxEntries, "maxEntries");
+        revalidateNanos = TimeUnit.MILLISECONDS.toNanos(checkPositiveOrZero(revalidateMillis, "revalidateMillis"));
+        this.mmapThreshold = checkPositiveOrZero(mmapThreshold, "mmapThreshold");
+        files = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the file at the given path if it is cached and does not need to be checked for modifications yet,
+     * without accessing the file system. The returned file was {@linkplain CachedFile#retain() retained} and must be
+     * released by the caller.
+     *
+     * @return the file, or {@code null} if it must be acquired via {@link #acquire(Path)}.
+     */
+    public CachedFile acquireCached(Path path) {
+        requireNonNull(path, "path");
+        synchronized (files) {
+            CachedFile file = files.get(path);
+            if (file != null && System.nanoTime() - file.validatedNanos < revalidateNanos) {
+                return file.retain();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the regular file at the given path, opening it if it is not cached yet or was modified since. The
+     * returned file was {@linkplain CachedFile#retain() retained} and must be released by the caller. This method
+     * accesses the file system and may block.
+     *
+     * @return the file, or {@code null} if the path does not denote a regular file.
+     * @throws java.nio.file.NoSuchFileException if there is no file at the given path.
+     */
+    public CachedFile acquire(Path path) throws IOException {
+        requireNonNull(path, "path");
+        CachedFile file;
+        synchronized (files) {
+            file = files.get(path);
+            if (file != null) {
+                file.retain();
+            }
+        }
+        if (file != null) {
+            long now = System.nanoTime();
+            if (now - file.validatedNanos < revalidateNanos) {
+                return file;
+            }
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            } catch (IOException e) {
+                file.release();
+                remove(path, file);
+                throw e;
+            }
+            if (attributes.isRegularFile() && attributes.size() == file.size() &&
+                    attributes.lastModifiedTime().toMillis() == file.lastModified()) {
+                file.validatedNanos = now;
+                return file;
+            }
+            file.release();
+            remove(path, file);
+        }
+        return open(path);
+    }
+
+    private CachedFile open(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        if (!attributes.isRegularFile()) {
+            return null;
+        }
+        String contentType = Files.probeContentType(path);
+        if (contentType == null) {
+            contentType = DEFAULT_CONTENT_TYPE;
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        CachedFile file;
+        try {
+            // Take the size from the channel, as the file may have changed since we read the attributes.
+            long size = channel.size();
+            MappedByteBuffer mapped = size > 0 && size <= mmapThreshold ?
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, size) : null;
+            file = new CachedFile(path, channel, size, attributes.lastModifiedTime().toMillis(), contentType,
+                    mapped, System.nanoTime());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        List<CachedFile> evicted = new ArrayList<>(2);
+        synchronized (files) {
+            // One reference for the cache and one for the caller.
+            file.retain();
+            CachedFile replaced = files.put(path, file);
+            if (replaced != null) {
+                evicted.add(replaced);
+            }
+            Iterator<CachedFile> iter = files.values().iterator();
+            while (files.size() > maxEntries && iter.hasNext()) {
+                evicted.add(iter.next());
+                iter.remove();
+            }
+        }
+        for (CachedFile f : evicted) {
+            f.release();
+        }
+        return file;
+    }
+
+    private void remove(Path path, CachedFile file) {
+        boolean removed;
+        synchronized (files) {
+            removed = files.remove(path, file);
+        }
+        if (removed) {
+            file.release();
+        }
+    }
+
+    /**
+     * Removes the file at the given path from the cache. It is closed once all current users released it.
+     */
+    public void invalidate(Path path) {
+        CachedFile file;
+        synchronized (files) {
+            file = files.remove(requireNonNull(path, "path"));
+        }
+        if (file != null) {
+            file.release();
+        }
+    }
+
+    /**
+     * Removes all files from the cache. They are closed once all current users released them.
+     */
+    public void invalidateAll() {
+        List<CachedFile> evicted;
+        synchronized (files) {
+            evicted = new ArrayList<>(files.values());
+            files.clear();
+        }
+        for (CachedFile file : evicted) {
+            file.release();
+        }
+    }
+
+    /**
+     * Returns the number of cached files.
+     */
+    public int size() {
+        synchronized (files) {
+            return files.size();
+        }
+    }
+
+    /**
+     * Same as {@link #invalidateAll()}.
+     */
+    @Override
+    public void close() {
+        invalidateAll();
+    }
+}
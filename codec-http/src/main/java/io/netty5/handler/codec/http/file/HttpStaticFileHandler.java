@@ -0,0 +1,544 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.file;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.ChannelFutureListeners;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.channel.DefaultFileRegion;
+import io.netty5.handler.codec.DateFormatter;
+import io.netty5.handler.codec.http.DefaultFullHttpResponse;
+import io.netty5.handler.codec.http.DefaultHttpResponse;
+import io.netty5.handler.codec.http.EmptyLastHttpContent;
+import io.netty5.handler.codec.http.HttpChunkedInput;
+import io.netty5.handler.codec.http.HttpContent;
+import io.netty5.handler.codec.http.HttpDateCache;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpHeaderValues;
+import io.netty5.handler.codec.http.HttpHeaders;
+import io.netty5.handler.codec.http.HttpMethod;
+import io.netty5.handler.codec.http.HttpRequest;
+import io.netty5.handler.codec.http.HttpResponse;
+import io.netty5.handler.codec.http.HttpResponseStatus;
+import io.netty5.handler.codec.http.HttpServerCodec;
+import io.netty5.handler.codec.http.HttpUtil;
+import io.netty5.handler.codec.http.LastHttpContent;
+import io.netty5.handler.codec.http.QueryStringDecoder;
+import io.netty5.handler.ssl.SslHandler;
+import io.netty5.handler.stream.ChunkedNioFile;
+import io.netty5.handler.stream.ChunkedWriteHandler;
+import io.netty5.util.Resource;
+import io.netty5.util.concurrent.EventExecutorGroup;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.GlobalEventExecutor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Queue;
+
+import static io.netty5.handler.codec.http.HttpVersion.HTTP_1_1;
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Serves the regular files below a root directory for {@code GET} and {@code HEAD} requests.
+ * <p>
+ * Files are looked up in a {@link FileCache}, which can be shared by all channels, so that they are not opened and
+ * inspected again for every request. The content is written as a {@link DefaultFileRegion}, which allows the
+ * transport to use {@code sendfile}, or as a {@link ChunkedNioFile} if the {@link ChannelPipeline} contains a
+ * {@link SslHandler}, in which case a {@link ChunkedWriteHandler} must be added before this handler. Files that are
+ * memory mapped by the {@link FileCache} are copied into a single response instead.
+ * <p>
+ * Files that are not cached or must be checked for modifications are looked up on a separate
+ * {@link EventExecutorGroup}, as this accesses the file system, which may block. Later requests of the channel are
+ * held back and no more data is read meanwhile.
+ * <p>
+ * The handler supports conditional requests via {@code If-None-Match} and {@code If-Modified-Since}, and single byte
+ * ranges via {@code Range} and {@code If-Range}. Requests for multiple ranges are answered with the whole file.
+ * <p>
+ * Requests that do not map to a regular file below the root directory, and requests with other methods, are
+ * forwarded to the next handler. Symbolic links are followed, but only to files below the real path of the root
+ * directory. <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("serverCodec", new {@link HttpServerCodec}());
+ *  p.addLast("chunkedWriter", new {@link ChunkedWriteHandler}());
+ *  p.addLast("staticFiles", <b>new {@link HttpStaticFileHandler}(root, cache)</b>);
+ *  ...
+ *  p.addLast("handler", new HttpRequestHandler());
+ *  </pre>
+ * </blockquote>
+ */
+public class HttpStaticFileHandler implements ChannelHandler {
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    private static final String BYTES_UNIT = "bytes=";
+    private static final long[] NOT_SATISFIABLE = new long[0];
+
+    private final Path root;
+    private final FileCache cache;
+    private final int chunkSize;
+    private final EventExecutorGroup fileExecutor;
+    private final Queue<Object> deferred = new ArrayDeque<>();
+    private volatile Path realRoot;
+    private HttpRequest waitingRequest;
+    private boolean readRequested;
+    private boolean discardContent;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param root  the directory to serve files from.
+     * @param cache the cache to look up files in.
+     */
+    public HttpStaticFileHandler(Path root, FileCache cache) {
+        this(root, cache, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param root      the directory to serve files from.
+     * @param cache     the cache to look up files in.
+     * @param chunkSize the size of the chunks the content is read in if it can not be written as a
+     *                  {@link DefaultFileRegion}.
+     */
+    public HttpStaticFileHandler(Path root, FileCache cache, int chunkSize) {
+        this(root, cache, chunkSize, GlobalEventExecutor.INSTANCE);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param root          the directory to serve files from.
+     * @param cache         the cache to look up files in.
+     * @param chunkSize     the size of the chunks the content is read in if it can not be written as a
+     *                      {@link DefaultFileRegion}.
+     * @param fileExecutor  the {@link EventExecutorGroup} that looks up the files that must be opened or checked for
+     *                      modifications, {@link GlobalEventExecutor#INSTANCE} by default.
+     */
+    public HttpStaticFileHandler(Path root, FileCache cache, int chunkSize, EventExecutorGroup fileExecutor) {
+        this.root = requireNonNull(root, "root").toAbsolutePath().normalize();
+        this.cache = requireNonNull(cache, "cache");
+        this.chunkSize = checkPositive(chunkSize, "chunkSize");
+        this.fileExecutor = requireNonNull(fileExecutor, "fileExecutor");
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (waitingRequest != null) {
+            // Keep the order of the requests while we wait for the file system.
+            deferred.add(msg);
+            return;
+        }
+        if (discardContent && msg instanceof HttpContent) {
+            // The content of a request we answered already.
+            discardContent = !(msg instanceof LastHttpContent);
+            Resource.dispose(msg);
+            return;
+        }
+        if (msg instanceof HttpRequest) {
+            HttpRequest request = (HttpRequest) msg;
+            HttpMethod method = request.method();
+            if (request.decoderResult().isSuccess() && (HttpMethod.GET.equals(method) ||
+                    HttpMethod.HEAD.equals(method))) {
+                Path path = resolve(request.uri());
+                if (path != null) {
+                    CachedFile file = cache.acquireCached(path);
+                    if (file != null) {
+                        serve(ctx, request, file);
+                    } else {
+                        waitingRequest = request;
+                        lookup(ctx, request, path);
+                    }
+                    return;
+                }
+            }
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void read(ChannelHandlerContext ctx) {
+        if (waitingRequest == null) {
+            ctx.read();
+        } else {
+            // Resumed once the file was looked up, so the deferred messages stay bounded.
+            readRequested = true;
+        }
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        destroy();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        destroy();
+    }
+
+    /**
+     * Returns {@code true} if the content of files can be written as a {@link DefaultFileRegion}, which is not
+     * the case if the content is encrypted. Returns {@code false} if a {@link SslHandler} is present by default.
+     */
+    protected boolean isFileRegionSupported(ChannelHandlerContext ctx) {
+        return ctx.pipeline().get(SslHandler.class) == null;
+    }
+
+    /**
+     * Returns the path of the file to serve for the given request URI, or {@code null} if it is outside of the root
+     * directory. This must not access the file system, symbolic links are resolved once the file is looked up.
+     */
+    protected Path resolve(String uri) {
+        String path = new QueryStringDecoder(uri).path();
+        if (path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        Path resolved;
+        try {
+            resolved = root.resolve(path.substring(1)).normalize();
+        } catch (InvalidPathException ignore) {
+            return null;
+        }
+        return resolved.startsWith(root) ? resolved : null;
+    }
+
+    private void lookup(ChannelHandlerContext ctx, HttpRequest request, Path path) {
+        fileExecutor.next().submit(() -> acquire(path)).addListener(future -> {
+            if (ctx.executor().inEventLoop()) {
+                resume(ctx, request, future);
+                return;
+            }
+            try {
+                ctx.executor().execute(() -> resume(ctx, request, future));
+            } catch (Throwable ignore) {
+                // The event loop was shut down already.
+                if (future.isSuccess() && future.getNow() != null) {
+                    future.getNow().release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Looks up the file at the given path, which blocks. Returns {@code null} if it does not exist, can not be read
+     * or is not below the root directory once symbolic links are resolved.
+     */
+    private CachedFile acquire(Path path) throws IOException {
+        Path realRoot = this.realRoot;
+        try {
+            if (realRoot == null) {
+                this.realRoot = realRoot = root.toRealPath();
+            }
+            if (!path.toRealPath().startsWith(realRoot)) {
+                return null;
+            }
+            return cache.acquire(path);
+        } catch (NoSuchFileException | AccessDeniedException ignore) {
+            return null;
+        }
+    }
+
+    private void resume(ChannelHandlerContext ctx, HttpRequest request, Future<? extends CachedFile> future) {
+        if (waitingRequest != request) {
+            // Disposed while waiting.
+            if (future.isSuccess() && future.getNow() != null) {
+                future.getNow().release();
+            }
+            return;
+        }
+        waitingRequest = null;
+        try {
+            if (!future.isSuccess()) {
+                Resource.dispose(request);
+                ctx.fireChannelExceptionCaught(future.cause());
+            } else if (future.getNow() != null) {
+                serve(ctx, request, future.getNow());
+            } else {
+                ctx.fireChannelRead(request);
+            }
+            while (waitingRequest == null && !deferred.isEmpty()) {
+                channelRead(ctx, deferred.poll());
+            }
+        } catch (Exception e) {
+            ctx.fireChannelExceptionCaught(e);
+        }
+        if (waitingRequest == null && readRequested) {
+            readRequested = false;
+            ctx.read();
+        }
+    }
+
+    private void destroy() {
+        if (waitingRequest != null) {
+            Resource.dispose(waitingRequest);
+            waitingRequest = null;
+        }
+        Object msg;
+        while ((msg = deferred.poll()) != null) {
+            Resource.dispose(msg);
+        }
+    }
+
+    /**
+     * Answers the request with the given file, then disposes the request and releases the file.
+     */
+    private void serve(ChannelHandlerContext ctx, HttpRequest request, CachedFile file) throws IOException {
+        discardContent = !(request instanceof LastHttpContent);
+        try {
+            serve0(ctx, request, file);
+        } finally {
+            Resource.dispose(request);
+        }
+    }
+
+    private void serve0(ChannelHandlerContext ctx, HttpRequest request, CachedFile file) throws IOException {
+        boolean release = true;
+        try {
+            HttpHeaders headers = request.headers();
+            boolean keepAlive = HttpUtil.isKeepAlive(request);
+            if (isNotModified(headers, file)) {
+                HttpResponse response = newResponse(ctx, HttpResponseStatus.NOT_MODIFIED, file);
+                respond(ctx, response, keepAlive);
+                return;
+            }
+
+            long offset = 0;
+            long length = file.size();
+            HttpResponseStatus status = HttpResponseStatus.OK;
+            String range = headers.get(HttpHeaderNames.RANGE);
+            if (range != null && HttpMethod.GET.equals(request.method()) &&
+                    isRangeApplicable(headers.get(HttpHeaderNames.IF_RANGE), file)) {
+                long[] parsed = parseRange(range, file.size());
+                if (parsed == NOT_SATISFIABLE) {
+                    HttpResponse response = newResponse(ctx, HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE, file);
+                    response.headers().set(HttpHeaderNames.CONTENT_RANGE, "bytes */" + file.size());
+                    HttpUtil.setContentLength(response, 0);
+                    respond(ctx, response, keepAlive);
+                    return;
+                }
+                if (parsed != null) {
+                    status = HttpResponseStatus.PARTIAL_CONTENT;
+                    offset = parsed[0];
+                    length = parsed[1] - parsed[0] + 1;
+                }
+            }
+
+            ByteBuffer mapped = file.mapped();
+            if (HttpMethod.HEAD.equals(request.method()) || length == 0 || mapped != null) {
+                Buffer content;
+                if (mapped != null && HttpMethod.GET.equals(request.method())) {
+                    mapped.position((int) offset).limit((int) (offset + length));
+                    content = ctx.bufferAllocator().copyOf(mapped);
+                } else {
+                    content = ctx.bufferAllocator().allocate(0);
+                }
+                HttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, status, content);
+                setContentHeaders(response, status, file, offset, length);
+                respond(ctx, response, keepAlive);
+                return;
+            }
+
+            HttpResponse response = new DefaultHttpResponse(HTTP_1_1, status);
+            setContentHeaders(response, status, file, offset, length);
+            HttpUtil.setKeepAlive(response, keepAlive);
+            ctx.write(response);
+
+            Future<Void> lastContentFuture;
+            if (isFileRegionSupported(ctx)) {
+                // The region releases the file once it was written.
+                release = false;
+                ctx.write(new CachedFileRegion(file, offset, length));
+                lastContentFuture = ctx.writeAndFlush(new EmptyLastHttpContent(ctx.bufferAllocator()));
+            } else {
+                ChunkedNioFile chunkedFile = new CachedChunkedFile(file, offset, length, chunkSize);
+                release = false;
+                lastContentFuture = ctx.writeAndFlush(
+                        new HttpChunkedInput(chunkedFile, new EmptyLastHttpContent(ctx.bufferAllocator())));
+            }
+            if (!keepAlive) {
+                lastContentFuture.addListener(ctx, ChannelFutureListeners.CLOSE);
+            }
+        } finally {
+            if (release) {
+                file.release();
+            }
+        }
+    }
+
+    private static HttpResponse newResponse(ChannelHandlerContext ctx, HttpResponseStatus status, CachedFile file) {
+        HttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, status, ctx.bufferAllocator().allocate(0));
+        setCacheHeaders(response.headers(), file);
+        return response;
+    }
+
+    private static void setCacheHeaders(HttpHeaders headers, CachedFile file) {
+        headers.set(HttpHeaderNames.DATE, HttpDateCache.currentDate());
+        headers.set(HttpHeaderNames.ETAG, file.etag());
+        headers.set(HttpHeaderNames.LAST_MODIFIED, DateFormatter.format(new Date(file.lastModified())));
+    }
+
+    private static void setContentHeaders(HttpResponse response, HttpResponseStatus status, CachedFile file,
+                                          long offset, long length) {
+        HttpHeaders headers = response.headers();
+        setCacheHeaders(headers, file);
+        headers.set(HttpHeaderNames.ACCEPT_RANGES, HttpHeaderValues.BYTES);
+        headers.set(HttpHeaderNames.CONTENT_TYPE, file.contentType());
+        if (status == HttpResponseStatus.PARTIAL_CONTENT) {
+            headers.set(HttpHeaderNames.CONTENT_RANGE,
+                    "bytes " + offset + '-' + (offset + length - 1) + '/' + file.size());
+        }
+        HttpUtil.setContentLength(response, length);
+    }
+
+    private static void respond(ChannelHandlerContext ctx, HttpResponse response, boolean keepAlive) {
+        HttpUtil.setKeepAlive(response, keepAlive);
+        Future<Void> future = ctx.writeAndFlush(response);
+        if (!keepAlive) {
+            future.addListener(ctx, ChannelFutureListeners.CLOSE);
+        }
+    }
+
+    /**
+     * See <a href="https://tools.ietf.org/html/rfc7232#section-6">RFC 7232, Section 6</a>, {@code If-None-Match}
+     * takes precedence over {@code If-Modified-Since}.
+     */
+    private static boolean isNotModified(HttpHeaders headers, CachedFile file) {
+        String ifNoneMatch = headers.get(HttpHeaderNames.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return HttpUtil.matchesEntityTagWeakly(ifNoneMatch, file.etag());
+        }
+        String ifModifiedSince = headers.get(HttpHeaderNames.IF_MODIFIED_SINCE);
+        if (ifModifiedSince != null) {
+            Date date = DateFormatter.parseHttpDate(ifModifiedSince);
+            // Compare seconds only, as this is the precision of the Last-Modified header.
+            return date != null && file.lastModified() / 1000 <= date.getTime() / 1000;
+        }
+        return false;
+    }
+
+    /**
+     * See <a href="https://tools.ietf.org/html/rfc7233#section-3.2">RFC 7233, Section 3.2</a>, a {@code Range} is
+     * only applied if the representation did not change since the validator in {@code If-Range} was obtained.
+     */
+    private static boolean isRangeApplicable(String ifRange, CachedFile file) {
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Weak entity tags never match.
+            return ifRange.equals(file.etag());
+        }
+        Date date = DateFormatter.parseHttpDate(ifRange);
+        return date != null && date.getTime() / 1000 == file.lastModified() / 1000;
+    }
+
+    /**
+     * Parses a single byte range of <a href="https://tools.ietf.org/html/rfc7233#section-2.1">RFC 7233, Section
+     * 2.1</a> and returns its first and last position, {@code null} if the range should be ignored or
+     * {@link #NOT_SATISFIABLE}.
+     */
+    private static long[] parseRange(String range, long size) {
+        if (!range.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length()) || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        long first = parsePosition(spec, 0, dash);
+        long last = parsePosition(spec, dash + 1, spec.length());
+        if (dash == 0) {
+            // Suffix range, the last n bytes.
+            if (last < 0) {
+                return null;
+            }
+            if (last == 0 || size == 0) {
+                return NOT_SATISFIABLE;
+            }
+            return new long[] { Math.max(0, size - last), size - 1 };
+        }
+        if (first < 0 || dash + 1 < spec.length() && last < first) {
+            return null;
+        }
+        if (first >= size) {
+            return NOT_SATISFIABLE;
+        }
+        return new long[] { first, dash + 1 == spec.length() ? size - 1 : Math.min(last, size - 1) };
+    }
+
+    private static long parsePosition(String spec, int start, int end) {
+        if (start == end || end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = spec.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static final class CachedFileRegion extends DefaultFileRegion {
+        private final CachedFile file;
+
+        CachedFileRegion(CachedFile file, long position, long count) {
+            super(file.channel(), position, count);
+            this.file = file;
+        }
+
+        @Override
+        protected void deallocate() {
+            // The channel is shared, only release our reference.
+            file.release();
+        }
+    }
+
+    private static final class CachedChunkedFile extends ChunkedNioFile {
+        private final CachedFile file;
+        private boolean closed;
+
+        CachedChunkedFile(CachedFile file, long offset, long length, int chunkSize) throws IOException {
+            super(file.channel(), offset, length, chunkSize);
+            this.file = file;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                // The channel is shared, only release our reference.
+                closed = true;
+                file.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.multipart;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.util.Resource;
+import io.netty5.util.Send;
+import io.netty5.util.internal.StringUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A complete file part, emitted by a {@link HttpPostBodyDecoder} that does not stream files. The content is either
+ * held in memory or, if it was larger than the spill threshold, in a temporary file.
+ * <p>
+ * Closing the upload releases the memory or deletes the temporary file. To keep the file, move it to another
+ * location before closing the upload.
+ */
+public final class HttpFileUpload implements Resource<HttpFileUpload> {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(HttpFileUpload.class);
+
+    private final String name;
+    private final String filename;
+    private final String contentType;
+    private final long length;
+    private final Buffer content;
+    private final Path file;
+    private boolean closed;
+
+    /**
+     * Creates an upload that is held in memory.
+     */
+    public HttpFileUpload(String name, String filename, String contentType, Buffer content) {
+        this(name, filename, contentType, requireNonNull(content, "content").readableBytes(), content, null);
+    }
+
+    /**
+     * Creates an upload that is stored in the given file, which is deleted once the upload is closed.
+     */
+    public HttpFileUpload(String name, String filename, String contentType, long length, Path file) {
+        this(name, filename, contentType, length, null, requireNonNull(file, "file"));
+    }
+
+    private HttpFileUpload(String name, String filename, String contentType, long length, Buffer content,
+                           Path file) {
+        this.name = requireNonNull(name, "name");
+        this.filename = requireNonNull(filename, "filename");
+        this.contentType = contentType;
+        this.length = length;
+        this.content = content;
+        this.file = file;
+    }
+
+    /**
+     * Returns the name of the form field.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the file name sent by the client, which must not be trusted as a path.
+     */
+    public String filename() {
+        return filename;
+    }
+
+    /**
+     * Returns the {@code Content-Type} of the part, or {@code null} if none was sent.
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the length of the content in bytes.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns {@code true} if the content is held in memory, and {@code false} if it is stored in a file.
+     */
+    public boolean isInMemory() {
+        return content != null;
+    }
+
+    /**
+     * Returns the content if it is held in memory, or {@code null}.
+     */
+    public Buffer content() {
+        return content;
+    }
+
+    /**
+     * Returns the file the content is stored in, or {@code null} if it is held in memory.
+     */
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public Send<HttpFileUpload> send() {
+        if (content != null) {
+            return content.send().map(HttpFileUpload.class,
+                    content -> new HttpFileUpload(name, filename, contentType, content));
+        }
+        if (closed) {
+            throw new IllegalStateException("The upload is closed.");
+        }
+        // The file is owned by the receiving side from now on.
+        closed = true;
+        return Send.sending(HttpFileUpload.class, () -> new HttpFileUpload(name, filename, contentType, length, file));
+    }
+
+    @Override
+    public void close() {
+        if (content != null) {
+            content.close();
+            return;
+        }
+        if (!closed) {
+            closed = true;
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete the temporary file {}", file, e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isAccessible() {
+        return content != null ? content.isAccessible() : !closed;
+    }
+
+    @Override
+    public HttpFileUpload touch(Object hint) {
+        if (content != null) {
+            content.touch(hint);
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.simpleClassName(this) + "(name: " + name + ", filename: " + filename + ", length: " +
+               length + (content != null ? ", in memory)" : ", file: " + file + ')');
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.multipart;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.util.Resource;
+import io.netty5.util.Send;
+import io.netty5.util.internal.StringUtil;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A chunk of the content of a file part, emitted by a {@link HttpPostBodyDecoder} that streams files. The chunks of a
+ * part are emitted in order, and the last one is marked by {@link #isLast()}. Every chunk carries the metadata of its
+ * part.
+ */
+public final class HttpFileUploadChunk implements Resource<HttpFileUploadChunk> {
+    private final String name;
+    private final String filename;
+    private final String contentType;
+    private final Buffer payload;
+    private final boolean last;
+
+    public HttpFileUploadChunk(String name, String filename, String contentType, Buffer payload, boolean last) {
+        this.name = requireNonNull(name, "name");
+        this.filename = requireNonNull(filename, "filename");
+        this.contentType = contentType;
+        this.payload = requireNonNull(payload, "payload");
+        this.last = last;
+    }
+
+    /**
+     * Returns the name of the form field.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the file name sent by the client, which must not be trusted as a path.
+     */
+    public String filename() {
+        return filename;
+    }
+
+    /**
+     * Returns the {@code Content-Type} of the part, or {@code null} if none was sent.
+     */
+    public String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the content of this chunk.
+     */
+    public Buffer payload() {
+        return payload;
+    }
+
+    /**
+     * Returns {@code true} if this is the last chunk of the part.
+     */
+    public boolean isLast() {
+        return last;
+    }
+
+    @Override
+    public Send<HttpFileUploadChunk> send() {
+        return payload.send().map(HttpFileUploadChunk.class,
+                payload -> new HttpFileUploadChunk(name, filename, contentType, payload, last));
+    }
+
+    @Override
+    public void close() {
+        payload.close();
+    }
+
+    @Override
+    public boolean isAccessible() {
+        return payload.isAccessible();
+    }
+
+    @Override
+    public HttpFileUploadChunk touch(Object hint) {
+        payload.touch(hint);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.simpleClassName(this) + "(name: " + name + ", filename: " + filename +
+               ", data: " + payload + ", last: " + last + ')';
+    }
+}
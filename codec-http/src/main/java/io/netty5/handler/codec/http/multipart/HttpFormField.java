@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.multipart;
+
+import io.netty5.util.internal.StringUtil;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A form field decoded by {@link HttpPostBodyDecoder}, either a pair of an
+ * {@code application/x-www-form-urlencoded} body or a {@code multipart/form-data} part without a file name.
+ */
+public final class HttpFormField {
+    private final String name;
+    private final String value;
+
+    public HttpFormField(String name, String value) {
+        this.name = requireNonNull(name, "name");
+        this.value = requireNonNull(value, "value");
+    }
+
+    /**
+     * Returns the name of the field.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the decoded value of the field.
+     */
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return StringUtil.simpleClassName(this) + "(name: " + name + ", value: " + value + ')';
+    }
+}
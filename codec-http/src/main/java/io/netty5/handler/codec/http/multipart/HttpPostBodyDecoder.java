@@ -0,0 +1,632 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.multipart;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.handler.codec.DecoderException;
+import io.netty5.handler.codec.http.DefaultHttpRequest;
+import io.netty5.handler.codec.http.EmptyLastHttpContent;
+import io.netty5.handler.codec.http.FullHttpRequest;
+import io.netty5.handler.codec.http.HttpConstants;
+import io.netty5.handler.codec.http.HttpContent;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpHeaderValues;
+import io.netty5.handler.codec.http.HttpObjectAggregator;
+import io.netty5.handler.codec.http.HttpRequest;
+import io.netty5.handler.codec.http.HttpServerCodec;
+import io.netty5.handler.codec.http.HttpUtil;
+import io.netty5.handler.codec.http.LastHttpContent;
+import io.netty5.handler.codec.http.QueryStringDecoder;
+import io.netty5.handler.codec.http.TooLongHttpContentException;
+import io.netty5.handler.codec.http.TooLongHttpHeaderException;
+import io.netty5.util.AsciiString;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+
+/**
+ * Decodes {@code multipart/form-data} and {@code application/x-www-form-urlencoded} request bodies incrementally, as
+ * the {@link HttpContent}s of the request arrive, so the body does not need to be aggregated.
+ * <p>
+ * The {@link HttpRequest} is forwarded as is, followed by a {@link HttpFormField} for every form field and the file
+ * parts, and finally by the {@link LastHttpContent} of the request, whose content was consumed. The content of other
+ * requests is forwarded unchanged. A {@link FullHttpRequest} produced by a {@link HttpObjectAggregator} is decoded as
+ * well, in which case a {@link DefaultHttpRequest} and an {@link EmptyLastHttpContent} are forwarded in its place.
+ * <p>
+ * File parts are either streamed as {@link HttpFileUploadChunk}s, which share the memory of the received content, or
+ * aggregated into {@link HttpFileUpload}s, which are written to a temporary file once they exceed the spill
+ * threshold. In both cases the decoder only holds a bounded window of the body in memory: the current form field, the
+ * headers of the current part, and the bytes at the end of a chunk that may be the start of a boundary. The
+ * boundary is found with {@link Buffer#bytesBefore(byte)}, which searches a word at a time, and is only compared
+ * where a {@code CR} is found.
+ * <p>
+ * Writing temporary files blocks the event loop, a small spill threshold should therefore be avoided on busy event
+ * loops.
+ * <p>
+ * Malformed bodies are reported via {@link ChannelHandlerContext#fireChannelExceptionCaught(Throwable)}, after which
+ * the rest of the body is discarded. <blockquote>
+ * <pre>
+ *  {@link ChannelPipeline} p = ...;
+ *  ...
+ *  p.addLast("serverCodec", new {@link HttpServerCodec}());
+ *  p.addLast("formDecoder", <b>new {@link HttpPostBodyDecoder}()</b>);
+ *  ...
+ *  p.addLast("handler", new HttpRequestHandler());
+ *  </pre>
+ * </blockquote>
+ */
+public class HttpPostBodyDecoder implements ChannelHandler {
+    public static final int DEFAULT_MAX_FIELD_LENGTH = 65536;
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(HttpPostBodyDecoder.class);
+    private static final int MAX_PART_HEADER_SIZE = 8192;
+    private static final int MAX_BOUNDARY_LENGTH = 70;
+    private static final byte CR = HttpConstants.CR;
+    private static final byte LF = HttpConstants.LF;
+    private static final byte AMPERSAND = '&';
+    private static final byte DASH = '-';
+
+    private enum State {
+        PASS,
+        PREAMBLE,
+        DELIMITER_SUFFIX,
+        PART_HEADERS,
+        PART_BODY,
+        EPILOGUE,
+        URLENCODED,
+        DISCARD
+    }
+
+    private final int maxFieldLength;
+    private final boolean streamFiles;
+    private final int spillThreshold;
+    private final Path spillDirectory;
+
+    private State state = State.PASS;
+    private Charset charset;
+    private byte[] delimiter;
+    private int safeBytes;
+    private Buffer cumulation;
+    private Buffer field;
+    private int partHeaderSize;
+    private String partName;
+    private String partFilename;
+    private String partContentType;
+    private Charset partCharset;
+    private Buffer upload;
+    private long uploadLength;
+    private Path uploadFile;
+    private FileChannel uploadChannel;
+
+    /**
+     * Creates a new instance that streams file parts as {@link HttpFileUploadChunk}s, with a maximum field length of
+     * {@value #DEFAULT_MAX_FIELD_LENGTH}.
+     */
+    public HttpPostBodyDecoder() {
+        this(DEFAULT_MAX_FIELD_LENGTH);
+    }
+
+    /**
+     * Creates a new instance that streams file parts as {@link HttpFileUploadChunk}s.
+     *
+     * @param maxFieldLength the maximum length of the encoded value of a form field.
+     */
+    public HttpPostBodyDecoder(int maxFieldLength) {
+        this(maxFieldLength, true, 0, null);
+    }
+
+    /**
+     * Creates a new instance that aggregates file parts into {@link HttpFileUpload}s.
+     *
+     * @param maxFieldLength    the maximum length of the encoded value of a form field.
+     * @param spillThreshold    the maximum length of a file that is held in memory, larger files are written to a
+     *                          temporary file.
+     * @param spillDirectory    the directory for temporary files, or {@code null} to use the default one.
+     */
+    public HttpPostBodyDecoder(int maxFieldLength, int spillThreshold, Path spillDirectory) {
+        this(maxFieldLength, false, spillThreshold, spillDirectory);
+    }
+
+    private HttpPostBodyDecoder(int maxFieldLength, boolean streamFiles, int spillThreshold, Path spillDirectory) {
+        this.maxFieldLength = checkPositive(maxFieldLength, "maxFieldLength");
+        this.streamFiles = streamFiles;
+        this.spillThreshold = checkPositiveOrZero(spillThreshold, "spillThreshold");
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof HttpRequest) {
+            reset();
+            HttpRequest request = (HttpRequest) msg;
+            DecoderException invalid = start(ctx, request);
+            if (state == State.PASS || !(msg instanceof FullHttpRequest)) {
+                ctx.fireChannelRead(msg);
+            } else {
+                try (FullHttpRequest full = (FullHttpRequest) msg) {
+                    ctx.fireChannelRead(new DefaultHttpRequest(
+                            full.protocolVersion(), full.method(), full.uri(), full.headers()));
+                    decode(ctx, full.payload(), true);
+                }
+                ctx.fireChannelRead(new EmptyLastHttpContent(ctx.bufferAllocator()));
+            }
+            if (invalid != null) {
+                ctx.fireChannelExceptionCaught(invalid);
+            }
+            return;
+        }
+        if (msg instanceof HttpContent && state != State.PASS) {
+            HttpContent<?> content = (HttpContent<?>) msg;
+            boolean last = msg instanceof LastHttpContent;
+            decode(ctx, content.payload(), last);
+            if (last) {
+                ctx.fireChannelRead(msg);
+            } else {
+                content.close();
+            }
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) {
+        reset();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) {
+        reset();
+    }
+
+    private DecoderException start(ChannelHandlerContext ctx, HttpRequest request) {
+        String contentType = request.headers().get(HttpHeaderNames.CONTENT_TYPE);
+        if (contentType == null) {
+            return null;
+        }
+        CharSequence mimeType = HttpUtil.getMimeType(contentType);
+        if (HttpHeaderValues.APPLICATION_X_WWW_FORM_URLENCODED.contentEqualsIgnoreCase(mimeType)) {
+            charset = HttpUtil.getCharset(contentType, HttpConstants.DEFAULT_CHARSET);
+            state = State.URLENCODED;
+            return null;
+        }
+        if (!HttpHeaderValues.MULTIPART_FORM_DATA.contentEqualsIgnoreCase(mimeType)) {
+            return null;
+        }
+        charset = HttpUtil.getCharset(contentType, HttpConstants.DEFAULT_CHARSET);
+        String boundary = parameter(contentType, HttpHeaderValues.BOUNDARY);
+        if (boundary == null || boundary.isEmpty() || boundary.length() > MAX_BOUNDARY_LENGTH ||
+                boundary.indexOf('\r') >= 0 || boundary.indexOf('\n') >= 0) {
+            state = State.DISCARD;
+            return new DecoderException("Invalid multipart boundary: " + boundary);
+        }
+        delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        // The first delimiter is not preceded by a line break, pretend there was one.
+        cumulation = ctx.bufferAllocator().allocate(256).writeByte(CR).writeByte(LF);
+        state = State.PREAMBLE;
+        return null;
+    }
+
+    private void decode(ChannelHandlerContext ctx, Buffer payload, boolean last) {
+        try {
+            if (state != State.DISCARD && state != State.EPILOGUE) {
+                Buffer in = payload;
+                if (cumulation != null && cumulation.readableBytes() > 0) {
+                    if (cumulation.readerOffset() > 0) {
+                        cumulation.compact();
+                    }
+                    cumulation.ensureWritable(payload.readableBytes(), cumulation.capacity(), true);
+                    cumulation.writeBytes(payload);
+                    in = cumulation;
+                }
+                decode(ctx, in);
+                if (in == payload && payload.readableBytes() > 0) {
+                    if (cumulation == null) {
+                        cumulation = ctx.bufferAllocator().allocate(Math.max(256, payload.readableBytes()));
+                    } else {
+                        cumulation.resetOffsets().ensureWritable(payload.readableBytes());
+                    }
+                    cumulation.writeBytes(payload);
+                }
+            }
+            if (last) {
+                finish(ctx);
+            }
+        } catch (Exception e) {
+            reset();
+            state = last ? State.PASS : State.DISCARD;
+            ctx.fireChannelExceptionCaught(e);
+        } finally {
+            payload.skipReadableBytes(payload.readableBytes());
+        }
+    }
+
+    private void decode(ChannelHandlerContext ctx, Buffer in) throws IOException {
+        for (;;) {
+            switch (state) {
+            case URLENCODED:
+                decodeUrlEncoded(ctx, in);
+                return;
+            case PREAMBLE: {
+                int index = indexOfDelimiter(in);
+                if (index < 0) {
+                    in.skipReadableBytes(safeBytes);
+                    return;
+                }
+                in.skipReadableBytes(index + delimiter.length);
+                state = State.DELIMITER_SUFFIX;
+                break;
+            }
+            case DELIMITER_SUFFIX: {
+                if (in.readableBytes() < 2) {
+                    return;
+                }
+                int offset = in.readerOffset();
+                if (in.getByte(offset) == DASH && in.getByte(offset + 1) == DASH) {
+                    // The close delimiter, everything after it is ignored.
+                    state = State.EPILOGUE;
+                    in.skipReadableBytes(in.readableBytes());
+                    return;
+                }
+                // Skip the line break and any transport padding before it.
+                int lineEnd = in.bytesBefore(LF);
+                if (lineEnd < 0) {
+                    if (in.readableBytes() > MAX_PART_HEADER_SIZE) {
+                        throw new DecoderException("Invalid multipart delimiter line");
+                    }
+                    return;
+                }
+                in.skipReadableBytes(lineEnd + 1);
+                partHeaderSize = 0;
+                partName = null;
+                partFilename = null;
+                partContentType = null;
+                partCharset = charset;
+                state = State.PART_HEADERS;
+                break;
+            }
+            case PART_HEADERS: {
+                int lineEnd = in.bytesBefore(LF);
+                if (lineEnd < 0) {
+                    if (partHeaderSize + in.readableBytes() > MAX_PART_HEADER_SIZE) {
+                        throw new TooLongHttpHeaderException(
+                                "Multipart headers are larger than " + MAX_PART_HEADER_SIZE + " bytes.");
+                    }
+                    return;
+                }
+                partHeaderSize += lineEnd + 1;
+                if (partHeaderSize > MAX_PART_HEADER_SIZE) {
+                    throw new TooLongHttpHeaderException(
+                            "Multipart headers are larger than " + MAX_PART_HEADER_SIZE + " bytes.");
+                }
+                int length = lineEnd > 0 && in.getByte(in.readerOffset() + lineEnd - 1) == CR ? lineEnd - 1 : lineEnd;
+                if (length == 0) {
+                    in.skipReadableBytes(lineEnd + 1);
+                    if (partName == null) {
+                        throw new DecoderException("Multipart part without a form-data Content-Disposition");
+                    }
+                    state = State.PART_BODY;
+                    break;
+                }
+                String line = in.readCharSequence(length, StandardCharsets.UTF_8).toString();
+                in.skipReadableBytes(lineEnd + 1 - length);
+                partHeader(line);
+                break;
+            }
+            case PART_BODY: {
+                int index = indexOfDelimiter(in);
+                if (index < 0) {
+                    if (safeBytes > 0) {
+                        partContent(ctx, in, safeBytes, false);
+                    }
+                    return;
+                }
+                partContent(ctx, in, index, true);
+                in.skipReadableBytes(delimiter.length);
+                state = State.DELIMITER_SUFFIX;
+                break;
+            }
+            default:
+                in.skipReadableBytes(in.readableBytes());
+                return;
+            }
+        }
+    }
+
+    private void finish(ChannelHandlerContext ctx) {
+        switch (state) {
+        case URLENCODED:
+            if (field != null && field.readableBytes() > 0) {
+                emitUrlEncodedField(ctx);
+            }
+            break;
+        case PREAMBLE:
+        case DELIMITER_SUFFIX:
+        case PART_HEADERS:
+        case PART_BODY:
+            throw new DecoderException("Multipart body ended before the close delimiter");
+        default:
+            break;
+        }
+        reset();
+    }
+
+    /**
+     * Finds the delimiter in the readable bytes. If it is not found, {@link #safeBytes} is set to the number of bytes
+     * that can not be part of a delimiter, which excludes a possible start of a delimiter at the end.
+     */
+    private int indexOfDelimiter(Buffer in) {
+        final byte[] delimiter = this.delimiter;
+        final int start = in.readerOffset();
+        final int end = in.writerOffset();
+        int offset = start;
+        try {
+            while (offset < end) {
+                in.readerOffset(offset);
+                int index = in.bytesBefore(CR);
+                if (index < 0) {
+                    break;
+                }
+                int candidate = offset + index;
+                int length = Math.min(delimiter.length, end - candidate);
+                int matched = 1;
+                while (matched < length && in.getByte(candidate + matched) == delimiter[matched]) {
+                    matched++;
+                }
+                if (matched == delimiter.length) {
+                    return candidate - start;
+                }
+                if (matched == length) {
+                    // A delimiter may start here, wait for more bytes. The boundary does not contain a CR, so no
+                    // other delimiter can start in between.
+                    safeBytes = candidate - start;
+                    return -1;
+                }
+                offset = candidate + 1;
+            }
+        } finally {
+            in.readerOffset(start);
+        }
+        safeBytes = end - start;
+        return -1;
+    }
+
+    private void partHeader(String line) {
+        int colon = line.indexOf(':');
+        if (colon <= 0) {
+            throw new DecoderException("Invalid multipart header: " + line);
+        }
+        String name = line.substring(0, colon).trim();
+        String value = line.substring(colon + 1).trim();
+        if (HttpHeaderNames.CONTENT_DISPOSITION.contentEqualsIgnoreCase(name)) {
+            int semicolon = value.indexOf(';');
+            String type = (semicolon < 0 ? value : value.substring(0, semicolon)).trim();
+            if (!HttpHeaderValues.FORM_DATA.contentEqualsIgnoreCase(type)) {
+                throw new DecoderException("Unsupported multipart Content-Disposition: " + value);
+            }
+            partName = parameter(value, HttpHeaderValues.NAME);
+            partFilename = parameter(value, HttpHeaderValues.FILENAME);
+        } else if (HttpHeaderNames.CONTENT_TYPE.contentEqualsIgnoreCase(name)) {
+            partContentType = value;
+            partCharset = HttpUtil.getCharset(value, charset);
+        }
+    }
+
+    private void partContent(ChannelHandlerContext ctx, Buffer in, int length, boolean end) throws IOException {
+        if (partFilename == null) {
+            appendField(ctx, in, length);
+            if (end) {
+                String value = field == null ? "" : field.readCharSequence(field.readableBytes(), partCharset)
+                        .toString();
+                closeField();
+                ctx.fireChannelRead(new HttpFormField(partName, value));
+            }
+        } else if (streamFiles) {
+            if (length > 0 || end) {
+                ctx.fireChannelRead(new HttpFileUploadChunk(partName, partFilename, partContentType,
+                        in.readSplit(length), end));
+            }
+        } else {
+            appendUpload(ctx, in, length);
+            if (end) {
+                emitUpload(ctx);
+            }
+        }
+    }
+
+    private void appendUpload(ChannelHandlerContext ctx, Buffer in, int length) throws IOException {
+        if (uploadChannel == null && uploadLength + length > spillThreshold) {
+            uploadFile = spillDirectory == null ? Files.createTempFile("upload-", ".tmp") :
+                    Files.createTempFile(spillDirectory, "upload-", ".tmp");
+            uploadChannel = FileChannel.open(uploadFile, StandardOpenOption.WRITE);
+            if (upload != null) {
+                while (upload.readableBytes() > 0) {
+                    upload.transferTo(uploadChannel, upload.readableBytes());
+                }
+                upload.close();
+                upload = null;
+            }
+        }
+        if (uploadChannel != null) {
+            int remaining = length;
+            while (remaining > 0) {
+                remaining -= in.transferTo(uploadChannel, remaining);
+            }
+        } else if (length > 0) {
+            if (upload == null) {
+                upload = ctx.bufferAllocator().allocate(Math.max(length, Math.min(spillThreshold, 8192)));
+            }
+            upload.ensureWritable(length, upload.capacity(), true);
+            in.copyInto(in.readerOffset(), upload, upload.writerOffset(), length);
+            upload.skipWritableBytes(length);
+            in.skipReadableBytes(length);
+        }
+        uploadLength += length;
+    }
+
+    private void emitUpload(ChannelHandlerContext ctx) throws IOException {
+        HttpFileUpload fileUpload;
+        if (uploadChannel != null) {
+            uploadChannel.close();
+            uploadChannel = null;
+            fileUpload = new HttpFileUpload(partName, partFilename, partContentType, uploadLength, uploadFile);
+            uploadFile = null;
+        } else {
+            Buffer content = upload != null ? upload : ctx.bufferAllocator().allocate(0);
+            upload = null;
+            fileUpload = new HttpFileUpload(partName, partFilename, partContentType, content);
+        }
+        uploadLength = 0;
+        ctx.fireChannelRead(fileUpload);
+    }
+
+    private void decodeUrlEncoded(ChannelHandlerContext ctx, Buffer in) {
+        while (in.readableBytes() > 0) {
+            int index = in.bytesBefore(AMPERSAND);
+            appendField(ctx, in, index < 0 ? in.readableBytes() : index);
+            if (index < 0) {
+                return;
+            }
+            in.skipReadableBytes(1);
+            emitUrlEncodedField(ctx);
+        }
+    }
+
+    private void emitUrlEncodedField(ChannelHandlerContext ctx) {
+        if (field == null || field.readableBytes() == 0) {
+            return;
+        }
+        String pair = field.readCharSequence(field.readableBytes(), charset).toString();
+        closeField();
+        int equals = pair.indexOf('=');
+        String name = QueryStringDecoder.decodeComponent(equals < 0 ? pair : pair.substring(0, equals), charset);
+        String value = equals < 0 ? "" : QueryStringDecoder.decodeComponent(pair.substring(equals + 1), charset);
+        ctx.fireChannelRead(new HttpFormField(name, value));
+    }
+
+    private void appendField(ChannelHandlerContext ctx, Buffer in, int length) {
+        if (length == 0) {
+            return;
+        }
+        int fieldLength = field == null ? 0 : field.readableBytes();
+        if (fieldLength + length > maxFieldLength) {
+            throw new TooLongHttpContentException("Form field is larger than " + maxFieldLength + " bytes.");
+        }
+        if (field == null) {
+            field = ctx.bufferAllocator().allocate(Math.max(length, 128));
+        }
+        field.ensureWritable(length, field.capacity(), true);
+        in.copyInto(in.readerOffset(), field, field.writerOffset(), length);
+        field.skipWritableBytes(length);
+        in.skipReadableBytes(length);
+    }
+
+    private void closeField() {
+        if (field != null) {
+            field.close();
+            field = null;
+        }
+    }
+
+    private void reset() {
+        state = State.PASS;
+        delimiter = null;
+        closeField();
+        if (cumulation != null) {
+            cumulation.close();
+            cumulation = null;
+        }
+        if (upload != null) {
+            upload.close();
+            upload = null;
+        }
+        uploadLength = 0;
+        if (uploadChannel != null) {
+            try {
+                uploadChannel.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close the temporary file {}", uploadFile, e);
+            }
+            uploadChannel = null;
+        }
+        if (uploadFile != null) {
+            try {
+                Files.deleteIfExists(uploadFile);
+            } catch (IOException e) {
+                logger.warn("Failed to delete the temporary file {}", uploadFile, e);
+            }
+            uploadFile = null;
+        }
+    }
+
+    /**
+     * Returns the value of the given parameter of a header value like {@code form-data; name="field"}, or
+     * {@code null} if it is not present.
+     */
+    static String parameter(String value, AsciiString name) {
+        int index = value.indexOf(';');
+        while (index >= 0 && index < value.length()) {
+            int start = index + 1;
+            while (start < value.length() && value.charAt(start) == ' ') {
+                start++;
+            }
+            int equals = value.indexOf('=', start);
+            if (equals < 0) {
+                return null;
+            }
+            boolean matches = name.contentEqualsIgnoreCase(value.substring(start, equals).trim());
+            int valueStart = equals + 1;
+            if (valueStart < value.length() && value.charAt(valueStart) == '"') {
+                StringBuilder builder = new StringBuilder();
+                int i = valueStart + 1;
+                for (; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == '\\' && i + 1 < value.length()) {
+                        c = value.charAt(++i);
+                    } else if (c == '"') {
+                        break;
+                    }
+                    builder.append(c);
+                }
+                if (matches) {
+                    return builder.toString();
+                }
+                index = value.indexOf(';', i);
+            } else {
+                int end = value.indexOf(';', valueStart);
+                if (matches) {
+                    return (end < 0 ? value.substring(valueStart) : value.substring(valueStart, end)).trim();
+                }
+                index = end;
+            }
+        }
+        return null;
+    }
+}
@@ -36,15 +36,17 @@
 package io.netty5.handler.codec.http.websocketx;
 
 import io.netty5.buffer.api.Buffer;
-import io.netty5.buffer.api.ByteCursor;
 import io.netty5.util.ByteProcessor;
 
+import java.nio.ByteBuffer;
+
 /**
  * Checks UTF8 bytes for validity
  */
 final class Utf8Validator implements ByteProcessor {
     private static final int UTF8_ACCEPT = 0;
     private static final int UTF8_REJECT = 12;
+    private static final long NON_ASCII_MASK = 0x8080808080808080L;
 
     private static final byte[] TYPES = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
             0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
@@ -71,9 +73,20 @@ final class Utf8Validator implements ByteProcessor {
     public void check(Buffer buffer) {
         checking = true;
         buffer.forEachReadable(0, (index, component) -> {
-            ByteCursor cursor = component.openCursor();
-            while (cursor.readByte()) {
-                process(cursor.getByte());
+            ByteBuffer bytes = component.readableBuffer();
+            int i = bytes.position();
+            int end = bytes.limit();
+            while (i < end) {
+                if (state == UTF8_ACCEPT) {
+                    // Fast path: skip over ASCII a whole word at a time, as these bytes never change the state.
+                    while (i + Long.BYTES <= end && (bytes.getLong(i) & NON_ASCII_MASK) == 0) {
+                        i += Long.BYTES;
+                    }
+                    if (i == end) {
+                        break;
+                    }
+                }
+                process(bytes.get(i++));
             }
             return true;
         });
@@ -399,9 +399,17 @@ public class WebSocket13FrameDecoder extends ByteToMessageDecoder implements Web
                       | (maskingKey[2] & 0xFF) << 8
                       | maskingKey[3] & 0xFF;
 
-        for (; index + 3 < len; index += Integer.BYTES) {
+        // Unmask a whole word at a time, the mask repeats every 4 bytes so it stays aligned as long as we only
+        // advance in multiples of 4.
+        long longMask = (long) intMask << 32 | intMask & 0xFFFFFFFFL;
+        for (; index + 7 < len; index += Long.BYTES) {
+            int off = base + index;
+            frame.setLong(off, frame.getLong(off) ^ longMask);
+        }
+        if (index + 3 < len) {
             int off = base + index;
             frame.setInt(off, frame.getInt(off) ^ intMask);
+            index += Integer.BYTES;
         }
         for (; index < len; index++) {
             int off = base + index;
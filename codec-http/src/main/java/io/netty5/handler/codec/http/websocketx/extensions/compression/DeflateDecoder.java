@@ -22,6 +22,8 @@ import io.netty5.util.Send;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.channel.embedded.EmbeddedChannel;
 import io.netty5.handler.codec.CodecException;
+import io.netty5.handler.codec.compression.CompressionDictionary;
+import io.netty5.handler.codec.compression.DecompressionException;
 import io.netty5.handler.codec.compression.ZlibCodecFactory;
 import io.netty5.handler.codec.compression.ZlibWrapper;
 import io.netty5.handler.codec.http.websocketx.BinaryWebSocketFrame;
@@ -36,6 +38,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 /**
  * Deflate implementation of a payload decompressor for
@@ -53,8 +57,13 @@ abstract class DeflateDecoder extends WebSocketExtensionDecoder {
 
     private final boolean noContext;
     private final WebSocketExtensionFilter extensionDecoderFilter;
+    private final CompressionDictionary dictionary;
+    private final ZlibContextPool contextPool;
+    private final byte[] dictionaryContent;
 
     private EmbeddedChannel decoder;
+    // The context borrowed from the contextPool for the current message.
+    private Inflater inflater;
 
     /**
      * Constructor
@@ -63,8 +72,37 @@ abstract class DeflateDecoder extends WebSocketExtensionDecoder {
      * @param extensionDecoderFilter extension decoder filter.
      */
     DeflateDecoder(boolean noContext, WebSocketExtensionFilter extensionDecoderFilter) {
+        this(noContext, extensionDecoderFilter, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param noContext true to disable context takeover.
+     * @param extensionDecoderFilter extension decoder filter.
+     * @param dictionary preset dictionary of the decompressor or {@code null} if none.
+     */
+    DeflateDecoder(boolean noContext, WebSocketExtensionFilter extensionDecoderFilter,
+                   CompressionDictionary dictionary) {
+        this(noContext, extensionDecoderFilter, dictionary, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param noContext true to disable context takeover.
+     * @param extensionDecoderFilter extension decoder filter.
+     * @param dictionary preset dictionary of the decompressor or {@code null} if none.
+     * @param contextPool the pool to borrow a context from for each message if {@code noContext} is set,
+     *                    or {@code null} to create a context per message.
+     */
+    DeflateDecoder(boolean noContext, WebSocketExtensionFilter extensionDecoderFilter,
+                   CompressionDictionary dictionary, ZlibContextPool contextPool) {
         this.noContext = noContext;
         this.extensionDecoderFilter = Objects.requireNonNull(extensionDecoderFilter, "extensionDecoderFilter");
+        this.dictionary = dictionary;
+        this.contextPool = noContext ? contextPool : null;
+        dictionaryContent = dictionary == null || this.contextPool == null ? null : dictionary.content();
     }
 
     /**
@@ -102,9 +140,20 @@ abstract class DeflateDecoder extends WebSocketExtensionDecoder {
         ctx.fireChannelRead(outMsg);
     }
 
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        if (contextPool != null) {
+            contextPool.addInflaterUser();
+        }
+        super.handlerAdded(ctx);
+    }
+
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
         cleanup();
+        if (contextPool != null) {
+            contextPool.removeInflaterUser();
+        }
         super.handlerRemoved(ctx);
     }
 
@@ -115,11 +164,16 @@ abstract class DeflateDecoder extends WebSocketExtensionDecoder {
     }
 
     private Buffer decompressContent(ChannelHandlerContext ctx, WebSocketFrame msg) {
+        if (contextPool != null) {
+            return decompressPooled(ctx, msg);
+        }
         if (decoder == null) {
             if (!(msg instanceof TextWebSocketFrame) && !(msg instanceof BinaryWebSocketFrame)) {
                 throw new CodecException("unexpected initial frame type: " + msg.getClass().getName());
             }
-            decoder = new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(ZlibWrapper.NONE));
+            decoder = new EmbeddedChannel(dictionary == null ?
+                    ZlibCodecFactory.newZlibDecoder(ZlibWrapper.NONE) :
+                    ZlibCodecFactory.newZlibDecoder(ZlibWrapper.NONE, dictionary));
         }
 
         boolean readable = msg.binaryData().readableBytes() > 0;
@@ -162,6 +216,85 @@ abstract class DeflateDecoder extends WebSocketExtensionDecoder {
         return compositeDecompressedContent;
     }
 
+    private Buffer decompressPooled(ChannelHandlerContext ctx, WebSocketFrame msg) {
+        if (inflater == null) {
+            if (!(msg instanceof TextWebSocketFrame) && !(msg instanceof BinaryWebSocketFrame)) {
+                throw new CodecException("unexpected initial frame type: " + msg.getClass().getName());
+            }
+            inflater = contextPool.borrowInflater();
+            if (dictionaryContent != null) {
+                // The raw format does not signal that a dictionary is needed, so it is set upfront.
+                inflater.setDictionary(dictionaryContent);
+            }
+        }
+
+        Buffer content = msg.binaryData();
+        boolean readable = content.readableBytes() > 0;
+        boolean emptyDeflateBlock = isEmptyDeflateBlock(content);
+
+        Buffer decompressedContent = ctx.bufferAllocator().allocate(Math.max(content.readableBytes() << 1, 64));
+        try {
+            inflate(content, decompressedContent);
+            if (appendFrameTail(msg)) {
+                try (Buffer frameTail = FRAME_TAIL.get()) {
+                    inflate(frameTail, decompressedContent);
+                }
+            }
+        } catch (Throwable cause) {
+            decompressedContent.close();
+            throw cause;
+        }
+
+        // Correctly handle empty frames
+        // See https://github.com/netty/netty/issues/4348
+        if (!emptyDeflateBlock && readable && decompressedContent.readableBytes() == 0 &&
+                !(msg instanceof ContinuationWebSocketFrame)) {
+            decompressedContent.close();
+            throw new CodecException("cannot read uncompressed buffer");
+        }
+
+        if (msg.isFinalFragment()) {
+            cleanup();
+        }
+
+        return decompressedContent;
+    }
+
+    private void inflate(Buffer in, Buffer out) {
+        try (var readableIteration = in.forEachReadable()) {
+            for (var readableComponent = readableIteration.first();
+                 readableComponent != null; readableComponent = readableComponent.next()) {
+                if (readableComponent.hasReadableArray()) {
+                    inflater.setInput(readableComponent.readableArray(), readableComponent.readableArrayOffset(),
+                            readableComponent.readableBytes());
+                } else {
+                    inflater.setInput(readableComponent.readableBuffer());
+                }
+                while (!inflater.needsInput() && !inflater.finished()) {
+                    if (out.writableBytes() == 0) {
+                        out.ensureWritable(out.capacity());
+                    }
+                    try (var writableIteration = out.forEachWritable()) {
+                        var writableComponent = writableIteration.first();
+                        int numBytes;
+                        if (writableComponent.hasWritableArray()) {
+                            numBytes = inflater.inflate(writableComponent.writableArray(),
+                                    writableComponent.writableArrayOffset(), writableComponent.writableBytes());
+                        } else {
+                            numBytes = inflater.inflate(writableComponent.writableBuffer());
+                        }
+                        if (numBytes == 0 && inflater.needsDictionary()) {
+                            throw new DecompressionException("decompression failure, dictionary required");
+                        }
+                        writableComponent.skipWritableBytes(numBytes);
+                    }
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new DecompressionException("decompression failure", e);
+        }
+    }
+
     private static boolean isEmptyDeflateBlock(Buffer binaryData) {
         return binaryData.readableBytes() == 1 && binaryData.getByte(binaryData.readerOffset()) == 0;
     }
@@ -172,5 +305,9 @@ abstract class DeflateDecoder extends WebSocketExtensionDecoder {
             decoder.finishAndReleaseAll();
             decoder = null;
         }
+        if (inflater != null) {
+            contextPool.releaseInflater(inflater);
+            inflater = null;
+        }
     }
 }
@@ -21,6 +21,7 @@ import io.netty5.util.Send;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.channel.embedded.EmbeddedChannel;
 import io.netty5.handler.codec.CodecException;
+import io.netty5.handler.codec.compression.CompressionDictionary;
 import io.netty5.handler.codec.compression.ZlibCodecFactory;
 import io.netty5.handler.codec.compression.ZlibWrapper;
 import io.netty5.handler.codec.http.websocketx.BinaryWebSocketFrame;
@@ -34,6 +35,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
+import java.util.zip.Deflater;
 
 import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.DeflateDecoder.FRAME_TAIL_LENGTH;
@@ -55,8 +57,13 @@ abstract class DeflateEncoder extends WebSocketExtensionEncoder {
     private final int windowSize;
     private final boolean noContext;
     private final WebSocketExtensionFilter extensionEncoderFilter;
+    private final CompressionDictionary dictionary;
+    private final ZlibContextPool contextPool;
+    private final byte[] dictionaryContent;
 
     private EmbeddedChannel encoder;
+    // The context borrowed from the contextPool for the current message.
+    private Deflater deflater;
 
     /**
      * Constructor
@@ -67,10 +74,42 @@ abstract class DeflateEncoder extends WebSocketExtensionEncoder {
      */
     DeflateEncoder(int compressionLevel, int windowSize, boolean noContext,
                    WebSocketExtensionFilter extensionEncoderFilter) {
+        this(compressionLevel, windowSize, noContext, extensionEncoderFilter, null);
+    }
+
+    /**
+     * Constructor
+     * @param compressionLevel compression level of the compressor.
+     * @param windowSize maximum size of the window compressor buffer.
+     * @param noContext true to disable context takeover.
+     * @param extensionEncoderFilter extension encoder filter.
+     * @param dictionary preset dictionary of the compressor or {@code null} if none.
+     */
+    DeflateEncoder(int compressionLevel, int windowSize, boolean noContext,
+                   WebSocketExtensionFilter extensionEncoderFilter, CompressionDictionary dictionary) {
+        this(compressionLevel, windowSize, noContext, extensionEncoderFilter, dictionary, null);
+    }
+
+    /**
+     * Constructor
+     * @param compressionLevel compression level of the compressor.
+     * @param windowSize maximum size of the window compressor buffer.
+     * @param noContext true to disable context takeover.
+     * @param extensionEncoderFilter extension encoder filter.
+     * @param dictionary preset dictionary of the compressor or {@code null} if none.
+     * @param contextPool the pool to borrow a context from for each message if {@code noContext} is set,
+     *                    or {@code null} to create a context per message.
+     */
+    DeflateEncoder(int compressionLevel, int windowSize, boolean noContext,
+                   WebSocketExtensionFilter extensionEncoderFilter, CompressionDictionary dictionary,
+                   ZlibContextPool contextPool) {
         this.compressionLevel = compressionLevel;
         this.windowSize = windowSize;
         this.noContext = noContext;
         this.extensionEncoderFilter = Objects.requireNonNull(extensionEncoderFilter, "extensionEncoderFilter");
+        this.dictionary = dictionary;
+        this.contextPool = noContext ? contextPool : null;
+        dictionaryContent = dictionary == null || this.contextPool == null ? null : dictionary.content();
     }
 
     /**
@@ -101,6 +140,10 @@ abstract class DeflateEncoder extends WebSocketExtensionEncoder {
             // Set empty DEFLATE block manually for unknown buffer size
             // https://tools.ietf.org/html/rfc7692#section-7.2.3.6
             compressedContent = EMPTY_DEFLATE_BLOCK.get();
+            if (contextPool != null) {
+                // Return the context of the preceding fragments of the message.
+                cleanup();
+            }
         } else {
             msg.close();
             throw new CodecException("cannot compress content buffer");
@@ -121,16 +164,31 @@ abstract class DeflateEncoder extends WebSocketExtensionEncoder {
         out.add(outMsg);
     }
 
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        if (contextPool != null) {
+            contextPool.addDeflaterUser();
+        }
+        super.handlerAdded(ctx);
+    }
+
     @Override
     public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
         cleanup();
+        if (contextPool != null) {
+            contextPool.removeDeflaterUser();
+        }
         super.handlerRemoved(ctx);
     }
 
     private Buffer compressContent(ChannelHandlerContext ctx, WebSocketFrame msg) {
+        if (contextPool != null) {
+            return compressPooled(ctx, msg);
+        }
         if (encoder == null) {
-            encoder = new EmbeddedChannel(ZlibCodecFactory.newZlibEncoder(
-                    ZlibWrapper.NONE, compressionLevel, windowSize, 8));
+            encoder = new EmbeddedChannel(dictionary == null ?
+                    ZlibCodecFactory.newZlibEncoder(ZlibWrapper.NONE, compressionLevel, windowSize, 8) :
+                    ZlibCodecFactory.newZlibEncoder(ZlibWrapper.NONE, compressionLevel, dictionary));
         }
 
         encoder.writeOutbound(msg.binaryData());
@@ -168,11 +226,76 @@ abstract class DeflateEncoder extends WebSocketExtensionEncoder {
         return compressedContent;
     }
 
+    private Buffer compressPooled(ChannelHandlerContext ctx, WebSocketFrame msg) {
+        if (deflater == null) {
+            deflater = contextPool.borrowDeflater(compressionLevel);
+            if (dictionaryContent != null) {
+                deflater.setDictionary(dictionaryContent);
+            }
+        }
+
+        Buffer content = msg.binaryData();
+        Buffer compressedContent = ctx.bufferAllocator().allocate(content.readableBytes() + 16);
+        try (var readableIteration = content.forEachReadable()) {
+            for (var readableComponent = readableIteration.first();
+                 readableComponent != null; readableComponent = readableComponent.next()) {
+                if (readableComponent.hasReadableArray()) {
+                    deflater.setInput(readableComponent.readableArray(), readableComponent.readableArrayOffset(),
+                            readableComponent.readableBytes());
+                } else {
+                    deflater.setInput(readableComponent.readableBuffer());
+                }
+                deflate(compressedContent);
+            }
+        } catch (Throwable cause) {
+            compressedContent.close();
+            throw cause;
+        }
+
+        if (msg.isFinalFragment()) {
+            cleanup();
+        }
+
+        if (removeFrameTail(msg)) {
+            compressedContent.writerOffset(compressedContent.writerOffset() - FRAME_TAIL_LENGTH);
+        }
+        return compressedContent;
+    }
+
+    private void deflate(Buffer out) {
+        // With SYNC_FLUSH all input is consumed and flushed once the output space is not filled completely.
+        for (;;) {
+            if (out.writableBytes() == 0) {
+                out.ensureWritable(Math.max(out.capacity(), 64));
+            }
+            try (var writableIteration = out.forEachWritable()) {
+                var writableComponent = writableIteration.first();
+                int writable = writableComponent.writableBytes();
+                int numBytes;
+                if (writableComponent.hasWritableArray()) {
+                    numBytes = deflater.deflate(writableComponent.writableArray(),
+                            writableComponent.writableArrayOffset(), writableComponent.writableBytes(),
+                            Deflater.SYNC_FLUSH);
+                } else {
+                    numBytes = deflater.deflate(writableComponent.writableBuffer(), Deflater.SYNC_FLUSH);
+                }
+                writableComponent.skipWritableBytes(numBytes);
+                if (numBytes < writable) {
+                    return;
+                }
+            }
+        }
+    }
+
     private void cleanup() {
         if (encoder != null) {
             // Clean-up the previous encoder if not cleaned up correctly.
             encoder.finishAndReleaseAll();
             encoder = null;
         }
+        if (deflater != null) {
+            contextPool.releaseDeflater(deflater);
+            deflater = null;
+        }
     }
 }
@@ -15,6 +15,7 @@
  */
 package io.netty5.handler.codec.http.websocketx.extensions.compression;
 
+import io.netty5.handler.codec.compression.CompressionDictionary;
 import io.netty5.handler.codec.compression.ZlibCodecFactory;
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketClientExtension;
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandshaker;
@@ -30,6 +31,7 @@ import java.util.Objects;
 
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.CLIENT_MAX_WINDOW;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.CLIENT_NO_CONTEXT;
+import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.DICTIONARY;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.MAX_WINDOW_SIZE;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.MIN_WINDOW_SIZE;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.PERMESSAGE_DEFLATE_EXTENSION;
@@ -48,6 +50,9 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
     private final boolean allowClientNoContext;
     private final boolean requestedServerNoContext;
     private final WebSocketExtensionFilterProvider extensionFilterProvider;
+    private final CompressionDictionary dictionary;
+    private final String dictionaryId;
+    private final ZlibContextPool contextPool;
 
     /**
      * Constructor with default configuration.
@@ -103,6 +108,72 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
             boolean allowClientWindowSize, int requestedServerWindowSize,
             boolean allowClientNoContext, boolean requestedServerNoContext,
             WebSocketExtensionFilterProvider extensionFilterProvider) {
+        this(compressionLevel, allowClientWindowSize, requestedServerWindowSize, allowClientNoContext,
+             requestedServerNoContext, extensionFilterProvider, null);
+    }
+
+    /**
+     * Constructor with custom configuration that offers a preset dictionary. The offer is only accepted by servers
+     * that use {@link PerMessageDeflateServerExtensionHandshaker} with the same dictionary, other servers decline
+     * it. To fall back to compression without a dictionary, add a second handshaker without dictionary.
+     *
+     * @param compressionLevel
+     *            Compression level between 0 and 9 (default is 6).
+     * @param allowClientWindowSize
+     *            allows WebSocket server to customize the client inflater window size
+     *            (default is false).
+     * @param requestedServerWindowSize
+     *            indicates the requested sever window size to use if server inflater is customizable.
+     * @param allowClientNoContext
+     *            allows WebSocket server to activate client_no_context_takeover
+     *            (default is false).
+     * @param requestedServerNoContext
+     *            indicates if client needs to activate server_no_context_takeover
+     *            if server is compatible with (default is false).
+     * @param extensionFilterProvider
+     *            provides client extension filters for per message deflate encoder and decoder.
+     * @param dictionary
+     *            the preset dictionary to offer and use in both directions, or {@code null}.
+     */
+    public PerMessageDeflateClientExtensionHandshaker(int compressionLevel,
+            boolean allowClientWindowSize, int requestedServerWindowSize,
+            boolean allowClientNoContext, boolean requestedServerNoContext,
+            WebSocketExtensionFilterProvider extensionFilterProvider, CompressionDictionary dictionary) {
+        this(compressionLevel, allowClientWindowSize, requestedServerWindowSize, allowClientNoContext,
+             requestedServerNoContext, extensionFilterProvider, dictionary, null);
+    }
+
+    /**
+     * Constructor with custom configuration that borrows the zlib contexts of directions without context takeover
+     * from a {@link ZlibContextPool} only for the duration of a message, which saves memory with many connections.
+     * Request {@code requestedServerNoContext} and allow {@code allowClientNoContext} to make use of it.
+     *
+     * @param compressionLevel
+     *            Compression level between 0 and 9 (default is 6).
+     * @param allowClientWindowSize
+     *            allows WebSocket server to customize the client inflater window size
+     *            (default is false).
+     * @param requestedServerWindowSize
+     *            indicates the requested sever window size to use if server inflater is customizable.
+     * @param allowClientNoContext
+     *            allows WebSocket server to activate client_no_context_takeover
+     *            (default is false).
+     * @param requestedServerNoContext
+     *            indicates if client needs to activate server_no_context_takeover
+     *            if server is compatible with (default is false).
+     * @param extensionFilterProvider
+     *            provides client extension filters for per message deflate encoder and decoder.
+     * @param dictionary
+     *            the preset dictionary to offer and use in both directions, or {@code null}.
+     * @param contextPool
+     *            the pool to borrow zlib contexts from for each message in the directions that use
+     *            no context takeover, or {@code null} to create a context per message.
+     */
+    public PerMessageDeflateClientExtensionHandshaker(int compressionLevel,
+            boolean allowClientWindowSize, int requestedServerWindowSize,
+            boolean allowClientNoContext, boolean requestedServerNoContext,
+            WebSocketExtensionFilterProvider extensionFilterProvider, CompressionDictionary dictionary,
+            ZlibContextPool contextPool) {
 
         if (requestedServerWindowSize > MAX_WINDOW_SIZE || requestedServerWindowSize < MIN_WINDOW_SIZE) {
             throw new IllegalArgumentException(
@@ -118,6 +189,10 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
         this.allowClientNoContext = allowClientNoContext;
         this.requestedServerNoContext = requestedServerNoContext;
         this.extensionFilterProvider = Objects.requireNonNull(extensionFilterProvider, "extensionFilterProvider");
+        this.dictionary = dictionary;
+        dictionaryId = dictionary == null ? null :
+                PerMessageDeflateServerExtensionHandshaker.dictionaryId(dictionary);
+        this.contextPool = contextPool;
     }
 
     @Override
@@ -135,6 +210,9 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
         if (allowClientWindowSize) {
             parameters.put(CLIENT_MAX_WINDOW, null);
         }
+        if (dictionaryId != null) {
+            parameters.put(DICTIONARY, dictionaryId);
+        }
         return new WebSocketExtensionData(PERMESSAGE_DEFLATE_EXTENSION, parameters);
     }
 
@@ -149,6 +227,7 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
         int serverWindowSize = MAX_WINDOW_SIZE;
         boolean serverNoContext = false;
         boolean clientNoContext = false;
+        boolean useDictionary = false;
 
         Iterator<Entry<String, String>> parametersIterator =
                 extensionData.parameters().entrySet().iterator();
@@ -181,6 +260,13 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
             } else if (SERVER_NO_CONTEXT.equalsIgnoreCase(parameter.getKey())) {
                 // acknowledged server_no_context_takeover
                 serverNoContext = true;
+            } else if (DICTIONARY.equalsIgnoreCase(parameter.getKey())) {
+                // acknowledged dictionary
+                if (dictionaryId != null && dictionaryId.equalsIgnoreCase(parameter.getValue())) {
+                    useDictionary = true;
+                } else {
+                    succeed = false;
+                }
             } else {
                 // unknown parameter
                 succeed = false;
@@ -194,7 +280,8 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
 
         if (succeed) {
             return new PermessageDeflateExtension(serverNoContext, serverWindowSize,
-                    clientNoContext, clientWindowSize, extensionFilterProvider);
+                    clientNoContext, clientWindowSize, extensionFilterProvider,
+                    useDictionary ? dictionary : null);
         } else {
             return null;
         }
@@ -207,6 +294,7 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
         private final boolean clientNoContext;
         private final int clientWindowSize;
         private final WebSocketExtensionFilterProvider extensionFilterProvider;
+        private final CompressionDictionary dictionary;
 
         @Override
         public int rsv() {
@@ -215,23 +303,25 @@ public final class PerMessageDeflateClientExtensionHandshaker implements WebSock
 
         PermessageDeflateExtension(boolean serverNoContext, int serverWindowSize,
                 boolean clientNoContext, int clientWindowSize,
-                WebSocketExtensionFilterProvider extensionFilterProvider) {
+                WebSocketExtensionFilterProvider extensionFilterProvider, CompressionDictionary dictionary) {
             this.serverNoContext = serverNoContext;
             this.serverWindowSize = serverWindowSize;
             this.clientNoContext = clientNoContext;
             this.clientWindowSize = clientWindowSize;
             this.extensionFilterProvider = extensionFilterProvider;
+            this.dictionary = dictionary;
         }
 
         @Override
         public WebSocketExtensionEncoder newExtensionEncoder() {
             return new PerMessageDeflateEncoder(compressionLevel, clientWindowSize, clientNoContext,
-                                                extensionFilterProvider.encoderFilter());
+                                                extensionFilterProvider.encoderFilter(), dictionary, contextPool);
         }
 
         @Override
         public WebSocketExtensionDecoder newExtensionDecoder() {
-            return new PerMessageDeflateDecoder(serverNoContext, extensionFilterProvider.decoderFilter());
+            return new PerMessageDeflateDecoder(serverNoContext, extensionFilterProvider.decoderFilter(),
+                                                dictionary, contextPool);
         }
     }
 
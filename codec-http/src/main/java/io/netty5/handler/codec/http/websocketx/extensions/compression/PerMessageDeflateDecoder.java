@@ -16,6 +16,7 @@
 package io.netty5.handler.codec.http.websocketx.extensions.compression;
 
 import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.handler.codec.compression.CompressionDictionary;
 import io.netty5.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty5.handler.codec.http.websocketx.ContinuationWebSocketFrame;
 import io.netty5.handler.codec.http.websocketx.TextWebSocketFrame;
@@ -49,6 +50,32 @@ class PerMessageDeflateDecoder extends DeflateDecoder {
         super(noContext, extensionDecoderFilter);
     }
 
+    /**
+     * Constructor
+     *
+     * @param noContext true to disable context takeover.
+     * @param extensionDecoderFilter extension decoder for per message deflate decoder.
+     * @param dictionary preset dictionary of the decompressor or {@code null} if none.
+     */
+    PerMessageDeflateDecoder(boolean noContext, WebSocketExtensionFilter extensionDecoderFilter,
+                             CompressionDictionary dictionary) {
+        super(noContext, extensionDecoderFilter, dictionary);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param noContext true to disable context takeover.
+     * @param extensionDecoderFilter extension decoder for per message deflate decoder.
+     * @param dictionary preset dictionary of the decompressor or {@code null} if none.
+     * @param contextPool the pool to borrow a context from for each message if {@code noContext} is set,
+     *                    or {@code null} if none.
+     */
+    PerMessageDeflateDecoder(boolean noContext, WebSocketExtensionFilter extensionDecoderFilter,
+                             CompressionDictionary dictionary, ZlibContextPool contextPool) {
+        super(noContext, extensionDecoderFilter, dictionary, contextPool);
+    }
+
     @Override
     public boolean acceptInboundMessage(Object msg) throws Exception {
         if (!super.acceptInboundMessage(msg)) {
@@ -16,6 +16,7 @@
 package io.netty5.handler.codec.http.websocketx.extensions.compression;
 
 import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.handler.codec.compression.CompressionDictionary;
 import io.netty5.handler.codec.http.websocketx.BinaryWebSocketFrame;
 import io.netty5.handler.codec.http.websocketx.ContinuationWebSocketFrame;
 import io.netty5.handler.codec.http.websocketx.TextWebSocketFrame;
@@ -56,6 +57,37 @@ class PerMessageDeflateEncoder extends DeflateEncoder {
         super(compressionLevel, windowSize, noContext, extensionEncoderFilter);
     }
 
+    /**
+     * Constructor
+     *
+     * @param compressionLevel compression level of the compressor.
+     * @param windowSize maximum size of the window compressor buffer.
+     * @param noContext true to disable context takeover.
+     * @param extensionEncoderFilter extension filter for per message deflate encoder.
+     * @param dictionary preset dictionary of the compressor or {@code null} if none.
+     */
+    PerMessageDeflateEncoder(int compressionLevel, int windowSize, boolean noContext,
+                             WebSocketExtensionFilter extensionEncoderFilter, CompressionDictionary dictionary) {
+        super(compressionLevel, windowSize, noContext, extensionEncoderFilter, dictionary);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param compressionLevel compression level of the compressor.
+     * @param windowSize maximum size of the window compressor buffer.
+     * @param noContext true to disable context takeover.
+     * @param extensionEncoderFilter extension filter for per message deflate encoder.
+     * @param dictionary preset dictionary of the compressor or {@code null} if none.
+     * @param contextPool the pool to borrow a context from for each message if {@code noContext} is set,
+     *                    or {@code null} if none.
+     */
+    PerMessageDeflateEncoder(int compressionLevel, int windowSize, boolean noContext,
+                             WebSocketExtensionFilter extensionEncoderFilter, CompressionDictionary dictionary,
+                             ZlibContextPool contextPool) {
+        super(compressionLevel, windowSize, noContext, extensionEncoderFilter, dictionary, contextPool);
+    }
+
     @Override
     public boolean acceptOutboundMessage(Object msg) throws Exception {
         if (!super.acceptOutboundMessage(msg)) {
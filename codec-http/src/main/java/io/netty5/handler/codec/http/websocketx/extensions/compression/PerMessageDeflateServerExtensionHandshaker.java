@@ -15,6 +15,7 @@
  */
 package io.netty5.handler.codec.http.websocketx.extensions.compression;
 
+import io.netty5.handler.codec.compression.CompressionDictionary;
 import io.netty5.handler.codec.compression.ZlibCodecFactory;
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtensionDecoder;
@@ -22,6 +23,7 @@ import io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtensionEnco
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtensionFilterProvider;
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketServerExtension;
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketServerExtensionHandshaker;
+import io.netty5.util.internal.StringUtil;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -31,6 +33,12 @@ import java.util.Objects;
 /**
  * <a href="https://tools.ietf.org/html/draft-ietf-hybi-permessage-compression-18">permessage-deflate</a>
  * handshake implementation.
+ * <p>
+ * A preset {@link CompressionDictionary} can be configured to shrink small, similar messages. As permessage-deflate
+ * has no standard way to negotiate a dictionary, it is only used if the client offers it via the private
+ * {@code x_netty_dictionary} parameter, whose value is the hex encoded {@linkplain CompressionDictionary#sha256()
+ * SHA-256 digest} of the dictionary, as done by {@link PerMessageDeflateClientExtensionHandshaker} when configured
+ * with the same dictionary. Offers for another dictionary are declined.
  */
 public final class PerMessageDeflateServerExtensionHandshaker implements WebSocketServerExtensionHandshaker {
 
@@ -42,6 +50,7 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
     static final String SERVER_MAX_WINDOW = "server_max_window_bits";
     static final String CLIENT_NO_CONTEXT = "client_no_context_takeover";
     static final String SERVER_NO_CONTEXT = "server_no_context_takeover";
+    static final String DICTIONARY = "x_netty_dictionary";
 
     private final int compressionLevel;
     private final boolean allowServerWindowSize;
@@ -49,6 +58,9 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
     private final boolean allowServerNoContext;
     private final boolean preferredClientNoContext;
     private final WebSocketExtensionFilterProvider extensionFilterProvider;
+    private final CompressionDictionary dictionary;
+    private final String dictionaryId;
+    private final ZlibContextPool contextPool;
 
     /**
      * Constructor with default configuration.
@@ -104,6 +116,70 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
             int preferredClientWindowSize,
             boolean allowServerNoContext, boolean preferredClientNoContext,
             WebSocketExtensionFilterProvider extensionFilterProvider) {
+        this(compressionLevel, allowServerWindowSize, preferredClientWindowSize, allowServerNoContext,
+             preferredClientNoContext, extensionFilterProvider, null);
+    }
+
+    /**
+     * Constructor with custom configuration.
+     *
+     * @param compressionLevel
+     *            Compression level between 0 and 9 (default is 6).
+     * @param allowServerWindowSize
+     *            allows WebSocket client to customize the server inflater window size
+     *            (default is false).
+     * @param preferredClientWindowSize
+     *            indicates the preferred client window size to use if client inflater is customizable.
+     * @param allowServerNoContext
+     *            allows WebSocket client to activate server_no_context_takeover
+     *            (default is false).
+     * @param preferredClientNoContext
+     *            indicates if server prefers to activate client_no_context_takeover
+     *            if client is compatible with (default is false).
+     * @param extensionFilterProvider
+     *            provides server extension filters for per message deflate encoder and decoder.
+     * @param dictionary
+     *            the preset dictionary to use in both directions if the client offers it, or {@code null}.
+     */
+    public PerMessageDeflateServerExtensionHandshaker(int compressionLevel, boolean allowServerWindowSize,
+            int preferredClientWindowSize,
+            boolean allowServerNoContext, boolean preferredClientNoContext,
+            WebSocketExtensionFilterProvider extensionFilterProvider, CompressionDictionary dictionary) {
+        this(compressionLevel, allowServerWindowSize, preferredClientWindowSize, allowServerNoContext,
+             preferredClientNoContext, extensionFilterProvider, dictionary, null);
+    }
+
+    /**
+     * Constructor with custom configuration that borrows the zlib contexts of directions without context takeover
+     * from a {@link ZlibContextPool} only for the duration of a message, which saves memory with many connections.
+     * Allow {@code allowServerNoContext} and prefer {@code preferredClientNoContext} to make use of it.
+     *
+     * @param compressionLevel
+     *            Compression level between 0 and 9 (default is 6).
+     * @param allowServerWindowSize
+     *            allows WebSocket client to customize the server inflater window size
+     *            (default is false).
+     * @param preferredClientWindowSize
+     *            indicates the preferred client window size to use if client inflater is customizable.
+     * @param allowServerNoContext
+     *            allows WebSocket client to activate server_no_context_takeover
+     *            (default is false).
+     * @param preferredClientNoContext
+     *            indicates if server prefers to activate client_no_context_takeover
+     *            if client is compatible with (default is false).
+     * @param extensionFilterProvider
+     *            provides server extension filters for per message deflate encoder and decoder.
+     * @param dictionary
+     *            the preset dictionary to use in both directions if the client offers it, or {@code null}.
+     * @param contextPool
+     *            the pool to borrow zlib contexts from for each message in the directions that use
+     *            no context takeover, or {@code null} to create a context per message.
+     */
+    public PerMessageDeflateServerExtensionHandshaker(int compressionLevel, boolean allowServerWindowSize,
+            int preferredClientWindowSize,
+            boolean allowServerNoContext, boolean preferredClientNoContext,
+            WebSocketExtensionFilterProvider extensionFilterProvider, CompressionDictionary dictionary,
+            ZlibContextPool contextPool) {
         if (preferredClientWindowSize > MAX_WINDOW_SIZE || preferredClientWindowSize < MIN_WINDOW_SIZE) {
             throw new IllegalArgumentException(
                     "preferredServerWindowSize: " + preferredClientWindowSize + " (expected: 8-15)");
@@ -118,6 +194,13 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
         this.allowServerNoContext = allowServerNoContext;
         this.preferredClientNoContext = preferredClientNoContext;
         this.extensionFilterProvider = Objects.requireNonNull(extensionFilterProvider, "extensionFilterProvider");
+        this.dictionary = dictionary;
+        dictionaryId = dictionary == null ? null : dictionaryId(dictionary);
+        this.contextPool = contextPool;
+    }
+
+    static String dictionaryId(CompressionDictionary dictionary) {
+        return StringUtil.toHexString(dictionary.sha256());
     }
 
     @Override
@@ -131,6 +214,7 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
         int serverWindowSize = MAX_WINDOW_SIZE;
         boolean serverNoContext = false;
         boolean clientNoContext = false;
+        boolean useDictionary = false;
 
         Iterator<Entry<String, String>> parametersIterator =
                 extensionData.parameters().entrySet().iterator();
@@ -160,6 +244,13 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
                 } else {
                     deflateEnabled = false;
                 }
+            } else if (DICTIONARY.equalsIgnoreCase(parameter.getKey())) {
+                // only use the dictionary if the client has the same one
+                if (dictionaryId != null && dictionaryId.equalsIgnoreCase(parameter.getValue())) {
+                    useDictionary = true;
+                } else {
+                    deflateEnabled = false;
+                }
             } else {
                 // unknown parameter
                 deflateEnabled = false;
@@ -168,7 +259,8 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
 
         if (deflateEnabled) {
             return new PermessageDeflateExtension(compressionLevel, serverNoContext,
-                    serverWindowSize, clientNoContext, clientWindowSize, extensionFilterProvider);
+                    serverWindowSize, clientNoContext, clientWindowSize, extensionFilterProvider,
+                    useDictionary ? dictionary : null, contextPool);
         } else {
             return null;
         }
@@ -182,16 +274,21 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
         private final boolean clientNoContext;
         private final int clientWindowSize;
         private final WebSocketExtensionFilterProvider extensionFilterProvider;
+        private final CompressionDictionary dictionary;
+        private final ZlibContextPool contextPool;
 
         PermessageDeflateExtension(int compressionLevel, boolean serverNoContext,
                 int serverWindowSize, boolean clientNoContext, int clientWindowSize,
-                WebSocketExtensionFilterProvider extensionFilterProvider) {
+                WebSocketExtensionFilterProvider extensionFilterProvider, CompressionDictionary dictionary,
+                ZlibContextPool contextPool) {
             this.compressionLevel = compressionLevel;
             this.serverNoContext = serverNoContext;
             this.serverWindowSize = serverWindowSize;
             this.clientNoContext = clientNoContext;
             this.clientWindowSize = clientWindowSize;
             this.extensionFilterProvider = extensionFilterProvider;
+            this.dictionary = dictionary;
+            this.contextPool = contextPool;
         }
 
         @Override
@@ -202,12 +299,13 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
         @Override
         public WebSocketExtensionEncoder newExtensionEncoder() {
             return new PerMessageDeflateEncoder(compressionLevel, serverWindowSize, serverNoContext,
-                                                extensionFilterProvider.encoderFilter());
+                                                extensionFilterProvider.encoderFilter(), dictionary, contextPool);
         }
 
         @Override
         public WebSocketExtensionDecoder newExtensionDecoder() {
-            return new PerMessageDeflateDecoder(clientNoContext, extensionFilterProvider.decoderFilter());
+            return new PerMessageDeflateDecoder(clientNoContext, extensionFilterProvider.decoderFilter(),
+                                                dictionary, contextPool);
         }
 
         @Override
@@ -225,6 +323,9 @@ public final class PerMessageDeflateServerExtensionHandshaker implements WebSock
             if (clientWindowSize != MAX_WINDOW_SIZE) {
                 parameters.put(CLIENT_MAX_WINDOW, Integer.toString(clientWindowSize));
             }
+            if (dictionary != null) {
+                parameters.put(DICTIONARY, dictionaryId(dictionary));
+            }
             return new WebSocketExtensionData(PERMESSAGE_DEFLATE_EXTENSION, parameters);
         }
     }
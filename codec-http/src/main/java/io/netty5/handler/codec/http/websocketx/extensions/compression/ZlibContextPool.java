@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.websocketx.extensions.compression;
+
+import io.netty5.util.concurrent.FastThreadLocal;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+
+/**
+ * A pool of zlib contexts for permessage-deflate encoders and decoders whose direction negotiated
+ * {@code no_context_takeover}. Without context takeover the compression state is discarded after every message, so
+ * instead of owning a context for the whole lifetime of the connection, the encoders and decoders borrow one from
+ * the pool of their event loop for the duration of a single message. With many mostly idle connections this reduces
+ * the native memory from one context per connection to roughly one context per message in flight.
+ * <p>
+ * Contexts are pooled per thread, so a pool can be shared by all channels of all event loops. The JDK zlib binding
+ * always uses a window size of {@code 15} bits and a memory level of {@code 8}, so a deflate context uses about
+ * {@code 262 KiB} and an inflate context about {@code 39 KiB} of native memory, which are also the estimates used by
+ * {@link #estimatedMemoryUsage()} and {@link #estimatedMemorySaved()}.
+ *
+ * @see PerMessageDeflateServerExtensionHandshaker
+ * @see PerMessageDeflateClientExtensionHandshaker
+ */
+public final class ZlibContextPool {
+    // See "Memory Footprint" in zlib's zconf.h, plus the size of the internal state.
+    static final int DEFLATER_MEMORY = (1 << 15 + 2) + (1 << 8 + 9) + 6 * 1024;
+    static final int INFLATER_MEMORY = (1 << 15) + 7 * 1024;
+
+    private static final int DEFAULT_MAX_POOLED_CONTEXTS_PER_THREAD = 16;
+
+    private final int maxPooledContextsPerThread;
+    private final FastThreadLocal<Contexts> contexts = new FastThreadLocal<>() {
+        @Override
+        protected Contexts initialValue() {
+            return new Contexts();
+        }
+
+        @Override
+        protected void onRemoval(Contexts value) {
+            value.endAll();
+        }
+    };
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final AtomicInteger activeDeflaters = new AtomicInteger();
+    private final AtomicInteger activeInflaters = new AtomicInteger();
+    private final AtomicInteger pooledDeflaters = new AtomicInteger();
+    private final AtomicInteger pooledInflaters = new AtomicInteger();
+    private final AtomicInteger deflaterUsers = new AtomicInteger();
+    private final AtomicInteger inflaterUsers = new AtomicInteger();
+
+    /**
+     * Creates a new pool that keeps up to {@code 16} idle contexts of each kind per thread.
+     */
+    public ZlibContextPool() {
+        this(DEFAULT_MAX_POOLED_CONTEXTS_PER_THREAD);
+    }
+
+    /**
+     * Creates a new pool.
+     *
+     * @param maxPooledContextsPerThread the maximum number of idle contexts of each kind kept per thread. Contexts
+     *                                   that are released while the pool of the thread is full are freed.
+     */
+    public ZlibContextPool(int maxPooledContextsPerThread) {
+        this.maxPooledContextsPerThread = checkPositiveOrZero(maxPooledContextsPerThread,
+                "maxPooledContextsPerThread");
+    }
+
+    Deflater borrowDeflater(int compressionLevel) {
+        Deflater deflater = contexts.get().deflaters.pollLast();
+        if (deflater == null) {
+            created.increment();
+            deflater = new Deflater(compressionLevel, true);
+        } else {
+            reused.increment();
+            pooledDeflaters.decrementAndGet();
+            deflater.setLevel(compressionLevel);
+        }
+        activeDeflaters.incrementAndGet();
+        return deflater;
+    }
+
+    void releaseDeflater(Deflater deflater) {
+        activeDeflaters.decrementAndGet();
+        ArrayDeque<Deflater> deflaters = contexts.get().deflaters;
+        if (deflaters.size() < maxPooledContextsPerThread) {
+            deflater.reset();
+            deflaters.addLast(deflater);
+            pooledDeflaters.incrementAndGet();
+        } else {
+            deflater.end();
+        }
+    }
+
+    Inflater borrowInflater() {
+        Inflater inflater = contexts.get().inflaters.pollLast();
+        if (inflater == null) {
+            created.increment();
+            inflater = new Inflater(true);
+        } else {
+            reused.increment();
+            pooledInflaters.decrementAndGet();
+        }
+        activeInflaters.incrementAndGet();
+        return inflater;
+    }
+
+    void releaseInflater(Inflater inflater) {
+        activeInflaters.decrementAndGet();
+        ArrayDeque<Inflater> inflaters = contexts.get().inflaters;
+        if (inflaters.size() < maxPooledContextsPerThread) {
+            inflater.reset();
+            inflaters.addLast(inflater);
+            pooledInflaters.incrementAndGet();
+        } else {
+            inflater.end();
+        }
+    }
+
+    void addDeflaterUser() {
+        deflaterUsers.incrementAndGet();
+    }
+
+    void removeDeflaterUser() {
+        deflaterUsers.decrementAndGet();
+    }
+
+    void addInflaterUser() {
+        inflaterUsers.incrementAndGet();
+    }
+
+    void removeInflaterUser() {
+        inflaterUsers.decrementAndGet();
+    }
+
+    /**
+     * Returns the number of contexts that were created because no idle one was pooled.
+     */
+    public long createdContexts() {
+        return created.sum();
+    }
+
+    /**
+     * Returns the number of times an idle context was reused instead of creating a new one.
+     */
+    public long reusedContexts() {
+        return reused.sum();
+    }
+
+    /**
+     * Returns the number of contexts that are currently borrowed for a message in flight.
+     */
+    public int activeContexts() {
+        return activeDeflaters.get() + activeInflaters.get();
+    }
+
+    /**
+     * Returns the number of idle contexts in the pools of all threads.
+     */
+    public int pooledContexts() {
+        return pooledDeflaters.get() + pooledInflaters.get();
+    }
+
+    /**
+     * Returns the number of encoders and decoders that currently use this pool.
+     */
+    public int users() {
+        return deflaterUsers.get() + inflaterUsers.get();
+    }
+
+    /**
+     * Returns an estimate of the native memory in bytes used by the active and pooled contexts.
+     */
+    public long estimatedMemoryUsage() {
+        return (long) DEFLATER_MEMORY * (activeDeflaters.get() + pooledDeflaters.get()) +
+                (long) INFLATER_MEMORY * (activeInflaters.get() + pooledInflaters.get());
+    }
+
+    /**
+     * Returns an estimate of the native memory in bytes that is saved compared to every user owning its context.
+     */
+    public long estimatedMemorySaved() {
+        long owned = (long) DEFLATER_MEMORY * deflaterUsers.get() + (long) INFLATER_MEMORY * inflaterUsers.get();
+        return Math.max(0, owned - estimatedMemoryUsage());
+    }
+
+    @Override
+    public String toString() {
+        return "ZlibContextPool(users: " + users() + ", active: " + activeContexts() +
+                ", pooled: " + pooledContexts() + ", created: " + createdContexts() +
+                ", reused: " + reusedContexts() + ')';
+    }
+
+    private final class Contexts {
+        final ArrayDeque<Deflater> deflaters = new ArrayDeque<>();
+        final ArrayDeque<Inflater> inflaters = new ArrayDeque<>();
+
+        void endAll() {
+            for (Deflater deflater; (deflater = deflaters.pollLast()) != null;) {
+                pooledDeflaters.decrementAndGet();
+                deflater.end();
+            }
+            for (Inflater inflater; (inflater = inflaters.pollLast()) != null;) {
+                pooledInflaters.decrementAndGet();
+                inflater.end();
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.netty5.handler.codec.http;
 
+import com.github.luben.zstd.ZstdDictDecompress;
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
 import io.netty5.util.Resource;
@@ -22,10 +23,24 @@ import io.netty5.util.Send;
 import io.netty5.channel.embedded.EmbeddedChannel;
 import io.netty5.handler.codec.DecoderResult;
 import io.netty5.handler.codec.EncoderException;
+import io.netty5.handler.codec.compression.CompressionDictionary;
+import io.netty5.handler.codec.compression.StandardCompressionOptions;
 import io.netty5.handler.codec.compression.ZlibWrapper;
+import io.netty5.handler.codec.compression.Zstd;
+import io.netty5.util.concurrent.DefaultEventExecutorGroup;
+import io.netty5.util.concurrent.EventExecutorGroup;
+import io.netty5.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
 import static io.netty5.buffer.BufferUtil.hexDump;
 import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
@@ -42,6 +57,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class HttpContentCompressorTest {
 
@@ -652,6 +668,275 @@ public class HttpContentCompressorTest {
         assertTrue(ch.finishAndReleaseAll());
     }
 
+    @Test
+    public void testOffloadedCompressionPreservesOrder() throws Exception {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(1);
+        try {
+            CountDownLatch blocked = new CountDownLatch(1);
+            group.next().execute(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            HttpContentCompressor compressor = new HttpContentCompressor(0, group, 1024, null);
+            EmbeddedChannel ch = new EmbeddedChannel(compressor);
+            assertTrue(ch.writeInbound(newRequest()));
+            assertTrue(ch.writeInbound(newRequest()));
+
+            byte[] body = new byte[4096];
+            Arrays.fill(body, (byte) 'a');
+            FullHttpResponse large = new DefaultFullHttpResponse(
+                    HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(body));
+            HttpUtil.setContentLength(large, body.length);
+            Future<Void> largeFuture = ch.write(large);
+            FullHttpResponse small = new DefaultFullHttpResponse(
+                    HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf("small", US_ASCII));
+            Future<Void> smallFuture = ch.writeAndFlush(small);
+
+            // Both responses are held back until the large body was compressed.
+            assertTrue(ch.outboundMessages().isEmpty());
+            assertEquals(body.length + 5, compressor.pendingOutboundBytes(ch.pipeline().firstContext()));
+            blocked.countDown();
+            awaitDone(ch, smallFuture);
+            assertTrue(largeFuture.isSuccess());
+            assertTrue(smallFuture.isSuccess());
+            assertEquals(0, compressor.pendingOutboundBytes(ch.pipeline().firstContext()));
+
+            HttpResponse res = ch.readOutbound();
+            assertThat(res.headers().get(HttpHeaderNames.CONTENT_ENCODING), is("gzip"));
+            try (HttpContent<?> content = ch.readOutbound()) {
+                assertEquals(content.payload().readableBytes(), HttpUtil.getContentLength(res));
+                assertThat(gunzip(content.payload()), is(body));
+            }
+            try (LastHttpContent<?> last = ch.readOutbound()) {
+                assertEquals(0, last.payload().readableBytes());
+            }
+
+            // The small response is compressed on the event loop once the large one was written.
+            HttpResponse smallRes = ch.readOutbound();
+            assertThat(smallRes.headers().get(HttpHeaderNames.CONTENT_ENCODING), is("gzip"));
+            assertTrue(ch.finishAndReleaseAll());
+        } finally {
+            group.shutdownGracefully().asStage().sync();
+        }
+    }
+
+    @Test
+    public void testOffloadedCompressionFailsQueuedWritesOnClose() throws Exception {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(1);
+        try {
+            CountDownLatch blocked = new CountDownLatch(1);
+            group.next().execute(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor(0, group, 16, null));
+            assertTrue(ch.writeInbound(newRequest()));
+            Future<Void> largeFuture = ch.write(new DefaultFullHttpResponse(
+                    HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(new byte[1024])));
+            Future<Void> queuedFuture = ch.write(new DefaultLastHttpContent(preferredAllocator().allocate(0)));
+            ch.close();
+            assertTrue(queuedFuture.isFailed());
+            blocked.countDown();
+            awaitDone(ch, largeFuture);
+            assertTrue(largeFuture.isFailed());
+            ch.finishAndReleaseAll();
+        } finally {
+            group.shutdownGracefully().asStage().sync();
+        }
+    }
+
+    @Test
+    public void testCompressedContentCache() throws Exception {
+        try (CompressedContentCache cache = new CompressedContentCache(1024 * 1024)) {
+            byte[] body = new byte[2048];
+            Arrays.fill(body, (byte) 'b');
+            byte[][] compressed = new byte[2][];
+            for (int i = 0; i < compressed.length; i++) {
+                EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor(0, null, 1, cache));
+                assertTrue(ch.writeInbound(newRequest()));
+                FullHttpResponse res = new DefaultFullHttpResponse(
+                        HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(body));
+                res.headers().set(HttpHeaderNames.ETAG, "\"v1\"");
+                assertTrue(ch.writeOutbound(res));
+
+                HttpResponse encoded = ch.readOutbound();
+                assertThat(encoded.headers().get(HttpHeaderNames.CONTENT_ENCODING), is("gzip"));
+                try (HttpContent<?> content = ch.readOutbound()) {
+                    compressed[i] = gunzip(content.payload());
+                }
+                assertTrue(ch.finishAndReleaseAll());
+            }
+            assertThat(compressed[0], is(body));
+            assertThat(compressed[1], is(body));
+            assertEquals(1, cache.misses());
+            assertEquals(1, cache.hits());
+            assertEquals(1, cache.size());
+
+            // A different body with the same ETag must not be served from the cache.
+            EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor(0, null, 1, cache));
+            assertTrue(ch.writeInbound(newRequest()));
+            FullHttpResponse res = new DefaultFullHttpResponse(
+                    HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(new byte[2048]));
+            res.headers().set(HttpHeaderNames.ETAG, "\"v1\"");
+            assertTrue(ch.writeOutbound(res));
+            assertEquals(1, cache.hits());
+            assertEquals(2, cache.size());
+            assertTrue(ch.finishAndReleaseAll());
+
+            // Responses without a strong ETag are never cached.
+            for (String etag : new String[] { null, "W/\"v1\"" }) {
+                ch = new EmbeddedChannel(new HttpContentCompressor(0, null, 1, cache));
+                assertTrue(ch.writeInbound(newRequest()));
+                res = new DefaultFullHttpResponse(HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(body));
+                if (etag != null) {
+                    res.headers().set(HttpHeaderNames.ETAG, etag);
+                }
+                assertTrue(ch.writeOutbound(res));
+                assertTrue(ch.finishAndReleaseAll());
+            }
+            assertEquals(1, cache.hits());
+            assertEquals(2, cache.misses());
+            assertEquals(2, cache.size());
+        }
+    }
+
+    @Test
+    public void testDictionaryCompression() {
+        assumeTrue(Zstd.isAvailable());
+        byte[] dictionaryContent = "{\"id\":0,\"name\":\"\",\"tags\":[\"alpha\",\"beta\",\"gamma\"]}"
+                .getBytes(StandardCharsets.US_ASCII);
+        CompressionDictionary dictionary = CompressionDictionary.of(dictionaryContent);
+        byte[] body = "{\"id\":42,\"name\":\"netty\",\"tags\":[\"alpha\",\"gamma\"]}"
+                .getBytes(StandardCharsets.US_ASCII);
+        EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor(0, null, Integer.MAX_VALUE, null,
+                List.of(dictionary), StandardCompressionOptions.gzip(), StandardCompressionOptions.zstd()));
+
+        FullHttpRequest req = newRequest();
+        req.headers().set(HttpHeaderNames.ACCEPT_ENCODING, "gzip, dcz");
+        req.headers().set(HttpHeaderNames.AVAILABLE_DICTIONARY,
+                ':' + Base64.getEncoder().encodeToString(dictionary.sha256()) + ':');
+        assertTrue(ch.writeInbound(req));
+        assertTrue(ch.writeOutbound(new DefaultFullHttpResponse(
+                HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(body))));
+
+        HttpResponse res = ch.readOutbound();
+        assertThat(res.headers().get(HttpHeaderNames.CONTENT_ENCODING), is("dcz"));
+        assertThat(res.headers().get(HttpHeaderNames.VARY), is("available-dictionary"));
+        byte[] encoded = new byte[0];
+        for (Object msg; (msg = ch.readOutbound()) != null;) {
+            try (HttpContent<?> content = (HttpContent<?>) msg) {
+                int offset = encoded.length;
+                encoded = Arrays.copyOf(encoded, offset + content.payload().readableBytes());
+                content.payload().readBytes(encoded, offset, encoded.length - offset);
+            }
+        }
+        byte[] header = Arrays.copyOf(encoded, 40);
+        assertThat(Arrays.copyOf(header, 8), is(new byte[] { 0x5e, 0x2a, 0x4d, 0x18, 0x20, 0, 0, 0 }));
+        assertThat(Arrays.copyOfRange(header, 8, 40), is(dictionary.sha256()));
+        byte[] decoded = com.github.luben.zstd.Zstd.decompress(Arrays.copyOfRange(encoded, 40, encoded.length),
+                new ZstdDictDecompress(dictionaryContent), body.length);
+        assertThat(decoded, is(body));
+
+        // An unknown dictionary falls back to the encodings without a dictionary.
+        req = newRequest();
+        req.headers().set(HttpHeaderNames.ACCEPT_ENCODING, "gzip, dcz");
+        req.headers().set(HttpHeaderNames.AVAILABLE_DICTIONARY, ":AAAA:");
+        assertTrue(ch.writeInbound(req));
+        assertTrue(ch.writeOutbound(new DefaultFullHttpResponse(
+                HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(body))));
+        res = ch.readOutbound();
+        assertThat(res.headers().get(HttpHeaderNames.CONTENT_ENCODING), is("gzip"));
+        assertThat(res.headers().get(HttpHeaderNames.VARY), is("available-dictionary"));
+        releaseOutbound(ch);
+
+        // Only exact dictionary encoding tokens count, and without one the response does not vary.
+        for (String acceptEncoding : new String[] { "gzip", "gzip, xdcz", "gzip, dcz;q=0" }) {
+            req = newRequest();
+            req.headers().set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding);
+            req.headers().set(HttpHeaderNames.AVAILABLE_DICTIONARY,
+                    ':' + Base64.getEncoder().encodeToString(dictionary.sha256()) + ':');
+            assertTrue(ch.writeInbound(req));
+            assertTrue(ch.writeOutbound(new DefaultFullHttpResponse(
+                    HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(body))));
+            res = ch.readOutbound();
+            assertThat(res.headers().get(HttpHeaderNames.CONTENT_ENCODING), is("gzip"));
+            assertFalse(res.headers().contains(HttpHeaderNames.VARY));
+            releaseOutbound(ch);
+        }
+
+        req = newRequest();
+        req.headers().set(HttpHeaderNames.ACCEPT_ENCODING, "gzip, DCZ ;q=0.5");
+        req.headers().set(HttpHeaderNames.AVAILABLE_DICTIONARY,
+                ':' + Base64.getEncoder().encodeToString(dictionary.sha256()) + ':');
+        assertTrue(ch.writeInbound(req));
+        assertTrue(ch.writeOutbound(new DefaultFullHttpResponse(
+                HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(body))));
+        res = ch.readOutbound();
+        assertThat(res.headers().get(HttpHeaderNames.CONTENT_ENCODING), is("dcz"));
+        assertTrue(ch.finishAndReleaseAll());
+    }
+
+    @Test
+    public void testOffloadedDictionaryCompressionVariesOnce() throws Exception {
+        assumeTrue(Zstd.isAvailable());
+        EventExecutorGroup group = new DefaultEventExecutorGroup(1);
+        try {
+            byte[] body = new byte[4096];
+            Arrays.fill(body, (byte) 'a');
+            CompressionDictionary dictionary = CompressionDictionary.of(body);
+            EmbeddedChannel ch = new EmbeddedChannel(new HttpContentCompressor(0, group, 1024, null,
+                    List.of(dictionary), StandardCompressionOptions.gzip(), StandardCompressionOptions.zstd()));
+
+            // No dictionary matches and no other encoding is accepted, so the response is not compressed.
+            FullHttpRequest req = newRequest();
+            req.headers().set(HttpHeaderNames.ACCEPT_ENCODING, "dcz");
+            req.headers().set(HttpHeaderNames.AVAILABLE_DICTIONARY, ":AAAA:");
+            assertTrue(ch.writeInbound(req));
+            assertTrue(ch.writeOutbound(new DefaultFullHttpResponse(
+                    HTTP_1_1, HttpResponseStatus.OK, preferredAllocator().copyOf(body))));
+
+            try (FullHttpResponse res = ch.readOutbound()) {
+                assertFalse(res.headers().contains(HttpHeaderNames.CONTENT_ENCODING));
+                assertEquals(List.of("available-dictionary"), res.headers().getAll(HttpHeaderNames.VARY));
+                assertEquals(body.length, res.payload().readableBytes());
+            }
+            assertTrue(ch.finishAndReleaseAll());
+        } finally {
+            group.shutdownGracefully().asStage().sync();
+        }
+    }
+
+    private static void releaseOutbound(EmbeddedChannel ch) {
+        for (Object msg; (msg = ch.readOutbound()) != null;) {
+            Resource.dispose(msg);
+        }
+    }
+
+    private static void awaitDone(EmbeddedChannel ch, Future<?> future) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!future.isDone()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            ch.runPendingTasks();
+            Thread.sleep(1);
+        }
+    }
+
+    private static byte[] gunzip(Buffer compressed) throws IOException {
+        byte[] bytes = new byte[compressed.readableBytes()];
+        compressed.copyInto(compressed.readerOffset(), bytes, 0, bytes.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
     private static FullHttpRequest newRequest() {
         FullHttpRequest req = new DefaultFullHttpRequest(HTTP_1_1, HttpMethod.GET, "/",
                                                          preferredAllocator().allocate(0));
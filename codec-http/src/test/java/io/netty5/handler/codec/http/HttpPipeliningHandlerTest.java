@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http;
+
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
+import static io.netty5.handler.codec.http.HttpMethod.GET;
+import static io.netty5.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty5.handler.codec.http.HttpVersion.HTTP_1_1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpPipeliningHandlerTest {
+
+    @Test
+    public void testResponsesAreWrittenInOrder() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPipeliningHandler(4));
+        HttpPipelinedRequest[] requests = new HttpPipelinedRequest[3];
+        for (int i = 0; i < requests.length; i++) {
+            assertTrue(channel.writeInbound(newRequest("/" + i)));
+            requests[i] = channel.readInbound();
+            assertEquals(i, requests[i].sequence());
+            assertEquals("/" + i, requests[i].request().uri());
+        }
+
+        Future<Void> third = channel.writeAndFlush(newResponse(requests[2]));
+        Future<Void> second = channel.writeAndFlush(newResponse(requests[1]));
+        assertNull(channel.readOutbound());
+        assertFalse(third.isDone());
+        assertFalse(second.isDone());
+
+        Future<Void> first = channel.writeAndFlush(newResponse(requests[0]));
+        for (int i = 0; i < requests.length; i++) {
+            try (FullHttpResponse response = channel.readOutbound()) {
+                assertEquals(String.valueOf(i), response.headers().get("X-Sequence"));
+            }
+        }
+        assertTrue(first.isSuccess());
+        assertTrue(second.isSuccess());
+        assertTrue(third.isSuccess());
+
+        for (HttpPipelinedRequest request : requests) {
+            request.close();
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRequestsAreQueuedWhenWindowIsFull() {
+        AtomicInteger reads = new AtomicInteger();
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandler() {
+            @Override
+            public void read(ChannelHandlerContext ctx) {
+                reads.incrementAndGet();
+                ctx.read();
+            }
+        }, new HttpPipeliningHandler(2));
+        int readsBefore = reads.get();
+
+        assertTrue(channel.writeInbound(newRequest("/0"), newRequest("/1"), newRequest("/2")));
+        HttpPipelinedRequest first = channel.readInbound();
+        HttpPipelinedRequest second = channel.readInbound();
+        assertNull(channel.readInbound());
+
+        // No more data is read until there is capacity again.
+        channel.read();
+        assertEquals(readsBefore, reads.get());
+
+        channel.writeAndFlush(newResponse(second));
+        assertNull(channel.readInbound());
+
+        channel.writeAndFlush(newResponse(first));
+        HttpPipelinedRequest third = channel.readInbound();
+        assertEquals(2, third.sequence());
+        assertEquals("/2", third.request().uri());
+        assertEquals(readsBefore + 1, reads.get());
+
+        channel.writeAndFlush(newResponse(third));
+        for (int i = 0; i < 3; i++) {
+            try (FullHttpResponse response = channel.readOutbound()) {
+                assertEquals(String.valueOf(i), response.headers().get("X-Sequence"));
+            }
+        }
+
+        first.close();
+        second.close();
+        third.close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testUnexpectedSequenceFails() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPipeliningHandler(4));
+        assertTrue(channel.writeInbound(newRequest("/0")));
+        HttpPipelinedRequest request = channel.readInbound();
+
+        // No request with this sequence was received yet.
+        Future<Void> future = channel.writeAndFlush(new HttpPipelinedResponse(1, newFullResponse(1)));
+        assertInstanceOf(IllegalArgumentException.class, future.cause());
+
+        assertTrue(channel.writeAndFlush(newResponse(request)).isSuccess());
+        channel.<FullHttpResponse>readOutbound().close();
+
+        // The response was written already.
+        future = channel.writeAndFlush(newResponse(request));
+        assertInstanceOf(IllegalArgumentException.class, future.cause());
+
+        request.close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCloseFailsHeldBackResponses() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPipeliningHandler(1));
+        assertTrue(channel.writeInbound(newRequest("/0"), newRequest("/1")));
+        HttpPipelinedRequest request = channel.readInbound();
+        assertNull(channel.readInbound());
+
+        channel.close();
+        Future<Void> future = channel.writeAndFlush(newResponse(request));
+        assertFalse(future.isSuccess());
+        request.close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCloseFailsPendingResponses() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPipeliningHandler(2));
+        assertTrue(channel.writeInbound(newRequest("/0"), newRequest("/1")));
+        HttpPipelinedRequest first = channel.readInbound();
+        HttpPipelinedRequest second = channel.readInbound();
+
+        Future<Void> future = channel.writeAndFlush(newResponse(second));
+        assertFalse(future.isDone());
+        channel.close();
+        assertInstanceOf(ClosedChannelException.class, future.cause());
+
+        first.close();
+        second.close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testOtherMessagesArePassedThrough() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPipeliningHandler(1));
+        HttpRequest request = new DefaultHttpRequest(HTTP_1_1, GET, "/");
+        assertTrue(channel.writeInbound(request));
+        assertEquals(request, channel.readInbound());
+
+        HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+        assertTrue(channel.writeOutbound(response));
+        assertEquals(response, channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
+    private static FullHttpRequest newRequest(String uri) {
+        return new DefaultFullHttpRequest(HTTP_1_1, GET, uri, preferredAllocator().allocate(0));
+    }
+
+    private static HttpPipelinedResponse newResponse(HttpPipelinedRequest request) {
+        return request.response(newFullResponse(request.sequence()));
+    }
+
+    private static FullHttpResponse newFullResponse(long sequence) {
+        FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, preferredAllocator().allocate(0));
+        response.headers().set("X-Sequence", String.valueOf(sequence));
+        return response;
+    }
+}
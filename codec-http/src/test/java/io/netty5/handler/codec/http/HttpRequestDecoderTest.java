@@ -21,7 +21,9 @@ import io.netty5.util.AsciiString;
 import io.netty5.util.CharsetUtil;
 import org.junit.jupiter.api.Test;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map.Entry;
 
 import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
 import static io.netty5.handler.codec.http.HttpHeaderNames.HOST;
@@ -35,6 +37,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class HttpRequestDecoderTest {
@@ -137,7 +140,12 @@ public class HttpRequestDecoderTest {
     }
 
     private static void testDecodeWholeRequestInMultipleSteps(byte[] content, int fragmentSize) {
-        EmbeddedChannel channel = new EmbeddedChannel(new HttpRequestDecoder());
+        testDecodeWholeRequestInMultipleSteps(new HttpRequestDecoder(), content, fragmentSize);
+    }
+
+    private static void testDecodeWholeRequestInMultipleSteps(
+            HttpRequestDecoder decoder, byte[] content, int fragmentSize) {
+        EmbeddedChannel channel = new EmbeddedChannel(decoder);
         int headerLength = content.length - CONTENT_LENGTH;
 
         // split up the header
@@ -582,4 +590,110 @@ public class HttpRequestDecoderTest {
         assertTrue(request.decoderResult().isFailure());
         assertFalse(channel.finish());
     }
+
+    private static HttpRequestDecoder newZeroCopyHeadersDecoder(int maxHeaderSize) {
+        return new HttpRequestDecoder(HttpObjectDecoder.DEFAULT_MAX_INITIAL_LINE_LENGTH, maxHeaderSize,
+                HttpObjectDecoder.DEFAULT_VALIDATE_HEADERS, HttpObjectDecoder.DEFAULT_INITIAL_BUFFER_SIZE,
+                HttpObjectDecoder.DEFAULT_ALLOW_DUPLICATE_CONTENT_LENGTHS, true);
+    }
+
+    @Test
+    public void testZeroCopyHeadersInMultipleSteps() {
+        for (byte[] content : new byte[][] { CONTENT_CRLF_DELIMITERS, CONTENT_LF_DELIMITERS,
+                CONTENT_MIXED_DELIMITERS }) {
+            for (int i = 1; i < content.length; i++) {
+                testDecodeWholeRequestInMultipleSteps(
+                        newZeroCopyHeadersDecoder(HttpObjectDecoder.DEFAULT_MAX_HEADER_SIZE), content, i);
+            }
+        }
+    }
+
+    @Test
+    public void testZeroCopyHeadersAreAsciiStringViews() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+                newZeroCopyHeadersDecoder(HttpObjectDecoder.DEFAULT_MAX_HEADER_SIZE));
+        String crlf = "\r\n";
+        String request = "GET /some/path HTTP/1.1" + crlf +
+                "HOST: localhost" + crlf +
+                "X-Custom:  value  " + crlf +
+                "EmptyHeader:" + crlf + crlf;
+        // Two pipelined requests, the headers of the first must not be affected by decoding the second.
+        assertTrue(channel.writeInbound(channel.bufferAllocator().copyOf(request + request, US_ASCII)));
+        HttpRequest first = channel.readInbound();
+        channel.<LastHttpContent<?>>readInbound().close();
+        HttpRequest second = channel.readInbound();
+        channel.<LastHttpContent<?>>readInbound().close();
+
+        for (HttpRequest req : new HttpRequest[] { first, second }) {
+            assertTrue(req.decoderResult().isSuccess());
+            Iterator<Entry<CharSequence, CharSequence>> headers = req.headers().iteratorCharSequence();
+            Entry<CharSequence, CharSequence> host = headers.next();
+            assertSame(HOST, host.getKey());
+            assertEquals(new AsciiString("localhost"), host.getValue());
+            Entry<CharSequence, CharSequence> custom = headers.next();
+            assertEquals(new AsciiString("X-Custom"), custom.getKey());
+            assertEquals(new AsciiString("value"), custom.getValue());
+            Entry<CharSequence, CharSequence> empty = headers.next();
+            assertEquals(new AsciiString("EmptyHeader"), empty.getKey());
+            assertEquals("", empty.getValue().toString());
+            assertFalse(headers.hasNext());
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testZeroCopyHeadersMultiLineHeader() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+                newZeroCopyHeadersDecoder(HttpObjectDecoder.DEFAULT_MAX_HEADER_SIZE));
+        String crlf = "\r\n";
+        String request = "GET /some/path HTTP/1.1" + crlf +
+                "Host: localhost" + crlf +
+                "MyTestHeader: part1" + crlf +
+                "              newLinePart2" + crlf + crlf;
+        assertTrue(channel.writeInbound(channel.bufferAllocator().copyOf(request, US_ASCII)));
+        HttpRequest req = channel.readInbound();
+        assertEquals("part1 newLinePart2", req.headers().get(of("MyTestHeader")));
+        channel.<LastHttpContent<?>>readInbound().close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testZeroCopyHeadersTooLarge() {
+        EmbeddedChannel channel = new EmbeddedChannel(newZeroCopyHeadersDecoder(10));
+        assertTrue(channel.writeInbound(channel.bufferAllocator().copyOf(
+                "GET /some/path HTTP/1.1\r\nHost: localhost1\r\n\r\n", US_ASCII)));
+        HttpRequest request = channel.readInbound();
+        assertTrue(request.decoderResult().isFailure());
+        assertTrue(request.decoderResult().cause() instanceof TooLongHttpHeaderException);
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testZeroCopyHeadersDecoderResult() {
+        String requestStr = "PUT /some/path HTTP/1.1\r\n" +
+                "Content-Length: 11\r\n" +
+                "Connection: close\r\n\r\n" +
+                "Lorem ipsum";
+        EmbeddedChannel channel = new EmbeddedChannel(
+                newZeroCopyHeadersDecoder(HttpObjectDecoder.DEFAULT_MAX_HEADER_SIZE));
+        assertTrue(channel.writeInbound(channel.bufferAllocator().copyOf(requestStr, US_ASCII)));
+        HttpRequest request = channel.readInbound();
+        HttpMessageDecoderResult decoderResult = (HttpMessageDecoderResult) request.decoderResult();
+        assertThat(decoderResult.initialLineLength(), is(23));
+        assertThat(decoderResult.headerSize(), is(35));
+        assertEquals(11, HttpUtil.getContentLength(request));
+        channel.<HttpContent<?>>readInbound().close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testZeroCopyHeadersInvalidSeparator() {
+        EmbeddedChannel channel = new EmbeddedChannel(
+                newZeroCopyHeadersDecoder(HttpObjectDecoder.DEFAULT_MAX_HEADER_SIZE));
+        assertTrue(channel.writeInbound(channel.bufferAllocator().copyOf(
+                "GET /some/path HTTP/1.1\r\nHost:\u000Blocalhost\r\n\r\n", US_ASCII)));
+        HttpRequest request = channel.readInbound();
+        assertThat(request.decoderResult().cause(), instanceOf(IllegalArgumentException.class));
+        assertFalse(channel.finish());
+    }
 }
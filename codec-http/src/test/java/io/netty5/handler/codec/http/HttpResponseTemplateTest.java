@@ -0,0 +1,130 @@
+/*
+* Copyright 2026 The Netty Project
+*
+* The Netty Project licenses this file to you under the Apache License,
+* version 2.0 (the "License"); you may not use this file except in compliance
+* with the License. You may obtain a copy of the License at:
+*
+*   https://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing, software
+* distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+* WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+* License for the specific language governing permissions and limitations
+* under the License.
+*/
+package io.netty5.handler.codec.http;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.DateFormatter;
+import io.netty5.util.AsciiString;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map.Entry;
+
+import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpResponseTemplateTest {
+
+    private static HttpResponseTemplate newTemplate(boolean dateHeader) {
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.add(HttpHeaderNames.SERVER, "netty");
+        headers.add(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN);
+        return new HttpResponseTemplate(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, headers, dateHeader, true);
+    }
+
+    @Test
+    public void testTemplateIsSpliced() {
+        CountingEncoder encoder = new CountingEncoder();
+        EmbeddedChannel channel = new EmbeddedChannel(encoder);
+        FullHttpResponse response = newTemplate(false).newFullResponse(preferredAllocator().allocate(0));
+        HttpUtil.setContentLength(response, 0);
+        assertTrue(channel.writeOutbound(response));
+
+        assertOutbound(channel, "HTTP/1.1 200 OK\r\nserver: netty\r\ncontent-type: text/plain\r\n" +
+                "content-length: 0\r\n\r\n");
+        assertEquals(0, encoder.initialLines);
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testModifiedResponseIsEncodedAsUsual() {
+        CountingEncoder encoder = new CountingEncoder();
+        EmbeddedChannel channel = new EmbeddedChannel(encoder);
+        HttpResponseTemplate template = newTemplate(false);
+
+        HttpResponse response = template.newResponse();
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+        HttpUtil.setContentLength(response, 0);
+        assertTrue(channel.writeOutbound(response));
+        assertOutbound(channel, "HTTP/1.1 200 OK\r\nserver: netty\r\ncontent-type: application/json\r\n" +
+                "content-length: 0\r\n\r\n");
+        assertEquals(1, encoder.initialLines);
+
+        assertTrue(channel.writeOutbound(new EmptyLastHttpContent(preferredAllocator())));
+        channel.<Buffer>readOutbound().close();
+
+        response = template.newFullResponse(preferredAllocator().allocate(0));
+        response.setStatus(HttpResponseStatus.NOT_FOUND);
+        HttpUtil.setContentLength(response, 0);
+        assertTrue(channel.writeOutbound(response));
+        assertOutbound(channel, "HTTP/1.1 404 Not Found\r\nserver: netty\r\ncontent-type: text/plain\r\n" +
+                "content-length: 0\r\n\r\n");
+        assertEquals(2, encoder.initialLines);
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testDateHeader() {
+        FullHttpResponse response = newTemplate(true).newFullResponse(preferredAllocator().allocate(0));
+        // The date is added after the headers of the template.
+        Iterator<Entry<CharSequence, CharSequence>> iter = response.headers().iteratorCharSequence();
+        iter.next();
+        iter.next();
+        Entry<CharSequence, CharSequence> date = iter.next();
+        assertSame(HttpHeaderNames.DATE, date.getKey());
+        assertInstanceOf(AsciiString.class, date.getValue());
+        assertNotNull(DateFormatter.parseHttpDate(date.getValue()));
+        assertFalse(iter.hasNext());
+        response.close();
+    }
+
+    @Test
+    public void testDateCache() {
+        HttpDateCache cache = new HttpDateCache();
+        long millis = 1_000_000_000_000L;
+        AsciiString date = cache.date(millis);
+        assertEquals(new AsciiString(DateFormatter.format(new Date(millis))), date);
+        assertSame(date, cache.date(millis + 999));
+        AsciiString next = cache.date(millis + 1000);
+        assertNotSame(date, next);
+        assertEquals(new AsciiString(DateFormatter.format(new Date(millis + 1000))), next);
+    }
+
+    private static void assertOutbound(EmbeddedChannel channel, String expected) {
+        try (Buffer buffer = channel.readOutbound()) {
+            assertEquals(expected, buffer.toString(US_ASCII));
+        }
+    }
+
+    private static final class CountingEncoder extends HttpResponseEncoder {
+        int initialLines;
+
+        @Override
+        protected void encodeInitialLine(Buffer buf, HttpResponse response) throws Exception {
+            initialLines++;
+            super.encodeInitialLine(buf, response);
+        }
+    }
+}
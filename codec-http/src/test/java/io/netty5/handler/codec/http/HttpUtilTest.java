@@ -63,6 +63,14 @@ public class HttpUtilTest {
         assertFalse(HttpUtil.isAsteriskForm(URI.create("www.example.com:80")));
     }
 
+    @Test
+    public void testMatchesEntityTagWeakly() {
+        assertTrue(HttpUtil.matchesEntityTagWeakly("*", "\"a\""));
+        assertTrue(HttpUtil.matchesEntityTagWeakly("\"b\", W/\"a\"", "\"a\""));
+        assertTrue(HttpUtil.matchesEntityTagWeakly("\"a\"", "W/\"a\""));
+        assertFalse(HttpUtil.matchesEntityTagWeakly("\"b\", \"c\"", "\"a\""));
+    }
+
     @Test
     public void testRemoveTransferEncodingIgnoreCase() {
         HttpMessage message = new DefaultHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK);
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.cache;
+
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.http.DefaultFullHttpRequest;
+import io.netty5.handler.codec.http.DefaultFullHttpResponse;
+import io.netty5.handler.codec.http.FullHttpRequest;
+import io.netty5.handler.codec.http.FullHttpResponse;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpMethod;
+import io.netty5.handler.codec.http.HttpResponseStatus;
+import io.netty5.handler.codec.http.HttpVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpCacheHandlerTest {
+    private final HttpResponseCache cache = new HttpResponseCache(1024 * 1024, 1024);
+
+    @AfterEach
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    public void testHit() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpCacheHandler(cache));
+        assertEquals("first", fetch(channel, request("/a"), response("first", "max-age=60")));
+
+        assertFalse(channel.writeInbound(request("/a")));
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.OK, response.status());
+            assertEquals("first", response.payload().toString(StandardCharsets.US_ASCII));
+            assertEquals("0", response.headers().get(HttpHeaderNames.AGE));
+        }
+        assertEquals(1, cache.metric().hits());
+        assertEquals(1, cache.metric().misses());
+        assertEquals(1, cache.metric().entries());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testNotStored() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpCacheHandler(cache));
+        fetch(channel, request("/a"), response("first", "no-store"));
+        fetch(channel, request("/b"), response("first", "private, max-age=60"));
+        fetch(channel, request("/c"), response("first", null));
+
+        FullHttpRequest request = request("/d");
+        request.headers().set(HttpHeaderNames.AUTHORIZATION, "Basic dXNlcjpwYXNz");
+        fetch(channel, request, response("first", "max-age=60"));
+
+        assertEquals(0, cache.metric().entries());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testVary() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpCacheHandler(cache));
+        FullHttpResponse gzip = response("gzip", "max-age=60");
+        gzip.headers().set(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+        fetch(channel, request("/a", "gzip"), gzip);
+
+        // Another variant is fetched, both are cached.
+        FullHttpResponse identity = response("identity", "max-age=60");
+        identity.headers().set(HttpHeaderNames.VARY, HttpHeaderNames.ACCEPT_ENCODING);
+        assertEquals("identity", fetch(channel, request("/a", "identity"), identity));
+
+        assertFalse(channel.writeInbound(request("/a", "gzip")));
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals("gzip", response.payload().toString(StandardCharsets.US_ASCII));
+        }
+        assertEquals(2, cache.metric().entries());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRevalidation() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpCacheHandler(cache));
+        FullHttpResponse first = response("first", "no-cache");
+        first.headers().set(HttpHeaderNames.ETAG, "\"1\"");
+        fetch(channel, request("/a"), first);
+
+        assertTrue(channel.writeInbound(request("/a")));
+        try (FullHttpRequest forwarded = channel.readInbound()) {
+            assertEquals("\"1\"", forwarded.headers().get(HttpHeaderNames.IF_NONE_MATCH));
+        }
+        FullHttpResponse notModified = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1,
+                HttpResponseStatus.NOT_MODIFIED, preferredAllocator().allocate(0));
+        notModified.headers().set(HttpHeaderNames.ETAG, "\"1\"");
+        notModified.headers().set(HttpHeaderNames.CACHE_CONTROL, "max-age=60");
+        assertTrue(channel.writeOutbound(notModified));
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.OK, response.status());
+            assertEquals("first", response.payload().toString(StandardCharsets.US_ASCII));
+            assertEquals("max-age=60", response.headers().get(HttpHeaderNames.CACHE_CONTROL));
+        }
+
+        // The response is fresh now, and answers conditional requests itself.
+        FullHttpRequest conditional = request("/a");
+        conditional.headers().set(HttpHeaderNames.IF_NONE_MATCH, "\"1\"");
+        assertFalse(channel.writeInbound(conditional));
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.NOT_MODIFIED, response.status());
+        }
+        assertEquals(1, cache.metric().revalidations());
+        assertEquals(1, cache.metric().hits());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCoalescing() {
+        EmbeddedChannel first = new EmbeddedChannel(new HttpCacheHandler(cache));
+        EmbeddedChannel second = new EmbeddedChannel(new HttpCacheHandler(cache));
+        assertTrue(first.writeInbound(request("/a")));
+        assertFalse(second.writeInbound(request("/a")));
+        // Requests after a waiting one are deferred.
+        assertFalse(second.writeInbound(request("/b")));
+
+        ((FullHttpRequest) first.readInbound()).close();
+        assertTrue(first.writeOutbound(response("shared", "max-age=60")));
+        ((FullHttpResponse) first.readOutbound()).close();
+
+        second.runPendingTasks();
+        try (FullHttpResponse response = second.readOutbound()) {
+            assertEquals("shared", response.payload().toString(StandardCharsets.US_ASCII));
+        }
+        try (FullHttpRequest forwarded = second.readInbound()) {
+            assertEquals("/b", forwarded.uri());
+        }
+        assertEquals(1, cache.metric().coalesced());
+        assertEquals(1, cache.metric().hits());
+        assertEquals(2, cache.metric().misses());
+        assertFalse(first.finish());
+        assertFalse(second.finish());
+    }
+
+    @Test
+    public void testReadsAreSuspendedWhileWaiting() {
+        AtomicInteger reads = new AtomicInteger();
+        EmbeddedChannel first = new EmbeddedChannel(new HttpCacheHandler(cache));
+        EmbeddedChannel second = new EmbeddedChannel(new ChannelHandler() {
+            @Override
+            public void read(ChannelHandlerContext ctx) {
+                reads.incrementAndGet();
+                ctx.read();
+            }
+        }, new HttpCacheHandler(cache));
+        assertTrue(first.writeInbound(request("/a")));
+        assertFalse(second.writeInbound(request("/a")));
+        int readsBefore = reads.get();
+        second.read();
+        assertEquals(readsBefore, reads.get());
+
+        ((FullHttpRequest) first.readInbound()).close();
+        assertTrue(first.writeOutbound(response("shared", "max-age=60")));
+        ((FullHttpResponse) first.readOutbound()).close();
+
+        second.runPendingTasks();
+        assertTrue(reads.get() > readsBefore);
+        ((FullHttpResponse) second.readOutbound()).close();
+        assertFalse(first.finish());
+        assertFalse(second.finish());
+    }
+
+    @Test
+    public void testInvalidation() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpCacheHandler(cache));
+        fetch(channel, request("/a"), response("first", "max-age=60"));
+        FullHttpRequest post = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/a",
+                preferredAllocator().allocate(0));
+        post.headers().set(HttpHeaderNames.HOST, "example.com");
+        fetch(channel, post, response("posted", null));
+        assertEquals(0, cache.metric().entries());
+        assertEquals("second", fetch(channel, request("/a"), response("second", "max-age=60")));
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testEvictionIsScanResistant() {
+        try (HttpResponseCache small = new HttpResponseCache(4096, 1024)) {
+            EmbeddedChannel channel = new EmbeddedChannel(new HttpCacheHandler(small));
+            String body = "x".repeat(256);
+            fetch(channel, request("/hot"), response(body, "max-age=60"));
+            assertFalse(channel.writeInbound(request("/hot")));
+            ((FullHttpResponse) channel.readOutbound()).close();
+
+            for (int i = 0; i < 32; i++) {
+                fetch(channel, request("/scan/" + i), response(body, "max-age=60"));
+            }
+            assertTrue(small.metric().evictions() > 0);
+            assertTrue(small.metric().usedBytes() <= 4096);
+
+            assertFalse(channel.writeInbound(request("/hot")));
+            FullHttpResponse response = channel.readOutbound();
+            assertNotNull(response);
+            response.close();
+            assertNull(channel.readInbound());
+            assertFalse(channel.finish());
+        }
+    }
+
+    private static String fetch(EmbeddedChannel channel, FullHttpRequest request, FullHttpResponse upstream) {
+        assertTrue(channel.writeInbound(request));
+        ((FullHttpRequest) channel.readInbound()).close();
+        assertTrue(channel.writeOutbound(upstream));
+        try (FullHttpResponse response = channel.readOutbound()) {
+            return response.payload().toString(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static FullHttpRequest request(String uri) {
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, uri,
+                preferredAllocator().allocate(0));
+        request.headers().set(HttpHeaderNames.HOST, "example.com");
+        return request;
+    }
+
+    private static FullHttpRequest request(String uri, String acceptEncoding) {
+        FullHttpRequest request = request(uri);
+        request.headers().set(HttpHeaderNames.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+
+    private static FullHttpResponse response(String body, String cacheControl) {
+        byte[] bytes = body.getBytes(StandardCharsets.US_ASCII);
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                preferredAllocator().allocate(bytes.length).writeBytes(bytes));
+        response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, bytes.length);
+        if (cacheControl != null) {
+            response.headers().set(HttpHeaderNames.CACHE_CONTROL, cacheControl);
+        }
+        return response;
+    }
+}
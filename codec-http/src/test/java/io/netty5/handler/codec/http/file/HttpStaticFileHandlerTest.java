@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.file;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.DefaultFileRegion;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.http.DefaultFullHttpRequest;
+import io.netty5.handler.codec.http.FullHttpRequest;
+import io.netty5.handler.codec.http.FullHttpResponse;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpMethod;
+import io.netty5.handler.codec.http.HttpResponse;
+import io.netty5.handler.codec.http.HttpResponseStatus;
+import io.netty5.handler.codec.http.HttpVersion;
+import io.netty5.handler.codec.http.LastHttpContent;
+import io.netty5.util.concurrent.DefaultEventExecutorGroup;
+import io.netty5.util.concurrent.EventExecutorGroup;
+import io.netty5.util.concurrent.ImmediateEventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class HttpStaticFileHandlerTest {
+    private static final String CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    @TempDir
+    Path root;
+
+    private FileCache cache;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Files.writeString(root.resolve("file.txt"), CONTENT);
+        cache = new FileCache(16, 0, 0);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    public void testServesFileRegion() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(handler(root));
+        assertFalse(channel.writeInbound(request(HttpMethod.GET, "/file.txt")));
+
+        HttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.OK, response.status());
+        assertEquals(String.valueOf(CONTENT.length()), response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+        assertEquals("bytes", response.headers().get(HttpHeaderNames.ACCEPT_RANGES));
+        assertTrue(response.headers().contains(HttpHeaderNames.ETAG));
+        assertTrue(response.headers().contains(HttpHeaderNames.LAST_MODIFIED));
+        assertEquals(CONTENT, readRegion(channel.readOutbound()));
+        try (LastHttpContent<?> last = channel.readOutbound()) {
+            assertEquals(0, last.payload().readableBytes());
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRange() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(handler(root));
+        FullHttpRequest request = request(HttpMethod.GET, "/file.txt");
+        request.headers().set(HttpHeaderNames.RANGE, "bytes=10-15");
+        channel.writeInbound(request);
+
+        HttpResponse response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.PARTIAL_CONTENT, response.status());
+        assertEquals("bytes 10-15/36", response.headers().get(HttpHeaderNames.CONTENT_RANGE));
+        assertEquals("6", response.headers().get(HttpHeaderNames.CONTENT_LENGTH));
+        assertEquals("abcdef", readRegion(channel.readOutbound()));
+        ((LastHttpContent<?>) channel.readOutbound()).close();
+
+        request = request(HttpMethod.GET, "/file.txt");
+        request.headers().set(HttpHeaderNames.RANGE, "bytes=-4");
+        channel.writeInbound(request);
+        response = channel.readOutbound();
+        assertEquals("bytes 32-35/36", response.headers().get(HttpHeaderNames.CONTENT_RANGE));
+        assertEquals("wxyz", readRegion(channel.readOutbound()));
+        ((LastHttpContent<?>) channel.readOutbound()).close();
+
+        // A stale If-Range results in the whole file.
+        request = request(HttpMethod.GET, "/file.txt");
+        request.headers().set(HttpHeaderNames.RANGE, "bytes=10-15");
+        request.headers().set(HttpHeaderNames.IF_RANGE, "\"stale\"");
+        channel.writeInbound(request);
+        response = channel.readOutbound();
+        assertEquals(HttpResponseStatus.OK, response.status());
+        assertEquals(CONTENT, readRegion(channel.readOutbound()));
+        ((LastHttpContent<?>) channel.readOutbound()).close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testRangeNotSatisfiable() {
+        EmbeddedChannel channel = new EmbeddedChannel(handler(root));
+        FullHttpRequest request = request(HttpMethod.GET, "/file.txt");
+        request.headers().set(HttpHeaderNames.RANGE, "bytes=100-");
+        channel.writeInbound(request);
+
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE, response.status());
+            assertEquals("bytes */36", response.headers().get(HttpHeaderNames.CONTENT_RANGE));
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testNotModified() {
+        EmbeddedChannel channel = new EmbeddedChannel(handler(root));
+        channel.writeInbound(request(HttpMethod.HEAD, "/file.txt"));
+        String etag;
+        String lastModified;
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.OK, response.status());
+            assertEquals(0, response.payload().readableBytes());
+            etag = response.headers().get(HttpHeaderNames.ETAG);
+            lastModified = response.headers().get(HttpHeaderNames.LAST_MODIFIED);
+        }
+
+        FullHttpRequest request = request(HttpMethod.GET, "/file.txt");
+        request.headers().set(HttpHeaderNames.IF_NONE_MATCH, "\"other\", W/" + etag);
+        channel.writeInbound(request);
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.NOT_MODIFIED, response.status());
+        }
+
+        request = request(HttpMethod.GET, "/file.txt");
+        request.headers().set(HttpHeaderNames.IF_MODIFIED_SINCE, lastModified);
+        channel.writeInbound(request);
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.NOT_MODIFIED, response.status());
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testForwardsUnknownFiles() throws Exception {
+        Files.createDirectory(root.resolve("dir"));
+        EmbeddedChannel channel = new EmbeddedChannel(handler(root.resolve("dir")));
+        assertForwarded(channel, request(HttpMethod.GET, "/missing.txt"));
+        assertForwarded(channel, request(HttpMethod.GET, "/../file.txt"));
+        assertForwarded(channel, request(HttpMethod.GET, "/%2e%2e/file.txt"));
+        assertForwarded(channel, request(HttpMethod.POST, "/file.txt"));
+        assertNull(channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testForwardsSymbolicLinksOutOfRoot() throws Exception {
+        Path dir = Files.createDirectory(root.resolve("dir"));
+        Files.writeString(dir.resolve("inside.txt"), CONTENT);
+        assumeTrue(createSymbolicLink(dir.resolve("escape.txt"), root.resolve("file.txt")));
+        assumeTrue(createSymbolicLink(dir.resolve("link.txt"), dir.resolve("inside.txt")));
+        EmbeddedChannel channel = new EmbeddedChannel(handler(dir));
+        assertForwarded(channel, request(HttpMethod.GET, "/escape.txt"));
+        assertNull(channel.readOutbound());
+
+        channel.writeInbound(request(HttpMethod.HEAD, "/link.txt"));
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.OK, response.status());
+        }
+        assertFalse(channel.finish());
+    }
+
+    private static boolean createSymbolicLink(Path link, Path target) {
+        try {
+            Files.createSymbolicLink(link, target);
+            return true;
+        } catch (IOException | UnsupportedOperationException ignore) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testLooksUpFilesOffTheEventLoop() throws Exception {
+        EventExecutorGroup group = new DefaultEventExecutorGroup(1);
+        try {
+            CountDownLatch blocked = new CountDownLatch(1);
+            group.next().execute(() -> {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            EmbeddedChannel channel = new EmbeddedChannel(
+                    new HttpStaticFileHandler(root, cache, HttpStaticFileHandler.DEFAULT_CHUNK_SIZE, group));
+            FullHttpRequest unknown = request(HttpMethod.GET, "/missing.txt");
+            assertFalse(channel.writeInbound(request(HttpMethod.HEAD, "/file.txt")));
+            // Held back until the file of the first request was looked up.
+            assertFalse(channel.writeInbound(unknown));
+            assertNull(channel.readOutbound());
+
+            blocked.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (channel.inboundMessages().isEmpty()) {
+                assertTrue(System.nanoTime() < deadline, "timed out");
+                channel.runPendingTasks();
+                Thread.sleep(1);
+            }
+
+            try (FullHttpResponse response = channel.readOutbound()) {
+                assertEquals(HttpResponseStatus.OK, response.status());
+            }
+            try (FullHttpRequest forwarded = channel.readInbound()) {
+                assertSame(unknown, forwarded);
+            }
+            assertFalse(channel.finish());
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
+
+    private static void assertForwarded(EmbeddedChannel channel, FullHttpRequest request) {
+        assertTrue(channel.writeInbound(request));
+        try (FullHttpRequest forwarded = channel.readInbound()) {
+            assertSame(request, forwarded);
+        }
+    }
+
+    @Test
+    public void testMappedFile() {
+        cache.close();
+        cache = new FileCache(16, 0, 1024);
+        EmbeddedChannel channel = new EmbeddedChannel(handler(root));
+        FullHttpRequest request = request(HttpMethod.GET, "/file.txt");
+        request.headers().set(HttpHeaderNames.RANGE, "bytes=0-9");
+        channel.writeInbound(request);
+
+        try (FullHttpResponse response = channel.readOutbound()) {
+            assertEquals(HttpResponseStatus.PARTIAL_CONTENT, response.status());
+            Buffer payload = response.payload();
+            assertEquals("0123456789", payload.toString(StandardCharsets.US_ASCII));
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testCacheRevalidation() throws Exception {
+        Path path = root.resolve("file.txt");
+        CachedFile first = cache.acquire(path);
+        CachedFile second = cache.acquire(path);
+        try {
+            assertSame(first, second);
+        } finally {
+            first.release();
+            second.release();
+        }
+
+        Files.writeString(path, CONTENT + CONTENT);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(first.lastModified() + 10000));
+        CachedFile changed = cache.acquire(path);
+        try {
+            assertNotSame(first, changed);
+            assertEquals(CONTENT.length() * 2, changed.size());
+            assertFalse(first.channel().isOpen());
+        } finally {
+            changed.release();
+        }
+
+        cache.invalidate(path);
+        assertEquals(0, cache.size());
+        assertFalse(changed.channel().isOpen());
+    }
+
+    private HttpStaticFileHandler handler(Path root) {
+        // Look up files synchronously, so the tests need not wait for responses.
+        return new HttpStaticFileHandler(root, cache, HttpStaticFileHandler.DEFAULT_CHUNK_SIZE,
+                ImmediateEventExecutor.INSTANCE);
+    }
+
+    private static FullHttpRequest request(HttpMethod method, String uri) {
+        return new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method, uri, preferredAllocator().allocate(0));
+    }
+
+    private static String readRegion(DefaultFileRegion region) throws Exception {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long written = 0;
+            while (written < region.count()) {
+                written += region.transferTo(target, written);
+            }
+            return out.toString(StandardCharsets.US_ASCII);
+        } finally {
+            region.release();
+        }
+    }
+}
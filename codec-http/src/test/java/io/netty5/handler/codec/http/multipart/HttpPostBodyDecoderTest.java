@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.multipart;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.DecoderException;
+import io.netty5.handler.codec.http.DefaultFullHttpRequest;
+import io.netty5.handler.codec.http.DefaultHttpContent;
+import io.netty5.handler.codec.http.DefaultHttpRequest;
+import io.netty5.handler.codec.http.DefaultLastHttpContent;
+import io.netty5.handler.codec.http.FullHttpRequest;
+import io.netty5.handler.codec.http.HttpContent;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpMethod;
+import io.netty5.handler.codec.http.HttpRequest;
+import io.netty5.handler.codec.http.HttpVersion;
+import io.netty5.handler.codec.http.LastHttpContent;
+import io.netty5.handler.codec.http.TooLongHttpContentException;
+import io.netty5.util.Resource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpPostBodyDecoderTest {
+    private static final String BOUNDARY = "----boundary42";
+    private static final String FILE_CONTENT = "line one\r\n--not the boundary\r\n\r\n--" + BOUNDARY.substring(0, 6) +
+            "\rtrailing";
+    private static final String MULTIPART_BODY = "preamble\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"title\"\r\n" +
+            "\r\n" +
+            "Hello \u00e9\r\n" +
+            "--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"file\"; filename=\"a \\\"b\\\".txt\"\r\n" +
+            "Content-Type: text/plain\r\n" +
+            "\r\n" +
+            FILE_CONTENT + "\r\n" +
+            "--" + BOUNDARY + "--\r\n" +
+            "epilogue";
+
+    @Test
+    public void testUrlEncoded() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostBodyDecoder());
+        channel.writeInbound(request("application/x-www-form-urlencoded"));
+        channel.writeInbound(content("a=1&b=hel"));
+        channel.writeInbound(content("lo%20wor"));
+        channel.writeInbound(lastContent("ld&&c"));
+
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+        assertField(channel.readInbound(), "a", "1");
+        assertField(channel.readInbound(), "b", "hello world");
+        assertField(channel.readInbound(), "c", "");
+        ((LastHttpContent<?>) channel.readInbound()).close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testMultipartSingleChunk() throws Exception {
+        testMultipart(MULTIPART_BODY.length());
+    }
+
+    @Test
+    public void testMultipartSmallChunks() throws Exception {
+        for (int chunkSize = 1; chunkSize < 24; chunkSize++) {
+            testMultipart(chunkSize);
+        }
+    }
+
+    private static void testMultipart(int chunkSize) throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostBodyDecoder());
+        writeMultipart(channel, chunkSize);
+
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+        assertField(channel.readInbound(), "title", "Hello \u00e9");
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        for (;;) {
+            Object msg = channel.readInbound();
+            if (msg instanceof LastHttpContent) {
+                ((LastHttpContent<?>) msg).close();
+                break;
+            }
+            try (HttpFileUploadChunk chunk = (HttpFileUploadChunk) msg) {
+                assertEquals("file", chunk.name());
+                assertEquals("a \"b\".txt", chunk.filename());
+                assertEquals("text/plain", chunk.contentType());
+                byte[] bytes = new byte[chunk.payload().readableBytes()];
+                chunk.payload().readBytes(bytes, 0, bytes.length);
+                file.write(bytes);
+                if (chunk.isLast()) {
+                    ((LastHttpContent<?>) channel.readInbound()).close();
+                    break;
+                }
+            }
+        }
+        assertEquals(FILE_CONTENT, file.toString(StandardCharsets.UTF_8));
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testSpillToDisk(@TempDir Path directory) throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostBodyDecoder(1024, 16, directory));
+        writeMultipart(channel, 7);
+
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+        assertField(channel.readInbound(), "title", "Hello \u00e9");
+        HttpFileUpload upload = channel.readInbound();
+        assertFalse(upload.isInMemory());
+        assertEquals(FILE_CONTENT.length(), upload.length());
+        assertArrayEquals(FILE_CONTENT.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(upload.file()));
+        upload.close();
+        assertFalse(Files.exists(upload.file()));
+        ((LastHttpContent<?>) channel.readInbound()).close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testInMemoryUpload(@TempDir Path directory) {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostBodyDecoder(1024, 1024, directory));
+        FullHttpRequest request = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/",
+                buffer(MULTIPART_BODY));
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, "multipart/form-data; boundary=\"" + BOUNDARY + '"');
+        channel.writeInbound(request);
+
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+        assertField(channel.readInbound(), "title", "Hello \u00e9");
+        try (HttpFileUpload upload = channel.readInbound()) {
+            assertTrue(upload.isInMemory());
+            assertEquals(FILE_CONTENT, upload.content().toString(StandardCharsets.UTF_8));
+        }
+        ((LastHttpContent<?>) channel.readInbound()).close();
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testMissingCloseDelimiter() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostBodyDecoder());
+        channel.writeInbound(request("multipart/form-data; boundary=" + BOUNDARY));
+        String body = MULTIPART_BODY.substring(0, MULTIPART_BODY.indexOf("--" + BOUNDARY + "--"));
+        assertThrows(DecoderException.class, () -> channel.writeInbound(lastContent(body)));
+        Object msg;
+        while ((msg = channel.readInbound()) != null) {
+            Resource.dispose(msg);
+        }
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testFieldTooLong() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostBodyDecoder(8));
+        channel.writeInbound(request("application/x-www-form-urlencoded"));
+        assertThrows(TooLongHttpContentException.class, () -> channel.writeInbound(content("name=0123456789")));
+        // The rest of the body is discarded.
+        channel.writeInbound(lastContent("&a=b"));
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+        ((LastHttpContent<?>) channel.readInbound()).close();
+        assertNull(channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testOtherContentPassesThrough() {
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostBodyDecoder());
+        channel.writeInbound(request("application/json"));
+        channel.writeInbound(lastContent("{}"));
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+        try (LastHttpContent<?> content = channel.readInbound()) {
+            assertEquals("{}", content.payload().toString(StandardCharsets.UTF_8));
+        }
+        assertFalse(channel.finish());
+    }
+
+    private static void writeMultipart(EmbeddedChannel channel, int chunkSize) {
+        channel.writeInbound(request("multipart/form-data; boundary=" + BOUNDARY));
+        byte[] body = MULTIPART_BODY.getBytes(StandardCharsets.UTF_8);
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            int length = Math.min(chunkSize, body.length - offset);
+            Buffer payload = preferredAllocator().allocate(length).writeBytes(body, offset, length);
+            HttpContent<?> content = offset + length == body.length ? new DefaultLastHttpContent(payload) :
+                    new DefaultHttpContent(payload);
+            channel.writeInbound(content);
+        }
+    }
+
+    private static void assertField(Object msg, String name, String value) {
+        HttpFormField field = assertInstanceOf(HttpFormField.class, msg);
+        assertEquals(name, field.name());
+        assertEquals(value, field.value());
+    }
+
+    private static HttpRequest request(String contentType) {
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/");
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, contentType);
+        return request;
+    }
+
+    private static Buffer buffer(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        return preferredAllocator().allocate(bytes.length).writeBytes(bytes);
+    }
+
+    private static HttpContent<?> content(String content) {
+        return new DefaultHttpContent(buffer(content));
+    }
+
+    private static LastHttpContent<?> lastContent(String content) {
+        return new DefaultLastHttpContent(buffer(content));
+    }
+}
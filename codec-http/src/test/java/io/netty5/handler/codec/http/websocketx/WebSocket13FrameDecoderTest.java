@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.websocketx;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WebSocket13FrameDecoderTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 3, 4, 5, 7, 8, 9, 11, 12, 15, 16, 17, 125, 126, 1023, 65536 })
+    public void testUnmaskPayload(int length) {
+        byte[] payload = new byte[length];
+        ThreadLocalRandom.current().nextBytes(payload);
+
+        EmbeddedChannel encoder = new EmbeddedChannel(new WebSocket13FrameEncoder(true));
+        EmbeddedChannel decoder = new EmbeddedChannel(new WebSocket13FrameDecoder(true, false, 65536));
+        assertTrue(encoder.writeOutbound(new BinaryWebSocketFrame(encoder.bufferAllocator().copyOf(payload))));
+        for (;;) {
+            Buffer buffer = encoder.readOutbound();
+            if (buffer == null) {
+                break;
+            }
+            decoder.writeInbound(buffer);
+        }
+
+        try (BinaryWebSocketFrame frame = decoder.readInbound()) {
+            Buffer content = frame.binaryData();
+            byte[] decoded = new byte[content.readableBytes()];
+            content.copyInto(content.readerOffset(), decoded, 0, decoded.length);
+            assertArrayEquals(payload, decoded);
+        }
+        assertFalse(encoder.finish());
+        assertFalse(decoder.finish());
+    }
+}
@@ -19,11 +19,15 @@ import io.netty5.channel.embedded.EmbeddedChannel;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class WebSocketUtf8FrameValidatorTest {
 
@@ -37,6 +41,27 @@ public class WebSocketUtf8FrameValidatorTest {
         assertCorruptedFrameExceptionHandling(new byte[]{-8, -120, -128, -128, -128}, true);
     }
 
+    @Test
+    public void testCorruptedFrameExceptionAfterAsciiPrefix() {
+        byte[] data = new byte[35];
+        Arrays.fill(data, (byte) 'a');
+        data[33] = -8;
+        data[34] = -120;
+        assertCorruptedFrameExceptionHandling(data, true);
+    }
+
+    @Test
+    public void testValidMultiByteBetweenAscii() {
+        byte[] data = "0123456789\u00e9abcdefgh\u20ac\ud83d\ude00ijklmnopqrstuvwxyz"
+                .getBytes(StandardCharsets.UTF_8);
+        EmbeddedChannel channel = new EmbeddedChannel(new Utf8FrameValidator());
+        assertTrue(channel.writeInbound(new TextWebSocketFrame(channel.bufferAllocator().copyOf(data))));
+        try (TextWebSocketFrame frame = channel.readInbound()) {
+            assertEquals(new String(data, StandardCharsets.UTF_8), frame.text());
+        }
+        assertFalse(channel.finish());
+    }
+
     @Test
     void testNotCloseOnProtocolViolation() {
         assertCorruptedFrameExceptionHandling(new byte[] { -50 }, false);
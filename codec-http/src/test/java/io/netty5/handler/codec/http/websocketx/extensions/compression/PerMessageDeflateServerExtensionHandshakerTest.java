@@ -15,20 +15,31 @@
  */
 package io.netty5.handler.codec.http.websocketx.extensions.compression;
 
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.compression.CompressionDictionary;
+import io.netty5.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty5.handler.codec.http.websocketx.extensions.WebSocketClientExtension;
+import io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtension;
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtensionData;
+import io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtensionFilterProvider;
 import io.netty5.handler.codec.http.websocketx.extensions.WebSocketServerExtension;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.CLIENT_MAX_WINDOW;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.CLIENT_NO_CONTEXT;
+import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.DICTIONARY;
+import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.MAX_WINDOW_SIZE;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.PERMESSAGE_DEFLATE_EXTENSION;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.SERVER_MAX_WINDOW;
 import static io.netty5.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateServerExtensionHandshaker.SERVER_NO_CONTEXT;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -175,4 +186,47 @@ public class PerMessageDeflateServerExtensionHandshakerTest {
         assertEquals(PERMESSAGE_DEFLATE_EXTENSION, data.name());
         assertTrue(data.parameters().isEmpty());
     }
+
+    @Test
+    public void testDictionaryHandshake() {
+        CompressionDictionary dictionary = CompressionDictionary.of(
+                "{\"type\":\"update\",\"symbol\":\"\",\"price\":0.0}".getBytes(StandardCharsets.US_ASCII));
+        PerMessageDeflateClientExtensionHandshaker clientHandshaker = new PerMessageDeflateClientExtensionHandshaker(
+                6, false, MAX_WINDOW_SIZE, false, false, WebSocketExtensionFilterProvider.DEFAULT, dictionary);
+        PerMessageDeflateServerExtensionHandshaker serverHandshaker = new PerMessageDeflateServerExtensionHandshaker(
+                6, false, MAX_WINDOW_SIZE, false, false, WebSocketExtensionFilterProvider.DEFAULT, dictionary);
+
+        WebSocketExtensionData request = clientHandshaker.newRequestData();
+        assertTrue(request.parameters().containsKey(DICTIONARY));
+        WebSocketServerExtension serverExtension = serverHandshaker.handshakeExtension(request);
+        assertNotNull(serverExtension);
+        WebSocketExtensionData response = serverExtension.newResponseData();
+        assertEquals(request.parameters().get(DICTIONARY), response.parameters().get(DICTIONARY));
+        WebSocketClientExtension clientExtension = clientHandshaker.handshakeExtension(response);
+        assertNotNull(clientExtension);
+
+        // Messages compressed by the client are decompressed by the server with the same dictionary.
+        EmbeddedChannel encoderChannel = new EmbeddedChannel(clientExtension.newExtensionEncoder());
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(serverExtension.newExtensionDecoder());
+        byte[] payload = "{\"type\":\"update\",\"symbol\":\"NTTY\",\"price\":4.2}".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(encoderChannel.writeOutbound(new BinaryWebSocketFrame(
+                encoderChannel.bufferAllocator().copyOf(payload))));
+        BinaryWebSocketFrame compressed = encoderChannel.readOutbound();
+        assertEquals(WebSocketExtension.RSV1, compressed.rsv());
+        assertTrue(decoderChannel.writeInbound(compressed));
+        try (BinaryWebSocketFrame decompressed = decoderChannel.readInbound()) {
+            byte[] decoded = new byte[decompressed.binaryData().readableBytes()];
+            decompressed.binaryData().readBytes(decoded, 0, decoded.length);
+            assertArrayEquals(payload, decoded);
+        }
+        assertFalse(encoderChannel.finish());
+        assertFalse(decoderChannel.finish());
+
+        // A peer without the same dictionary is declined.
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(DICTIONARY, "00");
+        assertNull(serverHandshaker.handshakeExtension(
+                new WebSocketExtensionData(PERMESSAGE_DEFLATE_EXTENSION, parameters)));
+        assertNull(new PerMessageDeflateServerExtensionHandshaker().handshakeExtension(request));
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http.websocketx.extensions.compression;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.compression.CompressionDictionary;
+import io.netty5.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty5.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty5.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty5.handler.codec.http.websocketx.WebSocketFrame;
+import io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtensionFilter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static io.netty5.handler.codec.http.websocketx.extensions.WebSocketExtension.RSV1;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ZlibContextPoolTest {
+    private static final Random random = new Random();
+
+    @Test
+    public void testPooledRoundTrip() {
+        ZlibContextPool pool = new ZlibContextPool();
+        EmbeddedChannel encoderChannel = new EmbeddedChannel(new PerMessageDeflateEncoder(
+                6, 15, true, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new PerMessageDeflateDecoder(
+                true, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+        assertEquals(2, pool.users());
+
+        for (int i = 0; i < 3; i++) {
+            byte[] payload = new byte[1000 + i * 50000];
+            random.nextBytes(payload);
+            assertArrayEquals(payload, roundTrip(encoderChannel, decoderChannel, payload));
+            // Contexts are only held while a message is in flight.
+            assertEquals(0, pool.activeContexts());
+            assertEquals(2, pool.pooledContexts());
+        }
+        assertEquals(2, pool.createdContexts());
+        assertEquals(4, pool.reusedContexts());
+
+        // A second connection reuses the same contexts, saving the memory of its own ones.
+        EmbeddedChannel encoderChannel2 = new EmbeddedChannel(new PerMessageDeflateEncoder(
+                6, 15, true, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+        EmbeddedChannel decoderChannel2 = new EmbeddedChannel(new PerMessageDeflateDecoder(
+                true, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+        byte[] payload = new byte[100];
+        assertArrayEquals(payload, roundTrip(encoderChannel2, decoderChannel2, payload));
+        assertEquals(4, pool.users());
+        assertEquals(2, pool.createdContexts());
+        int contextMemory = ZlibContextPool.DEFLATER_MEMORY + ZlibContextPool.INFLATER_MEMORY;
+        assertEquals(contextMemory, pool.estimatedMemoryUsage());
+        assertEquals(contextMemory, pool.estimatedMemorySaved());
+
+        assertFalse(encoderChannel.finish());
+        assertFalse(decoderChannel.finish());
+        assertFalse(encoderChannel2.finish());
+        assertFalse(decoderChannel2.finish());
+        assertEquals(0, pool.users());
+    }
+
+    @Test
+    public void testPooledInteroperatesWithUnpooled() {
+        ZlibContextPool pool = new ZlibContextPool();
+        EmbeddedChannel pooledEncoder = new EmbeddedChannel(new PerMessageDeflateEncoder(
+                6, 15, true, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+        EmbeddedChannel unpooledDecoder = new EmbeddedChannel(new PerMessageDeflateDecoder(true));
+        EmbeddedChannel unpooledEncoder = new EmbeddedChannel(new PerMessageDeflateEncoder(6, 15, true));
+        EmbeddedChannel pooledDecoder = new EmbeddedChannel(new PerMessageDeflateDecoder(
+                true, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+
+        byte[] payload = "a message that is compressed, a message that is compressed"
+                .getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(payload, roundTrip(pooledEncoder, unpooledDecoder, payload));
+        assertArrayEquals(payload, roundTrip(unpooledEncoder, pooledDecoder, payload));
+
+        assertFalse(pooledEncoder.finish());
+        assertFalse(unpooledDecoder.finish());
+        assertFalse(unpooledEncoder.finish());
+        assertFalse(pooledDecoder.finish());
+    }
+
+    @Test
+    public void testPooledFragmentedMessage() {
+        ZlibContextPool pool = new ZlibContextPool();
+        EmbeddedChannel encoderChannel = new EmbeddedChannel(new PerMessageDeflateEncoder(
+                6, 15, true, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new PerMessageDeflateDecoder(
+                true, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+
+        byte[] first = "first fragment, ".getBytes(StandardCharsets.US_ASCII);
+        byte[] second = "second fragment".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(encoderChannel.writeOutbound(new TextWebSocketFrame(
+                false, 0, encoderChannel.bufferAllocator().copyOf(first))));
+        assertEquals(1, pool.activeContexts());
+        assertTrue(encoderChannel.writeOutbound(new ContinuationWebSocketFrame(
+                true, 0, encoderChannel.bufferAllocator().copyOf(second))));
+        assertEquals(0, pool.activeContexts());
+
+        for (WebSocketFrame frame; (frame = encoderChannel.readOutbound()) != null;) {
+            assertTrue(decoderChannel.writeInbound(frame));
+        }
+        StringBuilder decoded = new StringBuilder();
+        for (Object msg; (msg = decoderChannel.readInbound()) != null;) {
+            try (WebSocketFrame frame = (WebSocketFrame) msg) {
+                decoded.append(frame.binaryData().toString(StandardCharsets.US_ASCII));
+            }
+        }
+        assertEquals("first fragment, second fragment", decoded.toString());
+        assertEquals(0, pool.activeContexts());
+
+        assertFalse(encoderChannel.finish());
+        assertFalse(decoderChannel.finish());
+    }
+
+    @Test
+    public void testPooledWithDictionary() {
+        ZlibContextPool pool = new ZlibContextPool();
+        CompressionDictionary dictionary = CompressionDictionary.of(
+                "{\"event\":\"tick\",\"symbol\":\"\",\"price\":}".getBytes(StandardCharsets.US_ASCII));
+        EmbeddedChannel encoderChannel = new EmbeddedChannel(new PerMessageDeflateEncoder(
+                6, 15, true, WebSocketExtensionFilter.NEVER_SKIP, dictionary, pool));
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new PerMessageDeflateDecoder(
+                true, WebSocketExtensionFilter.NEVER_SKIP, dictionary, pool));
+
+        for (int i = 0; i < 2; i++) {
+            byte[] payload = ("{\"event\":\"tick\",\"symbol\":\"NTTY\",\"price\":" + i + '}')
+                    .getBytes(StandardCharsets.US_ASCII);
+            assertArrayEquals(payload, roundTrip(encoderChannel, decoderChannel, payload));
+        }
+
+        assertFalse(encoderChannel.finish());
+        assertFalse(decoderChannel.finish());
+    }
+
+    @Test
+    public void testContextTakeoverDoesNotUsePool() {
+        ZlibContextPool pool = new ZlibContextPool();
+        EmbeddedChannel encoderChannel = new EmbeddedChannel(new PerMessageDeflateEncoder(
+                6, 15, false, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+        EmbeddedChannel decoderChannel = new EmbeddedChannel(new PerMessageDeflateDecoder(
+                false, WebSocketExtensionFilter.NEVER_SKIP, null, pool));
+        byte[] payload = new byte[100];
+        assertArrayEquals(payload, roundTrip(encoderChannel, decoderChannel, payload));
+        assertEquals(0, pool.users());
+        assertEquals(0, pool.createdContexts());
+
+        assertFalse(encoderChannel.finish());
+        assertFalse(decoderChannel.finish());
+    }
+
+    private static byte[] roundTrip(EmbeddedChannel encoderChannel, EmbeddedChannel decoderChannel,
+                                    byte[] payload) {
+        assertTrue(encoderChannel.writeOutbound(new BinaryWebSocketFrame(
+                encoderChannel.bufferAllocator().copyOf(payload))));
+        BinaryWebSocketFrame compressed = encoderChannel.readOutbound();
+        assertEquals(RSV1, compressed.rsv());
+        assertTrue(decoderChannel.writeInbound(compressed));
+        try (BinaryWebSocketFrame decompressed = decoderChannel.readInbound()) {
+            Buffer data = decompressed.binaryData();
+            byte[] bytes = new byte[data.readableBytes()];
+            data.readBytes(bytes, 0, bytes.length);
+            return bytes;
+        }
+    }
+}
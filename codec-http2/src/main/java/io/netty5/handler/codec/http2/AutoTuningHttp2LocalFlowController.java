@@ -0,0 +1,232 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.util.internal.UnstableApi;
+
+import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.MAX_INITIAL_WINDOW_SIZE;
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * A {@link DefaultHttp2LocalFlowController} that sizes the flow control windows after the bandwidth-delay product
+ * (BDP) of the connection, similar to what gRPC does.
+ * <p>
+ * While {@code DATA} frames are received a {@code PING} is sent and the number of bytes that arrive until it is
+ * acknowledged are counted. That number is an estimate of the BDP, as it is the amount of data the remote endpoint
+ * was able to send within one round trip. If it comes close to the current window size, which means the window
+ * limits the throughput, and the bandwidth increased, the window size is set to twice the estimate, up to the
+ * configured maximum. The connection window and the windows of the streams that receive data are expanded
+ * accordingly by sending {@code WINDOW_UPDATE} frames, so no new {@code SETTINGS} have to be exchanged.
+ * <p>
+ * The windows can be reduced again via {@link #shrinkWindowSize()}, for example if the application is under memory
+ * pressure. The windows of the connection and of the streams are then not replenished beyond the new size anymore.
+ * <p>
+ * The acknowledgments of the {@code PING}s sent by this flow controller are not propagated to the
+ * {@link Http2FrameListener}.
+ * <p>
+ * This class is <strong>NOT</strong> thread safe. The assumption is all methods must be invoked from a single thread.
+ * Typically this thread is the event loop thread for the {@link ChannelHandlerContext} managed by this class.
+ */
+@UnstableApi
+public class AutoTuningHttp2LocalFlowController extends DefaultHttp2LocalFlowController {
+    /**
+     * The default maximum size the flow control windows may grow to.
+     */
+    public static final int DEFAULT_MAX_WINDOW_SIZE = 8 * 1024 * 1024;
+
+    // The opaque data of the PINGs that are used to measure the BDP.
+    static final long BDP_PING_DATA = 0x4244505F50494E47L;
+
+    private final Http2Connection connection;
+    private final int minWindowSize;
+    private final int maxWindowSize;
+    private Http2FrameWriter frameWriter;
+    private ChannelHandlerContext ctx;
+
+    private int windowSize;
+    // The number of bytes the connection window was expanded by this flow controller.
+    private int connectionWindowGrowth;
+
+    private boolean pingOutstanding;
+    private long pingSentNanos;
+    private long bytesSincePing;
+    private double maxBandwidth;
+    private long bandwidthDelayProduct;
+    private long roundTripTimeNanos;
+
+    public AutoTuningHttp2LocalFlowController(Http2Connection connection) {
+        this(connection, DEFAULT_WINDOW_UPDATE_RATIO, false, DEFAULT_WINDOW_SIZE, DEFAULT_MAX_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a controller with the given settings.
+     *
+     * @param connection the connection state.
+     * @param windowUpdateRatio the window percentage below which to send a {@code WINDOW_UPDATE}.
+     * @param autoRefillConnectionWindow if {@code true}, effectively disables the connection window
+     * in the flow control algorithm as they will always refill automatically without requiring the
+     * application to consume the bytes.
+     * @param minWindowSize the size the windows are never shrunk below by {@link #shrinkWindowSize()}.
+     * @param maxWindowSize the size the windows never grow beyond.
+     */
+    public AutoTuningHttp2LocalFlowController(Http2Connection connection,
+                                              float windowUpdateRatio,
+                                              boolean autoRefillConnectionWindow,
+                                              int minWindowSize,
+                                              int maxWindowSize) {
+        super(connection, windowUpdateRatio, autoRefillConnectionWindow);
+        checkPositive(minWindowSize, "minWindowSize");
+        if (maxWindowSize < minWindowSize || maxWindowSize > MAX_INITIAL_WINDOW_SIZE) {
+            throw new IllegalArgumentException("maxWindowSize: " + maxWindowSize +
+                    " (expected: " + minWindowSize + "-" + MAX_INITIAL_WINDOW_SIZE + ')');
+        }
+        this.connection = connection;
+        this.minWindowSize = minWindowSize;
+        this.maxWindowSize = maxWindowSize;
+        windowSize = minWindowSize;
+    }
+
+    @Override
+    public AutoTuningHttp2LocalFlowController frameWriter(Http2FrameWriter frameWriter) {
+        super.frameWriter(frameWriter);
+        this.frameWriter = frameWriter;
+        return this;
+    }
+
+    @Override
+    public void channelHandlerContext(ChannelHandlerContext ctx) {
+        super.channelHandlerContext(ctx);
+        this.ctx = ctx;
+    }
+
+    /**
+     * Returns the size the flow control windows are currently tuned to. Streams never get a window smaller than
+     * {@link #initialWindowSize()}, which is the size announced via {@code SETTINGS}.
+     */
+    public int windowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Returns the last estimate of the bandwidth-delay product in bytes, or {@code 0} if there was none yet.
+     */
+    public long bandwidthDelayProduct() {
+        return bandwidthDelayProduct;
+    }
+
+    /**
+     * Returns the last measured round trip time in nanoseconds, or {@code 0} if there was none yet.
+     */
+    public long roundTripTimeNanos() {
+        return roundTripTimeNanos;
+    }
+
+    /**
+     * Halves the size the flow control windows are tuned to, down to the minimum window size. The windows of the
+     * connection and of the active streams are not replenished beyond the new size anymore, which limits the amount
+     * of data the remote endpoint may send without the application consuming it.
+     */
+    public void shrinkWindowSize() throws Http2Exception {
+        assert ctx == null || ctx.executor().inEventLoop();
+        int newWindowSize = max(minWindowSize, windowSize >>> 1);
+        if (newWindowSize == windowSize) {
+            return;
+        }
+        windowSize = newWindowSize;
+        // Allow to grow again once the same bandwidth is measured.
+        maxBandwidth = 0;
+
+        Http2Stream connectionStream = connection.connectionStream();
+        int shrink = min(connectionWindowGrowth, initialWindowSize(connectionStream) - newWindowSize);
+        if (shrink > 0) {
+            connectionWindowGrowth -= shrink;
+            incrementWindowSize(connectionStream, -shrink);
+        }
+        final int streamWindowSize = max(newWindowSize, initialWindowSize());
+        connection.forEachActiveStream(stream -> {
+            int delta = streamWindowSize - initialWindowSize(stream);
+            if (delta < 0) {
+                incrementWindowSize(stream, delta);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public void receiveFlowControlledFrame(Http2Stream stream, Buffer data, int padding,
+                                           boolean endOfStream) throws Http2Exception {
+        int dataLength = data.readableBytes() + padding;
+        super.receiveFlowControlledFrame(stream, data, padding, endOfStream);
+
+        if (stream != null && !endOfStream && stream.state() != Http2Stream.State.CLOSED) {
+            // Streams start with the window size announced via SETTINGS, expand it once they receive data.
+            int delta = windowSize - initialWindowSize(stream);
+            if (delta > 0) {
+                incrementWindowSize(stream, delta);
+            }
+        }
+
+        if (pingOutstanding) {
+            bytesSincePing += dataLength;
+        } else if (frameWriter != null) {
+            pingOutstanding = true;
+            bytesSincePing = dataLength;
+            pingSentNanos = System.nanoTime();
+            // Flushed together with the WINDOW_UPDATE frames once the read completed.
+            frameWriter.writePing(ctx, false, BDP_PING_DATA);
+        }
+    }
+
+    @Override
+    public boolean receivePingAck(long data) throws Http2Exception {
+        if (data != BDP_PING_DATA || !pingOutstanding) {
+            // The user may send a PING with the same payload, only claim the ACK while our PING is outstanding.
+            return false;
+        }
+        pingOutstanding = false;
+        long rtt = max(1, System.nanoTime() - pingSentNanos);
+        long sample = bytesSincePing;
+        roundTripTimeNanos = rtt;
+        bandwidthDelayProduct = sample;
+
+        double bandwidth = sample / (double) rtt;
+        // Only grow if the window limited the amount of data received within a round trip, and the bandwidth did
+        // not just drop because the remote endpoint had less data to send.
+        if (windowSize < maxWindowSize && sample >= windowSize * 2L / 3 && bandwidth > maxBandwidth) {
+            maxBandwidth = bandwidth;
+            growWindowSize((int) min(maxWindowSize, sample * 2));
+        }
+        return true;
+    }
+
+    private void growWindowSize(int newWindowSize) throws Http2Exception {
+        if (newWindowSize <= windowSize) {
+            return;
+        }
+        windowSize = newWindowSize;
+        Http2Stream connectionStream = connection.connectionStream();
+        int delta = newWindowSize - initialWindowSize(connectionStream);
+        if (delta > 0) {
+            connectionWindowGrowth += delta;
+            incrementWindowSize(connectionStream, delta);
+        }
+    }
+}
@@ -63,6 +63,8 @@ public class DefaultHttp2Connection implements Http2Connection {
     // Fields accessed by inner classes
     final IntObjectMap<Http2Stream> streamMap = new IntObjectHashMap<Http2Stream>();
     final PropertyKeyRegistry propertyKeyRegistry = new PropertyKeyRegistry();
+    // Must be initialized before the connection stream, which is assigned the first slot.
+    final StreamStateTable stateTable = new StreamStateTable();
     final ConnectionStream connectionStream = new ConnectionStream();
     final DefaultEndpoint<Http2LocalFlowController> localEndpoint;
     final DefaultEndpoint<Http2RemoteFlowController> remoteEndpoint;
@@ -310,12 +312,22 @@ public class DefaultHttp2Connection implements Http2Connection {
                 }
             }
 
+            // Only release the slot once all listeners are done with the stream.
+            stateTable.free(stream.slot);
+
             if (closePromise != null && isStreamMapEmpty()) {
                 closePromise.trySuccess(null);
             }
         }
     }
 
+    /**
+     * Returns the slot in the {@link StreamStateTable} of this connection that is assigned to the given stream.
+     */
+    static int slot(Http2Stream stream) {
+        return ((DefaultStream) stream).slot;
+    }
+
     static State activeState(int streamId, State initialState, boolean isLocal, boolean halfClosed)
             throws Http2Exception {
         switch (initialState) {
@@ -378,6 +390,7 @@ public class DefaultHttp2Connection implements Http2Connection {
         private static final byte META_STATE_RECV_HEADERS = 1 << 4;
         private static final byte META_STATE_RECV_TRAILERS = 1 << 5;
         private final int id;
+        final int slot;
         private final PropertyMap properties = new PropertyMap();
         private State state;
         private byte metaState;
@@ -385,6 +398,7 @@ public class DefaultHttp2Connection implements Http2Connection {
         DefaultStream(int id, State state) {
             this.id = id;
             this.state = state;
+            slot = stateTable.allocate(this);
         }
 
         @Override
@@ -20,6 +20,7 @@ import io.netty5.handler.codec.http.HttpHeaderNames;
 import io.netty5.handler.codec.http.HttpStatusClass;
 import io.netty5.handler.codec.http.HttpUtil;
 import io.netty5.handler.codec.http2.Http2Connection.Endpoint;
+import io.netty5.util.AsciiString;
 import io.netty5.util.internal.UnstableApi;
 import io.netty5.util.internal.logging.InternalLogger;
 import io.netty5.util.internal.logging.InternalLoggerFactory;
@@ -27,7 +28,13 @@ import io.netty5.util.internal.logging.InternalLoggerFactory;
 import java.util.List;
 
 import static io.netty5.handler.codec.http.HttpStatusClass.INFORMATIONAL;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.CONNECTION_STREAM_ID;
 import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_PRIORITY_WEIGHT;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.INCREMENTAL_PRIORITY;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.INT_FIELD_LENGTH;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.PRIORITY_HEADER;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.parsePriority;
+import static io.netty5.handler.codec.http2.Http2Error.FRAME_SIZE_ERROR;
 import static io.netty5.handler.codec.http2.Http2Error.INTERNAL_ERROR;
 import static io.netty5.handler.codec.http2.Http2Error.PROTOCOL_ERROR;
 import static io.netty5.handler.codec.http2.Http2Error.STREAM_CLOSED;
@@ -219,9 +226,44 @@ public class DefaultHttp2ConnectionDecoder implements Http2ConnectionDecoder {
 
     void onUnknownFrame0(ChannelHandlerContext ctx, byte frameType, int streamId, Http2Flags flags, Buffer payload)
             throws Http2Exception {
+        if (frameType == Http2FrameTypes.PRIORITY_UPDATE) {
+            onPriorityUpdateRead(streamId, payload);
+        }
         listener.onUnknownFrame(ctx, frameType, streamId, flags, payload);
     }
 
+    // See https://www.rfc-editor.org/rfc/rfc9218#section-7.1
+    private void onPriorityUpdateRead(int streamId, Buffer payload) throws Http2Exception {
+        if (streamId != CONNECTION_STREAM_ID) {
+            throw connectionError(PROTOCOL_ERROR, "PRIORITY_UPDATE frame received on stream %d", streamId);
+        }
+        if (!connection.isServer()) {
+            throw connectionError(PROTOCOL_ERROR, "A client cannot receive a PRIORITY_UPDATE frame");
+        }
+        int length = payload.readableBytes();
+        if (length < INT_FIELD_LENGTH) {
+            throw connectionError(FRAME_SIZE_ERROR, "PRIORITY_UPDATE frame too small: %d", length);
+        }
+        int prioritizedStreamId = payload.getInt(payload.readerOffset()) & 0x7FFFFFFF;
+        if (prioritizedStreamId == CONNECTION_STREAM_ID) {
+            throw connectionError(PROTOCOL_ERROR, "PRIORITY_UPDATE frame for stream %d", prioritizedStreamId);
+        }
+        // Priority signals for streams that are not open are ignored, the peer is expected to send them with the
+        // request anyway.
+        Http2Stream stream = connection.stream(prioritizedStreamId);
+        if (stream != null && stream.state() != CLOSED) {
+            byte[] value = new byte[length - INT_FIELD_LENGTH];
+            payload.copyInto(payload.readerOffset() + INT_FIELD_LENGTH, value, 0, value.length);
+            updatePriority(prioritizedStreamId, new AsciiString(value, false));
+        }
+    }
+
+    private void updatePriority(int streamId, CharSequence value) {
+        int priority = parsePriority(value);
+        encoder.flowController().updatePriority(
+                streamId, priority & ~INCREMENTAL_PRIORITY, (priority & INCREMENTAL_PRIORITY) != 0);
+    }
+
     // See https://tools.ietf.org/html/rfc7540#section-8.1.2.6
     private void verifyContentLength(Http2Stream stream, int data, boolean isEnd) throws Http2Exception {
         ContentLength contentLength = stream.getProperty(contentLengthKey);
@@ -399,6 +441,12 @@ public class DefaultHttp2ConnectionDecoder implements Http2ConnectionDecoder {
             stream.headersReceived(isInformational);
             verifyContentLength(stream, 0, endOfStream);
             encoder.flowController().updateDependencyTree(streamId, streamDependency, weight, exclusive);
+            if (!isTrailers && connection.isServer()) {
+                CharSequence priority = headers.get(PRIORITY_HEADER);
+                if (priority != null) {
+                    updatePriority(streamId, priority);
+                }
+            }
             listener.onHeadersRead(ctx, streamId, headers, streamDependency,
                     weight, exclusive, padding, endOfStream);
             // If the headers completes this stream, close it.
@@ -519,7 +567,9 @@ public class DefaultHttp2ConnectionDecoder implements Http2ConnectionDecoder {
 
         @Override
         public void onPingAckRead(ChannelHandlerContext ctx, long data) throws Http2Exception {
-            listener.onPingAckRead(ctx, data);
+            if (!flowController().receivePingAck(data)) {
+                listener.onPingAckRead(ctx, data);
+            }
         }
 
         @Override
@@ -67,6 +67,11 @@ import static java.util.Objects.requireNonNull;
  */
 @UnstableApi
 public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSizePolicy, Configuration {
+    /**
+     * Payloads of {@code DATA} and {@code HEADERS} frames up to this size are copied into the write arena, directly
+     * behind their frame header, if a write arena is used.
+     */
+    static final int MAX_COALESCED_PAYLOAD_LENGTH = 1024;
     private static final String STREAM_ID = "Stream ID";
     private static final String STREAM_DEPENDENCY = "Stream Dependency";
     /**
@@ -79,6 +84,8 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
                            .fill((byte) 0).writerOffset(MAX_UNSIGNED_BYTE).makeReadOnly();
 
     private final Http2HeadersEncoder headersEncoder;
+    private final int writeArenaSize;
+    private Buffer writeArena;
     private int maxFrameSize;
 
     public DefaultHttp2FrameWriter() {
@@ -94,7 +101,25 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
     }
 
     public DefaultHttp2FrameWriter(Http2HeadersEncoder headersEncoder) {
+        this(headersEncoder, 0);
+    }
+
+    /**
+     * Create a new instance that carves frame headers, control frames and small payloads out of a write arena.
+     * <p>
+     * Instead of allocating a separate {@link Buffer} for every frame header, a buffer of {@code writeArenaSize}
+     * bytes is allocated once and {@linkplain Buffer#split(int) split} into the buffers that are written. Payloads of
+     * {@code DATA} and {@code HEADERS} frames of up to 1024 bytes are copied behind their frame header, so such
+     * frames are written as a single buffer. All frames written during one flush are therefore typically backed by a
+     * few contiguous chunks of memory, which is released once all buffers split from it have been written.
+     *
+     * @param headersEncoder the {@link Http2HeadersEncoder} to use.
+     * @param writeArenaSize the size of the write arena in bytes, or {@code 0} to allocate every frame header
+     *                       separately.
+     */
+    public DefaultHttp2FrameWriter(Http2HeadersEncoder headersEncoder, int writeArenaSize) {
         this.headersEncoder = headersEncoder;
+        this.writeArenaSize = checkPositiveOrZero(writeArenaSize, "writeArenaSize");
         maxFrameSize = DEFAULT_MAX_FRAME_SIZE;
     }
 
@@ -127,7 +152,12 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
     }
 
     @Override
-    public void close() { }
+    public void close() {
+        if (writeArena != null) {
+            writeArena.close();
+            writeArena = null;
+        }
+    }
 
     @Override
     public Future<Void> writeData(ChannelHandlerContext ctx, int streamId, Buffer data,
@@ -145,7 +175,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
             flags.paddingPresent(false);
             // Fast path to write frames of payload size maxFrameSize first.
             if (remainingData > maxFrameSize) {
-                frameHeader = ctx.bufferAllocator().allocate(FRAME_HEADER_LENGTH);
+                frameHeader = allocate(ctx, FRAME_HEADER_LENGTH);
                 writeFrameHeaderInternal(frameHeader, maxFrameSize, DATA, flags, streamId);
                 frameHeader.makeReadOnly();
                 do {
@@ -166,8 +196,18 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
                     frameHeader.close();
                     frameHeader = null;
                 }
-                Buffer frameHeader2 = ctx.bufferAllocator().allocate(FRAME_HEADER_LENGTH);
                 flags.endOfStream(endStream);
+                if (coalescePayload(remainingData)) {
+                    // Copy the payload behind the header, so the whole frame is written as a single buffer.
+                    Buffer frame = allocate(ctx, FRAME_HEADER_LENGTH + remainingData);
+                    writeFrameHeaderInternal(frame, remainingData, DATA, flags, streamId);
+                    frame.writeBytes(data);
+                    data.close();
+                    data = null;
+                    ctx.write(frame).cascadeTo(promiseAggregator.newPromise());
+                    return promiseAggregator.doneAllocatingPromises();
+                }
+                Buffer frameHeader2 = allocate(ctx, FRAME_HEADER_LENGTH);
                 writeFrameHeaderInternal(frameHeader2, remainingData, DATA, flags, streamId);
                 ctx.write(frameHeader2).cascadeTo(promiseAggregator.newPromise());
 
@@ -187,7 +227,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
                     // Write the header.
                     Buffer lastFrame;
                     if (frameHeader == null) {
-                        lastFrame = ctx.bufferAllocator().allocate(FRAME_HEADER_LENGTH);
+                        lastFrame = allocate(ctx, FRAME_HEADER_LENGTH);
                         writeFrameHeaderInternal(lastFrame, maxFrameSize, DATA, flags, streamId);
                     } else {
                         lastFrame = frameHeader;
@@ -215,7 +255,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
                     remainingData -= frameDataBytes;
 
                     // Write the header.
-                    Buffer frameHeader2 = ctx.bufferAllocator().allocate(DATA_FRAME_HEADER_LENGTH);
+                    Buffer frameHeader2 = allocate(ctx, DATA_FRAME_HEADER_LENGTH);
                     flags.endOfStream(endStream && remainingData == 0 && padding == 0);
                     flags.paddingPresent(framePaddingBytes > 0);
                     writeFrameHeaderInternal(frameHeader2, framePaddingBytes + frameDataBytes, DATA, flags, streamId);
@@ -283,7 +323,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
             verifyStreamOrConnectionId(streamDependency, STREAM_DEPENDENCY);
             verifyWeight(weight);
 
-            Buffer buf = ctx.bufferAllocator().allocate(PRIORITY_FRAME_LENGTH);
+            Buffer buf = allocate(ctx, PRIORITY_FRAME_LENGTH);
             writeFrameHeaderInternal(buf, PRIORITY_ENTRY_LENGTH, PRIORITY, new Http2Flags(), streamId);
             buf.writeInt(exclusive ? (int) (0x80000000L | streamDependency) : streamDependency);
             // Adjust the weight so that it fits into a single byte on the wire.
@@ -300,7 +340,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
             verifyStreamId(streamId, STREAM_ID);
             verifyErrorCode(errorCode);
 
-            Buffer buf = ctx.bufferAllocator().allocate(RST_STREAM_FRAME_LENGTH);
+            Buffer buf = allocate(ctx, RST_STREAM_FRAME_LENGTH);
             writeFrameHeaderInternal(buf, INT_FIELD_LENGTH, RST_STREAM, new Http2Flags(), streamId);
             buf.writeInt((int) errorCode);
             return ctx.write(buf);
@@ -314,7 +354,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
         try {
             requireNonNull(settings, "settings");
             int payloadLength = SETTING_ENTRY_LENGTH * settings.size();
-            Buffer buf = ctx.bufferAllocator().allocate(FRAME_HEADER_LENGTH + payloadLength);
+            Buffer buf = allocate(ctx, FRAME_HEADER_LENGTH + payloadLength);
             writeFrameHeaderInternal(buf, payloadLength, SETTINGS, new Http2Flags(), 0);
             for (Http2Settings.PrimitiveEntry<Long> entry : settings.entries()) {
                 buf.writeChar(entry.key());
@@ -329,7 +369,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
     @Override
     public Future<Void> writeSettingsAck(ChannelHandlerContext ctx) {
         try {
-            Buffer buf = ctx.bufferAllocator().allocate(FRAME_HEADER_LENGTH);
+            Buffer buf = allocate(ctx, FRAME_HEADER_LENGTH);
             writeFrameHeaderInternal(buf, 0, SETTINGS, new Http2Flags().ack(true), 0);
             return ctx.write(buf);
         } catch (Throwable t) {
@@ -340,7 +380,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
     @Override
     public Future<Void> writePing(ChannelHandlerContext ctx, boolean ack, long data) {
         Http2Flags flags = ack ? new Http2Flags().ack(true) : new Http2Flags();
-        Buffer buf = ctx.bufferAllocator().allocate(FRAME_HEADER_LENGTH + PING_FRAME_PAYLOAD_LENGTH);
+        Buffer buf = allocate(ctx, FRAME_HEADER_LENGTH + PING_FRAME_PAYLOAD_LENGTH);
         // Assume nothing below will throw until buf is written. That way we don't have to take care of ownership
         // in the catch block.
         writeFrameHeaderInternal(buf, PING_FRAME_PAYLOAD_LENGTH, PING, flags, 0);
@@ -373,7 +413,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
             flags.endOfHeaders(headerBlock.readableBytes() == 0);
 
             int payloadLength = fragment.readableBytes() + nonFragmentLength;
-            Buffer buf = ctx.bufferAllocator().allocate(PUSH_PROMISE_FRAME_HEADER_LENGTH);
+            Buffer buf = allocate(ctx, PUSH_PROMISE_FRAME_HEADER_LENGTH);
             writeFrameHeaderInternal(buf, payloadLength, PUSH_PROMISE, flags, streamId);
             writePaddingLength(buf, padding);
 
@@ -417,7 +457,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
             verifyErrorCode(errorCode);
 
             int payloadLength = 8 + debugData.readableBytes();
-            Buffer buf = ctx.bufferAllocator().allocate(GO_AWAY_FRAME_HEADER_LENGTH);
+            Buffer buf = allocate(ctx, GO_AWAY_FRAME_HEADER_LENGTH);
             // Assume nothing below will throw until buf is written. That way we don't have to take care of ownership
             // in the catch block.
             writeFrameHeaderInternal(buf, payloadLength, GO_AWAY, new Http2Flags(), 0);
@@ -449,7 +489,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
             verifyStreamOrConnectionId(streamId, STREAM_ID);
             verifyWindowSizeIncrement(windowSizeIncrement);
 
-            Buffer buf = ctx.bufferAllocator().allocate(WINDOW_UPDATE_FRAME_LENGTH);
+            Buffer buf = allocate(ctx, WINDOW_UPDATE_FRAME_LENGTH);
             writeFrameHeaderInternal(buf, INT_FIELD_LENGTH, WINDOW_UPDATE, new Http2Flags(), streamId);
             buf.writeInt(windowSizeIncrement);
             return ctx.write(buf);
@@ -465,7 +505,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
                 new SimpleChannelPromiseAggregator(ctx.newPromise(), ctx.executor());
         try {
             verifyStreamOrConnectionId(streamId, STREAM_ID);
-            Buffer buf = ctx.bufferAllocator().allocate(FRAME_HEADER_LENGTH);
+            Buffer buf = allocate(ctx, FRAME_HEADER_LENGTH);
             // Assume nothing below will throw until buf is written. That way we don't have to take care of ownership
             // in the catch block.
             writeFrameHeaderInternal(buf, payload.readableBytes(), frameType, flags, streamId);
@@ -517,7 +557,9 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
             flags.endOfHeaders(headerBlock.readableBytes() == 0);
 
             int payloadLength = fragment.readableBytes() + nonFragmentBytes;
-            Buffer buf = ctx.bufferAllocator().allocate(HEADERS_FRAME_HEADER_LENGTH);
+            boolean coalesce = coalescePayload(fragment.readableBytes());
+            Buffer buf = allocate(ctx, coalesce ? HEADERS_FRAME_HEADER_LENGTH + fragment.readableBytes()
+                    : HEADERS_FRAME_HEADER_LENGTH);
             writeFrameHeaderInternal(buf, payloadLength, HEADERS, flags, streamId);
             writePaddingLength(buf, padding);
 
@@ -527,10 +569,17 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
                 // Adjust the weight so that it fits into a single byte on the wire.
                 buf.writeByte((byte) (weight - 1));
             }
-            ctx.write(buf).cascadeTo(promiseAggregator.newPromise());
+            if (coalesce) {
+                // Copy the first fragment behind the header, so both are written as a single buffer.
+                buf.writeBytes(fragment);
+                fragment.close();
+                ctx.write(buf).cascadeTo(promiseAggregator.newPromise());
+            } else {
+                ctx.write(buf).cascadeTo(promiseAggregator.newPromise());
 
-            // Write the first fragment.
-            ctx.write(fragment).cascadeTo(promiseAggregator.newPromise());
+                // Write the first fragment.
+                ctx.write(fragment).cascadeTo(promiseAggregator.newPromise());
+            }
 
             // Write out the padding, if any.
             if (paddingBytes(padding) > 0) {
@@ -565,7 +614,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
         if (headerBlock.readableBytes() > 0) {
             // The frame header (and padding) only changes on the last frame, so allocate it once and re-use
             int fragmentReadableBytes = min(headerBlock.readableBytes(), maxFrameSize);
-            Buffer buf = ctx.bufferAllocator().allocate(CONTINUATION_FRAME_HEADER_LENGTH);
+            Buffer buf = allocate(ctx, CONTINUATION_FRAME_HEADER_LENGTH);
             writeFrameHeaderInternal(buf, fragmentReadableBytes, CONTINUATION, flags, streamId);
             buf.makeReadOnly();
 
@@ -579,7 +628,7 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
                     // The frame header is different for the last frame, so re-allocate and release the old buffer
                     flags = flags.endOfHeaders(true);
                     buf.close();
-                    buf = ctx.bufferAllocator().allocate(CONTINUATION_FRAME_HEADER_LENGTH);
+                    buf = allocate(ctx, CONTINUATION_FRAME_HEADER_LENGTH);
                     writeFrameHeaderInternal(buf, fragmentReadableBytes, CONTINUATION, flags, streamId);
                     ctx.write(buf).cascadeTo(promiseAggregator.newPromise());
                 }
@@ -590,6 +639,29 @@ public class DefaultHttp2FrameWriter implements Http2FrameWriter, Http2FrameSize
         return promiseAggregator;
     }
 
+    /**
+     * Allocates a {@link Buffer} with the given capacity, either from the write arena or, if no write arena is used,
+     * from the {@linkplain ChannelHandlerContext#bufferAllocator() allocator} of the given context.
+     */
+    private Buffer allocate(ChannelHandlerContext ctx, int size) {
+        if (writeArenaSize == 0) {
+            return ctx.bufferAllocator().allocate(size);
+        }
+        Buffer arena = writeArena;
+        if (arena == null || arena.capacity() < size) {
+            if (arena != null) {
+                // Buffers that were split off before keep the memory alive until they are written.
+                arena.close();
+            }
+            arena = writeArena = ctx.bufferAllocator().allocate(max(size, writeArenaSize));
+        }
+        return arena.split(size);
+    }
+
+    private boolean coalescePayload(int payloadLength) {
+        return writeArenaSize != 0 && payloadLength <= MAX_COALESCED_PAYLOAD_LENGTH;
+    }
+
     /**
      * Returns the number of padding bytes that should be appended to the end of a frame.
      */
@@ -30,6 +30,7 @@ public class DefaultHttp2HeadersDecoder implements Http2HeadersDecoder, Http2Hea
 
     private final HpackDecoder hpackDecoder;
     private final boolean validateHeaders;
+    private final boolean readOnlyHeaders;
     private long maxHeaderListSizeGoAway;
 
     /**
@@ -55,7 +56,23 @@ public class DefaultHttp2HeadersDecoder implements Http2HeadersDecoder, Http2Hea
      *  (which is dangerous).
      */
     public DefaultHttp2HeadersDecoder(boolean validateHeaders, long maxHeaderListSize) {
-        this(validateHeaders, new HpackDecoder(maxHeaderListSize));
+        this(validateHeaders, maxHeaderListSize, false);
+    }
+
+    /**
+     * Create a new instance.
+     * @param validateHeaders {@code true} to validate headers are valid according to the RFC.
+     * @param maxHeaderListSize This is the only setting that can be configured before notifying the peer.
+     *  This is because <a href="https://tools.ietf.org/html/rfc7540#section-6.5.1">SETTINGS_MAX_HEADER_LIST_SIZE</a>
+     *  allows a lower than advertised limit from being enforced, and the default limit is unlimited
+     *  (which is dangerous).
+     * @param readOnlyHeaders {@code true} to decode into {@link ReadOnlyHttp2Headers} instead of the headers returned
+     *  by {@link #newHeaders()}. The literal header fields of these are views of a single copy of the header block
+     *  and the header fields from the HPACK tables are shared, which allocates much less than building
+     *  {@link DefaultHttp2Headers}. Only use this if nothing in the pipeline modifies the received headers.
+     */
+    public DefaultHttp2HeadersDecoder(boolean validateHeaders, long maxHeaderListSize, boolean readOnlyHeaders) {
+        this(validateHeaders, new HpackDecoder(maxHeaderListSize), readOnlyHeaders);
     }
 
     /**
@@ -63,8 +80,13 @@ public class DefaultHttp2HeadersDecoder implements Http2HeadersDecoder, Http2Hea
      * for testing but violate the RFC if used outside the scope of testing.
      */
     DefaultHttp2HeadersDecoder(boolean validateHeaders, HpackDecoder hpackDecoder) {
+        this(validateHeaders, hpackDecoder, false);
+    }
+
+    DefaultHttp2HeadersDecoder(boolean validateHeaders, HpackDecoder hpackDecoder, boolean readOnlyHeaders) {
         this.hpackDecoder = requireNonNull(hpackDecoder, "hpackDecoder");
         this.validateHeaders = validateHeaders;
+        this.readOnlyHeaders = readOnlyHeaders;
         maxHeaderListSizeGoAway =
                 Http2CodecUtil.calculateMaxHeaderListSizeGoAway(hpackDecoder.getMaxHeaderListSize());
     }
@@ -107,8 +129,14 @@ public class DefaultHttp2HeadersDecoder implements Http2HeadersDecoder, Http2Hea
     @Override
     public Http2Headers decodeHeaders(int streamId, Buffer headerBlock) throws Http2Exception {
         try {
-            final Http2Headers headers = newHeaders();
-            hpackDecoder.decode(streamId, headerBlock, headers, validateHeaders);
+            final Http2Headers headers;
+            if (readOnlyHeaders) {
+                headers = hpackDecoder.decodeReadOnly(streamId, headerBlock, (int) headerArraySizeAccumulator,
+                        validateHeaders);
+            } else {
+                headers = newHeaders();
+                hpackDecoder.decode(streamId, headerBlock, headers, validateHeaders);
+            }
             headerArraySizeAccumulator = HEADERS_COUNT_WEIGHT_NEW * headers.size() +
                                          HEADERS_COUNT_WEIGHT_HISTORICAL * headerArraySizeAccumulator;
             return headers;
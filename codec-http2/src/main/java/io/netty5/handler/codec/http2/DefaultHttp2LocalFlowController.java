@@ -30,6 +30,8 @@ import static io.netty5.handler.codec.http2.Http2Error.INTERNAL_ERROR;
 import static io.netty5.handler.codec.http2.Http2Exception.connectionError;
 import static io.netty5.handler.codec.http2.Http2Exception.streamError;
 import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+import static java.lang.Float.floatToRawIntBits;
+import static java.lang.Float.intBitsToFloat;
 import static java.lang.Math.max;
 import static java.lang.Math.min;
 import static java.util.Objects.requireNonNull;
@@ -48,8 +50,41 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
      */
     public static final float DEFAULT_WINDOW_UPDATE_RATIO = 0.5f;
 
+    /**
+     * Set for streams that can exchange flow controlled frames. Streams that are not active yet or were closed already
+     * have no flags set, which is also the state of a slot that was just assigned to a stream.
+     */
+    private static final int FLAG_ACTIVE = 1;
+    private static final int FLAG_END_OF_STREAM = 1 << 1;
+
     private final Http2Connection connection;
-    private final Http2Connection.PropertyKey stateKey;
+    private final StreamStateTable table;
+    /**
+     * The actual flow control window that is decremented as soon as {@code DATA} arrives.
+     */
+    private final int windowColumn;
+    /**
+     * A view of the window that is used to determine when to send {@code WINDOW_UPDATE}
+     * frames. Decrementing this window for received {@code DATA} frames is delayed until the
+     * application has indicated that the data has been fully processed. This prevents sending
+     * a {@code WINDOW_UPDATE} until the number of processed bytes drops below the threshold.
+     */
+    private final int processedWindowColumn;
+    /**
+     * This is what is used to determine how many bytes need to be returned relative to the processed window.
+     * Each stream has their own initial window size.
+     */
+    private final int initialWindowColumn;
+    /**
+     * This is used to determine when the processed window is sufficiently far away from the initial window size
+     * such that a {@code WINDOW_UPDATE} should be sent. Each stream has their own window update ratio, which is
+     * stored as its raw {@code int} bits.
+     */
+    private final int windowUpdateRatioColumn;
+    private final int lowerBoundColumn;
+    private final int flagsColumn;
+    private final int connectionSlot;
+    private final boolean autoRefillConnectionWindow;
     private Http2FrameWriter frameWriter;
     private ChannelHandlerContext ctx;
     private float windowUpdateRatio;
@@ -77,39 +112,39 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
                                            boolean autoRefillConnectionWindow) {
         this.connection = requireNonNull(connection, "connection");
         windowUpdateRatio(windowUpdateRatio);
+        this.autoRefillConnectionWindow = autoRefillConnectionWindow;
+
+        // The flow control state of all streams is kept in columns of the stream state table.
+        table = StreamStateTable.of(connection);
+        windowColumn = table.addIntColumn();
+        processedWindowColumn = table.addIntColumn();
+        initialWindowColumn = table.addIntColumn();
+        windowUpdateRatioColumn = table.addIntColumn();
+        lowerBoundColumn = table.addIntColumn();
+        flagsColumn = table.addIntColumn();
 
         // Add a flow state for the connection.
-        stateKey = connection.newKey();
-        FlowState connectionState = autoRefillConnectionWindow ?
-                new AutoRefillState(connection.connectionStream(), initialWindowSize) :
-                new DefaultState(connection.connectionStream(), initialWindowSize);
-        connection.connectionStream().setProperty(stateKey, connectionState);
+        connectionSlot = table.slot(connection.connectionStream());
+        activate(connectionSlot);
 
         // Register for notification of new streams.
         connection.addListener(new Http2ConnectionAdapter() {
-            @Override
-            public void onStreamAdded(Http2Stream stream) {
-                // Unconditionally used the reduced flow control state because it requires no object allocation
-                // and the DefaultFlowState will be allocated in onStreamActive.
-                stream.setProperty(stateKey, REDUCED_FLOW_STATE);
-            }
-
             @Override
             public void onStreamActive(Http2Stream stream) {
                 // Need to be sure the stream's initial window is adjusted for SETTINGS
                 // frames which may have been exchanged while it was in IDLE
-                stream.setProperty(stateKey, new DefaultState(stream, initialWindowSize));
+                activate(table.slot(stream));
             }
 
             @Override
             public void onStreamClosed(Http2Stream stream) {
+                int slot = table.slot(stream);
                 try {
                     // When a stream is closed, consume any remaining bytes so that they
                     // are restored to the connection window.
-                    FlowState state = state(stream);
-                    int unconsumedBytes = state.unconsumedBytes();
+                    int unconsumedBytes = unconsumedBytes(slot);
                     if (ctx != null && unconsumedBytes > 0) {
-                        if (consumeAllBytes(state, unconsumedBytes)) {
+                        if (consumeAllBytes(slot, unconsumedBytes)) {
                             // As the user has no real control on when this callback is used we should better
                             // call flush() if we produced any window update to ensure we not stale.
                             ctx.flush();
@@ -118,10 +153,8 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
                 } catch (Http2Exception e) {
                     PlatformDependent.throwException(e);
                 } finally {
-                    // Unconditionally reduce the amount of memory required for flow control because there is no
-                    // object allocation costs associated with doing so and the stream will not have any more
-                    // local flow control state to keep track of anymore.
-                    stream.setProperty(stateKey, REDUCED_FLOW_STATE);
+                    // The stream will not have any more local flow control state to keep track of anymore.
+                    table.setInt(flagsColumn, slot, 0);
                 }
             }
         });
@@ -156,22 +189,24 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
 
     @Override
     public int windowSize(Http2Stream stream) {
-        return state(stream).windowSize();
+        int slot = table.slot(stream);
+        return isActive(slot) ? table.getInt(windowColumn, slot) : 0;
     }
 
     @Override
     public int initialWindowSize(Http2Stream stream) {
-        return state(stream).initialWindowSize();
+        int slot = table.slot(stream);
+        return isActive(slot) ? table.getInt(initialWindowColumn, slot) : 0;
     }
 
     @Override
     public void incrementWindowSize(Http2Stream stream, int delta) throws Http2Exception {
         assert ctx != null && ctx.executor().inEventLoop();
-        FlowState state = state(stream);
+        int slot = table.slot(stream);
         // Just add the delta to the stream-specific initial window size so that the next time the window
         // expands it will grow to the new initial size.
-        state.incrementInitialStreamWindow(delta);
-        state.writeWindowUpdateIfNeeded();
+        incrementInitialStreamWindow(slot, delta);
+        writeWindowUpdateIfNeeded(slot);
     }
 
     @Override
@@ -189,18 +224,18 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
                 throw new UnsupportedOperationException("Returning bytes for the connection window is not supported");
             }
 
-            return consumeAllBytes(state(stream), numBytes);
+            return consumeAllBytes(table.slot(stream), numBytes);
         }
         return false;
     }
 
-    private boolean consumeAllBytes(FlowState state, int numBytes) throws Http2Exception {
-        return connectionState().consumeBytes(numBytes) | state.consumeBytes(numBytes);
+    private boolean consumeAllBytes(int slot, int numBytes) throws Http2Exception {
+        return consumeBytes(connectionSlot, numBytes) | consumeBytes(slot, numBytes);
     }
 
     @Override
     public int unconsumedBytes(Http2Stream stream) {
-        return state(stream).unconsumedBytes();
+        return unconsumedBytes(table.slot(stream));
     }
 
     private static void checkValidRatio(float ratio) {
@@ -247,9 +282,10 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
     public void windowUpdateRatio(Http2Stream stream, float ratio) throws Http2Exception {
         assert ctx != null && ctx.executor().inEventLoop();
         checkValidRatio(ratio);
-        FlowState state = state(stream);
-        state.windowUpdateRatio(ratio);
-        state.writeWindowUpdateIfNeeded();
+        int slot = table.slot(stream);
+        checkActive(slot);
+        table.setInt(windowUpdateRatioColumn, slot, floatToRawIntBits(ratio));
+        writeWindowUpdateIfNeeded(slot);
     }
 
     /**
@@ -259,7 +295,9 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
      * @throws Http2Exception If no stream corresponding to {@code stream} could be found.
      */
     public float windowUpdateRatio(Http2Stream stream) throws Http2Exception {
-        return state(stream).windowUpdateRatio();
+        int slot = table.slot(stream);
+        checkActive(slot);
+        return intBitsToFloat(table.getInt(windowUpdateRatioColumn, slot));
     }
 
     @Override
@@ -269,348 +307,191 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
         int dataLength = data.readableBytes() + padding;
 
         // Apply the connection-level flow control
-        FlowState connectionState = connectionState();
-        connectionState.receiveFlowControlledFrame(dataLength);
+        receiveFlowControlledFrame(connectionSlot, dataLength);
 
         if (stream != null && !isClosed(stream)) {
             // Apply the stream-level flow control
-            FlowState state = state(stream);
-            state.endOfStream(endOfStream);
-            state.receiveFlowControlledFrame(dataLength);
+            int slot = table.slot(stream);
+            checkActive(slot);
+            int flags = table.getInt(flagsColumn, slot);
+            table.setInt(flagsColumn, slot, endOfStream ? flags | FLAG_END_OF_STREAM : flags & ~FLAG_END_OF_STREAM);
+            receiveFlowControlledFrame(slot, dataLength);
         } else if (dataLength > 0) {
             // Immediately consume the bytes for the connection window.
-            connectionState.consumeBytes(dataLength);
+            consumeBytes(connectionSlot, dataLength);
         }
     }
 
-    private FlowState connectionState() {
-        return connection.connectionStream().getProperty(stateKey);
-    }
-
-    private FlowState state(Http2Stream stream) {
-        return stream.getProperty(stateKey);
-    }
-
     private static boolean isClosed(Http2Stream stream) {
         return stream.state() == Http2Stream.State.CLOSED;
     }
 
-    /**
-     * Flow control state that does autorefill of the flow control window when the data is
-     * received.
-     */
-    private final class AutoRefillState extends DefaultState {
-        AutoRefillState(Http2Stream stream, int initialWindowSize) {
-            super(stream, initialWindowSize);
-        }
+    private boolean isActive(int slot) {
+        return (table.getInt(flagsColumn, slot) & FLAG_ACTIVE) != 0;
+    }
 
-        @Override
-        public void receiveFlowControlledFrame(int dataLength) throws Http2Exception {
-            super.receiveFlowControlledFrame(dataLength);
-            // Need to call the super to consume the bytes, since this.consumeBytes does nothing.
-            super.consumeBytes(dataLength);
+    private void checkActive(int slot) {
+        if (!isActive(slot)) {
+            throw new UnsupportedOperationException(
+                    "Stream " + table.stream(slot).id() + " can not exchange flow controlled frames");
         }
+    }
 
-        @Override
-        public boolean consumeBytes(int numBytes) throws Http2Exception {
-            // Do nothing, since the bytes are already consumed upon receiving the data.
-            return false;
-        }
+    private int streamId(int slot) {
+        return table.stream(slot).id();
+    }
+
+    private int unconsumedBytes(int slot) {
+        return isActive(slot) ? table.getInt(processedWindowColumn, slot) - table.getInt(windowColumn, slot) : 0;
     }
 
     /**
-     * Flow control window state for an individual stream.
+     * Initializes the flow control state of a stream once it can exchange flow controlled frames.
      */
-    private class DefaultState implements FlowState {
-        private final Http2Stream stream;
-
-        /**
-         * The actual flow control window that is decremented as soon as {@code DATA} arrives.
-         */
-        private int window;
-
-        /**
-         * A view of {@link #window} that is used to determine when to send {@code WINDOW_UPDATE}
-         * frames. Decrementing this window for received {@code DATA} frames is delayed until the
-         * application has indicated that the data has been fully processed. This prevents sending
-         * a {@code WINDOW_UPDATE} until the number of processed bytes drops below the threshold.
-         */
-        private int processedWindow;
-
-        /**
-         * This is what is used to determine how many bytes need to be returned relative to {@link #processedWindow}.
-         * Each stream has their own initial window size.
-         */
-        private int initialStreamWindowSize;
-
-        /**
-         * This is used to determine when {@link #processedWindow} is sufficiently far away from
-         * {@link #initialStreamWindowSize} such that a {@code WINDOW_UPDATE} should be sent.
-         * Each stream has their own window update ratio.
-         */
-        private float streamWindowUpdateRatio;
-
-        private int lowerBound;
-        private boolean endOfStream;
-
-        DefaultState(Http2Stream stream, int initialWindowSize) {
-            this.stream = stream;
-            window(initialWindowSize);
-            streamWindowUpdateRatio = windowUpdateRatio;
-        }
-
-        @Override
-        public void window(int initialWindowSize) {
-            assert ctx == null || ctx.executor().inEventLoop();
-            window = processedWindow = initialStreamWindowSize = initialWindowSize;
-        }
-
-        @Override
-        public int windowSize() {
-            return window;
-        }
+    private void activate(int slot) {
+        assert ctx == null || ctx.executor().inEventLoop();
+        table.setInt(windowColumn, slot, initialWindowSize);
+        table.setInt(processedWindowColumn, slot, initialWindowSize);
+        table.setInt(initialWindowColumn, slot, initialWindowSize);
+        table.setInt(windowUpdateRatioColumn, slot, floatToRawIntBits(windowUpdateRatio));
+        table.setInt(lowerBoundColumn, slot, 0);
+        table.setInt(flagsColumn, slot, FLAG_ACTIVE);
+    }
 
-        @Override
-        public int initialWindowSize() {
-            return initialStreamWindowSize;
-        }
+    /**
+     * Increment the initial window size for this stream.
+     * @param delta The amount to increase the initial window size by.
+     */
+    private void incrementInitialStreamWindow(int slot, int delta) {
+        // This operation needs to be supported for inactive streams during the initial settings exchange when
+        // the peer has not yet acknowledged this peer being activated.
+        if (!isActive(slot)) {
+            return;
+        }
+        // Clip the delta so that the resulting initialStreamWindowSize falls within the allowed range.
+        int initialStreamWindowSize = table.getInt(initialWindowColumn, slot);
+        int newValue = (int) min(MAX_INITIAL_WINDOW_SIZE,
+                max(MIN_INITIAL_WINDOW_SIZE, initialStreamWindowSize + (long) delta));
+        table.setInt(initialWindowColumn, slot, newValue);
+    }
 
-        @Override
-        public void endOfStream(boolean endOfStream) {
-            this.endOfStream = endOfStream;
+    /**
+     * Increment the windows which are used to determine many bytes have been processed.
+     * @param delta The amount to increment the window by.
+     * @throws Http2Exception if integer overflow occurs on the window.
+     */
+    private void incrementFlowControlWindows(int slot, int delta) throws Http2Exception {
+        // This operation needs to be supported for inactive streams during the initial settings exchange when
+        // the peer has not yet acknowledged this peer being activated.
+        if (!isActive(slot)) {
+            return;
         }
-
-        @Override
-        public float windowUpdateRatio() {
-            return streamWindowUpdateRatio;
+        int window = table.getInt(windowColumn, slot);
+        if (delta > 0 && window > MAX_INITIAL_WINDOW_SIZE - delta) {
+            throw streamError(streamId(slot), FLOW_CONTROL_ERROR,
+                    "Flow control window overflowed for stream: %d", streamId(slot));
         }
 
-        @Override
-        public void windowUpdateRatio(float ratio) {
-            assert ctx == null || ctx.executor().inEventLoop();
-            streamWindowUpdateRatio = ratio;
-        }
-
-        @Override
-        public void incrementInitialStreamWindow(int delta) {
-            // Clip the delta so that the resulting initialStreamWindowSize falls within the allowed range.
-            int newValue = (int) min(MAX_INITIAL_WINDOW_SIZE,
-                    max(MIN_INITIAL_WINDOW_SIZE, initialStreamWindowSize + (long) delta));
-            delta = newValue - initialStreamWindowSize;
-
-            initialStreamWindowSize += delta;
-        }
+        table.setInt(windowColumn, slot, window + delta);
+        table.setInt(processedWindowColumn, slot, table.getInt(processedWindowColumn, slot) + delta);
+        table.setInt(lowerBoundColumn, slot, min(delta, 0));
+    }
 
-        @Override
-        public void incrementFlowControlWindows(int delta) throws Http2Exception {
-            if (delta > 0 && window > MAX_INITIAL_WINDOW_SIZE - delta) {
-                throw streamError(stream.id(), FLOW_CONTROL_ERROR,
-                        "Flow control window overflowed for stream: %d", stream.id());
-            }
+    /**
+     * A flow control event has occurred and we should decrement the amount of available bytes for this stream.
+     * @param dataLength The amount of data to for which this stream is no longer eligible to use for flow control.
+     * @throws Http2Exception If too much data is used relative to how much is available.
+     */
+    private void receiveFlowControlledFrame(int slot, int dataLength) throws Http2Exception {
+        assert dataLength >= 0;
 
-            window += delta;
-            processedWindow += delta;
-            lowerBound = min(delta, 0);
-        }
+        // Apply the delta. Even if we throw an exception we want to have taken this delta into account.
+        int window = table.getInt(windowColumn, slot) - dataLength;
+        table.setInt(windowColumn, slot, window);
 
-        @Override
-        public void receiveFlowControlledFrame(int dataLength) throws Http2Exception {
-            assert dataLength >= 0;
-
-            // Apply the delta. Even if we throw an exception we want to have taken this delta into account.
-            window -= dataLength;
-
-            // Window size can become negative if we sent a SETTINGS frame that reduces the
-            // size of the transfer window after the peer has written data frames.
-            // The value is bounded by the length that SETTINGS frame decrease the window.
-            // This difference is stored for the connection when writing the SETTINGS frame
-            // and is cleared once we send a WINDOW_UPDATE frame.
-            if (window < lowerBound) {
-                throw streamError(stream.id(), FLOW_CONTROL_ERROR,
-                        "Flow control window exceeded for stream: %d", stream.id());
-            }
+        // Window size can become negative if we sent a SETTINGS frame that reduces the
+        // size of the transfer window after the peer has written data frames.
+        // The value is bounded by the length that SETTINGS frame decrease the window.
+        // This difference is stored for the connection when writing the SETTINGS frame
+        // and is cleared once we send a WINDOW_UPDATE frame.
+        if (window < table.getInt(lowerBoundColumn, slot)) {
+            throw streamError(streamId(slot), FLOW_CONTROL_ERROR,
+                    "Flow control window exceeded for stream: %d", streamId(slot));
         }
 
-        private void returnProcessedBytes(int delta) throws Http2Exception {
-            if (processedWindow - delta < window) {
-                throw streamError(stream.id(), INTERNAL_ERROR,
-                        "Attempting to return too many bytes for stream %d", stream.id());
-            }
-            processedWindow -= delta;
+        if (slot == connectionSlot && autoRefillConnectionWindow) {
+            // The connection window is refilled as soon as the data is received.
+            returnBytes(slot, dataLength);
         }
+    }
 
-        @Override
-        public boolean consumeBytes(int numBytes) throws Http2Exception {
-            // Return the bytes processed and update the window.
-            returnProcessedBytes(numBytes);
-            return writeWindowUpdateIfNeeded();
-        }
-
-        @Override
-        public int unconsumedBytes() {
-            return processedWindow - window;
-        }
-
-        @Override
-        public boolean writeWindowUpdateIfNeeded() throws Http2Exception {
-            if (endOfStream || initialStreamWindowSize <= 0 ||
-                    // If the stream is already closed there is no need to try to write a window update for it.
-                    isClosed(stream)) {
-                return false;
-            }
-
-            int threshold = (int) (initialStreamWindowSize * streamWindowUpdateRatio);
-            if (processedWindow <= threshold) {
-                writeWindowUpdate();
-                return true;
-            }
+    /**
+     * Indicates that the application has consumed {@code numBytes} from the connection or stream and is
+     * ready to receive more data.
+     *
+     * @param numBytes the number of bytes to be returned to the flow control window.
+     * @return true if {@code WINDOW_UPDATE} was written, false otherwise.
+     * @throws Http2Exception If the number of bytes is too great for the current window,
+     * or an internal error occurs.
+     */
+    private boolean consumeBytes(int slot, int numBytes) throws Http2Exception {
+        if (!isActive(slot) || slot == connectionSlot && autoRefillConnectionWindow) {
+            // Do nothing, there is no window to return the bytes to or they were already returned upon receiving
+            // the data.
             return false;
         }
+        return returnBytes(slot, numBytes);
+    }
 
-        /**
-         * Called to perform a window update for this stream (or connection). Updates the window size back
-         * to the size of the initial window and sends a window update frame to the remote endpoint.
-         */
-        private void writeWindowUpdate() throws Http2Exception {
-            // Expand the window for this stream back to the size of the initial window.
-            int deltaWindowSize = initialStreamWindowSize - processedWindow;
-            try {
-                incrementFlowControlWindows(deltaWindowSize);
-            } catch (Throwable t) {
-                throw connectionError(INTERNAL_ERROR, t,
-                        "Attempting to return too many bytes for stream %d", stream.id());
-            }
-
-            // Send a window update for the stream/connection.
-            frameWriter.writeWindowUpdate(ctx, stream.id(), deltaWindowSize);
+    private boolean returnBytes(int slot, int numBytes) throws Http2Exception {
+        // Return the bytes processed and update the window.
+        int processedWindow = table.getInt(processedWindowColumn, slot);
+        if (processedWindow - numBytes < table.getInt(windowColumn, slot)) {
+            throw streamError(streamId(slot), INTERNAL_ERROR,
+                    "Attempting to return too many bytes for stream %d", streamId(slot));
         }
+        table.setInt(processedWindowColumn, slot, processedWindow - numBytes);
+        return writeWindowUpdateIfNeeded(slot);
     }
 
     /**
-     * The local flow control state for a single stream that is not in a state where flow controlled frames cannot
-     * be exchanged.
+     * Updates the flow control window for this stream if it is appropriate.
+     *
+     * @return true if {@code WINDOW_UPDATE} was written, false otherwise.
      */
-    private static final FlowState REDUCED_FLOW_STATE = new FlowState() {
-
-        @Override
-        public int windowSize() {
-            return 0;
-        }
-
-        @Override
-        public int initialWindowSize() {
-            return 0;
-        }
-
-        @Override
-        public void window(int initialWindowSize) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public void incrementInitialStreamWindow(int delta) {
-            // This operation needs to be supported during the initial settings exchange when
-            // the peer has not yet acknowledged this peer being activated.
-        }
-
-        @Override
-        public boolean writeWindowUpdateIfNeeded() throws Http2Exception {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public boolean consumeBytes(int numBytes) throws Http2Exception {
+    private boolean writeWindowUpdateIfNeeded(int slot) throws Http2Exception {
+        checkActive(slot);
+        int initialStreamWindowSize = table.getInt(initialWindowColumn, slot);
+        if ((table.getInt(flagsColumn, slot) & FLAG_END_OF_STREAM) != 0 || initialStreamWindowSize <= 0 ||
+                // If the stream is already closed there is no need to try to write a window update for it.
+                isClosed(table.stream(slot))) {
             return false;
         }
 
-        @Override
-        public int unconsumedBytes() {
-            return 0;
-        }
-
-        @Override
-        public float windowUpdateRatio() {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public void windowUpdateRatio(float ratio) {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public void receiveFlowControlledFrame(int dataLength) throws Http2Exception {
-            throw new UnsupportedOperationException();
-        }
-
-        @Override
-        public void incrementFlowControlWindows(int delta) throws Http2Exception {
-            // This operation needs to be supported during the initial settings exchange when
-            // the peer has not yet acknowledged this peer being activated.
-        }
-
-        @Override
-        public void endOfStream(boolean endOfStream) {
-            throw new UnsupportedOperationException();
+        int threshold = (int) (initialStreamWindowSize * intBitsToFloat(table.getInt(windowUpdateRatioColumn, slot)));
+        if (table.getInt(processedWindowColumn, slot) <= threshold) {
+            writeWindowUpdate(slot);
+            return true;
         }
-    };
+        return false;
+    }
 
     /**
-     * An abstraction which provides specific extensions used by local flow control.
+     * Called to perform a window update for this stream (or connection). Updates the window size back
+     * to the size of the initial window and sends a window update frame to the remote endpoint.
      */
-    private interface FlowState {
-
-        int windowSize();
-
-        int initialWindowSize();
-
-        void window(int initialWindowSize);
-
-        /**
-         * Increment the initial window size for this stream.
-         * @param delta The amount to increase the initial window size by.
-         */
-        void incrementInitialStreamWindow(int delta);
-
-        /**
-         * Updates the flow control window for this stream if it is appropriate.
-         *
-         * @return true if {@code WINDOW_UPDATE} was written, false otherwise.
-         */
-        boolean writeWindowUpdateIfNeeded() throws Http2Exception;
-
-        /**
-         * Indicates that the application has consumed {@code numBytes} from the connection or stream and is
-         * ready to receive more data.
-         *
-         * @param numBytes the number of bytes to be returned to the flow control window.
-         * @return true if {@code WINDOW_UPDATE} was written, false otherwise.
-         * @throws Http2Exception If the number of bytes is too great for the current window,
-         * or an internal error occurs.
-         */
-        boolean consumeBytes(int numBytes) throws Http2Exception;
-
-        int unconsumedBytes();
-
-        float windowUpdateRatio();
-
-        void windowUpdateRatio(float ratio);
-
-        /**
-         * A flow control event has occurred and we should decrement the amount of available bytes for this stream.
-         * @param dataLength The amount of data to for which this stream is no longer eligible to use for flow control.
-         * @throws Http2Exception If too much data is used relative to how much is available.
-         */
-        void receiveFlowControlledFrame(int dataLength) throws Http2Exception;
-
-        /**
-         * Increment the windows which are used to determine many bytes have been processed.
-         * @param delta The amount to increment the window by.
-         * @throws Http2Exception if integer overflow occurs on the window.
-         */
-        void incrementFlowControlWindows(int delta) throws Http2Exception;
-
-        void endOfStream(boolean endOfStream);
+    private void writeWindowUpdate(int slot) throws Http2Exception {
+        // Expand the window for this stream back to the size of the initial window.
+        int deltaWindowSize = table.getInt(initialWindowColumn, slot) - table.getInt(processedWindowColumn, slot);
+        try {
+            incrementFlowControlWindows(slot, deltaWindowSize);
+        } catch (Throwable t) {
+            throw connectionError(INTERNAL_ERROR, t,
+                    "Attempting to return too many bytes for stream %d", streamId(slot));
+        }
+
+        // Send a window update for the stream/connection.
+        frameWriter.writeWindowUpdate(ctx, streamId(slot), deltaWindowSize);
     }
 
     /**
@@ -628,9 +509,9 @@ public class DefaultHttp2LocalFlowController implements Http2LocalFlowController
         public boolean visit(Http2Stream stream) throws Http2Exception {
             try {
                 // Increment flow control window first so state will be consistent if overflow is detected.
-                FlowState state = state(stream);
-                state.incrementFlowControlWindows(delta);
-                state.incrementInitialStreamWindow(delta);
+                int slot = table.slot(stream);
+                incrementFlowControlWindows(slot, delta);
+                incrementInitialStreamWindow(slot, delta);
             } catch (StreamException e) {
                 if (compositeException == null) {
                     compositeException = new CompositeStreamException(e.error(), 4);
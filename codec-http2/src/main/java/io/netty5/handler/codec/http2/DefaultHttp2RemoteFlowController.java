@@ -24,6 +24,7 @@ import java.util.ArrayDeque;
 import java.util.Deque;
 
 import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.MAX_URGENCY;
 import static io.netty5.handler.codec.http2.Http2CodecUtil.MAX_WEIGHT;
 import static io.netty5.handler.codec.http2.Http2CodecUtil.MIN_WEIGHT;
 import static io.netty5.handler.codec.http2.Http2Error.FLOW_CONTROL_ERROR;
@@ -189,6 +190,14 @@ public class DefaultHttp2RemoteFlowController implements Http2RemoteFlowControll
         streamByteDistributor.updateDependencyTree(childStreamId, parentStreamId, weight, exclusive);
     }
 
+    @Override
+    public void updatePriority(int streamId, int urgency, boolean incremental) {
+        assert urgency >= 0 && urgency <= MAX_URGENCY : "Invalid urgency";
+        assert streamId > 0 : "streamId must be > 0";
+
+        streamByteDistributor.updatePriority(streamId, urgency, incremental);
+    }
+
     private boolean isChannelWritable() {
         return ctx != null && isChannelWritable0();
     }
@@ -269,7 +278,9 @@ public class DefaultHttp2RemoteFlowController implements Http2RemoteFlowControll
     }
 
     /**
-     * The remote flow control state for a single stream.
+     * The remote flow control state for a single stream. Unlike the local flow control state it is not kept in a
+     * {@link StreamStateTable}, as every stream needs this object for its pending write queue anyway and it is what
+     * the {@link StreamByteDistributor} is handed, so the fields are only one load away.
      */
     private final class FlowState implements StreamByteDistributor.StreamState {
         private final Http2Stream stream;
@@ -322,6 +322,11 @@ public class DelegatingDecompressorFrameListener extends Http2FrameListenerDecor
         public int initialWindowSize(Http2Stream stream) {
             return flowController.initialWindowSize(stream);
         }
+
+        @Override
+        public boolean receivePingAck(long data) throws Http2Exception {
+            return flowController.receivePingAck(data);
+        }
     }
 
     /**
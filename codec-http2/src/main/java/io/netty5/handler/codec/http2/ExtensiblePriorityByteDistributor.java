@@ -0,0 +1,348 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.util.internal.UnstableApi;
+
+import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_MIN_ALLOCATION_CHUNK;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_URGENCY;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.MAX_URGENCY;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.streamableBytes;
+import static io.netty5.handler.codec.http2.Http2Error.INTERNAL_ERROR;
+import static io.netty5.handler.codec.http2.Http2Exception.connectionError;
+import static io.netty5.util.internal.ObjectUtil.checkInRange;
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link StreamByteDistributor} that implements the
+ * <a href="https://www.rfc-editor.org/rfc/rfc9218">extensible prioritization scheme</a> of RFC 9218, and ignores the
+ * RFC 7540 dependency tree.
+ * <p>
+ * Streams are served in order of their urgency, the most urgent first. Within the same urgency non-incremental
+ * streams are served before incremental ones, one after another in the order of their stream ID as recommended by
+ * <a href="https://www.rfc-editor.org/rfc/rfc9218#section-10">RFC 9218, Section 10</a>, so each of them is completed
+ * as fast as possible. Incremental streams of the same urgency share the bytes in a round-robin fashion, using a
+ * minimum chunk size that will be allocated to each stream.
+ * <p>
+ * Streams are kept in one intrusive list per urgency and incremental flag, so selecting the next stream to write,
+ * as well as closing a stream, is {@code O(1)} regardless of the number of active streams. Queueing a non-incremental
+ * stream is {@code O(1)} as well if its ID is lower than those of all other queued streams of the same urgency, which
+ * is the case for a stream that is put back after it was written, or higher, which is the case for a new stream.
+ * Otherwise its position is searched from the tail of the list.
+ */
+@UnstableApi
+public final class ExtensiblePriorityByteDistributor implements StreamByteDistributor {
+    private static final int BUCKETS = (MAX_URGENCY + 1) * 2;
+
+    private final Http2Connection connection;
+    private final Http2Connection.PropertyKey stateKey;
+    private final State[] heads = new State[BUCKETS];
+    private final State[] tails = new State[BUCKETS];
+    private final int[] sizes = new int[BUCKETS];
+    /**
+     * Bit {@code n} is set if the list at index {@code n} is not empty.
+     */
+    private int nonEmptyBuckets;
+    /**
+     * The number of list nodes that were visited to find the position of a non-incremental stream, only for testing.
+     */
+    long insertSteps;
+
+    /**
+     * The minimum number of bytes that we will attempt to allocate to an incremental stream. This is to
+     * help improve goodput on a per-stream basis.
+     */
+    private int minAllocationChunk = DEFAULT_MIN_ALLOCATION_CHUNK;
+    private long totalStreamableBytes;
+
+    public ExtensiblePriorityByteDistributor(Http2Connection connection) {
+        this.connection = connection;
+        // Add a state for the connection.
+        stateKey = connection.newKey();
+        Http2Stream connectionStream = connection.connectionStream();
+        connectionStream.setProperty(stateKey, new State(connectionStream));
+
+        // Register for notification of new streams.
+        connection.addListener(new Http2ConnectionAdapter() {
+            @Override
+            public void onStreamAdded(Http2Stream stream) {
+                stream.setProperty(stateKey, new State(stream));
+            }
+
+            @Override
+            public void onStreamClosed(Http2Stream stream) {
+                state(stream).close();
+            }
+        });
+    }
+
+    /**
+     * Sets the minimum allocation chunk that will be allocated to each incremental stream. Defaults to 1KiB.
+     *
+     * @param minAllocationChunk the minimum number of bytes that will be allocated to each stream.
+     * Must be > 0.
+     */
+    public void minAllocationChunk(int minAllocationChunk) {
+        checkPositive(minAllocationChunk, "minAllocationChunk");
+        this.minAllocationChunk = minAllocationChunk;
+    }
+
+    @Override
+    public void updateStreamableBytes(StreamState streamState) {
+        state(streamState.stream()).updateStreamableBytes(streamableBytes(streamState),
+                                                          streamState.hasFrame(),
+                                                          streamState.windowSize());
+    }
+
+    @Override
+    public void updateDependencyTree(int childStreamId, int parentStreamId, short weight, boolean exclusive) {
+        // This class ignores the RFC 7540 priority and dependency!
+    }
+
+    @Override
+    public void updatePriority(int streamId, int urgency, boolean incremental) {
+        checkInRange(urgency, 0, MAX_URGENCY, "urgency");
+        Http2Stream stream = connection.stream(streamId);
+        if (stream != null) {
+            state(stream).updatePriority(bucket(urgency, incremental));
+        }
+    }
+
+    @Override
+    public boolean distribute(int maxBytes, Writer writer) throws Http2Exception {
+        int currentBucket = -1;
+        int chunkSize = 0;
+        while (nonEmptyBuckets != 0) {
+            final int bucket = Integer.numberOfTrailingZeros(nonEmptyBuckets);
+            if (bucket != currentBucket) {
+                // Incremental streams share the bytes that are left with the other streams of the same priority,
+                // non-incremental streams are allocated as much as they can take.
+                currentBucket = bucket;
+                chunkSize = isIncremental(bucket) ? max(minAllocationChunk, maxBytes / sizes[bucket]) : maxBytes;
+            }
+            State state = pollFirst(bucket);
+            if (maxBytes == 0 && state.streamableBytes > 0) {
+                // Stop at the first state that can't send. Add this state back to the head of its list. Note
+                // that empty frames at the head of the lists will always be written.
+                addFirst(state);
+                break;
+            }
+
+            // Allocate as much data as we can for this stream.
+            int chunk = min(chunkSize, min(maxBytes, state.streamableBytes));
+            maxBytes -= chunk;
+
+            // Write the allocated bytes and enqueue as necessary.
+            state.write(chunk, writer);
+        }
+
+        return totalStreamableBytes > 0;
+    }
+
+    private State state(Http2Stream stream) {
+        return requireNonNull(stream, "stream").getProperty(stateKey);
+    }
+
+    private static int bucket(int urgency, boolean incremental) {
+        return incremental ? urgency << 1 | 1 : urgency << 1;
+    }
+
+    private static boolean isIncremental(int bucket) {
+        return (bucket & 1) != 0;
+    }
+
+    private State pollFirst(int bucket) {
+        State state = heads[bucket];
+        remove(state);
+        return state;
+    }
+
+    private void addFirst(State state) {
+        int bucket = state.bucket;
+        State head = heads[bucket];
+        state.next = head;
+        if (head == null) {
+            tails[bucket] = state;
+            nonEmptyBuckets |= 1 << bucket;
+        } else {
+            head.prev = state;
+        }
+        heads[bucket] = state;
+        sizes[bucket]++;
+        state.enqueued = true;
+    }
+
+    private void addLast(State state) {
+        int bucket = state.bucket;
+        State tail = tails[bucket];
+        state.prev = tail;
+        if (tail == null) {
+            heads[bucket] = state;
+            nonEmptyBuckets |= 1 << bucket;
+        } else {
+            tail.next = state;
+        }
+        tails[bucket] = state;
+        sizes[bucket]++;
+        state.enqueued = true;
+    }
+
+    /**
+     * Adds the given state to the list of its bucket, keeping non-incremental streams ordered by their ID.
+     */
+    private void insert(State state) {
+        int bucket = state.bucket;
+        if (isIncremental(bucket)) {
+            addLast(state);
+            return;
+        }
+        int streamId = state.stream.id();
+        State head = heads[bucket];
+        if (head == null || head.stream.id() > streamId) {
+            // Usually a stream that is put back after it was written, as it was the head of the list before.
+            addFirst(state);
+            return;
+        }
+        State prev = tails[bucket];
+        while (prev.stream.id() > streamId) {
+            prev = prev.prev;
+            insertSteps++;
+        }
+        State next = prev.next;
+        state.prev = prev;
+        state.next = next;
+        prev.next = state;
+        if (next == null) {
+            tails[bucket] = state;
+        } else {
+            next.prev = state;
+        }
+        sizes[bucket]++;
+        state.enqueued = true;
+    }
+
+    private void remove(State state) {
+        int bucket = state.bucket;
+        State prev = state.prev;
+        State next = state.next;
+        if (prev == null) {
+            heads[bucket] = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            tails[bucket] = prev;
+        } else {
+            next.prev = prev;
+        }
+        state.prev = null;
+        state.next = null;
+        state.enqueued = false;
+        if (--sizes[bucket] == 0) {
+            nonEmptyBuckets &= ~(1 << bucket);
+        }
+    }
+
+    /**
+     * The remote flow control state for a single stream.
+     */
+    private final class State {
+        final Http2Stream stream;
+        State prev;
+        State next;
+        int bucket = bucket(DEFAULT_URGENCY, false);
+        int streamableBytes;
+        boolean enqueued;
+        boolean writing;
+
+        State(Http2Stream stream) {
+            this.stream = stream;
+        }
+
+        void updateStreamableBytes(int newStreamableBytes, boolean hasFrame, int windowSize) {
+            assert hasFrame || newStreamableBytes == 0 :
+                "hasFrame: " + hasFrame + " newStreamableBytes: " + newStreamableBytes;
+
+            int delta = newStreamableBytes - streamableBytes;
+            if (delta != 0) {
+                streamableBytes = newStreamableBytes;
+                totalStreamableBytes += delta;
+            }
+            // In addition to only enqueuing state when they have frames we enforce the following restrictions:
+            // 1. If the window has gone negative we never want to queue a state, as removal is cheap we remove it
+            //    right away if it is queued already.
+            // 2. If the window is zero we only want to queue if we are not writing. If we are writing that means
+            //    we gave the state a chance to write zero length frames. We wait until updateStreamableBytes is
+            //    called again before this state is allowed to write.
+            if (windowSize < 0) {
+                removeFromQueue();
+            } else if (hasFrame && (windowSize > 0 || !writing)) {
+                addToQueue();
+            }
+        }
+
+        void updatePriority(int newBucket) {
+            if (bucket != newBucket) {
+                if (enqueued) {
+                    remove(this);
+                    bucket = newBucket;
+                    insert(this);
+                } else {
+                    bucket = newBucket;
+                }
+            }
+        }
+
+        /**
+         * Write any allocated bytes for the given stream and updates the streamable bytes,
+         * assuming all of the bytes will be written.
+         */
+        void write(int numBytes, Writer writer) throws Http2Exception {
+            writing = true;
+            try {
+                // Write the allocated bytes.
+                writer.write(stream, numBytes);
+            } catch (Throwable t) {
+                throw connectionError(INTERNAL_ERROR, t, "byte distribution write error");
+            } finally {
+                writing = false;
+            }
+        }
+
+        void addToQueue() {
+            if (!enqueued) {
+                insert(this);
+            }
+        }
+
+        void removeFromQueue() {
+            if (enqueued) {
+                remove(this);
+            }
+        }
+
+        void close() {
+            // Remove this state from the queue.
+            removeFromQueue();
+
+            // Clear the streamable bytes.
+            updateStreamableBytes(0, false, 0);
+        }
+    }
+}
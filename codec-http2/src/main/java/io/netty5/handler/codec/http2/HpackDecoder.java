@@ -35,6 +35,9 @@ import io.netty5.buffer.api.Buffer;
 import io.netty5.handler.codec.http2.HpackUtil.IndexType;
 import io.netty5.util.AsciiString;
 
+import java.util.Arrays;
+
+import static io.netty5.handler.codec.http2.DefaultHttp2Headers.HTTP2_NAME_VALIDATOR;
 import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_HEADER_TABLE_SIZE;
 import static io.netty5.handler.codec.http2.Http2CodecUtil.MAX_HEADER_LIST_SIZE;
 import static io.netty5.handler.codec.http2.Http2CodecUtil.MAX_HEADER_TABLE_SIZE;
@@ -48,7 +51,9 @@ import static io.netty5.handler.codec.http2.Http2Exception.streamError;
 import static io.netty5.handler.codec.http2.Http2Headers.PseudoHeaderName.getPseudoHeader;
 import static io.netty5.handler.codec.http2.Http2Headers.PseudoHeaderName.hasPseudoHeaderFormat;
 import static io.netty5.util.AsciiString.EMPTY_STRING;
+import static io.netty5.util.internal.EmptyArrays.EMPTY_ASCII_STRINGS;
 import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.lang.Math.max;
 
 final class HpackDecoder {
     private static final Http2Exception DECODE_ULE_128_DECOMPRESSION_EXCEPTION =
@@ -125,14 +130,46 @@ final class HpackDecoder {
      */
     public void decode(int streamId, Buffer in, Http2Headers headers, boolean validateHeaders) throws Http2Exception {
         Http2HeadersSink sink = new Http2HeadersSink(streamId, headers, maxHeaderListSize, validateHeaders);
-        decode(in, sink);
+        decode(in, sink, null, 0);
 
         // Now that we've read all of our headers we can perform the validation steps. We must
         // delay throwing until this point to prevent dynamic table corruption.
         sink.finish();
     }
 
-    private void decode(Buffer in, Sink sink) throws Http2Exception {
+    /**
+     * Decode the header block into a {@link ReadOnlyHttp2Headers}.
+     * <p>
+     * Unlike {@link #decode(int, Buffer, Http2Headers, boolean)} this copies the header block once, and all literal
+     * header fields that are not Huffman encoded are views of this copy. Header fields from the static and dynamic
+     * table are not copied at all. The pseudo-header fields are kept separately from the other header fields, so
+     * looking them up does not need to search all header fields.
+     * <p>
+     * This method assumes the entire header block is contained in {@code in}.
+     *
+     * @param sizeHint the number of header fields that are expected.
+     */
+    public Http2Headers decodeReadOnly(int streamId, Buffer in, int sizeHint, boolean validateHeaders)
+            throws Http2Exception {
+        ReadOnlyHeadersSink sink = new ReadOnlyHeadersSink(streamId, sizeHint, maxHeaderListSize, validateHeaders);
+        int blockStart = in.readerOffset();
+        byte[] block = new byte[in.readableBytes()];
+        in.copyInto(blockStart, block, 0, block.length);
+        decode(in, sink, block, blockStart);
+
+        // Now that we've read all of our headers we can perform the validation steps. We must
+        // delay throwing until this point to prevent dynamic table corruption.
+        sink.finish();
+        return sink.headers();
+    }
+
+    /**
+     * Decode the header block into the given {@link Sink}.
+     *
+     * @param block if not {@code null}, a copy of the header block starting at {@code blockStart} which literals
+     *              are decoded as views of.
+     */
+    private void decode(Buffer in, Sink sink, byte[] block, int blockStart) throws Http2Exception {
         int index = 0;
         int nameLength = 0;
         int valueLength = 0;
@@ -250,7 +287,7 @@ final class HpackDecoder {
                         throw notEnoughDataException(in);
                     }
 
-                    name = readStringLiteral(in, nameLength, huffmanEncoded);
+                    name = readStringLiteral(in, nameLength, huffmanEncoded, block, blockStart);
 
                     state = READ_LITERAL_HEADER_VALUE_LENGTH_PREFIX;
                     break;
@@ -264,7 +301,7 @@ final class HpackDecoder {
                             state = READ_LITERAL_HEADER_VALUE_LENGTH;
                             break;
                         case 0:
-                            insertHeader(sink, name, EMPTY_STRING, indexType);
+                            insertHeader(sink, name, EMPTY_STRING, indexType, block);
                             state = READ_HEADER_REPRESENTATION;
                             break;
                         default:
@@ -287,8 +324,8 @@ final class HpackDecoder {
                         throw notEnoughDataException(in);
                     }
 
-                    CharSequence value = readStringLiteral(in, valueLength, huffmanEncoded);
-                    insertHeader(sink, name, value, indexType);
+                    CharSequence value = readStringLiteral(in, valueLength, huffmanEncoded, block, blockStart);
+                    insertHeader(sink, name, value, indexType, block);
                     state = READ_HEADER_REPRESENTATION;
                     break;
 
@@ -371,7 +408,7 @@ final class HpackDecoder {
     }
 
     private static HeaderType validate(int streamId, CharSequence name,
-                                       HeaderType previousHeaderType, Http2Headers headers) throws Http2Exception {
+                                       HeaderType previousHeaderType, Sink sink) throws Http2Exception {
         if (hasPseudoHeaderFormat(name)) {
             if (previousHeaderType == HeaderType.REGULAR_HEADER) {
                 throw streamError(streamId, PROTOCOL_ERROR,
@@ -389,7 +426,7 @@ final class HpackDecoder {
                 throw streamError(streamId, PROTOCOL_ERROR, "Mix of request and response pseudo-headers.");
             }
 
-            if (headers.contains(name)) {
+            if (sink.contains(name)) {
                 throw streamError(streamId, PROTOCOL_ERROR, "Duplicate HTTP/2 pseudo-header '%s' encountered.", name);
             }
 
@@ -421,7 +458,12 @@ final class HpackDecoder {
         throw INDEX_HEADER_ILLEGAL_INDEX_VALUE;
     }
 
-    private void insertHeader(Sink sink, CharSequence name, CharSequence value, IndexType indexType) {
+    private void insertHeader(Sink sink, CharSequence name, CharSequence value, IndexType indexType, byte[] block) {
+        if (indexType == IndexType.INCREMENTAL && block != null) {
+            // Don't let the dynamic table keep the whole header block alive.
+            name = compact(name, block);
+            value = compact(value, block);
+        }
         sink.appendToHeaderList(name, value);
 
         switch (indexType) {
@@ -438,10 +480,21 @@ final class HpackDecoder {
         }
     }
 
-    private CharSequence readStringLiteral(Buffer in, int length, boolean huffmanEncoded) throws Http2Exception {
+    private static CharSequence compact(CharSequence literal, byte[] block) {
+        AsciiString string = (AsciiString) literal;
+        return string.array() == block ? new AsciiString(string.toByteArray(), false) : string;
+    }
+
+    private CharSequence readStringLiteral(Buffer in, int length, boolean huffmanEncoded, byte[] block,
+                                           int blockStart) throws Http2Exception {
         if (huffmanEncoded) {
             return huffmanDecoder.decode(in, length);
         }
+        if (block != null) {
+            AsciiString view = new AsciiString(block, in.readerOffset() - blockStart, length, false);
+            in.skipReadableBytes(length);
+            return view;
+        }
         byte[] buf = new byte[length];
         in.readBytes(buf, 0, length);
         return new AsciiString(buf, false);
@@ -514,6 +567,7 @@ final class HpackDecoder {
 
     private interface Sink {
         void appendToHeaderList(CharSequence name, CharSequence value);
+        boolean contains(CharSequence name);
         void finish() throws Http2Exception;
     }
 
@@ -555,7 +609,7 @@ final class HpackDecoder {
 
             if (validate) {
                 try {
-                    previousType = validate(streamId, name, previousType, headers);
+                    previousType = validate(streamId, name, previousType, this);
                 } catch (Http2Exception ex) {
                     validationException = ex;
                     return;
@@ -563,5 +617,93 @@ final class HpackDecoder {
             }
             headers.add(name, value);
         }
+
+        @Override
+        public boolean contains(CharSequence name) {
+            return headers.contains(name);
+        }
+    }
+
+    private static final class ReadOnlyHeadersSink implements Sink {
+        private final long maxHeaderListSize;
+        private final int streamId;
+        private final boolean validate;
+        private AsciiString[] pseudoHeaders = EMPTY_ASCII_STRINGS;
+        private int pseudoHeadersLength;
+        private AsciiString[] otherHeaders;
+        private int otherHeadersLength;
+        private long headersLength;
+        private boolean exceededMaxLength;
+        private HeaderType previousType;
+        private Http2Exception validationException;
+
+        ReadOnlyHeadersSink(int streamId, int sizeHint, long maxHeaderListSize, boolean validate) {
+            otherHeaders = new AsciiString[max(sizeHint, 4) << 1];
+            this.maxHeaderListSize = maxHeaderListSize;
+            this.streamId = streamId;
+            this.validate = validate;
+        }
+
+        @Override
+        public void finish() throws Http2Exception {
+            if (exceededMaxLength) {
+                headerListSizeExceeded(streamId, maxHeaderListSize, true);
+            } else if (validationException != null) {
+                throw validationException;
+            }
+        }
+
+        Http2Headers headers() {
+            return ReadOnlyHttp2Headers.decoded(
+                    pseudoHeadersLength == pseudoHeaders.length ? pseudoHeaders :
+                            Arrays.copyOf(pseudoHeaders, pseudoHeadersLength),
+                    otherHeadersLength == otherHeaders.length ? otherHeaders :
+                            Arrays.copyOf(otherHeaders, otherHeadersLength));
+        }
+
+        @Override
+        public void appendToHeaderList(CharSequence name, CharSequence value) {
+            headersLength += HpackHeaderField.sizeOf(name, value);
+            exceededMaxLength |= headersLength > maxHeaderListSize;
+
+            if (exceededMaxLength || validationException != null) {
+                // We don't store the header since we've already failed validation requirements.
+                return;
+            }
+
+            if (validate) {
+                try {
+                    previousType = validate(streamId, name, previousType, this);
+                } catch (Http2Exception ex) {
+                    validationException = ex;
+                    return;
+                }
+                HTTP2_NAME_VALIDATOR.validateName(name);
+            }
+            // All literals are decoded into AsciiStrings, as are the entries of the static and dynamic table.
+            if (otherHeadersLength == 0 && hasPseudoHeaderFormat(name)) {
+                if (pseudoHeadersLength == pseudoHeaders.length) {
+                    pseudoHeaders = Arrays.copyOf(pseudoHeaders, max(pseudoHeadersLength << 1, 8));
+                }
+                pseudoHeaders[pseudoHeadersLength++] = (AsciiString) name;
+                pseudoHeaders[pseudoHeadersLength++] = (AsciiString) value;
+            } else {
+                if (otherHeadersLength == otherHeaders.length) {
+                    otherHeaders = Arrays.copyOf(otherHeaders, otherHeadersLength << 1);
+                }
+                otherHeaders[otherHeadersLength++] = (AsciiString) name;
+                otherHeaders[otherHeadersLength++] = (AsciiString) value;
+            }
+        }
+
+        @Override
+        public boolean contains(CharSequence name) {
+            for (int i = 0; i < pseudoHeadersLength; i += 2) {
+                if (pseudoHeaders[i].contentEquals(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
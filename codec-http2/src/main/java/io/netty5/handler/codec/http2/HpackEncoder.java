@@ -64,6 +64,7 @@ import static java.lang.Math.min;
 final class HpackEncoder {
     static final int NOT_FOUND = -1;
     static final int HUFF_CODE_THRESHOLD = 512;
+    static final int ENCODED_HEADER_CACHE_SIZE = 64;
     // a linked hash map of header fields
     private final HeaderEntry[] headerFields;
     private final HeaderEntry head = new HeaderEntry(-1, AsciiString.EMPTY_STRING,
@@ -72,6 +73,8 @@ final class HpackEncoder {
     private final byte hashMask;
     private final boolean ignoreMaxHeaderListSize;
     private final int huffCodeThreshold;
+    // A direct-mapped cache of the representations of recently encoded insensitive header fields, see CachedHeader.
+    private final CachedHeader[] encodedHeaders;
     private long size;
     private long maxHeaderTableSize;
     private long maxHeaderListSize;
@@ -94,6 +97,16 @@ final class HpackEncoder {
      * Creates a new encoder.
      */
     HpackEncoder(boolean ignoreMaxHeaderListSize, int arraySizeHint, int huffCodeThreshold) {
+        this(ignoreMaxHeaderListSize, arraySizeHint, huffCodeThreshold, ENCODED_HEADER_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a new encoder.
+     *
+     * @param encodedHeaderCacheSize the number of encoded header fields to cache, or {@code 0} to disable the cache.
+     */
+    HpackEncoder(boolean ignoreMaxHeaderListSize, int arraySizeHint, int huffCodeThreshold,
+                 int encodedHeaderCacheSize) {
         this.ignoreMaxHeaderListSize = ignoreMaxHeaderListSize;
         maxHeaderTableSize = DEFAULT_HEADER_TABLE_SIZE;
         maxHeaderListSize = MAX_HEADER_LIST_SIZE;
@@ -103,6 +116,8 @@ final class HpackEncoder {
         hashMask = (byte) (headerFields.length - 1);
         head.before = head.after = head;
         this.huffCodeThreshold = huffCodeThreshold;
+        encodedHeaders = encodedHeaderCacheSize == 0 ? null :
+                new CachedHeader[findNextPositivePowerOfTwo(encodedHeaderCacheSize)];
     }
 
     /**
@@ -160,6 +175,24 @@ final class HpackEncoder {
             return;
         }
 
+        int cacheHash = 0;
+        if (encodedHeaders != null) {
+            cacheHash = AsciiString.hashCode(name) * 31 + AsciiString.hashCode(value);
+            CachedHeader cached = encodedHeaders[cacheHash & encodedHeaders.length - 1];
+            if (cached != null && cached.matches(cacheHash, name, value)) {
+                if (cached.encoded != null) {
+                    out.writeBytes(cached.encoded);
+                    return;
+                }
+                if (cached.entry.before != null) {
+                    // The entry was not evicted from the dynamic table yet, only its index changed.
+                    encodeInteger(out, 0x80, 7, getIndex(cached.entry.index) + HpackStaticTable.length);
+                    return;
+                }
+            }
+        }
+        int start = out.writerOffset();
+
         // If the peer will only use the static table
         if (maxHeaderTableSize == 0) {
             int staticTableIndex = HpackStaticTable.getIndexInsensitive(name, value);
@@ -169,6 +202,7 @@ final class HpackEncoder {
             } else {
                 encodeInteger(out, 0x80, 7, staticTableIndex);
             }
+            cacheEncoded(cacheHash, name, value, out, start);
             return;
         }
 
@@ -176,6 +210,10 @@ final class HpackEncoder {
         if (headerSize > maxHeaderTableSize) {
             int nameIndex = getNameIndex(name);
             encodeLiteral(out, name, value, IndexType.NONE, nameIndex);
+            if (nameIndex != NOT_FOUND && nameIndex <= HpackStaticTable.length) {
+                // Only cache if the name is not referenced by a dynamic table index, as that index changes.
+                cacheEncoded(cacheHash, name, value, out, start);
+            }
             return;
         }
 
@@ -184,19 +222,46 @@ final class HpackEncoder {
             int index = getIndex(headerField.index) + HpackStaticTable.length;
             // Section 6.1. Indexed Header Field Representation
             encodeInteger(out, 0x80, 7, index);
+            cacheEntry(cacheHash, name, value, headerField);
         } else {
             int staticTableIndex = HpackStaticTable.getIndexInsensitive(name, value);
             if (staticTableIndex != HpackStaticTable.NOT_FOUND) {
                 // Section 6.1. Indexed Header Field Representation
                 encodeInteger(out, 0x80, 7, staticTableIndex);
+                cacheEncoded(cacheHash, name, value, out, start);
             } else {
                 ensureCapacity(headerSize);
                 encodeLiteral(out, name, value, IndexType.INCREMENTAL, getNameIndex(name));
                 add(name, value, headerSize);
+                if (size != 0) {
+                    cacheEntry(cacheHash, name, value, head.before);
+                }
             }
         }
     }
 
+    /**
+     * Cache the representation of the header field that was written to {@code out} starting at {@code start}.
+     */
+    private void cacheEncoded(int cacheHash, CharSequence name, CharSequence value, Buffer out, int start) {
+        if (encodedHeaders != null) {
+            byte[] encoded = new byte[out.writerOffset() - start];
+            out.copyInto(start, encoded, 0, encoded.length);
+            encodedHeaders[cacheHash & encodedHeaders.length - 1] =
+                    new CachedHeader(cacheHash, name, value, encoded, null);
+        }
+    }
+
+    /**
+     * Cache the dynamic table entry of the header field.
+     */
+    private void cacheEntry(int cacheHash, CharSequence name, CharSequence value, HeaderEntry entry) {
+        if (encodedHeaders != null) {
+            encodedHeaders[cacheHash & encodedHeaders.length - 1] =
+                    new CachedHeader(cacheHash, name, value, null, entry);
+        }
+    }
+
     /**
      * Set the maximum table size.
      */
@@ -209,6 +274,10 @@ final class HpackEncoder {
             return;
         }
         this.maxHeaderTableSize = maxHeaderTableSize;
+        if (encodedHeaders != null) {
+            // Whether header fields are indexed depends on the table size.
+            Arrays.fill(encodedHeaders, null);
+        }
         ensureCapacity(0);
         // Casting to integer is safe as we verified the maxHeaderTableSize is a valid unsigned int.
         encodeInteger(out, 0x20, 5, maxHeaderTableSize);
@@ -462,6 +531,10 @@ final class HpackEncoder {
      */
     private void clear() {
         Arrays.fill(headerFields, null);
+        if (encodedHeaders != null) {
+            // The entries are not unlinked individually, so cached entries can not detect that they were removed.
+            Arrays.fill(encodedHeaders, null);
+        }
         head.before = head.after = head;
         size = 0;
     }
@@ -473,6 +546,33 @@ final class HpackEncoder {
         return h & hashMask;
     }
 
+    /**
+     * The representation of a recently encoded header field. For header fields whose representation does not depend
+     * on the dynamic table the encoded bytes are cached, otherwise the dynamic table entry which is only valid as long
+     * as it was not evicted.
+     */
+    private static final class CachedHeader {
+        final int hash;
+        final CharSequence name;
+        final CharSequence value;
+        final byte[] encoded;
+        final HeaderEntry entry;
+
+        CachedHeader(int hash, CharSequence name, CharSequence value, byte[] encoded, HeaderEntry entry) {
+            this.hash = hash;
+            this.name = name;
+            this.value = value;
+            this.encoded = encoded;
+            this.entry = entry;
+        }
+
+        boolean matches(int hash, CharSequence name, CharSequence value) {
+            // Only insensitive header fields are cached, so it is fine to not compare in constant time.
+            return this.hash == hash && (this.value == value || equalsVariableTime(this.value, value))
+                    && (this.name == name || equalsVariableTime(this.name, name));
+        }
+    }
+
     /**
      * A linked hash map HpackHeaderField entry.
      */
@@ -83,6 +83,10 @@ public abstract class Http2ChannelDuplexHandler implements ChannelHandler {
         frameCodec.forEachActiveStream(streamVisitor);
     }
 
+    final Http2FrameCodec frameCodec() {
+        return frameCodec;
+    }
+
     private static Http2FrameCodec requireHttp2FrameCodec(ChannelHandlerContext ctx) {
         ChannelHandlerContext frameCodecCtx = ctx.pipeline().context(Http2FrameCodec.class);
         if (frameCodecCtx == null) {
@@ -0,0 +1,607 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelInitializer;
+import io.netty5.util.concurrent.EventExecutor;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.ImmediateEventExecutor;
+import io.netty5.util.concurrent.Promise;
+import io.netty5.util.internal.UnstableApi;
+
+import java.net.SocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Opens {@link Http2StreamChannel}s to an authority and spreads them over a bounded set of HTTP/2 connections, so
+ * callers don't have to deal with {@code SETTINGS_MAX_CONCURRENT_STREAMS} exhaustion of a single connection
+ * themselves, and a lost packet only stalls the streams of one connection.
+ * <p>
+ * A new stream is placed on the connection to its authority with the fewest active streams that did not reach the
+ * {@code SETTINGS_MAX_CONCURRENT_STREAMS} of its peer. If there is none, the stream waits until one of the active
+ * streams is closed or a new connection is ready, which is opened on demand as long as the authority has less than
+ * {@link Http2ClientConnectionManagerBuilder#maxConnectionsPerAuthority(int)} connections. Only one connection per
+ * authority is opened at a time, a connection is ready once the initial {@code SETTINGS} of its peer were received.
+ * <p>
+ * A connection that receives a {@code GOAWAY} frame is drained: no new streams are placed on it, and it is closed
+ * once its active streams are done. Once the last connection to an authority was closed and no streams wait for it,
+ * the authority is removed, so the state does not grow with the number of authorities ever used.
+ * <p>
+ * All the state is only touched from a single {@link EventExecutor} of the {@link Bootstrap}'s group, while the
+ * connections themselves are registered to any of its {@link io.netty5.channel.EventLoop}s.
+ * <p>
+ * Instances are created via {@link Http2ClientConnectionManagerBuilder}.
+ */
+@UnstableApi
+public final class Http2ClientConnectionManager {
+    private final Bootstrap bootstrap;
+    private final ChannelHandler connectionInitializer;
+    private final EventExecutor executor;
+    private final int maxConnectionsPerAuthority;
+    private final int maxPendingStreamsPerAuthority;
+    // Only modified from the executor, read from any thread by metrics(...).
+    private final Map<SocketAddress, Authority> authorities = new ConcurrentHashMap<>();
+    private final Http2ClientConnectionManagerMetrics metrics = new AggregatedMetrics();
+    // The counters of the authorities that were removed, only written from the executor.
+    private volatile long retiredOpenedCount;
+    private volatile long retiredQueuedCount;
+    private volatile long retiredTotalQueueNanos;
+    private volatile long retiredMaxQueueNanos;
+    private boolean closed;
+
+    Http2ClientConnectionManager(Bootstrap bootstrap, int maxConnectionsPerAuthority,
+                                 int maxPendingStreamsPerAuthority) {
+        executor = requireNonNull(bootstrap.config().group(), "bootstrap.group()").next();
+        connectionInitializer = requireNonNull(bootstrap.config().handler(), "bootstrap.handler()");
+        this.bootstrap = bootstrap.clone();
+        this.maxConnectionsPerAuthority = maxConnectionsPerAuthority;
+        this.maxPendingStreamsPerAuthority = maxPendingStreamsPerAuthority;
+    }
+
+    /**
+     * Open a new {@link Http2StreamChannel} to the given authority.
+     *
+     * @param authority the address of the authority to open the stream to.
+     * @param handler   the {@link ChannelHandler} that is added to the pipeline of the {@link Http2StreamChannel}.
+     * @return the {@link Future} that will be notified once the channel was opened successfully or it failed.
+     */
+    public Future<Http2StreamChannel> open(SocketAddress authority, ChannelHandler handler) {
+        requireNonNull(authority, "authority");
+        requireNonNull(handler, "handler");
+        PendingStream pending = new PendingStream(handler, executor.newPromise(), System.nanoTime());
+        if (executor.inEventLoop()) {
+            open0(authority, pending);
+        } else {
+            executor.execute(() -> open0(authority, pending));
+        }
+        return pending.promise.asFuture();
+    }
+
+    /**
+     * Returns the {@link Http2ClientConnectionManagerMetrics} of all authorities.
+     */
+    public Http2ClientConnectionManagerMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the {@link Http2ClientConnectionManagerMetrics} of the given authority, or {@code null} if it has
+     * neither connections nor pending streams. An authority is forgotten once its last connection was closed.
+     */
+    public Http2ClientConnectionManagerMetrics metrics(SocketAddress authority) {
+        return authorities.get(requireNonNull(authority, "authority"));
+    }
+
+    /**
+     * Close this {@link Http2ClientConnectionManager}. All pending streams are failed and all connections are
+     * closed, including their active streams.
+     *
+     * @return the {@link Future} that is notified once all connections were closed.
+     */
+    public Future<Void> close() {
+        Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        executor.execute(() -> {
+            closed = true;
+            List<Channel> channels = new ArrayList<>();
+            for (Authority authority : authorities.values()) {
+                authority.close0(channels);
+            }
+            if (channels.isEmpty()) {
+                promise.setSuccess(null);
+                return;
+            }
+            AtomicInteger remaining = new AtomicInteger(channels.size());
+            for (Channel channel : channels) {
+                channel.close().addListener(f -> {
+                    if (remaining.decrementAndGet() == 0) {
+                        promise.trySuccess(null);
+                    }
+                });
+            }
+        });
+        return promise.asFuture();
+    }
+
+    private void open0(SocketAddress address, PendingStream pending) {
+        if (closed) {
+            pending.promise.tryFailure(new IllegalStateException("Http2ClientConnectionManager was closed"));
+            return;
+        }
+        Authority authority = authorities.get(address);
+        if (authority == null) {
+            authority = new Authority(address);
+            authorities.put(address, authority);
+        }
+        authority.open(pending);
+    }
+
+    private static final class PendingStream {
+        final ChannelHandler handler;
+        final Promise<Http2StreamChannel> promise;
+        final long startNanos;
+
+        PendingStream(ChannelHandler handler, Promise<Http2StreamChannel> promise, long startNanos) {
+            this.handler = handler;
+            this.promise = promise;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /**
+     * The connections to a single authority. Apart from the volatile counters that are read by
+     * {@link Http2ClientConnectionManagerMetrics}, all state is only accessed from {@link #executor}.
+     */
+    private final class Authority implements Http2ClientConnectionManagerMetrics {
+        private final SocketAddress address;
+        // Connecting, established and draining connections.
+        private final List<Connection> connections = new ArrayList<>(maxConnectionsPerAuthority);
+        private final ArrayDeque<PendingStream> pendingStreams = new ArrayDeque<>();
+        private int connecting;
+        private int draining;
+
+        // Single-writer counters, only written from the executor.
+        private volatile List<Http2ClientConnectionMetrics> connectionMetrics = Collections.emptyList();
+        private volatile int connectingCount;
+        private volatile int activeStreamCount;
+        private volatile int pendingStreamCount;
+        private volatile long openedCount;
+        private volatile long queuedCount;
+        private volatile long totalQueueNanos;
+        private volatile long maxQueueNanos;
+
+        Authority(SocketAddress address) {
+            this.address = address;
+        }
+
+        void open(PendingStream pending) {
+            Connection connection = leastLoaded();
+            if (connection != null) {
+                openStream(connection, pending);
+            } else if (pendingStreams.size() >= maxPendingStreamsPerAuthority) {
+                pending.promise.tryFailure(new IllegalStateException(
+                        "Too many pending streams to " + address));
+            } else {
+                pendingStreams.add(pending);
+                pendingStreamCount = pendingStreams.size();
+                queuedCount++;
+                maybeConnect();
+            }
+        }
+
+        private Connection leastLoaded() {
+            Connection leastLoaded = null;
+            for (Connection connection : connections) {
+                if (connection.hasCapacity() &&
+                        (leastLoaded == null || connection.activeStreams < leastLoaded.activeStreams)) {
+                    leastLoaded = connection;
+                }
+            }
+            return leastLoaded;
+        }
+
+        private void maybeConnect() {
+            if (connecting == 0 && connections.size() - draining < maxConnectionsPerAuthority) {
+                connect();
+            }
+        }
+
+        private void connect() {
+            Connection connection = new Connection(this);
+            connections.add(connection);
+            connecting++;
+            connectingCount = connecting;
+            bootstrap.clone().handler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel ch) {
+                    ch.pipeline().addLast(connectionInitializer);
+                    ch.pipeline().addLast(connection);
+                }
+            }).connect(address).addListener(future -> {
+                if (future.isSuccess()) {
+                    executor.execute(() -> {
+                        if (closed) {
+                            future.getNow().close();
+                        }
+                    });
+                } else {
+                    executor.execute(() -> connectionFailed(connection, future.cause()));
+                }
+            });
+        }
+
+        private void openStream(Connection connection, PendingStream pending) {
+            connection.activeStreams++;
+            activeStreamCount++;
+            openedCount++;
+            long queueNanos = System.nanoTime() - pending.startNanos;
+            totalQueueNanos += queueNanos;
+            if (queueNanos > maxQueueNanos) {
+                maxQueueNanos = queueNanos;
+            }
+
+            new Http2StreamChannelBootstrap(connection.channel).handler(pending.handler).open()
+                    .addListener(future -> {
+                if (future.isSuccess()) {
+                    Http2StreamChannel stream = future.getNow();
+                    stream.closeFuture().addListener(f -> executor.execute(() -> streamClosed(connection)));
+                    if (!pending.promise.trySuccess(stream)) {
+                        // The open was cancelled in the meantime.
+                        stream.close();
+                    }
+                } else {
+                    executor.execute(() -> streamClosed(connection));
+                    pending.promise.tryFailure(future.cause());
+                }
+            });
+        }
+
+        void settingsReceived(Connection connection, Long maxConcurrentStreams) {
+            if (!connections.contains(connection)) {
+                return;
+            }
+            if (maxConcurrentStreams != null) {
+                connection.maxConcurrentStreams = (int) Math.min(maxConcurrentStreams, Integer.MAX_VALUE);
+            }
+            if (!connection.ready) {
+                connection.ready = true;
+                connecting--;
+                connectingCount = connecting;
+                updateConnectionMetrics();
+            }
+            drainPendingStreams();
+        }
+
+        void goAwayReceived(Connection connection) {
+            if (connection.draining || !connections.contains(connection)) {
+                return;
+            }
+            connection.draining = true;
+            draining++;
+            if (connection.activeStreams == 0) {
+                connection.channel.close();
+            }
+            // The draining connection doesn't count against the limit anymore, so a new one can be opened.
+            if (!pendingStreams.isEmpty()) {
+                maybeConnect();
+            }
+        }
+
+        private void streamClosed(Connection connection) {
+            connection.activeStreams--;
+            activeStreamCount--;
+            if (connection.draining) {
+                if (connection.activeStreams == 0) {
+                    connection.channel.close();
+                }
+            } else {
+                drainPendingStreams();
+            }
+        }
+
+        private void connectionFailed(Connection connection, Throwable cause) {
+            if (!remove(connection)) {
+                return;
+            }
+            if (!connection.ready) {
+                // The pending streams were waiting for this connection, don't let them wait forever.
+                failPendingStreams(cause);
+            }
+            drainPendingStreams();
+            removeIfUnused();
+        }
+
+        void connectionClosed(Connection connection) {
+            connectionFailed(connection, new ClosedChannelException());
+        }
+
+        private void removeIfUnused() {
+            if (connections.isEmpty() && pendingStreams.isEmpty() && authorities.remove(address, this)) {
+                retiredOpenedCount += openedCount;
+                retiredQueuedCount += queuedCount;
+                retiredTotalQueueNanos += totalQueueNanos;
+                retiredMaxQueueNanos = Math.max(retiredMaxQueueNanos, maxQueueNanos);
+            }
+        }
+
+        private boolean remove(Connection connection) {
+            if (!connections.remove(connection)) {
+                return false;
+            }
+            if (!connection.ready) {
+                connecting--;
+                connectingCount = connecting;
+            }
+            if (connection.draining) {
+                draining--;
+            }
+            updateConnectionMetrics();
+            return true;
+        }
+
+        private void drainPendingStreams() {
+            PendingStream pending;
+            while ((pending = pendingStreams.peek()) != null) {
+                Connection connection = null;
+                // Skip the streams that were cancelled in the meantime.
+                if (!pending.promise.isDone()) {
+                    connection = leastLoaded();
+                    if (connection == null) {
+                        maybeConnect();
+                        break;
+                    }
+                }
+                pendingStreams.poll();
+                pendingStreamCount = pendingStreams.size();
+                if (connection != null) {
+                    openStream(connection, pending);
+                }
+            }
+        }
+
+        private void failPendingStreams(Throwable cause) {
+            PendingStream pending;
+            while ((pending = pendingStreams.poll()) != null) {
+                pending.promise.tryFailure(cause);
+            }
+            pendingStreamCount = 0;
+        }
+
+        void close0(List<Channel> channels) {
+            failPendingStreams(new IllegalStateException("Http2ClientConnectionManager was closed"));
+            for (Connection connection : connections) {
+                // Connections that are still connecting are closed once the connect completed.
+                if (connection.channel != null) {
+                    channels.add(connection.channel);
+                }
+            }
+        }
+
+        private void updateConnectionMetrics() {
+            List<Http2ClientConnectionMetrics> metrics = new ArrayList<>(connections.size());
+            for (Connection connection : connections) {
+                if (connection.ready) {
+                    metrics.add(connection);
+                }
+            }
+            connectionMetrics = Collections.unmodifiableList(metrics);
+        }
+
+        @Override
+        public int connections() {
+            return connectionMetrics.size();
+        }
+
+        @Override
+        public int pendingConnects() {
+            return connectingCount;
+        }
+
+        @Override
+        public int activeStreams() {
+            return activeStreamCount;
+        }
+
+        @Override
+        public int pendingStreams() {
+            return pendingStreamCount;
+        }
+
+        @Override
+        public long openedStreams() {
+            return openedCount;
+        }
+
+        @Override
+        public long queuedStreams() {
+            return queuedCount;
+        }
+
+        @Override
+        public long totalQueueTimeNanos() {
+            return totalQueueNanos;
+        }
+
+        @Override
+        public long maxQueueTimeNanos() {
+            return maxQueueNanos;
+        }
+
+        @Override
+        public List<Http2ClientConnectionMetrics> connectionMetrics() {
+            return connectionMetrics;
+        }
+    }
+
+    /**
+     * A single connection, added as the last handler to its pipeline to observe the {@link Http2SettingsFrame}s and
+     * {@link Http2GoAwayFrame}s of the peer. The fields are only written from {@link #executor}, with the exception
+     * of {@link #channel}.
+     */
+    private final class Connection implements ChannelHandler, Http2ClientConnectionMetrics {
+        private final Authority authority;
+        volatile Channel channel;
+        volatile int activeStreams;
+        volatile int maxConcurrentStreams = Integer.MAX_VALUE;
+        volatile boolean draining;
+        boolean ready;
+
+        Connection(Authority authority) {
+            this.authority = authority;
+        }
+
+        boolean hasCapacity() {
+            return ready && !draining && activeStreams < maxConcurrentStreams;
+        }
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) {
+            channel = ctx.channel();
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof Http2SettingsFrame) {
+                Long maxConcurrentStreams = ((Http2SettingsFrame) msg).settings().maxConcurrentStreams();
+                executor.execute(() -> authority.settingsReceived(this, maxConcurrentStreams));
+            } else if (msg instanceof Http2GoAwayFrame) {
+                executor.execute(() -> authority.goAwayReceived(this));
+            }
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            executor.execute(() -> authority.connectionClosed(this));
+            ctx.fireChannelInactive();
+        }
+
+        @Override
+        public Channel channel() {
+            return channel;
+        }
+
+        @Override
+        public int activeStreams() {
+            return activeStreams;
+        }
+
+        @Override
+        public int maxConcurrentStreams() {
+            return maxConcurrentStreams;
+        }
+
+        @Override
+        public boolean isDraining() {
+            return draining;
+        }
+    }
+
+    private final class AggregatedMetrics implements Http2ClientConnectionManagerMetrics {
+        @Override
+        public int connections() {
+            int sum = 0;
+            for (Authority authority : authorities.values()) {
+                sum += authority.connections();
+            }
+            return sum;
+        }
+
+        @Override
+        public int pendingConnects() {
+            int sum = 0;
+            for (Authority authority : authorities.values()) {
+                sum += authority.pendingConnects();
+            }
+            return sum;
+        }
+
+        @Override
+        public int activeStreams() {
+            int sum = 0;
+            for (Authority authority : authorities.values()) {
+                sum += authority.activeStreams();
+            }
+            return sum;
+        }
+
+        @Override
+        public int pendingStreams() {
+            int sum = 0;
+            for (Authority authority : authorities.values()) {
+                sum += authority.pendingStreams();
+            }
+            return sum;
+        }
+
+        @Override
+        public long openedStreams() {
+            long sum = retiredOpenedCount;
+            for (Authority authority : authorities.values()) {
+                sum += authority.openedStreams();
+            }
+            return sum;
+        }
+
+        @Override
+        public long queuedStreams() {
+            long sum = retiredQueuedCount;
+            for (Authority authority : authorities.values()) {
+                sum += authority.queuedStreams();
+            }
+            return sum;
+        }
+
+        @Override
+        public long totalQueueTimeNanos() {
+            long sum = retiredTotalQueueNanos;
+            for (Authority authority : authorities.values()) {
+                sum += authority.totalQueueTimeNanos();
+            }
+            return sum;
+        }
+
+        @Override
+        public long maxQueueTimeNanos() {
+            long max = retiredMaxQueueNanos;
+            for (Authority authority : authorities.values()) {
+                max = Math.max(max, authority.maxQueueTimeNanos());
+            }
+            return max;
+        }
+
+        @Override
+        public List<Http2ClientConnectionMetrics> connectionMetrics() {
+            List<Http2ClientConnectionMetrics> metrics = new ArrayList<>();
+            for (Authority authority : authorities.values()) {
+                metrics.addAll(authority.connectionMetrics());
+            }
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.util.internal.UnstableApi;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builder for {@link Http2ClientConnectionManager}.
+ */
+@UnstableApi
+public final class Http2ClientConnectionManagerBuilder {
+
+    private final Bootstrap bootstrap;
+    private int maxConnectionsPerAuthority = 4;
+    private int maxPendingStreamsPerAuthority = Integer.MAX_VALUE;
+
+    /**
+     * Creates a new builder.
+     *
+     * @param bootstrap the {@link Bootstrap} that is used to connect new connections. Its handler must add a
+     *                  {@link Http2FrameCodec} and a {@link Http2MultiplexHandler} to the pipeline once the
+     *                  {@link io.netty5.channel.Channel} is initialized, and must pass {@link Http2SettingsFrame}s and
+     *                  {@link Http2GoAwayFrame}s through.
+     */
+    public Http2ClientConnectionManagerBuilder(Bootstrap bootstrap) {
+        this.bootstrap = requireNonNull(bootstrap, "bootstrap");
+    }
+
+    /**
+     * Sets the maximum number of connections, not counting the draining ones, that are opened to a single
+     * authority. Defaults to {@code 4}.
+     */
+    public Http2ClientConnectionManagerBuilder maxConnectionsPerAuthority(int maxConnectionsPerAuthority) {
+        this.maxConnectionsPerAuthority = checkPositive(maxConnectionsPerAuthority, "maxConnectionsPerAuthority");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of streams that may wait for a connection to a single authority, including the ones
+     * that wait for a new connection to become ready. Once reached, further streams fail immediately. Defaults to
+     * unbounded.
+     */
+    public Http2ClientConnectionManagerBuilder maxPendingStreamsPerAuthority(int maxPendingStreamsPerAuthority) {
+        this.maxPendingStreamsPerAuthority = checkPositiveOrZero(
+                maxPendingStreamsPerAuthority, "maxPendingStreamsPerAuthority");
+        return this;
+    }
+
+    /**
+     * Builds a new {@link Http2ClientConnectionManager}.
+     */
+    public Http2ClientConnectionManager build() {
+        return new Http2ClientConnectionManager(bootstrap, maxConnectionsPerAuthority, maxPendingStreamsPerAuthority);
+    }
+}
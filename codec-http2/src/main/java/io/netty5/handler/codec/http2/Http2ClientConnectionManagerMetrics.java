@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.util.internal.UnstableApi;
+
+import java.util.List;
+
+/**
+ * Exposes metrics of a {@link Http2ClientConnectionManager}, either for all or for a single authority. All values
+ * are a snapshot and may be stale by the time they are read.
+ */
+@UnstableApi
+public interface Http2ClientConnectionManagerMetrics {
+
+    /**
+     * Returns the number of established connections, including the draining ones.
+     */
+    int connections();
+
+    /**
+     * Returns the number of connections that are being connected or wait for the initial {@code SETTINGS} of the
+     * peer.
+     */
+    int pendingConnects();
+
+    /**
+     * Returns the number of streams that are currently open.
+     */
+    int activeStreams();
+
+    /**
+     * Returns the number of streams that wait for a connection with capacity left.
+     */
+    int pendingStreams();
+
+    /**
+     * Returns the total number of streams that were placed on a connection.
+     */
+    long openedStreams();
+
+    /**
+     * Returns the total number of streams that had to wait for a connection with capacity left.
+     */
+    long queuedStreams();
+
+    /**
+     * Returns the sum of the time, in nanoseconds, streams had to wait before they were placed on a connection.
+     */
+    long totalQueueTimeNanos();
+
+    /**
+     * Returns the longest time, in nanoseconds, a stream had to wait before it was placed on a connection.
+     */
+    long maxQueueTimeNanos();
+
+    /**
+     * Returns the {@link Http2ClientConnectionMetrics} of every established connection.
+     */
+    List<Http2ClientConnectionMetrics> connectionMetrics();
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.channel.Channel;
+import io.netty5.util.internal.UnstableApi;
+
+/**
+ * Exposes metrics of a single HTTP/2 connection that is managed by a {@link Http2ClientConnectionManager}. All
+ * values are a snapshot and may be stale by the time they are read.
+ */
+@UnstableApi
+public interface Http2ClientConnectionMetrics {
+
+    /**
+     * Returns the {@link Channel} of the connection.
+     */
+    Channel channel();
+
+    /**
+     * Returns the number of streams that were opened on the connection by the {@link Http2ClientConnectionManager}
+     * and are not closed yet.
+     */
+    int activeStreams();
+
+    /**
+     * Returns the value of {@code SETTINGS_MAX_CONCURRENT_STREAMS} the peer announced, or {@link Integer#MAX_VALUE}
+     * if it did not limit the number of concurrent streams.
+     */
+    int maxConcurrentStreams();
+
+    /**
+     * Returns {@code true} if the peer sent a {@code GOAWAY} frame and the connection is closed once its active
+     * streams are done. No new streams are opened on a draining connection.
+     */
+    boolean isDraining();
+}
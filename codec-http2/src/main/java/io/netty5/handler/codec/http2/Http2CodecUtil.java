@@ -102,6 +102,14 @@ public final class Http2CodecUtil {
 
     public static final int DEFAULT_WINDOW_SIZE = 65535;
     public static final short DEFAULT_PRIORITY_WEIGHT = 16;
+    /**
+     * The name of the header that carries the priority of a request as defined by
+     * <a href="https://www.rfc-editor.org/rfc/rfc9218#section-5">RFC 9218</a>.
+     */
+    public static final CharSequence PRIORITY_HEADER = AsciiString.cached("priority");
+    public static final int DEFAULT_URGENCY = 3;
+    public static final int MAX_URGENCY = 7;
+    static final int INCREMENTAL_PRIORITY = 1 << 3;
     public static final int DEFAULT_HEADER_TABLE_SIZE = 4096;
     /**
      * <a href="https://tools.ietf.org/html/rfc7540#section-6.5.2">The initial value of this setting is unlimited</a>.
@@ -214,6 +222,67 @@ public final class Http2CodecUtil {
         writeFrameHeaderInternal(out, payloadLength, type, flags, streamId);
     }
 
+    /**
+     * Parses a priority field value as defined by <a href="https://www.rfc-editor.org/rfc/rfc9218#section-4">
+     * RFC 9218</a>, for example {@code u=5, i}. Parameters that are absent, invalid or out of range take their default
+     * value, unknown parameters are ignored.
+     *
+     * @return the urgency in the lowest three bits, and {@link #INCREMENTAL_PRIORITY} set if the incremental
+     * parameter is {@code true}.
+     */
+    static int parsePriority(CharSequence value) {
+        int urgency = DEFAULT_URGENCY;
+        boolean incremental = false;
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            int end = i;
+            while (end < length && value.charAt(end) != ',') {
+                end++;
+            }
+            // Skip the leading and trailing whitespace of the member, and any parameters of its value.
+            while (i < end && isOptionalWhitespace(value.charAt(i))) {
+                i++;
+            }
+            int memberEnd = i;
+            while (memberEnd < end && value.charAt(memberEnd) != ';') {
+                memberEnd++;
+            }
+            while (memberEnd > i && isOptionalWhitespace(value.charAt(memberEnd - 1))) {
+                memberEnd--;
+            }
+
+            int memberLength = memberEnd - i;
+            if (memberLength > 0) {
+                char key = value.charAt(i);
+                if (memberLength == 1) {
+                    // A bare key has the boolean value true.
+                    if (key == 'i') {
+                        incremental = true;
+                    }
+                } else if (value.charAt(i + 1) == '=') {
+                    if (key == 'u' && memberLength == 3) {
+                        int u = value.charAt(i + 2) - '0';
+                        if (u >= 0 && u <= MAX_URGENCY) {
+                            urgency = u;
+                        }
+                    } else if (key == 'i' && memberLength == 4 && value.charAt(i + 2) == '?') {
+                        char b = value.charAt(i + 3);
+                        if (b == '0' || b == '1') {
+                            incremental = b == '1';
+                        }
+                    }
+                }
+            }
+            i = end + 1;
+        }
+        return incremental ? urgency | INCREMENTAL_PRIORITY : urgency;
+    }
+
+    private static boolean isOptionalWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+
     /**
      * Calculate the amount of bytes that can be sent by {@code state}. The lower bound is {@code 0}.
      */
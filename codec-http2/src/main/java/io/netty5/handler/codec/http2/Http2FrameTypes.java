@@ -31,6 +31,11 @@ public final class Http2FrameTypes {
     public static final byte GO_AWAY = 0x7;
     public static final byte WINDOW_UPDATE = 0x8;
     public static final byte CONTINUATION = 0x9;
+    /**
+     * <a href="https://www.rfc-editor.org/rfc/rfc9218#section-7.1">PRIORITY_UPDATE</a> frame of the extensible
+     * prioritization scheme.
+     */
+    public static final byte PRIORITY_UPDATE = 0x10;
 
     private Http2FrameTypes() {
     }
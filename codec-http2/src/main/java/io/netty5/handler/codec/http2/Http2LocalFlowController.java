@@ -84,4 +84,17 @@ public interface Http2LocalFlowController extends Http2FlowController {
      * #windowSize(Http2Stream)}.
      */
     int initialWindowSize(Http2Stream stream);
+
+    /**
+     * Notifies the flow controller that a {@code PING} acknowledgment was received from the remote endpoint. Flow
+     * controllers that measure the round trip time of the connection may send {@code PING} frames on their own.
+     *
+     * @param data the opaque data of the acknowledged {@code PING}.
+     * @return {@code true} if the {@code PING} was sent by this flow controller, in which case the acknowledgment is
+     * not propagated to the {@link Http2FrameListener}.
+     * @throws Http2Exception if a protocol-error occurs while generating {@code WINDOW_UPDATE} frames.
+     */
+    default boolean receivePingAck(long data) throws Http2Exception {
+        return false;
+    }
 }
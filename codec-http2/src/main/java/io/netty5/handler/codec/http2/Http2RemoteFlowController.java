@@ -93,6 +93,18 @@ public interface Http2RemoteFlowController extends Http2FlowController {
      */
     void updateDependencyTree(int childStreamId, int parentStreamId, short weight, boolean exclusive);
 
+    /**
+     * Explicitly update the priority of a stream as defined by
+     * <a href="https://www.rfc-editor.org/rfc/rfc9218">RFC 9218</a>. This method is called independently of stream
+     * state changes.
+     * @param streamId The stream identifier.
+     * @param urgency The urgency of the stream, between {@code 0} (the most urgent) and {@code 7} (inclusive).
+     * @param incremental If the data of the stream can be processed incrementally by the remote endpoint.
+     */
+    default void updatePriority(int streamId, int urgency, boolean incremental) {
+        // NOOP
+    }
+
     /**
      * Implementations of this interface are used to progressively write chunks of the underlying
      * payload to the stream. A payload is considered to be fully written if {@link #write} has
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.Channel;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.internal.UnstableApi;
+
+/**
+ * The context of a {@link Http2StreamHandler}, which allows to write frames on its stream. All writes go directly to
+ * the {@link Http2FrameCodec} of the parent channel, there is no per-stream outbound buffering.
+ *
+ * <p>The methods of this interface may only be called from the event loop of the parent channel.
+ *
+ * <h3>Flow Control</h3>
+ *
+ * By default the bytes of every received {@link Http2DataFrame} are given back to the local flow control window once
+ * {@link Http2StreamHandler#frameRead(Http2StreamContext, Http2StreamFrame)} returned, and the resulting
+ * {@code WINDOW_UPDATE} is written once the parent channel completed its read. If
+ * {@linkplain #setAutoConsume(boolean) auto consume} is disabled the handler is responsible to call
+ * {@link #consumeBytes(int)} for the {@link Http2DataFrame#initialFlowControlledBytes()} of every received
+ * {@link Http2DataFrame}, which allows to apply back-pressure on the remote peer.
+ */
+@UnstableApi
+public interface Http2StreamContext {
+
+    /**
+     * Returns the {@link Http2FrameStream} that the frames of this context belong to.
+     */
+    Http2FrameStream stream();
+
+    /**
+     * Returns the {@link Http2StreamHandler} of this context.
+     */
+    Http2StreamHandler handler();
+
+    /**
+     * Returns the parent {@link Channel} which carries the HTTP/2 connection.
+     */
+    Channel channel();
+
+    /**
+     * Returns the {@link BufferAllocator} of the parent {@link Channel}.
+     */
+    BufferAllocator bufferAllocator();
+
+    /**
+     * Writes the given {@link Http2StreamFrame} on the stream of this context. The frame is not flushed. Writes done
+     * while the parent channel is reading are flushed once it completed its read.
+     */
+    Future<Void> write(Http2StreamFrame frame);
+
+    /**
+     * Writes and flushes the given {@link Http2StreamFrame} on the stream of this context.
+     */
+    Future<Void> writeAndFlush(Http2StreamFrame frame);
+
+    /**
+     * Flushes the parent {@link Channel}.
+     */
+    Http2StreamContext flush();
+
+    /**
+     * Returns {@code true} if the parent {@link Channel} is writable and the remote flow control window of the stream
+     * allows to write more {@link Http2DataFrame}s. Writes done while this returns {@code false} are buffered by the
+     * HTTP/2 codec.
+     */
+    boolean isWritable();
+
+    /**
+     * Returns {@code true} if received bytes are given back to the local flow control window automatically.
+     */
+    boolean isAutoConsume();
+
+    /**
+     * Sets if received bytes are given back to the local flow control window automatically, which is the default.
+     */
+    Http2StreamContext setAutoConsume(boolean autoConsume);
+
+    /**
+     * Gives the given number of received bytes back to the local flow control window of the stream.
+     */
+    Http2StreamContext consumeBytes(int numBytes);
+
+    /**
+     * Returns {@code true} if this context was closed, in which case frames can not be written anymore.
+     */
+    boolean isClosed();
+
+    /**
+     * Closes this context. If the remote peer may still send frames on the stream, the stream is reset with
+     * {@link Http2Error#CANCEL}.
+     */
+    Future<Void> close();
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.util.Resource;
+import io.netty5.util.internal.UnstableApi;
+
+/**
+ * Handles the frames of a single HTTP/2 stream that is multiplexed by a {@link Http2StreamHandlerMultiplexer}.
+ *
+ * <p>All methods are called from the event loop of the parent channel. Writes are done through the
+ * {@link Http2StreamContext} that is passed to each method.
+ *
+ * <h3>Resources</h3>
+ *
+ * Some {@link Http2StreamFrame}s implement the {@link Resource} interface, as they carry resource objects (e.g.
+ * buffers). The handler needs to close or dispose of such objects after having consumed them.
+ */
+@UnstableApi
+public interface Http2StreamHandler {
+
+    /**
+     * Called once the stream became active, which means a {@link Http2HeadersFrame} has been sent or received on it.
+     */
+    default void streamActive(Http2StreamContext ctx) throws Exception {
+        // NOOP
+    }
+
+    /**
+     * Called for every {@link Http2StreamFrame} that is received on the stream, including {@link Http2ResetFrame}s.
+     * {@link Http2WindowUpdateFrame}s are not propagated.
+     */
+    void frameRead(Http2StreamContext ctx, Http2StreamFrame frame) throws Exception;
+
+    /**
+     * Called for events that impact the stream but are not stream frames, for example a copy of a received
+     * {@link Http2GoAwayFrame} if the stream was not processed by the remote peer. The default implementation disposes
+     * of the event.
+     */
+    default void inboundEvent(Http2StreamContext ctx, Object evt) throws Exception {
+        Resource.dispose(evt);
+    }
+
+    /**
+     * Called when the value of {@link Http2StreamContext#isWritable()} may have changed.
+     */
+    default void writabilityChanged(Http2StreamContext ctx) throws Exception {
+        // NOOP
+    }
+
+    /**
+     * Called if a {@link Throwable} was thrown for the stream, either by the HTTP/2 codec or by one of the other
+     * methods of this handler. The default implementation {@linkplain Http2StreamContext#close() closes} the stream.
+     */
+    default void exceptionCaught(Http2StreamContext ctx, Throwable cause) throws Exception {
+        ctx.close();
+    }
+
+    /**
+     * Called exactly once when the stream was closed, either by the HTTP/2 codec or via
+     * {@link Http2StreamContext#close()}. No other method is called after this one.
+     */
+    default void streamClosed(Http2StreamContext ctx) throws Exception {
+        // NOOP
+    }
+}
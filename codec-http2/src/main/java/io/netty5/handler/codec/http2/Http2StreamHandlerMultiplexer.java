@@ -0,0 +1,588 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ServerChannel;
+import io.netty5.handler.codec.http2.Http2FrameCodec.DefaultHttp2FrameStream;
+import io.netty5.util.Resource;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.internal.UnstableApi;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import javax.net.ssl.SSLException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+import static io.netty5.handler.codec.http2.Http2CodecUtil.isStreamIdValid;
+import static io.netty5.handler.codec.http2.Http2Error.INTERNAL_ERROR;
+import static io.netty5.handler.codec.http2.Http2Exception.connectionError;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An HTTP/2 handler that dispatches the frames of each stream to a {@link Http2StreamHandler}. This handler must be
+ * used in combination with {@link Http2FrameCodec}.
+ *
+ * <p>This is a lightweight alternative to {@link Http2MultiplexHandler}. Instead of creating a child {@link Channel}
+ * with its own pipeline, attributes and outbound buffer for every stream, only a {@link Http2StreamHandler} and a small
+ * {@link Http2StreamContext} are created. Frames are delivered to the handler as soon as the {@link Http2FrameCodec}
+ * read them and writes go straight to the {@link Http2FrameCodec}. This makes opening a stream considerably cheaper,
+ * which matters for connections that carry many short-lived streams, at the cost of the per-stream
+ * {@link io.netty5.channel.ChannelPipeline} and of read back-pressure via {@link Channel#read()}.
+ *
+ * <p>Lifecycle and flow control follow the semantics of {@link Http2MultiplexHandler}:
+ * <ul>
+ *     <li>A new {@link Http2StreamHandler} is obtained from the factory for every inbound stream once its first
+ *     {@link Http2HeadersFrame} was received. Outbound streams are opened via {@link #newStream(Http2StreamHandler)}.
+ *     </li>
+ *     <li>{@link Http2ResetFrame}s are delivered as frames, copies of a received {@link Http2GoAwayFrame} are delivered
+ *     as {@linkplain Http2StreamHandler#inboundEvent(Http2StreamContext, Object) inbound events} to all the streams
+ *     that were not processed by the remote peer.</li>
+ *     <li>Received bytes are given back to the local flow control window, see {@link Http2StreamContext}.</li>
+ *     <li>Closing a {@link Http2StreamContext} resets the stream with {@link Http2Error#CANCEL} if the remote peer may
+ *     still send frames on it.</li>
+ *     <li>Flushes done while the parent channel is reading are aggregated into a single flush once the read completed.
+ *     </li>
+ * </ul>
+ *
+ * <p>Any connection level frames like {@link Http2SettingsFrame} and {@link Http2GoAwayFrame} are propagated down the
+ * pipeline for other handlers to act on.
+ */
+@UnstableApi
+public final class Http2StreamHandlerMultiplexer extends Http2ChannelDuplexHandler {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(Http2StreamHandlerMultiplexer.class);
+
+    private static final Http2FrameStreamVisitor WRITABLE_VISITOR = stream -> {
+        DefaultStreamContext streamCtx = (DefaultStreamContext) ((DefaultHttp2FrameStream) stream).attachment;
+        if (streamCtx != null) {
+            streamCtx.writabilityChanged();
+        }
+        return true;
+    };
+
+    private final Supplier<? extends Http2StreamHandler> inboundStreamHandlerFactory;
+    private final Http2StreamHandler upgradeStreamHandler;
+    private final ArrayDeque<DefaultStreamContext> consumePendingQueue = new ArrayDeque<>(8);
+
+    private ChannelHandlerContext ctx;
+    private boolean parentReadInProgress;
+    private boolean flushPending;
+
+    /**
+     * Creates a new instance
+     *
+     * @param inboundStreamHandlerFactory the factory of the {@link Http2StreamHandler}s for new inbound streams.
+     */
+    public Http2StreamHandlerMultiplexer(Supplier<? extends Http2StreamHandler> inboundStreamHandlerFactory) {
+        this(inboundStreamHandlerFactory, null);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param inboundStreamHandlerFactory the factory of the {@link Http2StreamHandler}s for new inbound streams.
+     * @param upgradeStreamHandler        the {@link Http2StreamHandler} of the upgraded stream on the client side.
+     */
+    public Http2StreamHandlerMultiplexer(Supplier<? extends Http2StreamHandler> inboundStreamHandlerFactory,
+                                         Http2StreamHandler upgradeStreamHandler) {
+        this.inboundStreamHandlerFactory = requireNonNull(inboundStreamHandlerFactory, "inboundStreamHandlerFactory");
+        this.upgradeStreamHandler = upgradeStreamHandler;
+    }
+
+    /**
+     * Creates a {@link Http2StreamContext} for a new outbound stream that is handled by the given
+     * {@link Http2StreamHandler}. The HTTP/2 stream is created once the first {@link Http2HeadersFrame} is written
+     * through the returned context.
+     *
+     * <p>This method may only be called from the eventloop thread.
+     */
+    public Http2StreamContext newStream(Http2StreamHandler handler) {
+        requireNonNull(handler, "handler");
+        return new DefaultStreamContext(this, (DefaultHttp2FrameStream) newStream(), handler);
+    }
+
+    @Override
+    protected void handlerAdded0(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    @Override
+    protected void handlerRemoved0(ChannelHandlerContext ctx) {
+        consumePendingQueue.clear();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        parentReadInProgress = true;
+        if (msg instanceof Http2StreamFrame) {
+            if (msg instanceof Http2WindowUpdateFrame) {
+                // We dont want to propagate update frames to the user
+                return;
+            }
+            Http2StreamFrame streamFrame = (Http2StreamFrame) msg;
+            DefaultStreamContext streamCtx = (DefaultStreamContext)
+                    ((DefaultHttp2FrameStream) streamFrame.stream()).attachment;
+            if (streamCtx == null) {
+                Resource.dispose(msg);
+            } else {
+                streamCtx.frameRead(streamFrame);
+            }
+            return;
+        }
+
+        if (msg instanceof Http2GoAwayFrame) {
+            onHttp2GoAwayFrame(ctx, (Http2GoAwayFrame) msg);
+        }
+
+        // Send everything down the pipeline
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+        parentReadInProgress = false;
+        for (;;) {
+            DefaultStreamContext streamCtx = consumePendingQueue.poll();
+            if (streamCtx == null) {
+                break;
+            }
+            streamCtx.writeWindowUpdate();
+        }
+        flushIfPending();
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel().isWritable()) {
+            forEachActiveStream(WRITABLE_VISITOR);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void channelInboundEvent(ChannelHandlerContext ctx, Object evt) throws Exception {
+        if (evt instanceof Http2FrameStreamEvent) {
+            Http2FrameStreamEvent event = (Http2FrameStreamEvent) evt;
+            DefaultHttp2FrameStream stream = (DefaultHttp2FrameStream) event.stream();
+            if (event.type() == Http2FrameStreamEvent.Type.State) {
+                switch (stream.state()) {
+                    case HALF_CLOSED_LOCAL:
+                        // Ignore everything which was not caused by an upgrade
+                        if (stream.id() != Http2CodecUtil.HTTP_UPGRADE_STREAM_ID) {
+                            break;
+                        }
+                        // fall-through
+                    case HALF_CLOSED_REMOTE:
+                        // fall-through
+                    case OPEN:
+                        streamActive(stream);
+                        break;
+                    case CLOSED:
+                        DefaultStreamContext streamCtx = (DefaultStreamContext) stream.attachment;
+                        if (streamCtx != null) {
+                            streamCtx.notifyClosed();
+                        }
+                        break;
+                    default:
+                        // ignore for now
+                        break;
+                }
+            } else {
+                DefaultStreamContext streamCtx = (DefaultStreamContext) stream.attachment;
+                if (streamCtx != null) {
+                    streamCtx.writabilityChanged();
+                }
+            }
+            return;
+        }
+        ctx.fireChannelInboundEvent(evt);
+    }
+
+    private void streamActive(DefaultHttp2FrameStream stream) throws Http2Exception {
+        DefaultStreamContext streamCtx = (DefaultStreamContext) stream.attachment;
+        if (streamCtx == null) {
+            final Http2StreamHandler handler;
+            // We need to handle upgrades special when on the client side.
+            if (stream.id() == Http2CodecUtil.HTTP_UPGRADE_STREAM_ID && !isServer(ctx)) {
+                // We must have an upgrade handler or else we can't handle the stream
+                if (upgradeStreamHandler == null) {
+                    throw connectionError(INTERNAL_ERROR, "Client is misconfigured for upgrade requests");
+                }
+                handler = upgradeStreamHandler;
+            } else {
+                handler = requireNonNull(inboundStreamHandlerFactory.get(), "handler");
+            }
+            streamCtx = new DefaultStreamContext(this, stream, handler);
+        }
+        streamCtx.activate();
+    }
+
+    @Override
+    public void channelExceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+        if (cause instanceof Http2FrameStreamException) {
+            Http2FrameStream stream = ((Http2FrameStreamException) cause).stream();
+            DefaultStreamContext streamCtx = (DefaultStreamContext) ((DefaultHttp2FrameStream) stream).attachment;
+            if (streamCtx != null) {
+                try {
+                    streamCtx.exceptionCaught(cause.getCause());
+                } finally {
+                    streamCtx.notifyClosed();
+                }
+            }
+            return;
+        }
+        if (cause.getCause() instanceof SSLException) {
+            forEachActiveStream(stream -> {
+                DefaultStreamContext streamCtx = (DefaultStreamContext) ((DefaultHttp2FrameStream) stream).attachment;
+                if (streamCtx != null) {
+                    streamCtx.exceptionCaught(cause);
+                }
+                return true;
+            });
+        }
+        ctx.fireChannelExceptionCaught(cause);
+    }
+
+    private static boolean isServer(ChannelHandlerContext ctx) {
+        return ctx.channel().parent() instanceof ServerChannel;
+    }
+
+    private void onHttp2GoAwayFrame(ChannelHandlerContext ctx, final Http2GoAwayFrame goAwayFrame) {
+        if (goAwayFrame.lastStreamId() == Integer.MAX_VALUE) {
+            // None of the streams can have an id greater than Integer.MAX_VALUE
+            return;
+        }
+        // Notify which streams were not processed by the remote peer and are safe to retry on another connection:
+        try {
+            final boolean server = isServer(ctx);
+            forEachActiveStream(stream -> {
+                final int streamId = stream.id();
+                if (streamId > goAwayFrame.lastStreamId() && isStreamIdValid(streamId, server)) {
+                    DefaultStreamContext streamCtx = (DefaultStreamContext)
+                            ((DefaultHttp2FrameStream) stream).attachment;
+                    if (streamCtx != null) {
+                        streamCtx.inboundEvent(goAwayFrame.copy());
+                    }
+                }
+                return true;
+            });
+        } catch (Http2Exception e) {
+            ctx.fireChannelExceptionCaught(e);
+            ctx.close();
+        }
+    }
+
+    private void flushIfPending() {
+        // If we are currently in the parent channel's read loop we just remember the flush and do it once the read
+        // completed, as ctx.flush() is expensive when it triggers a write(...) or writev(...) on the socket.
+        if (flushPending && !parentReadInProgress) {
+            flushPending = false;
+            ctx.flush();
+        }
+    }
+
+    private static final class DefaultStreamContext implements Http2StreamContext {
+        private final Http2StreamHandlerMultiplexer multiplexer;
+        private final DefaultHttp2FrameStream stream;
+        private final Http2StreamHandler handler;
+
+        private boolean active;
+        private boolean closed;
+        private boolean readEOS;
+        private boolean autoConsume = true;
+        private boolean consumePending;
+        private int consumedBytes;
+
+        DefaultStreamContext(Http2StreamHandlerMultiplexer multiplexer, DefaultHttp2FrameStream stream,
+                             Http2StreamHandler handler) {
+            this.multiplexer = multiplexer;
+            this.stream = stream;
+            this.handler = handler;
+            stream.attachment = this;
+        }
+
+        @Override
+        public Http2FrameStream stream() {
+            return stream;
+        }
+
+        @Override
+        public Http2StreamHandler handler() {
+            return handler;
+        }
+
+        @Override
+        public Channel channel() {
+            return multiplexer.ctx.channel();
+        }
+
+        @Override
+        public BufferAllocator bufferAllocator() {
+            return multiplexer.ctx.bufferAllocator();
+        }
+
+        @Override
+        public Future<Void> write(Http2StreamFrame frame) {
+            requireNonNull(frame, "frame");
+            if (closed) {
+                Resource.dispose(frame);
+                return multiplexer.ctx.newFailedFuture(new ClosedChannelException());
+            }
+            if (frame.stream() != null && frame.stream() != stream) {
+                String msgString = frame.toString();
+                Resource.dispose(frame);
+                throw new IllegalArgumentException(
+                        "Stream " + frame.stream() + " must not be set on the frame: " + msgString);
+            }
+            multiplexer.flushPending = true;
+            Future<Void> future = multiplexer.ctx.write(frame.stream(stream));
+            if (!active && frame instanceof Http2HeadersFrame) {
+                // Locally created streams are not announced by the Http2FrameCodec, so the stream becomes active once
+                // its first HEADERS frame was written.
+                if (future.isDone()) {
+                    firstFrameWritten(future);
+                } else {
+                    future.addListener(this::firstFrameWritten);
+                }
+            }
+            return future;
+        }
+
+        private void firstFrameWritten(Future<?> future) {
+            if (future.isSuccess()) {
+                activate();
+            } else if (!active) {
+                // The stream could not be opened, for example as the maximum number of active streams is exceeded.
+                try {
+                    exceptionCaught(future.cause());
+                } finally {
+                    notifyClosed();
+                }
+            }
+        }
+
+        @Override
+        public Future<Void> writeAndFlush(Http2StreamFrame frame) {
+            Future<Void> future = write(frame);
+            flush();
+            return future;
+        }
+
+        @Override
+        public Http2StreamContext flush() {
+            multiplexer.flushIfPending();
+            return this;
+        }
+
+        @Override
+        public boolean isWritable() {
+            Http2FrameCodec codec = multiplexer.frameCodec();
+            if (closed || codec == null || !channel().isWritable()) {
+                return false;
+            }
+            Http2Connection connection = codec.connection();
+            Http2Stream http2Stream = connection.stream(stream.id());
+            return http2Stream != null && connection.remote().flowController().isWritable(http2Stream);
+        }
+
+        @Override
+        public boolean isAutoConsume() {
+            return autoConsume;
+        }
+
+        @Override
+        public Http2StreamContext setAutoConsume(boolean autoConsume) {
+            this.autoConsume = autoConsume;
+            return this;
+        }
+
+        @Override
+        public Http2StreamContext consumeBytes(int numBytes) {
+            checkPositiveOrZero(numBytes, "numBytes");
+            if (numBytes == 0 || closed) {
+                // There is no need to update the local window as once the stream is closed all the pending bytes
+                // will be given back to the connection window by the controller itself.
+                return this;
+            }
+            consumedBytes += numBytes;
+            if (multiplexer.parentReadInProgress) {
+                // Aggregate the WINDOW_UPDATEs of all frames received during a single read.
+                if (!consumePending) {
+                    consumePending = true;
+                    multiplexer.consumePendingQueue.add(this);
+                }
+            } else {
+                writeWindowUpdate();
+                flush();
+            }
+            return this;
+        }
+
+        void writeWindowUpdate() {
+            consumePending = false;
+            int bytes = consumedBytes;
+            consumedBytes = 0;
+            if (bytes == 0 || closed) {
+                return;
+            }
+            Future<Void> future = multiplexer.ctx.write(new DefaultHttp2WindowUpdateFrame(bytes).stream(stream));
+            // window update frames are commonly swallowed by the Http2FrameCodec and the promise is synchronously
+            // completed but the flow controller _may_ have generated a wire level WINDOW_UPDATE. Therefore we need,
+            // to assume there was a write done that needs to be flushed or we risk flow control starvation.
+            multiplexer.flushPending = true;
+            if (future.isDone()) {
+                windowUpdateFrameWriteComplete(future);
+            } else {
+                future.addListener(this::windowUpdateFrameWriteComplete);
+            }
+        }
+
+        private void windowUpdateFrameWriteComplete(Future<?> future) {
+            Throwable cause = future.cause();
+            if (cause != null) {
+                Throwable unwrappedCause;
+                // Unwrap if needed
+                if (cause instanceof Http2FrameStreamException && (unwrappedCause = cause.getCause()) != null) {
+                    cause = unwrappedCause;
+                }
+                exceptionCaught(cause);
+            }
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public Future<Void> close() {
+            if (closed) {
+                return multiplexer.ctx.newSucceededFuture();
+            }
+            Future<Void> future;
+            // Only ever send a reset frame if the connection is still alive and if the stream was created before
+            // as otherwise we may send a RST on a stream in an invalid state and cause a connection error.
+            if (channel().isActive() && !readEOS && isStreamIdValid(stream.id())
+                    && stream.state() != Http2Stream.State.CLOSED) {
+                multiplexer.flushPending = true;
+                future = multiplexer.ctx.write(new DefaultHttp2ResetFrame(Http2Error.CANCEL).stream(stream));
+                flush();
+            } else {
+                future = multiplexer.ctx.newSucceededFuture();
+            }
+            notifyClosed();
+            return future;
+        }
+
+        void activate() {
+            if (active || closed) {
+                return;
+            }
+            active = true;
+            try {
+                handler.streamActive(this);
+            } catch (Throwable cause) {
+                exceptionCaught(cause);
+            }
+        }
+
+        void frameRead(Http2StreamFrame frame) {
+            if (closed) {
+                Resource.dispose(frame);
+                return;
+            }
+            final int bytes;
+            if (frame instanceof Http2DataFrame) {
+                Http2DataFrame dataFrame = (Http2DataFrame) frame;
+                bytes = autoConsume ? dataFrame.initialFlowControlledBytes() : 0;
+                readEOS |= dataFrame.isEndStream();
+            } else {
+                bytes = 0;
+                if (frame instanceof Http2HeadersFrame) {
+                    readEOS |= ((Http2HeadersFrame) frame).isEndStream();
+                }
+            }
+            try {
+                handler.frameRead(this, frame);
+            } catch (Throwable cause) {
+                exceptionCaught(cause);
+            }
+            consumeBytes(bytes);
+        }
+
+        void inboundEvent(Object evt) {
+            if (closed) {
+                Resource.dispose(evt);
+                return;
+            }
+            try {
+                handler.inboundEvent(this, evt);
+            } catch (Throwable cause) {
+                exceptionCaught(cause);
+            }
+        }
+
+        void writabilityChanged() {
+            if (closed) {
+                return;
+            }
+            try {
+                handler.writabilityChanged(this);
+            } catch (Throwable cause) {
+                exceptionCaught(cause);
+            }
+        }
+
+        void exceptionCaught(Throwable cause) {
+            if (closed) {
+                logger.debug("An exception was caught for the closed stream {}.", stream, cause);
+                return;
+            }
+            try {
+                handler.exceptionCaught(this, cause);
+            } catch (Throwable t) {
+                logger.warn("An exception was thrown by {}.exceptionCaught() while handling the following exception:",
+                        handler, cause);
+                logger.warn("The exception thrown by {}.exceptionCaught():", handler, t);
+            }
+        }
+
+        void notifyClosed() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            consumedBytes = 0;
+            try {
+                handler.streamClosed(this);
+            } catch (Throwable cause) {
+                logger.warn("An exception was thrown by {}.streamClosed().", handler, cause);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Http2StreamContext(" + stream + ')';
+        }
+    }
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.handler.codec.http.DefaultHttpHeaders;
+import io.netty5.handler.codec.http.HttpHeaders;
+import io.netty5.util.AsciiString;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static io.netty5.handler.codec.CharSequenceValueConverter.INSTANCE;
+import static io.netty5.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty5.handler.codec.http.HttpHeaderNames.COOKIE;
+import static io.netty5.handler.codec.http.HttpHeaderNames.TRAILER;
+import static io.netty5.handler.codec.http.HttpHeaderNames.TRANSFER_ENCODING;
+import static io.netty5.handler.codec.http2.HttpConversionUtil.Http2ToHttpHeaderTranslator.REQUEST_HEADER_TRANSLATIONS;
+import static io.netty5.handler.codec.http2.HttpConversionUtil.Http2ToHttpHeaderTranslator.RESPONSE_HEADER_TRANSLATIONS;
+
+/**
+ * Presents {@link Http2Headers} as {@link HttpHeaders} without copying them, see
+ * {@link HttpConversionUtil#toHttpHeadersView(int, Http2Headers, boolean, boolean)}.
+ * <p>
+ * Reads translate pseudo-headers and hide connection-specific headers on the fly. The first modification copies the
+ * translated headers into a {@link DefaultHttpHeaders} which is used for all further operations.
+ */
+final class Http2ToHttpHeadersView extends HttpHeaders {
+    private static final AsciiString STREAM_ID = HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text();
+
+    /**
+     * Translations from HTTP/1.x header name back to the HTTP/2 pseudo-header it is derived from.
+     */
+    private static final CharSequenceMap<AsciiString> REQUEST_REVERSE_TRANSLATIONS =
+            reverse(REQUEST_HEADER_TRANSLATIONS);
+    private static final CharSequenceMap<AsciiString> RESPONSE_REVERSE_TRANSLATIONS =
+            reverse(RESPONSE_HEADER_TRANSLATIONS);
+
+    private final int streamId;
+    private final Http2Headers source;
+    private final boolean isTrailer;
+    private final CharSequenceMap<AsciiString> translations;
+    private final CharSequenceMap<AsciiString> reverseTranslations;
+    private HttpHeaders materialized;
+
+    Http2ToHttpHeadersView(int streamId, Http2Headers source, boolean isRequest, boolean isTrailer) {
+        this.streamId = streamId;
+        this.source = source;
+        this.isTrailer = isTrailer;
+        if (isRequest) {
+            translations = REQUEST_HEADER_TRANSLATIONS;
+            reverseTranslations = REQUEST_REVERSE_TRANSLATIONS;
+        } else {
+            translations = RESPONSE_HEADER_TRANSLATIONS;
+            reverseTranslations = RESPONSE_REVERSE_TRANSLATIONS;
+        }
+    }
+
+    private static CharSequenceMap<AsciiString> reverse(CharSequenceMap<AsciiString> translations) {
+        CharSequenceMap<AsciiString> reversed = new CharSequenceMap<>();
+        for (Entry<CharSequence, AsciiString> entry : translations) {
+            reversed.add(entry.getValue(), AsciiString.of(entry.getKey()));
+        }
+        return reversed;
+    }
+
+    /**
+     * Returns {@code true} if a header of the source with the given name is not visible in this view.
+     */
+    private boolean isHidden(CharSequence name) {
+        // Pseudo-headers are only visible if translated, see Http2ToHttpHeaderTranslator.
+        return name.length() == 0 || name.charAt(0) == ':' ||
+                TRANSFER_ENCODING.contentEquals(name) || TRAILER.contentEquals(name) ||
+                // The stream id header is replaced and HTTP/1.1 keep-alive is the default, see addHttp2ToHttpHeaders.
+                !isTrailer && (STREAM_ID.contentEquals(name) || CONNECTION.contentEquals(name));
+    }
+
+    private CharSequence get0(CharSequence name) {
+        AsciiString key = AsciiString.of(name).toLowerCase();
+        if (!isTrailer && STREAM_ID.contentEquals(key)) {
+            return String.valueOf(streamId);
+        }
+        if (isHidden(key)) {
+            return null;
+        }
+        if (COOKIE.contentEquals(key)) {
+            return cookies();
+        }
+        AsciiString pseudoHeader = reverseTranslations.get(key);
+        if (pseudoHeader != null) {
+            CharSequence value = source.get(pseudoHeader);
+            if (value != null) {
+                return value;
+            }
+        }
+        return source.get(key);
+    }
+
+    private List<CharSequence> getAll0(CharSequence name) {
+        AsciiString key = AsciiString.of(name).toLowerCase();
+        if (!isTrailer && STREAM_ID.contentEquals(key)) {
+            return Collections.singletonList(String.valueOf(streamId));
+        }
+        if (isHidden(key)) {
+            return Collections.emptyList();
+        }
+        if (COOKIE.contentEquals(key)) {
+            CharSequence cookies = cookies();
+            return cookies == null ? Collections.emptyList() : Collections.singletonList(cookies);
+        }
+        AsciiString pseudoHeader = reverseTranslations.get(key);
+        if (pseudoHeader != null) {
+            List<CharSequence> values = new ArrayList<>(source.getAll(pseudoHeader));
+            values.addAll(source.getAll(key));
+            return values;
+        }
+        return source.getAll(key);
+    }
+
+    /**
+     * Combine the cookie values into 1 header entry, see
+     * <a href="https://tools.ietf.org/html/rfc7540#section-8.1.2.5">[RFC 7540], Section 8.1.2.5</a>.
+     */
+    private CharSequence cookies() {
+        List<CharSequence> values = source.getAll(COOKIE);
+        if (values.isEmpty()) {
+            return null;
+        }
+        if (values.size() == 1) {
+            return values.get(0);
+        }
+        StringBuilder cookies = new StringBuilder();
+        for (CharSequence value : values) {
+            if (cookies.length() > 0) {
+                cookies.append("; ");
+            }
+            cookies.append(value);
+        }
+        return cookies.toString();
+    }
+
+    private HttpHeaders materialize() {
+        HttpHeaders materialized = this.materialized;
+        if (materialized == null) {
+            materialized = new DefaultHttpHeaders();
+            ViewIterator iterator = new ViewIterator();
+            while (iterator.hasNext()) {
+                Entry<CharSequence, CharSequence> entry = iterator.next();
+                materialized.add(entry.getKey(), entry.getValue());
+            }
+            this.materialized = materialized;
+        }
+        return materialized;
+    }
+
+    @Override
+    public String get(String name) {
+        return get((CharSequence) name);
+    }
+
+    @Override
+    public String get(CharSequence name) {
+        if (materialized != null) {
+            return materialized.get(name);
+        }
+        CharSequence value = get0(name);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public Integer getInt(CharSequence name) {
+        if (materialized != null) {
+            return materialized.getInt(name);
+        }
+        CharSequence value = get0(name);
+        return value == null ? null : INSTANCE.convertToInt(value);
+    }
+
+    @Override
+    public int getInt(CharSequence name, int defaultValue) {
+        Integer value = getInt(name);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public Short getShort(CharSequence name) {
+        if (materialized != null) {
+            return materialized.getShort(name);
+        }
+        CharSequence value = get0(name);
+        return value == null ? null : INSTANCE.convertToShort(value);
+    }
+
+    @Override
+    public short getShort(CharSequence name, short defaultValue) {
+        Short value = getShort(name);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public Long getTimeMillis(CharSequence name) {
+        if (materialized != null) {
+            return materialized.getTimeMillis(name);
+        }
+        CharSequence value = get0(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return INSTANCE.convertToTimeMillis(value);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public long getTimeMillis(CharSequence name, long defaultValue) {
+        Long value = getTimeMillis(name);
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public List<String> getAll(String name) {
+        return getAll((CharSequence) name);
+    }
+
+    @Override
+    public List<String> getAll(CharSequence name) {
+        if (materialized != null) {
+            return materialized.getAll(name);
+        }
+        List<CharSequence> values = getAll0(name);
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(values.size());
+        for (CharSequence value : values) {
+            result.add(value.toString());
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<? extends CharSequence> valueCharSequenceIterator(CharSequence name) {
+        if (materialized != null) {
+            return materialized.valueCharSequenceIterator(name);
+        }
+        return getAll0(name).iterator();
+    }
+
+    @Override
+    public List<Map.Entry<String, String>> entries() {
+        if (materialized != null) {
+            return materialized.entries();
+        }
+        List<Map.Entry<String, String>> entries = new ArrayList<>(source.size());
+        ViewIterator iterator = new ViewIterator();
+        while (iterator.hasNext()) {
+            Entry<CharSequence, CharSequence> entry = iterator.next();
+            entries.add(new SimpleImmutableEntry<>(entry.getKey().toString(), entry.getValue().toString()));
+        }
+        return entries;
+    }
+
+    @Override
+    public boolean contains(String name) {
+        return contains((CharSequence) name);
+    }
+
+    @Override
+    public boolean contains(CharSequence name) {
+        if (materialized != null) {
+            return materialized.contains(name);
+        }
+        return get0(name) != null;
+    }
+
+    /**
+     * @deprecated It is preferred to use {@link #iteratorCharSequence()} unless you need {@link String}.
+     * If {@link String} is required then use {@link #iteratorAsString()}.
+     */
+    @Deprecated
+    @Override
+    public Iterator<Entry<String, String>> iterator() {
+        if (materialized != null) {
+            return materialized.iteratorAsString();
+        }
+        return entries().iterator();
+    }
+
+    @Override
+    public Iterator<Entry<CharSequence, CharSequence>> iteratorCharSequence() {
+        if (materialized != null) {
+            return materialized.iteratorCharSequence();
+        }
+        return new ViewIterator();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (materialized != null) {
+            return materialized.isEmpty();
+        }
+        return !new ViewIterator().hasNext();
+    }
+
+    @Override
+    public int size() {
+        if (materialized != null) {
+            return materialized.size();
+        }
+        int size = 0;
+        ViewIterator iterator = new ViewIterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public Set<String> names() {
+        if (materialized != null) {
+            return materialized.names();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        ViewIterator iterator = new ViewIterator();
+        while (iterator.hasNext()) {
+            names.add(iterator.next().getKey().toString());
+        }
+        return names;
+    }
+
+    @Override
+    public HttpHeaders add(String name, Object value) {
+        materialize().add(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders add(String name, Iterable<?> values) {
+        materialize().add(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders addInt(CharSequence name, int value) {
+        materialize().addInt(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders addShort(CharSequence name, short value) {
+        materialize().addShort(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders set(String name, Object value) {
+        materialize().set(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders set(String name, Iterable<?> values) {
+        materialize().set(name, values);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders setInt(CharSequence name, int value) {
+        materialize().setInt(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders setShort(CharSequence name, short value) {
+        materialize().setShort(name, value);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders remove(String name) {
+        materialize().remove(name);
+        return this;
+    }
+
+    @Override
+    public HttpHeaders clear() {
+        materialize().clear();
+        return this;
+    }
+
+    /**
+     * Iterates the translated headers in the same order as
+     * {@link HttpConversionUtil#addHttp2ToHttpHeaders(int, Http2Headers, HttpHeaders,
+     * io.netty5.handler.codec.http.HttpVersion, boolean, boolean)} adds them.
+     */
+    private final class ViewIterator implements Map.Entry<CharSequence, CharSequence>,
+            Iterator<Map.Entry<CharSequence, CharSequence>> {
+        private final Iterator<Entry<CharSequence, CharSequence>> iterator = source.iterator();
+        private StringBuilder cookies;
+        private boolean streamIdDone = isTrailer;
+        private CharSequence nextKey;
+        private CharSequence nextValue;
+        private CharSequence key;
+        private CharSequence value;
+
+        ViewIterator() {
+            computeNext();
+        }
+
+        private void computeNext() {
+            while (iterator.hasNext()) {
+                Entry<CharSequence, CharSequence> entry = iterator.next();
+                CharSequence name = entry.getKey();
+                AsciiString translatedName = translations.get(name);
+                if (translatedName != null) {
+                    nextKey = translatedName;
+                    nextValue = entry.getValue();
+                    return;
+                }
+                if (isHidden(name)) {
+                    continue;
+                }
+                if (COOKIE.contentEquals(name)) {
+                    if (cookies == null) {
+                        cookies = new StringBuilder();
+                    } else {
+                        cookies.append("; ");
+                    }
+                    cookies.append(entry.getValue());
+                    continue;
+                }
+                nextKey = name;
+                nextValue = entry.getValue();
+                return;
+            }
+            if (cookies != null) {
+                nextKey = COOKIE;
+                nextValue = cookies.toString();
+                cookies = null;
+            } else if (!streamIdDone) {
+                streamIdDone = true;
+                nextKey = STREAM_ID;
+                nextValue = String.valueOf(streamId);
+            } else {
+                nextKey = null;
+                nextValue = null;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextKey != null;
+        }
+
+        @Override
+        public Map.Entry<CharSequence, CharSequence> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            key = nextKey;
+            value = nextValue;
+            computeNext();
+            return this;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("read only");
+        }
+
+        @Override
+        public CharSequence getKey() {
+            return key;
+        }
+
+        @Override
+        public CharSequence getValue() {
+            return value;
+        }
+
+        @Override
+        public CharSequence setValue(CharSequence value) {
+            throw new UnsupportedOperationException("read only");
+        }
+
+        @Override
+        public String toString() {
+            return key.toString() + '=' + value.toString();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import io.netty5.buffer.api.BufferAllocator;
 import io.netty5.handler.codec.UnsupportedValueConverter;
 import io.netty5.handler.codec.http.DefaultFullHttpRequest;
 import io.netty5.handler.codec.http.DefaultFullHttpResponse;
+import io.netty5.handler.codec.http.DefaultHttpHeaders;
 import io.netty5.handler.codec.http.DefaultHttpRequest;
 import io.netty5.handler.codec.http.DefaultHttpResponse;
 import io.netty5.handler.codec.http.FullHttpMessage;
@@ -73,7 +74,7 @@ public final class HttpConversionUtil {
     /**
      * The set of headers that should not be directly copied when converting headers from HTTP to HTTP/2.
      */
-    private static final CharSequenceMap<AsciiString> HTTP_TO_HTTP2_HEADER_BLACKLIST =
+    static final CharSequenceMap<AsciiString> HTTP_TO_HTTP2_HEADER_BLACKLIST =
             new CharSequenceMap<>();
     static {
         HTTP_TO_HTTP2_HEADER_BLACKLIST.add(CONNECTION, EMPTY_STRING);
@@ -422,6 +423,66 @@ public final class HttpConversionUtil {
         }
     }
 
+    /**
+     * Returns a view of the given HTTP/2 headers as HTTP/1.x headers. Pseudo-headers are translated and
+     * connection-specific headers are hidden as the view is read, with the same result as
+     * {@link #addHttp2ToHttpHeaders(int, Http2Headers, HttpHeaders, HttpVersion, boolean, boolean)} would produce for
+     * a copy. This avoids copying the headers if they are only inspected or iterated once, for example by a gateway
+     * which forwards them to an HTTP/1.x peer.
+     * <p>
+     * The first modification of the view copies the translated headers into a {@link DefaultHttpHeaders}, which is
+     * used for all further operations, so {@code inputHeaders} is never modified. Unknown pseudo-headers are ignored
+     * instead of being rejected, as they are validated when decoded already.
+     *
+     * @param streamId The stream associated with {@code inputHeaders}.
+     * @param inputHeaders The HTTP/2 headers to present as HTTP/1.x headers.
+     * @param isRequest {@code true} if the headers belong to a request message, {@code false} for a response.
+     * @param isTrailer {@code true} if the headers should be treated as trailing headers.
+     * @return A view of {@code inputHeaders} as HTTP/1.x headers.
+     */
+    public static HttpHeaders toHttpHeadersView(int streamId, Http2Headers inputHeaders, boolean isRequest,
+                                                boolean isTrailer) {
+        return new Http2ToHttpHeadersView(streamId, inputHeaders, isRequest, isTrailer);
+    }
+
+    /**
+     * Create a new request whose headers are a view of the given HTTP/2 headers, see
+     * {@link #toHttpHeadersView(int, Http2Headers, boolean, boolean)}.
+     *
+     * @param streamId The stream associated with the request
+     * @param http2Headers The HTTP/2 headers of the request
+     * @return A new request object which represents headers for a chunked request
+     * @throws Http2Exception If the headers do not contain a valid method or path.
+     */
+    public static HttpRequest toHttpRequestView(int streamId, Http2Headers http2Headers) throws Http2Exception {
+        final CharSequence method = http2Headers.method();
+        if (method == null) {
+            throw streamError(streamId, PROTOCOL_ERROR, "method header cannot be null in conversion to HTTP/1.x");
+        }
+        // See https://tools.ietf.org/html/rfc7231#section-4.3.6
+        final CharSequence path = HttpMethod.CONNECT.asciiName().contentEqualsIgnoreCase(method) ?
+                http2Headers.authority() : http2Headers.path();
+        if (path == null) {
+            throw streamError(streamId, PROTOCOL_ERROR, "path header cannot be null in conversion to HTTP/1.x");
+        }
+        return new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.valueOf(method.toString()), path.toString(),
+                toHttpHeadersView(streamId, http2Headers, true, false));
+    }
+
+    /**
+     * Create a new response whose headers are a view of the given HTTP/2 headers, see
+     * {@link #toHttpHeadersView(int, Http2Headers, boolean, boolean)}.
+     *
+     * @param streamId The stream associated with the response
+     * @param http2Headers The HTTP/2 headers of the response
+     * @return A new response object which represents headers for a chunked response
+     * @throws Http2Exception If the headers do not contain a valid status.
+     */
+    public static HttpResponse toHttpResponseView(int streamId, Http2Headers http2Headers) throws Http2Exception {
+        return new DefaultHttpResponse(HttpVersion.HTTP_1_1, parseStatus(http2Headers.status()),
+                toHttpHeadersView(streamId, http2Headers, false, false));
+    }
+
     /**
      * Converts the given HTTP/1.x headers into HTTP/2 headers.
      * The following headers are only used if they can not be found in from the {@code HOST} header or the
@@ -434,6 +495,43 @@ public final class HttpConversionUtil {
     public static Http2Headers toHttp2Headers(HttpMessage in, boolean validateHeaders) {
         HttpHeaders inHeaders = in.headers();
         final Http2Headers out = new DefaultHttp2Headers(validateHeaders, inHeaders.size());
+        toHttp2PseudoHeaders(in, out);
+
+        // Add the HTTP headers which have not been consumed above
+        toHttp2Headers(inHeaders, out);
+        return out;
+    }
+
+    /**
+     * Returns a view of the given {@link HttpMessage} as HTTP/2 headers. The pseudo-headers are derived from the
+     * start line up front, while the headers of {@code in} are lowercased and stripped of connection-specific headers
+     * as they are read from the view, the same way {@link #toHttp2Headers(HttpMessage, boolean)} would do it for a
+     * copy. This avoids copying the headers if they are only iterated once, for example to encode them.
+     * <p>
+     * The headers of {@code in} must not be modified while the view is in use. The first modification of the view
+     * itself copies the translated headers into a {@link DefaultHttp2Headers}, which is used for all further
+     * operations.
+     *
+     * @param in The HTTP/1.x message to convert.
+     * @return A view of the headers of {@code in} as HTTP/2 headers.
+     */
+    public static Http2Headers toHttp2HeadersView(HttpMessage in) {
+        Http2Headers pseudoHeaders = new DefaultHttp2Headers(false, 4);
+        toHttp2PseudoHeaders(in, pseudoHeaders);
+        return new HttpToHttp2HeadersView(in.headers(), pseudoHeaders);
+    }
+
+    /**
+     * Returns a view of the given HTTP/1.x headers, for example trailers, as HTTP/2 headers.
+     *
+     * @see #toHttp2HeadersView(HttpMessage)
+     */
+    public static Http2Headers toHttp2HeadersView(HttpHeaders inHeaders) {
+        return new HttpToHttp2HeadersView(inHeaders, EmptyHttp2Headers.INSTANCE);
+    }
+
+    private static void toHttp2PseudoHeaders(HttpMessage in, Http2Headers out) {
+        HttpHeaders inHeaders = in.headers();
         if (in instanceof HttpRequest) {
             HttpRequest request = (HttpRequest) in;
             String host = inHeaders.getAsString(HttpHeaderNames.HOST);
@@ -453,10 +551,6 @@ public final class HttpConversionUtil {
             HttpResponse response = (HttpResponse) in;
             out.status(response.status().codeAsText());
         }
-
-        // Add the HTTP headers which have not been consumed above
-        toHttp2Headers(inHeaders, out);
-        return out;
     }
 
     public static Http2Headers toHttp2Headers(HttpHeaders inHeaders, boolean validateHeaders) {
@@ -469,7 +563,7 @@ public final class HttpConversionUtil {
         return out;
     }
 
-    private static CharSequenceMap<AsciiString> toLowercaseMap(Iterator<? extends CharSequence> valuesIter,
+    static CharSequenceMap<AsciiString> toLowercaseMap(Iterator<? extends CharSequence> valuesIter,
                                                                int arraySizeHint) {
         UnsupportedValueConverter<AsciiString> valueConverter = UnsupportedValueConverter.instance();
         CharSequenceMap<AsciiString> result = new CharSequenceMap<>(true, valueConverter, arraySizeHint);
@@ -500,19 +594,26 @@ public final class HttpConversionUtil {
      */
     private static void toHttp2HeadersFilterTE(Entry<CharSequence, CharSequence> entry,
                                                Http2Headers out) {
-        if (indexOf(entry.getValue(), ',', 0) == -1) {
-            if (contentEqualsIgnoreCase(trim(entry.getValue()), TRAILERS)) {
-                out.add(TE, TRAILERS);
-            }
-        } else {
-            List<CharSequence> teValues = unescapeCsvFields(entry.getValue());
-            for (CharSequence teValue : teValues) {
-                if (contentEqualsIgnoreCase(trim(teValue), TRAILERS)) {
-                    out.add(TE, TRAILERS);
-                    break;
-                }
+        if (containsTrailers(entry.getValue())) {
+            out.add(TE, TRAILERS);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the given {@link HttpHeaderNames#TE} value contains {@code trailers}, which is the only
+     * value that may be forwarded to HTTP/2.
+     */
+    static boolean containsTrailers(CharSequence teValue) {
+        if (indexOf(teValue, ',', 0) == -1) {
+            return contentEqualsIgnoreCase(trim(teValue), TRAILERS);
+        }
+        List<CharSequence> teValues = unescapeCsvFields(teValue);
+        for (CharSequence value : teValues) {
+            if (contentEqualsIgnoreCase(trim(value), TRAILERS)) {
+                return true;
             }
         }
+        return false;
     }
 
     public static void toHttp2Headers(HttpHeaders inHeaders, Http2Headers out) {
@@ -625,13 +726,13 @@ public final class HttpConversionUtil {
     /**
      * Utility which translates HTTP/2 headers to HTTP/1 headers.
      */
-    private static final class Http2ToHttpHeaderTranslator {
+    static final class Http2ToHttpHeaderTranslator {
         /**
          * Translations from HTTP/2 header name to the HTTP/1.x equivalent.
          */
-        private static final CharSequenceMap<AsciiString>
+        static final CharSequenceMap<AsciiString>
             REQUEST_HEADER_TRANSLATIONS = new CharSequenceMap<>();
-        private static final CharSequenceMap<AsciiString>
+        static final CharSequenceMap<AsciiString>
             RESPONSE_HEADER_TRANSLATIONS = new CharSequenceMap<>();
         static {
             RESPONSE_HEADER_TRANSLATIONS.add(Http2Headers.PseudoHeaderName.AUTHORITY.value(),
@@ -0,0 +1,914 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.handler.codec.Headers;
+import io.netty5.handler.codec.http.HttpHeaders;
+import io.netty5.util.AsciiString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static io.netty5.handler.codec.CharSequenceValueConverter.INSTANCE;
+import static io.netty5.handler.codec.http.HttpHeaderNames.CONNECTION;
+import static io.netty5.handler.codec.http.HttpHeaderNames.COOKIE;
+import static io.netty5.handler.codec.http.HttpHeaderNames.TE;
+import static io.netty5.handler.codec.http.HttpHeaderValues.TRAILERS;
+import static io.netty5.handler.codec.http2.HttpConversionUtil.HTTP_TO_HTTP2_HEADER_BLACKLIST;
+import static io.netty5.handler.codec.http2.HttpConversionUtil.containsTrailers;
+import static io.netty5.handler.codec.http2.HttpConversionUtil.toLowercaseMap;
+import static io.netty5.util.AsciiString.contentEquals;
+import static io.netty5.util.AsciiString.contentEqualsIgnoreCase;
+import static io.netty5.util.ByteProcessor.FIND_SEMI_COLON;
+
+/**
+ * Presents {@link HttpHeaders} as {@link Http2Headers} without copying them, see
+ * {@link HttpConversionUtil#toHttp2HeadersView(io.netty5.handler.codec.http.HttpMessage)}.
+ * <p>
+ * Reads lowercase the header names and drop connection-specific headers on the fly. The first modification copies the
+ * translated headers into a {@link DefaultHttp2Headers} which is used for all further operations.
+ */
+final class HttpToHttp2HeadersView implements Http2Headers {
+    private final HttpHeaders source;
+    private final Http2Headers pseudoHeaders;
+    // Lazily created on first use, stays null if there is no Connection header.
+    private CharSequenceMap<AsciiString> connectionBlacklist;
+    private boolean connectionBlacklistResolved;
+    private Http2Headers materialized;
+
+    HttpToHttp2HeadersView(HttpHeaders source, Http2Headers pseudoHeaders) {
+        this.source = source;
+        this.pseudoHeaders = pseudoHeaders;
+    }
+
+    /**
+     * Returns {@code true} if a header of the source with the given lowercase name must not be forwarded to HTTP/2.
+     */
+    private boolean isBlacklisted(AsciiString name) {
+        if (HTTP_TO_HTTP2_HEADER_BLACKLIST.contains(name)) {
+            return true;
+        }
+        if (!connectionBlacklistResolved) {
+            connectionBlacklistResolved = true;
+            if (source.contains(CONNECTION)) {
+                connectionBlacklist = toLowercaseMap(source.valueCharSequenceIterator(CONNECTION), 8);
+            }
+        }
+        return connectionBlacklist != null && connectionBlacklist.contains(name);
+    }
+
+    private static boolean isPseudoHeader(CharSequence name) {
+        return name.length() != 0 && name.charAt(0) == ':';
+    }
+
+    private CharSequence get0(CharSequence name) {
+        if (materialized != null) {
+            return materialized.get(name);
+        }
+        if (isPseudoHeader(name)) {
+            return pseudoHeaders.get(name);
+        }
+        AsciiString key = AsciiString.of(name).toLowerCase();
+        if (isBlacklisted(key)) {
+            return null;
+        }
+        if (TE.contentEquals(key) || COOKIE.contentEquals(key)) {
+            List<CharSequence> values = filteredValues(key);
+            return values.isEmpty() ? null : values.get(0);
+        }
+        Iterator<? extends CharSequence> values = source.valueCharSequenceIterator(key);
+        return values.hasNext() ? values.next() : null;
+    }
+
+    /**
+     * Returns the values of a header whose values are rewritten when forwarded to HTTP/2, which is rare enough to not
+     * justify a dedicated lookup.
+     */
+    private List<CharSequence> filteredValues(AsciiString name) {
+        List<CharSequence> values = new ArrayList<>(2);
+        ViewIterator iterator = new ViewIterator();
+        while (iterator.hasNext()) {
+            Entry<CharSequence, CharSequence> entry = iterator.next();
+            if (name.contentEquals(entry.getKey())) {
+                values.add(entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    private Http2Headers materialize() {
+        Http2Headers materialized = this.materialized;
+        if (materialized == null) {
+            materialized = new DefaultHttp2Headers(true, source.size() + pseudoHeaders.size());
+            ViewIterator iterator = new ViewIterator();
+            while (iterator.hasNext()) {
+                Entry<CharSequence, CharSequence> entry = iterator.next();
+                materialized.add(entry.getKey(), entry.getValue());
+            }
+            this.materialized = materialized;
+        }
+        return materialized;
+    }
+
+    @Override
+    public CharSequence get(CharSequence name) {
+        return get0(name);
+    }
+
+    @Override
+    public CharSequence get(CharSequence name, CharSequence defaultValue) {
+        CharSequence value = get0(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public CharSequence getAndRemove(CharSequence name) {
+        return materialize().getAndRemove(name);
+    }
+
+    @Override
+    public CharSequence getAndRemove(CharSequence name, CharSequence defaultValue) {
+        return materialize().getAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public List<CharSequence> getAll(CharSequence name) {
+        if (materialized != null) {
+            return materialized.getAll(name);
+        }
+        List<CharSequence> values = new ArrayList<>(2);
+        Iterator<CharSequence> iterator = valueIterator(name);
+        while (iterator.hasNext()) {
+            values.add(iterator.next());
+        }
+        return values;
+    }
+
+    @Override
+    public List<CharSequence> getAllAndRemove(CharSequence name) {
+        return materialize().getAllAndRemove(name);
+    }
+
+    @Override
+    public Boolean getBoolean(CharSequence name) {
+        CharSequence value = get0(name);
+        return value != null ? INSTANCE.convertToBoolean(value) : null;
+    }
+
+    @Override
+    public boolean getBoolean(CharSequence name, boolean defaultValue) {
+        Boolean value = getBoolean(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Byte getByte(CharSequence name) {
+        CharSequence value = get0(name);
+        return value != null ? INSTANCE.convertToByte(value) : null;
+    }
+
+    @Override
+    public byte getByte(CharSequence name, byte defaultValue) {
+        Byte value = getByte(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Character getChar(CharSequence name) {
+        CharSequence value = get0(name);
+        return value != null ? INSTANCE.convertToChar(value) : null;
+    }
+
+    @Override
+    public char getChar(CharSequence name, char defaultValue) {
+        Character value = getChar(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Short getShort(CharSequence name) {
+        CharSequence value = get0(name);
+        return value != null ? INSTANCE.convertToShort(value) : null;
+    }
+
+    @Override
+    public short getShort(CharSequence name, short defaultValue) {
+        Short value = getShort(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Integer getInt(CharSequence name) {
+        CharSequence value = get0(name);
+        return value != null ? INSTANCE.convertToInt(value) : null;
+    }
+
+    @Override
+    public int getInt(CharSequence name, int defaultValue) {
+        Integer value = getInt(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Long getLong(CharSequence name) {
+        CharSequence value = get0(name);
+        return value != null ? INSTANCE.convertToLong(value) : null;
+    }
+
+    @Override
+    public long getLong(CharSequence name, long defaultValue) {
+        Long value = getLong(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Float getFloat(CharSequence name) {
+        CharSequence value = get0(name);
+        return value != null ? INSTANCE.convertToFloat(value) : null;
+    }
+
+    @Override
+    public float getFloat(CharSequence name, float defaultValue) {
+        Float value = getFloat(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Double getDouble(CharSequence name) {
+        CharSequence value = get0(name);
+        return value != null ? INSTANCE.convertToDouble(value) : null;
+    }
+
+    @Override
+    public double getDouble(CharSequence name, double defaultValue) {
+        Double value = getDouble(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Long getTimeMillis(CharSequence name) {
+        CharSequence value = get0(name);
+        if (value != null) {
+            try {
+                return INSTANCE.convertToTimeMillis(value);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long getTimeMillis(CharSequence name, long defaultValue) {
+        Long value = getTimeMillis(name);
+        return value != null ? value : defaultValue;
+    }
+
+    @Override
+    public Boolean getBooleanAndRemove(CharSequence name) {
+        return materialize().getBooleanAndRemove(name);
+    }
+
+    @Override
+    public boolean getBooleanAndRemove(CharSequence name, boolean defaultValue) {
+        return materialize().getBooleanAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public Byte getByteAndRemove(CharSequence name) {
+        return materialize().getByteAndRemove(name);
+    }
+
+    @Override
+    public byte getByteAndRemove(CharSequence name, byte defaultValue) {
+        return materialize().getByteAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public Character getCharAndRemove(CharSequence name) {
+        return materialize().getCharAndRemove(name);
+    }
+
+    @Override
+    public char getCharAndRemove(CharSequence name, char defaultValue) {
+        return materialize().getCharAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public Short getShortAndRemove(CharSequence name) {
+        return materialize().getShortAndRemove(name);
+    }
+
+    @Override
+    public short getShortAndRemove(CharSequence name, short defaultValue) {
+        return materialize().getShortAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public Integer getIntAndRemove(CharSequence name) {
+        return materialize().getIntAndRemove(name);
+    }
+
+    @Override
+    public int getIntAndRemove(CharSequence name, int defaultValue) {
+        return materialize().getIntAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public Long getLongAndRemove(CharSequence name) {
+        return materialize().getLongAndRemove(name);
+    }
+
+    @Override
+    public long getLongAndRemove(CharSequence name, long defaultValue) {
+        return materialize().getLongAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public Float getFloatAndRemove(CharSequence name) {
+        return materialize().getFloatAndRemove(name);
+    }
+
+    @Override
+    public float getFloatAndRemove(CharSequence name, float defaultValue) {
+        return materialize().getFloatAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public Double getDoubleAndRemove(CharSequence name) {
+        return materialize().getDoubleAndRemove(name);
+    }
+
+    @Override
+    public double getDoubleAndRemove(CharSequence name, double defaultValue) {
+        return materialize().getDoubleAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public Long getTimeMillisAndRemove(CharSequence name) {
+        return materialize().getTimeMillisAndRemove(name);
+    }
+
+    @Override
+    public long getTimeMillisAndRemove(CharSequence name, long defaultValue) {
+        return materialize().getTimeMillisAndRemove(name, defaultValue);
+    }
+
+    @Override
+    public boolean contains(CharSequence name) {
+        return get0(name) != null;
+    }
+
+    @Override
+    public boolean contains(CharSequence name, CharSequence value) {
+        return contains(name, value, false);
+    }
+
+    @Override
+    public boolean containsObject(CharSequence name, Object value) {
+        if (value instanceof CharSequence) {
+            return contains(name, (CharSequence) value);
+        }
+        return contains(name, value.toString());
+    }
+
+    @Override
+    public boolean containsBoolean(CharSequence name, boolean value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsByte(CharSequence name, byte value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsChar(CharSequence name, char value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsShort(CharSequence name, short value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsInt(CharSequence name, int value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsLong(CharSequence name, long value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsFloat(CharSequence name, float value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsDouble(CharSequence name, double value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean containsTimeMillis(CharSequence name, long value) {
+        return contains(name, String.valueOf(value));
+    }
+
+    @Override
+    public boolean contains(CharSequence name, CharSequence value, boolean caseInsensitive) {
+        if (materialized != null) {
+            return materialized.contains(name, value, caseInsensitive);
+        }
+        Iterator<CharSequence> values = valueIterator(name);
+        while (values.hasNext()) {
+            CharSequence next = values.next();
+            if (caseInsensitive ? contentEqualsIgnoreCase(next, value) : contentEquals(next, value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        if (materialized != null) {
+            return materialized.size();
+        }
+        int size = 0;
+        ViewIterator iterator = new ViewIterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            size++;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (materialized != null) {
+            return materialized.isEmpty();
+        }
+        return !new ViewIterator().hasNext();
+    }
+
+    @Override
+    public Set<CharSequence> names() {
+        if (materialized != null) {
+            return materialized.names();
+        }
+        Set<CharSequence> names = new LinkedHashSet<>();
+        ViewIterator iterator = new ViewIterator();
+        while (iterator.hasNext()) {
+            names.add(iterator.next().getKey());
+        }
+        return names;
+    }
+
+    @Override
+    public Http2Headers add(CharSequence name, CharSequence value) {
+        materialize().add(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers add(CharSequence name, Iterable<? extends CharSequence> values) {
+        materialize().add(name, values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers add(CharSequence name, CharSequence... values) {
+        materialize().add(name, values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addObject(CharSequence name, Object value) {
+        materialize().addObject(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addObject(CharSequence name, Iterable<?> values) {
+        materialize().addObject(name, values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addObject(CharSequence name, Object... values) {
+        materialize().addObject(name, values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addBoolean(CharSequence name, boolean value) {
+        materialize().addBoolean(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addByte(CharSequence name, byte value) {
+        materialize().addByte(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addChar(CharSequence name, char value) {
+        materialize().addChar(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addShort(CharSequence name, short value) {
+        materialize().addShort(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addInt(CharSequence name, int value) {
+        materialize().addInt(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addLong(CharSequence name, long value) {
+        materialize().addLong(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addFloat(CharSequence name, float value) {
+        materialize().addFloat(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addDouble(CharSequence name, double value) {
+        materialize().addDouble(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers addTimeMillis(CharSequence name, long value) {
+        materialize().addTimeMillis(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers add(Headers<? extends CharSequence, ? extends CharSequence, ?> headers) {
+        materialize().add(headers);
+        return this;
+    }
+
+    @Override
+    public Http2Headers set(CharSequence name, CharSequence value) {
+        materialize().set(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers set(CharSequence name, Iterable<? extends CharSequence> values) {
+        materialize().set(name, values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers set(CharSequence name, CharSequence... values) {
+        materialize().set(name, values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setObject(CharSequence name, Object value) {
+        materialize().setObject(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setObject(CharSequence name, Iterable<?> values) {
+        materialize().setObject(name, values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setObject(CharSequence name, Object... values) {
+        materialize().setObject(name, values);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setBoolean(CharSequence name, boolean value) {
+        materialize().setBoolean(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setByte(CharSequence name, byte value) {
+        materialize().setByte(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setChar(CharSequence name, char value) {
+        materialize().setChar(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setShort(CharSequence name, short value) {
+        materialize().setShort(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setInt(CharSequence name, int value) {
+        materialize().setInt(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setLong(CharSequence name, long value) {
+        materialize().setLong(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setFloat(CharSequence name, float value) {
+        materialize().setFloat(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setDouble(CharSequence name, double value) {
+        materialize().setDouble(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setTimeMillis(CharSequence name, long value) {
+        materialize().setTimeMillis(name, value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers set(Headers<? extends CharSequence, ? extends CharSequence, ?> headers) {
+        materialize().set(headers);
+        return this;
+    }
+
+    @Override
+    public Http2Headers setAll(Headers<? extends CharSequence, ? extends CharSequence, ?> headers) {
+        materialize().setAll(headers);
+        return this;
+    }
+
+    @Override
+    public boolean remove(CharSequence name) {
+        return materialize().remove(name);
+    }
+
+    @Override
+    public Http2Headers clear() {
+        materialize().clear();
+        return this;
+    }
+
+    @Override
+    public Iterator<Map.Entry<CharSequence, CharSequence>> iterator() {
+        if (materialized != null) {
+            return materialized.iterator();
+        }
+        return new ViewIterator();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<CharSequence> valueIterator(CharSequence name) {
+        if (materialized != null) {
+            return materialized.valueIterator(name);
+        }
+        if (isPseudoHeader(name)) {
+            return pseudoHeaders.valueIterator(name);
+        }
+        AsciiString key = AsciiString.of(name).toLowerCase();
+        if (isBlacklisted(key)) {
+            return Collections.emptyIterator();
+        }
+        if (TE.contentEquals(key) || COOKIE.contentEquals(key)) {
+            return filteredValues(key).iterator();
+        }
+        // The iterator only ever reads from the source, so it is safe to widen its type.
+        return (Iterator<CharSequence>) source.valueCharSequenceIterator(key);
+    }
+
+    @Override
+    public Http2Headers method(CharSequence value) {
+        materialize().method(value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers scheme(CharSequence value) {
+        materialize().scheme(value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers authority(CharSequence value) {
+        materialize().authority(value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers path(CharSequence value) {
+        materialize().path(value);
+        return this;
+    }
+
+    @Override
+    public Http2Headers status(CharSequence value) {
+        materialize().status(value);
+        return this;
+    }
+
+    @Override
+    public CharSequence method() {
+        return get(PseudoHeaderName.METHOD.value());
+    }
+
+    @Override
+    public CharSequence scheme() {
+        return get(PseudoHeaderName.SCHEME.value());
+    }
+
+    @Override
+    public CharSequence authority() {
+        return get(PseudoHeaderName.AUTHORITY.value());
+    }
+
+    @Override
+    public CharSequence path() {
+        return get(PseudoHeaderName.PATH.value());
+    }
+
+    @Override
+    public CharSequence status() {
+        return get(PseudoHeaderName.STATUS.value());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(getClass().getSimpleName()).append('[');
+        String separator = "";
+        for (Map.Entry<CharSequence, CharSequence> entry : this) {
+            builder.append(separator);
+            builder.append(entry.getKey()).append(": ").append(entry.getValue());
+            separator = ", ";
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Iterates the pseudo-headers followed by the filtered headers of the source in the same order as
+     * {@link HttpConversionUtil#toHttp2Headers(HttpHeaders, Http2Headers)} adds them.
+     */
+    private final class ViewIterator implements Map.Entry<CharSequence, CharSequence>,
+            Iterator<Map.Entry<CharSequence, CharSequence>> {
+        private final Iterator<Entry<CharSequence, CharSequence>> pseudoIterator = pseudoHeaders.iterator();
+        private final Iterator<Entry<CharSequence, CharSequence>> iterator = source.iteratorCharSequence();
+        // The cookie whose crumbs are currently returned, see
+        // https://tools.ietf.org/html/rfc7540#section-8.1.2.5
+        private AsciiString cookie;
+        private int cookieStart;
+        private CharSequence nextKey;
+        private CharSequence nextValue;
+        private CharSequence key;
+        private CharSequence value;
+
+        ViewIterator() {
+            computeNext();
+        }
+
+        private void computeNext() {
+            if (pseudoIterator.hasNext()) {
+                Entry<CharSequence, CharSequence> entry = pseudoIterator.next();
+                nextKey = entry.getKey();
+                nextValue = entry.getValue();
+                return;
+            }
+            if (cookie != null) {
+                nextCookieCrumb();
+                return;
+            }
+            while (iterator.hasNext()) {
+                Entry<CharSequence, CharSequence> entry = iterator.next();
+                AsciiString name = AsciiString.of(entry.getKey()).toLowerCase();
+                if (isBlacklisted(name)) {
+                    continue;
+                }
+                // https://tools.ietf.org/html/rfc7540#section-8.1.2.2 makes a special exception for TE
+                if (TE.contentEquals(name)) {
+                    if (containsTrailers(entry.getValue())) {
+                        nextKey = TE;
+                        nextValue = TRAILERS;
+                        return;
+                    }
+                    continue;
+                }
+                if (COOKIE.contentEquals(name)) {
+                    cookie = AsciiString.of(entry.getValue());
+                    cookieStart = 0;
+                    nextCookieCrumb();
+                    return;
+                }
+                nextKey = name;
+                nextValue = entry.getValue();
+                return;
+            }
+            nextKey = null;
+            nextValue = null;
+        }
+
+        private void nextCookieCrumb() {
+            AsciiString cookie = this.cookie;
+            int length = cookie.length();
+            int index = cookie.forEachByte(cookieStart, length - cookieStart, FIND_SEMI_COLON);
+            nextKey = COOKIE;
+            if (index == -1) {
+                nextValue = cookie.subSequence(cookieStart, length, false);
+                this.cookie = null;
+            } else {
+                nextValue = cookie.subSequence(cookieStart, index, false);
+                // skip 2 characters "; " (see https://tools.ietf.org/html/rfc6265#section-4.2.1)
+                cookieStart = index + 2;
+                if (cookieStart >= length) {
+                    throw new IllegalArgumentException("cookie value is of unexpected format: " + cookie);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextKey != null;
+        }
+
+        @Override
+        public Map.Entry<CharSequence, CharSequence> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            key = nextKey;
+            value = nextValue;
+            computeNext();
+            return this;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("read only");
+        }
+
+        @Override
+        public CharSequence getKey() {
+            return key;
+        }
+
+        @Override
+        public CharSequence getValue() {
+            return value;
+        }
+
+        @Override
+        public CharSequence setValue(CharSequence value) {
+            throw new UnsupportedOperationException("read only");
+        }
+
+        @Override
+        public String toString() {
+            return key.toString() + '=' + value.toString();
+        }
+    }
+}
@@ -114,6 +114,14 @@ public final class ReadOnlyHttp2Headers implements Http2Headers {
                                         otherHeaders);
     }
 
+    /**
+     * Create a new read only representation of headers decoded by {@link HpackDecoder}, which takes care of the
+     * validation and of separating the pseudo headers.
+     */
+    static ReadOnlyHttp2Headers decoded(AsciiString[] pseudoHeaders, AsciiString[] otherHeaders) {
+        return new ReadOnlyHttp2Headers(false, pseudoHeaders, otherHeaders);
+    }
+
     private ReadOnlyHttp2Headers(boolean validateHeaders, AsciiString[] pseudoHeaders, AsciiString... otherHeaders) {
         assert (pseudoHeaders.length & 1) == 0; // pseudoHeaders are only set internally so assert should be enough.
         if ((otherHeaders.length & 1) != 0) {
@@ -92,6 +92,18 @@ public interface StreamByteDistributor {
      */
     void updateDependencyTree(int childStreamId, int parentStreamId, short weight, boolean exclusive);
 
+    /**
+     * Explicitly update the priority of a stream as defined by
+     * <a href="https://www.rfc-editor.org/rfc/rfc9218">RFC 9218</a>. This method is called independently of stream
+     * state changes. Implementations that don't support the extensible prioritization scheme ignore it.
+     * @param streamId The stream identifier.
+     * @param urgency The urgency of the stream, between {@code 0} (the most urgent) and {@code 7} (inclusive).
+     * @param incremental If the data of the stream can be processed incrementally by the remote endpoint.
+     */
+    default void updatePriority(int streamId, int urgency, boolean incremental) {
+        // NOOP
+    }
+
     /**
      * Distributes up to {@code maxBytes} to those streams containing streamable bytes and
      * iterates across those streams to write the appropriate bytes. Criteria for
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps per-stream state of a {@link Http2Connection} in primitive arrays instead of per-stream objects.
+ * <p>
+ * Every stream is assigned a slot while it is part of the connection, which is recycled once the stream is removed.
+ * Components that want to store state allocate a column via {@link #addIntColumn()}, which is an {@code int[]} indexed
+ * by slot. The values of a slot are reset to {@code 0} whenever it is assigned to a new stream. Keeping each field in
+ * its own array avoids the per-stream garbage of state objects and the pointer chasing through
+ * {@link Http2Stream#getProperty(Http2Connection.PropertyKey)} on every access.
+ * <p>
+ * A {@link DefaultHttp2Connection} owns a single table that is shared by all its components, see
+ * {@link #of(Http2Connection)}. The slot of a stream is then assigned when the stream is created, before any
+ * {@link Http2Connection.Listener} is notified of it, and released after all listeners were notified of its removal.
+ * Other connections get a table that is shared by all components as well, but assigns the slot from a listener. The
+ * slot of a removed stream is then only released once the next stream is added, so that listeners which were
+ * registered later can still access it while they are notified of the removal.
+ * <p>
+ * This class is <strong>NOT</strong> thread safe, just like the connection itself.
+ */
+final class StreamStateTable {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[][] EMPTY_COLUMNS = new int[0][];
+    /**
+     * The tables of connections other than {@link DefaultHttp2Connection}. The values are only weakly reachable, as
+     * the streams of a table reference its connection. The table itself is kept alive by its connection listener.
+     */
+    private static final Map<Http2Connection, WeakReference<StreamStateTable>> FOREIGN_TABLES = new WeakHashMap<>();
+
+    /**
+     * Only used if the table is not owned by a {@link DefaultHttp2Connection}, to look up the slot of a stream.
+     */
+    private final Http2Connection.PropertyKey slotKey;
+    private Http2Stream[] streams = new Http2Stream[INITIAL_CAPACITY];
+    private int[][] intColumns = EMPTY_COLUMNS;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int numFreeSlots;
+    private int nextSlot;
+    /**
+     * Only used if the table is not owned by a {@link DefaultHttp2Connection}, holds the slots of removed streams
+     * that are released once the next stream is added.
+     */
+    private int[] removedSlots;
+    private int numRemovedSlots;
+
+    StreamStateTable() {
+        slotKey = null;
+    }
+
+    private StreamStateTable(Http2Connection connection) {
+        slotKey = connection.newKey();
+        removedSlots = new int[INITIAL_CAPACITY];
+        Http2Stream connectionStream = connection.connectionStream();
+        connectionStream.setProperty(slotKey, allocate(connectionStream));
+        connection.addListener(new Http2ConnectionAdapter() {
+            @Override
+            public void onStreamAdded(Http2Stream stream) {
+                freeRemovedSlots();
+                stream.setProperty(slotKey, allocate(stream));
+            }
+
+            @Override
+            public void onStreamRemoved(Http2Stream stream) {
+                Integer slot = stream.getProperty(slotKey);
+                if (slot != null) {
+                    if (numRemovedSlots == removedSlots.length) {
+                        removedSlots = Arrays.copyOf(removedSlots, numRemovedSlots << 1);
+                    }
+                    removedSlots[numRemovedSlots++] = slot;
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the table of the given connection, which is shared by all its components. For connections other than
+     * {@link DefaultHttp2Connection} the table must be obtained before the caller registers its own listener.
+     */
+    static StreamStateTable of(Http2Connection connection) {
+        if (connection instanceof DefaultHttp2Connection) {
+            return ((DefaultHttp2Connection) connection).stateTable;
+        }
+        synchronized (FOREIGN_TABLES) {
+            WeakReference<StreamStateTable> ref = FOREIGN_TABLES.get(connection);
+            StreamStateTable table = ref == null ? null : ref.get();
+            if (table == null) {
+                table = new StreamStateTable(connection);
+                FOREIGN_TABLES.put(connection, new WeakReference<>(table));
+            }
+            return table;
+        }
+    }
+
+    /**
+     * Adds a new {@code int} column in which all slots are {@code 0}, and returns its index.
+     */
+    int addIntColumn() {
+        int column = intColumns.length;
+        intColumns = Arrays.copyOf(intColumns, column + 1);
+        intColumns[column] = new int[streams.length];
+        return column;
+    }
+
+    int getInt(int column, int slot) {
+        return intColumns[column][slot];
+    }
+
+    void setInt(int column, int slot, int value) {
+        intColumns[column][slot] = value;
+    }
+
+    /**
+     * Returns the slot of the given stream, which must be part of the connection of this table.
+     */
+    int slot(Http2Stream stream) {
+        if (slotKey == null) {
+            return DefaultHttp2Connection.slot(stream);
+        }
+        Integer slot = stream.getProperty(slotKey);
+        return slot;
+    }
+
+    /**
+     * Returns the stream the given slot is assigned to, or {@code null} if the slot is free.
+     */
+    Http2Stream stream(int slot) {
+        return streams[slot];
+    }
+
+    /**
+     * Assigns a slot to the given stream and resets the values of all columns for it.
+     */
+    int allocate(Http2Stream stream) {
+        final int slot;
+        if (numFreeSlots > 0) {
+            slot = freeSlots[--numFreeSlots];
+            for (int[] column : intColumns) {
+                column[slot] = 0;
+            }
+        } else {
+            slot = nextSlot++;
+            if (slot == streams.length) {
+                grow();
+            }
+        }
+        streams[slot] = stream;
+        return slot;
+    }
+
+    /**
+     * Releases the given slot so that it can be assigned to another stream.
+     */
+    void free(int slot) {
+        assert streams[slot] != null;
+        streams[slot] = null;
+        if (numFreeSlots == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, numFreeSlots << 1);
+        }
+        freeSlots[numFreeSlots++] = slot;
+    }
+
+    private void freeRemovedSlots() {
+        for (int i = 0; i < numRemovedSlots; i++) {
+            free(removedSlots[i]);
+        }
+        numRemovedSlots = 0;
+    }
+
+    private void grow() {
+        int newCapacity = streams.length << 1;
+        streams = Arrays.copyOf(streams, newCapacity);
+        for (int i = 0; i < intColumns.length; i++) {
+            intColumns[i] = Arrays.copyOf(intColumns[i], newCapacity);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.handler.codec.http.DefaultHttpContent;
+import io.netty5.handler.codec.http.DefaultLastHttpContent;
+import io.netty5.handler.codec.http.EmptyLastHttpContent;
+import io.netty5.handler.codec.http.HttpContent;
+import io.netty5.handler.codec.http.HttpMessage;
+import io.netty5.handler.codec.http.HttpResponse;
+import io.netty5.handler.codec.http.HttpStatusClass;
+import io.netty5.handler.codec.http.LastHttpContent;
+import io.netty5.util.internal.UnstableApi;
+
+import static io.netty5.handler.codec.http2.Http2Error.PROTOCOL_ERROR;
+import static io.netty5.handler.codec.http2.Http2Exception.connectionError;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * This adapter translates the HTTP message flow defined in
+ * <a href="https://tools.ietf.org/html/rfc7540#section-8.1">[RFC 7540], Section 8.1</a> to HTTP/1.x objects without
+ * aggregating them. Unlike {@link InboundHttp2ToHttpAdapter} it fires an {@link HttpMessage} as soon as the headers
+ * are received, followed by one {@link HttpContent} per DATA frame and a {@link LastHttpContent} once the stream is
+ * closed by the remote peer, which carries the trailers if there are any.
+ * <p>
+ * No headers or data are copied: the headers of the fired messages are views of the received {@link Http2Headers},
+ * see {@link HttpConversionUtil#toHttpHeadersView(int, Http2Headers, boolean, boolean)}, and the payload of each
+ * {@link HttpContent} is the buffer of the DATA frame. All received bytes are returned to the flow controller as soon
+ * as they are fired, so handlers that buffer content must apply back pressure on their own, for example by disabling
+ * auto read.
+ * <p>
+ * Priority information and PUSH_PROMISE frames are not translated.
+ */
+@UnstableApi
+public class StreamingInboundHttp2ToHttpAdapter extends Http2EventAdapter {
+    private final Http2Connection.PropertyKey messageKey;
+    protected final Http2Connection connection;
+
+    public StreamingInboundHttp2ToHttpAdapter(Http2Connection connection) {
+        this.connection = requireNonNull(connection, "connection");
+        messageKey = connection.newKey();
+    }
+
+    /**
+     * Create a new {@link HttpMessage} based upon the current connection parameters, whose headers are a view of the
+     * given {@link Http2Headers}.
+     *
+     * @param stream The stream to create a message for
+     * @param headers The headers associated with {@code stream}
+     * @throws Http2Exception If there is an error when creating {@link HttpMessage} from
+     *                        {@link Http2Stream} and {@link Http2Headers}
+     */
+    protected HttpMessage newMessage(Http2Stream stream, Http2Headers headers) throws Http2Exception {
+        return connection.isServer() ? HttpConversionUtil.toHttpRequestView(stream.id(), headers) :
+                HttpConversionUtil.toHttpResponseView(stream.id(), headers);
+    }
+
+    @Override
+    public int onDataRead(ChannelHandlerContext ctx, int streamId, Buffer data, int padding, boolean endOfStream)
+            throws Http2Exception {
+        Http2Stream stream = connection.stream(streamId);
+        if (stream == null || stream.getProperty(messageKey) == null) {
+            data.close();
+            throw connectionError(PROTOCOL_ERROR, "Data Frame received for unknown stream id %d", streamId);
+        }
+        final int dataReadableBytes = data.readableBytes();
+
+        // The ownership of the data is transferred to the content, so no copy is needed.
+        ctx.fireChannelRead(endOfStream ? new DefaultLastHttpContent(data) : new DefaultHttpContent(data));
+
+        // All bytes have been processed.
+        return dataReadableBytes + padding;
+    }
+
+    @Override
+    public void onHeadersRead(ChannelHandlerContext ctx, int streamId, Http2Headers headers, int padding,
+                              boolean endOfStream) throws Http2Exception {
+        Http2Stream stream = connection.stream(streamId);
+        if (stream.getProperty(messageKey) != null) {
+            // Trailers, which always end the stream.
+            ctx.fireChannelRead(new DefaultLastHttpContent(ctx.bufferAllocator().allocate(0),
+                    HttpConversionUtil.toHttpHeadersView(streamId, headers, connection.isServer(), true)));
+            return;
+        }
+
+        HttpMessage msg = newMessage(stream, headers);
+        ctx.fireChannelRead(msg);
+        if (msg instanceof HttpResponse &&
+                ((HttpResponse) msg).status().codeClass() == HttpStatusClass.INFORMATIONAL) {
+            // An informational response has no content and is followed by the final response.
+            ctx.fireChannelRead(new EmptyLastHttpContent(ctx.bufferAllocator()));
+        } else if (endOfStream) {
+            ctx.fireChannelRead(new EmptyLastHttpContent(ctx.bufferAllocator()));
+        } else {
+            stream.setProperty(messageKey, msg);
+        }
+    }
+
+    @Override
+    public void onHeadersRead(ChannelHandlerContext ctx, int streamId, Http2Headers headers, int streamDependency,
+                              short weight, boolean exclusive, int padding, boolean endOfStream)
+            throws Http2Exception {
+        onHeadersRead(ctx, streamId, headers, padding, endOfStream);
+    }
+
+    @Override
+    public void onRstStreamRead(ChannelHandlerContext ctx, int streamId, long errorCode) throws Http2Exception {
+        Http2Stream stream = connection.stream(streamId);
+        if (stream != null) {
+            stream.removeProperty(messageKey);
+        }
+        ctx.fireChannelExceptionCaught(Http2Exception.streamError(streamId, Http2Error.valueOf(errorCode),
+                "HTTP/2 to HTTP layer caught stream reset"));
+    }
+}
@@ -16,9 +16,6 @@ package io.netty5.handler.codec.http2;
 
 import io.netty5.util.internal.UnstableApi;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
-
 import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_MIN_ALLOCATION_CHUNK;
 import static io.netty5.handler.codec.http2.Http2CodecUtil.streamableBytes;
 import static io.netty5.handler.codec.http2.Http2Error.INTERNAL_ERROR;
@@ -36,8 +33,19 @@ import static java.util.Objects.requireNonNull;
  */
 @UnstableApi
 public final class UniformStreamByteDistributor implements StreamByteDistributor {
-    private final Http2Connection.PropertyKey stateKey;
-    private final Deque<State> queue = new ArrayDeque<>(4);
+    private static final int FLAG_WINDOW_NEGATIVE = 1;
+    private static final int FLAG_ENQUEUED = 1 << 1;
+    private static final int FLAG_WRITING = 1 << 2;
+
+    private final StreamStateTable table;
+    private final int streamableBytesColumn;
+    private final int flagsColumn;
+    /**
+     * Ring buffer of the slots of the streams that are queued to be allocated bytes, its length is a power of two.
+     */
+    private int[] queue = new int[4];
+    private int queueHead;
+    private int queueSize;
 
     /**
      * The minimum number of bytes that we will attempt to allocate to a stream. This is to
@@ -47,21 +55,16 @@ public final class UniformStreamByteDistributor implements StreamByteDistributor
     private long totalStreamableBytes;
 
     public UniformStreamByteDistributor(Http2Connection connection) {
-        // Add a state for the connection.
-        stateKey = connection.newKey();
-        Http2Stream connectionStream = connection.connectionStream();
-        connectionStream.setProperty(stateKey, new State(connectionStream));
+        // The state of all streams is kept in columns of the stream state table.
+        table = StreamStateTable.of(connection);
+        streamableBytesColumn = table.addIntColumn();
+        flagsColumn = table.addIntColumn();
 
-        // Register for notification of new streams.
+        // Register for notification of closed streams.
         connection.addListener(new Http2ConnectionAdapter() {
-            @Override
-            public void onStreamAdded(Http2Stream stream) {
-                stream.setProperty(stateKey, new State(stream));
-            }
-
             @Override
             public void onStreamClosed(Http2Stream stream) {
-                state(stream).close();
+                close(table.slot(stream));
             }
         });
     }
@@ -79,9 +82,13 @@ public final class UniformStreamByteDistributor implements StreamByteDistributor
 
     @Override
     public void updateStreamableBytes(StreamState streamState) {
-        state(streamState.stream()).updateStreamableBytes(streamableBytes(streamState),
-                                                          streamState.hasFrame(),
-                                                          streamState.windowSize());
+        Http2Stream stream = requireNonNull(streamState.stream(), "stream");
+        int slot = table.slot(stream);
+        // A stream that was removed has no state anymore, and its slot may belong to another stream.
+        if (table.stream(slot) == stream) {
+            updateStreamableBytes(slot, streamableBytes(streamState), streamState.hasFrame(),
+                                  streamState.windowSize());
+        }
     }
 
     @Override
@@ -91,115 +98,148 @@ public final class UniformStreamByteDistributor implements StreamByteDistributor
 
     @Override
     public boolean distribute(int maxBytes, Writer writer) throws Http2Exception {
-        final int size = queue.size();
+        final int size = queueSize;
         if (size == 0) {
             return totalStreamableBytes > 0;
         }
 
         final int chunkSize = max(minAllocationChunk, maxBytes / size);
 
-        State state = queue.pollFirst();
+        int slot = pollFirst();
         do {
-            state.enqueued = false;
-            if (state.windowNegative) {
+            int flags = table.getInt(flagsColumn, slot) & ~FLAG_ENQUEUED;
+            table.setInt(flagsColumn, slot, flags);
+            if ((flags & FLAG_WINDOW_NEGATIVE) != 0) {
                 continue;
             }
-            if (maxBytes == 0 && state.streamableBytes > 0) {
+            int streamableBytes = table.getInt(streamableBytesColumn, slot);
+            if (maxBytes == 0 && streamableBytes > 0) {
                 // Stop at the first state that can't send. Add this state back to the head of the queue. Note
                 // that empty frames at the head of the queue will always be written, assuming the stream window
                 // is not negative.
-                queue.addFirst(state);
-                state.enqueued = true;
+                addFirst(slot);
+                table.setInt(flagsColumn, slot, flags | FLAG_ENQUEUED);
                 break;
             }
 
             // Allocate as much data as we can for this stream.
-            int chunk = min(chunkSize, min(maxBytes, state.streamableBytes));
+            int chunk = min(chunkSize, min(maxBytes, streamableBytes));
             maxBytes -= chunk;
 
             // Write the allocated bytes and enqueue as necessary.
-            state.write(chunk, writer);
-        } while ((state = queue.pollFirst()) != null);
+            write(slot, chunk, writer);
+        } while ((slot = pollFirst()) != -1);
 
         return totalStreamableBytes > 0;
     }
 
-    private State state(Http2Stream stream) {
-        return requireNonNull(stream, "stream").getProperty(stateKey);
+    private void updateStreamableBytes(int slot, int newStreamableBytes, boolean hasFrame, int windowSize) {
+        assert hasFrame || newStreamableBytes == 0 :
+            "hasFrame: " + hasFrame + " newStreamableBytes: " + newStreamableBytes;
+
+        int delta = newStreamableBytes - table.getInt(streamableBytesColumn, slot);
+        if (delta != 0) {
+            table.setInt(streamableBytesColumn, slot, newStreamableBytes);
+            totalStreamableBytes += delta;
+        }
+        // In addition to only enqueuing state when they have frames we enforce the following restrictions:
+        // 1. If the window has gone negative. We never want to queue a state. However we also don't want to
+        //    Immediately remove the item if it is already queued because removal from deque is O(n). So
+        //    we allow it to stay queued and rely on the distribution loop to remove this state.
+        // 2. If the window is zero we only want to queue if we are not writing. If we are writing that means
+        //    we gave the state a chance to write zero length frames. We wait until updateStreamableBytes is
+        //    called again before this state is allowed to write.
+        int flags = table.getInt(flagsColumn, slot);
+        flags = windowSize < 0 ? flags | FLAG_WINDOW_NEGATIVE : flags & ~FLAG_WINDOW_NEGATIVE;
+        if (hasFrame && (windowSize > 0 || windowSize == 0 && (flags & FLAG_WRITING) == 0) &&
+                (flags & FLAG_ENQUEUED) == 0) {
+            flags |= FLAG_ENQUEUED;
+            addLast(slot);
+        }
+        table.setInt(flagsColumn, slot, flags);
     }
 
     /**
-     * The remote flow control state for a single stream.
+     * Write any allocated bytes for the given stream and updates the streamable bytes,
+     * assuming all of the bytes will be written.
      */
-    private final class State {
-        final Http2Stream stream;
-        int streamableBytes;
-        boolean windowNegative;
-        boolean enqueued;
-        boolean writing;
-
-        State(Http2Stream stream) {
-            this.stream = stream;
+    private void write(int slot, int numBytes, Writer writer) throws Http2Exception {
+        Http2Stream stream = table.stream(slot);
+        table.setInt(flagsColumn, slot, table.getInt(flagsColumn, slot) | FLAG_WRITING);
+        try {
+            // Write the allocated bytes.
+            writer.write(stream, numBytes);
+        } catch (Throwable t) {
+            throw connectionError(INTERNAL_ERROR, t, "byte distribution write error");
+        } finally {
+            // The stream may have been removed while writing, in which case its slot may belong to another stream.
+            if (table.stream(slot) == stream) {
+                table.setInt(flagsColumn, slot, table.getInt(flagsColumn, slot) & ~FLAG_WRITING);
+            }
         }
+    }
 
-        void updateStreamableBytes(int newStreamableBytes, boolean hasFrame, int windowSize) {
-            assert hasFrame || newStreamableBytes == 0 :
-                "hasFrame: " + hasFrame + " newStreamableBytes: " + newStreamableBytes;
+    private void close(int slot) {
+        // Remove this state from the queue.
+        int flags = table.getInt(flagsColumn, slot);
+        if ((flags & FLAG_ENQUEUED) != 0) {
+            table.setInt(flagsColumn, slot, flags & ~FLAG_ENQUEUED);
+            removeFromQueue(slot);
+        }
 
-            int delta = newStreamableBytes - streamableBytes;
-            if (delta != 0) {
-                streamableBytes = newStreamableBytes;
-                totalStreamableBytes += delta;
-            }
-            // In addition to only enqueuing state when they have frames we enforce the following restrictions:
-            // 1. If the window has gone negative. We never want to queue a state. However we also don't want to
-            //    Immediately remove the item if it is already queued because removal from deque is O(n). So
-            //    we allow it to stay queued and rely on the distribution loop to remove this state.
-            // 2. If the window is zero we only want to queue if we are not writing. If we are writing that means
-            //    we gave the state a chance to write zero length frames. We wait until updateStreamableBytes is
-            //    called again before this state is allowed to write.
-            windowNegative = windowSize < 0;
-            if (hasFrame && (windowSize > 0 || windowSize == 0 && !writing)) {
-                addToQueue();
-            }
+        // Clear the streamable bytes.
+        updateStreamableBytes(slot, 0, false, 0);
+    }
+
+    private void addLast(int slot) {
+        if (queueSize == queue.length) {
+            growQueue();
         }
+        queue[queueHead + queueSize++ & queue.length - 1] = slot;
+    }
 
-        /**
-         * Write any allocated bytes for the given stream and updates the streamable bytes,
-         * assuming all of the bytes will be written.
-         */
-        void write(int numBytes, Writer writer) throws Http2Exception {
-            writing = true;
-            try {
-                // Write the allocated bytes.
-                writer.write(stream, numBytes);
-            } catch (Throwable t) {
-                throw connectionError(INTERNAL_ERROR, t, "byte distribution write error");
-            } finally {
-                writing = false;
-            }
+    private void addFirst(int slot) {
+        if (queueSize == queue.length) {
+            growQueue();
         }
+        queueHead = queueHead - 1 & queue.length - 1;
+        queue[queueHead] = slot;
+        queueSize++;
+    }
 
-        void addToQueue() {
-            if (!enqueued) {
-                enqueued = true;
-                queue.addLast(this);
-            }
+    /**
+     * Removes and returns the first slot of the queue, or {@code -1} if the queue is empty.
+     */
+    private int pollFirst() {
+        if (queueSize == 0) {
+            return -1;
         }
+        int slot = queue[queueHead];
+        queueHead = queueHead + 1 & queue.length - 1;
+        queueSize--;
+        return slot;
+    }
 
-        void removeFromQueue() {
-            if (enqueued) {
-                enqueued = false;
-                queue.remove(this);
+    private void removeFromQueue(int slot) {
+        final int mask = queue.length - 1;
+        for (int i = 0; i < queueSize; i++) {
+            if (queue[queueHead + i & mask] == slot) {
+                // Shift the following slots to close the gap.
+                for (int j = i + 1; j < queueSize; j++) {
+                    queue[queueHead + j - 1 & mask] = queue[queueHead + j & mask];
+                }
+                queueSize--;
+                return;
             }
         }
+    }
 
-        void close() {
-            // Remove this state from the queue.
-            removeFromQueue();
-
-            // Clear the streamable bytes.
-            updateStreamableBytes(0, false, 0);
+    private void growQueue() {
+        int[] newQueue = new int[queue.length << 1];
+        for (int i = 0; i < queueSize; i++) {
+            newQueue[i] = queue[queueHead + i & queue.length - 1];
         }
+        queue = newQueue;
+        queueHead = 0;
     }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.util.concurrent.EventExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static io.netty5.buffer.api.DefaultBufferAllocators.onHeapAllocator;
+import static io.netty5.handler.codec.http2.AutoTuningHttp2LocalFlowController.BDP_PING_DATA;
+import static io.netty5.handler.codec.http2.AutoTuningHttp2LocalFlowController.DEFAULT_MAX_WINDOW_SIZE;
+import static io.netty5.handler.codec.http2.DefaultHttp2LocalFlowController.DEFAULT_WINDOW_UPDATE_RATIO;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.CONNECTION_STREAM_ID;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_WINDOW_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link AutoTuningHttp2LocalFlowController}.
+ */
+public class AutoTuningHttp2LocalFlowControllerTest {
+    private static final int STREAM_ID = 1;
+
+    private AutoTuningHttp2LocalFlowController controller;
+
+    @Mock
+    private Http2FrameWriter frameWriter;
+
+    @Mock
+    private ChannelHandlerContext ctx;
+
+    @Mock
+    private EventExecutor executor;
+
+    @Mock
+    private Http2ConnectionEncoder encoder;
+
+    @Mock
+    private Http2FrameReader frameReader;
+
+    @Mock
+    private Http2FrameListener listener;
+
+    private DefaultHttp2Connection connection;
+
+    @BeforeEach
+    public void setup() throws Http2Exception {
+        MockitoAnnotations.initMocks(this);
+        when(ctx.executor()).thenReturn(executor);
+        when(executor.inEventLoop()).thenReturn(true);
+
+        initController(DEFAULT_MAX_WINDOW_SIZE);
+    }
+
+    @Test
+    public void pingIsSentWhileDataIsReceived() throws Http2Exception {
+        receiveFlowControlledFrame(10);
+        receiveFlowControlledFrame(10);
+        verify(frameWriter).writePing(eq(ctx), eq(false), eq(BDP_PING_DATA));
+
+        assertFalse(controller.receivePingAck(BDP_PING_DATA + 1));
+        assertTrue(controller.receivePingAck(BDP_PING_DATA));
+        // No PING is outstanding anymore.
+        assertFalse(controller.receivePingAck(BDP_PING_DATA));
+        assertEquals(20, controller.bandwidthDelayProduct());
+        assertTrue(controller.roundTripTimeNanos() > 0);
+
+        receiveFlowControlledFrame(10);
+        verify(frameWriter, times(2)).writePing(eq(ctx), eq(false), eq(BDP_PING_DATA));
+    }
+
+    @Test
+    public void pingAckWithSamePayloadIsOnlyConsumedWhileBdpPingIsOutstanding() throws Exception {
+        when(encoder.frameWriter()).thenReturn(frameWriter);
+        DefaultHttp2ConnectionDecoder decoder = new DefaultHttp2ConnectionDecoder(connection, encoder, frameReader);
+        decoder.frameListener(listener);
+        ArgumentCaptor<Http2FrameListener> internalListener = ArgumentCaptor.forClass(Http2FrameListener.class);
+        doNothing().when(frameReader).readFrame(eq(ctx), any(Buffer.class), internalListener.capture());
+        try (Buffer empty = onHeapAllocator().allocate(0)) {
+            decoder.decodeFrame(ctx, empty);
+        }
+        Http2FrameListener frameListener = internalListener.getValue();
+        frameListener.onSettingsRead(ctx, new Http2Settings());
+
+        // The user sent a PING with the payload of the BDP PING while none of ours is outstanding.
+        frameListener.onPingAckRead(ctx, BDP_PING_DATA);
+        verify(listener).onPingAckRead(eq(ctx), eq(BDP_PING_DATA));
+
+        receiveFlowControlledFrame(10);
+        frameListener.onPingAckRead(ctx, BDP_PING_DATA);
+        verify(listener).onPingAckRead(eq(ctx), anyLong());
+        frameListener.onPingAckRead(ctx, BDP_PING_DATA);
+        verify(listener, times(2)).onPingAckRead(eq(ctx), eq(BDP_PING_DATA));
+    }
+
+    @Test
+    public void windowShouldNotGrowIfNotLimitedByIt() throws Http2Exception {
+        receiveFlowControlledFrame(1000);
+        assertTrue(controller.receivePingAck(BDP_PING_DATA));
+        assertEquals(DEFAULT_WINDOW_SIZE, controller.windowSize());
+        assertEquals(DEFAULT_WINDOW_SIZE, initialWindowSize(CONNECTION_STREAM_ID));
+    }
+
+    @Test
+    public void windowShouldGrowToTwiceTheBdp() throws Http2Exception {
+        receiveFlowControlledFrame(50000);
+        assertTrue(controller.receivePingAck(BDP_PING_DATA));
+        assertEquals(100000, controller.windowSize());
+        assertEquals(100000, initialWindowSize(CONNECTION_STREAM_ID));
+        assertEquals(DEFAULT_WINDOW_SIZE, initialWindowSize(STREAM_ID));
+
+        // The stream window is expanded once the stream receives data.
+        receiveFlowControlledFrame(10);
+        assertEquals(100000, initialWindowSize(STREAM_ID));
+
+        // Consuming the bytes replenishes the windows to the new size.
+        assertTrue(controller.consumeBytes(stream(STREAM_ID), 50010));
+        verify(frameWriter).writeWindowUpdate(eq(ctx), eq(STREAM_ID), eq(100000 - DEFAULT_WINDOW_SIZE + 50010));
+        verify(frameWriter).writeWindowUpdate(eq(ctx), eq(CONNECTION_STREAM_ID),
+                eq(100000 - DEFAULT_WINDOW_SIZE + 50010));
+    }
+
+    @Test
+    public void windowShouldNotGrowBeyondMaximum() throws Http2Exception {
+        initController(80000);
+        receiveFlowControlledFrame(50000);
+        assertTrue(controller.receivePingAck(BDP_PING_DATA));
+        assertEquals(80000, controller.windowSize());
+        assertEquals(80000, initialWindowSize(CONNECTION_STREAM_ID));
+    }
+
+    @Test
+    public void shrinkWindowSize() throws Http2Exception {
+        receiveFlowControlledFrame(50000);
+        assertTrue(controller.receivePingAck(BDP_PING_DATA));
+        receiveFlowControlledFrame(10);
+        assertEquals(100000, initialWindowSize(STREAM_ID));
+
+        controller.shrinkWindowSize();
+        assertEquals(DEFAULT_WINDOW_SIZE, controller.windowSize());
+        assertEquals(DEFAULT_WINDOW_SIZE, initialWindowSize(CONNECTION_STREAM_ID));
+        assertEquals(DEFAULT_WINDOW_SIZE, initialWindowSize(STREAM_ID));
+    }
+
+    private void receiveFlowControlledFrame(int dataSize) throws Http2Exception {
+        try (Buffer buf = onHeapAllocator().allocate(dataSize)) {
+            buf.skipWritableBytes(dataSize);
+            controller.receiveFlowControlledFrame(stream(STREAM_ID), buf, 0, false);
+        }
+    }
+
+    private int initialWindowSize(int streamId) {
+        return controller.initialWindowSize(stream(streamId));
+    }
+
+    private Http2Stream stream(int streamId) {
+        return connection.stream(streamId);
+    }
+
+    private void initController(int maxWindowSize) throws Http2Exception {
+        connection = new DefaultHttp2Connection(false);
+        controller = new AutoTuningHttp2LocalFlowController(connection, DEFAULT_WINDOW_UPDATE_RATIO, false,
+                DEFAULT_WINDOW_SIZE, maxWindowSize).frameWriter(frameWriter);
+        connection.local().flowController(controller);
+        connection.local().createStream(STREAM_ID, false);
+        controller.channelHandlerContext(ctx);
+    }
+}
@@ -42,6 +42,7 @@ import static io.netty5.handler.codec.http2.Http2Stream.State.IDLE;
 import static io.netty5.handler.codec.http2.Http2Stream.State.OPEN;
 import static io.netty5.handler.codec.http2.Http2Stream.State.RESERVED_REMOTE;
 import static io.netty5.handler.codec.http2.Http2TestUtil.empty;
+import static io.netty5.util.CharsetUtil.US_ASCII;
 import static io.netty5.util.CharsetUtil.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.instanceOf;
@@ -709,6 +710,80 @@ public class DefaultHttp2ConnectionDecoderTest {
         verify(listener).onPingAckRead(eq(ctx), eq(0L));
     }
 
+    @Test
+    public void pingAckConsumedByFlowControllerShouldNotNotifyListener() throws Exception {
+        when(localFlow.receivePingAck(1L)).thenReturn(true);
+        decode().onPingAckRead(ctx, 1L);
+        verify(listener, never()).onPingAckRead(eq(ctx), any(long.class));
+    }
+
+    @Test
+    public void priorityHeaderShouldUpdatePriority() throws Exception {
+        when(connection.isServer()).thenReturn(true);
+        Http2Headers headers = new DefaultHttp2Headers().add(Http2CodecUtil.PRIORITY_HEADER, "u=1, i");
+        decode().onHeadersRead(ctx, STREAM_ID, headers, 0, false);
+        verify(remoteFlow).updatePriority(eq(STREAM_ID), eq(1), eq(true));
+        verify(listener).onHeadersRead(eq(ctx), eq(STREAM_ID), eq(headers), eq(0),
+                eq(DEFAULT_PRIORITY_WEIGHT), eq(false), eq(0), eq(false));
+    }
+
+    @Test
+    public void priorityHeaderShouldBeIgnoredByClient() throws Exception {
+        Http2Headers headers = new DefaultHttp2Headers().add(Http2CodecUtil.PRIORITY_HEADER, "u=1, i");
+        decode().onHeadersRead(ctx, STREAM_ID, headers, 0, false);
+        verify(remoteFlow, never()).updatePriority(anyInt(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    public void priorityUpdateShouldUpdatePriority() throws Exception {
+        when(connection.isServer()).thenReturn(true);
+        try (Buffer payload = priorityUpdatePayload(STREAM_ID, "u=0")) {
+            decode().onUnknownFrame(ctx, Http2FrameTypes.PRIORITY_UPDATE, 0, new Http2Flags(), payload);
+            verify(remoteFlow).updatePriority(eq(STREAM_ID), eq(0), eq(false));
+            verify(listener).onUnknownFrame(eq(ctx), eq(Http2FrameTypes.PRIORITY_UPDATE), eq(0),
+                    any(Http2Flags.class), eq(payload));
+            assertEquals(4 + 3, payload.readableBytes());
+        }
+    }
+
+    @Test
+    public void priorityUpdateForUnknownStreamShouldBeIgnored() throws Exception {
+        when(connection.isServer()).thenReturn(true);
+        try (Buffer payload = priorityUpdatePayload(STREAM_ID + 2, "u=0")) {
+            decode().onUnknownFrame(ctx, Http2FrameTypes.PRIORITY_UPDATE, 0, new Http2Flags(), payload);
+            verify(remoteFlow, never()).updatePriority(anyInt(), anyInt(), anyBoolean());
+        }
+    }
+
+    @Test
+    public void priorityUpdateOnStreamShouldThrow() throws Exception {
+        when(connection.isServer()).thenReturn(true);
+        try (Buffer payload = priorityUpdatePayload(STREAM_ID, "u=0")) {
+            Http2Exception e = assertThrows(Http2Exception.class, () -> decode().onUnknownFrame(
+                    ctx, Http2FrameTypes.PRIORITY_UPDATE, STREAM_ID, new Http2Flags(), payload));
+            assertEquals(PROTOCOL_ERROR, e.error());
+        }
+    }
+
+    @Test
+    public void priorityUpdateTooSmallShouldThrow() throws Exception {
+        when(connection.isServer()).thenReturn(true);
+        try (Buffer payload = onHeapAllocator().allocate(2).writeShort((short) 1)) {
+            Http2Exception e = assertThrows(Http2Exception.class, () -> decode().onUnknownFrame(
+                    ctx, Http2FrameTypes.PRIORITY_UPDATE, 0, new Http2Flags(), payload));
+            assertEquals(Http2Error.FRAME_SIZE_ERROR, e.error());
+        }
+    }
+
+    @Test
+    public void priorityUpdateReceivedByClientShouldThrow() throws Exception {
+        try (Buffer payload = priorityUpdatePayload(STREAM_ID, "u=0")) {
+            Http2Exception e = assertThrows(Http2Exception.class, () -> decode().onUnknownFrame(
+                    ctx, Http2FrameTypes.PRIORITY_UPDATE, 0, new Http2Flags(), payload));
+            assertEquals(PROTOCOL_ERROR, e.error());
+        }
+    }
+
     @Test
     public void pingReadShouldReplyWithAck() throws Exception {
         decode().onPingRead(ctx, 0L);
@@ -865,6 +940,11 @@ public class DefaultHttp2ConnectionDecoderTest {
         }
     }
 
+    private static Buffer priorityUpdatePayload(int streamId, String value) {
+        Buffer payload = onHeapAllocator().allocate(4 + value.length()).writeInt(streamId);
+        return payload.writeCharSequence(value, US_ASCII);
+    }
+
     private static Buffer dummyData() {
         // The buffer is purposely 8 bytes so it will even work for a ping frame.
         return onHeapAllocator().copyOf("abcdefgh", UTF_8);
@@ -50,6 +50,8 @@ public class DefaultHttp2FrameWriterTest {
 
     private Buffer expectedOutbound;
 
+    private int writes;
+
     private Http2HeadersEncoder http2HeadersEncoder;
 
     @Mock
@@ -76,6 +78,7 @@ public class DefaultHttp2FrameWriterTest {
 
         Answer<Object> answer = var1 -> {
             Object msg = var1.getArgument(0);
+            writes++;
             if (msg instanceof Buffer) {
                 outbound.writeBytes((Buffer) msg);
             }
@@ -326,6 +329,42 @@ public class DefaultHttp2FrameWriterTest {
         assertEquals(expectedOutbound, outbound);
     }
 
+    @Test
+    public void writeWithWriteArena() throws Exception {
+        byte[] expected = writeMixedFrames(frameWriter);
+        int expectedWrites = writes;
+
+        writes = 0;
+        // Use a small arena so that it is exhausted and replaced while writing.
+        try (DefaultHttp2FrameWriter arenaWriter = new DefaultHttp2FrameWriter(new DefaultHttp2HeadersEncoder(
+                Http2HeadersEncoder.NEVER_SENSITIVE, new HpackEncoder(false, 16, 0)), 64)) {
+            assertArrayEquals(expected, writeMixedFrames(arenaWriter));
+        }
+        // The small DATA frame and the HEADERS frame are each written as a single buffer.
+        assertEquals(expectedWrites - 2, writes);
+    }
+
+    private byte[] writeMixedFrames(DefaultHttp2FrameWriter writer) {
+        byte[] smallData = new byte[100];
+        Arrays.fill(smallData, (byte) 1);
+        byte[] largeData = new byte[DefaultHttp2FrameWriter.MAX_COALESCED_PAYLOAD_LENGTH + 1];
+        Arrays.fill(largeData, (byte) 2);
+
+        writer.writeHeaders(ctx, 1, new DefaultHttp2Headers().method("GET").path("/"), 0, false);
+        writer.writeData(ctx, 1, bb(smallData), 0, false);
+        writer.writeData(ctx, 1, bb(largeData), 0, false);
+        writer.writeData(ctx, 3, bb(smallData), 10, true);
+        writer.writeWindowUpdate(ctx, 0, 1024);
+        writer.writeRstStream(ctx, 5, 8);
+        writer.writePing(ctx, true, 42);
+        writer.writeSettingsAck(ctx);
+
+        byte[] bytes = new byte[outbound.readableBytes()];
+        outbound.readBytes(bytes, 0, bytes.length);
+        outbound.resetOffsets();
+        return bytes;
+    }
+
     private byte[] headerPayload(int streamId, Http2Headers headers, byte padding) throws Http2Exception, IOException {
         if (padding == 0) {
             return headerPayload(streamId, headers);
@@ -28,6 +28,8 @@ import static io.netty5.handler.codec.http2.Http2HeadersEncoder.NEVER_SENSITIVE;
 import static io.netty5.handler.codec.http2.Http2TestUtil.newTestEncoder;
 import static io.netty5.handler.codec.http2.Http2TestUtil.randomBytes;
 import static io.netty5.util.CharsetUtil.UTF_8;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -128,6 +130,28 @@ public class DefaultHttp2HeadersDecoderTest {
         }
     }
 
+    @Test
+    public void readOnlyDuplicatePseudoHeadersMustFailValidation() throws Exception {
+        try (Buffer buf = encode(b(":authority"), b("abc"), b(":authority"), b("def"))) {
+            final DefaultHttp2HeadersDecoder decoder =
+                    new DefaultHttp2HeadersDecoder(true, Http2CodecUtil.DEFAULT_HEADER_LIST_SIZE, true);
+            Http2Exception e = assertThrows(Http2Exception.class, () -> decoder.decodeHeaders(1, buf));
+            assertEquals(Http2Error.PROTOCOL_ERROR, e.error());
+        }
+    }
+
+    @Test
+    public void decodeReadOnlyShouldSucceed() throws Exception {
+        decoder = new DefaultHttp2HeadersDecoder(true, Http2CodecUtil.DEFAULT_HEADER_LIST_SIZE, true);
+        try (Buffer buf = encode(b(":method"), b("GET"), b("akey"), b("avalue"))) {
+            Http2Headers headers = decoder.decodeHeaders(0, buf);
+            assertThat(headers, instanceOf(ReadOnlyHttp2Headers.class));
+            assertEquals(2, headers.size());
+            assertEquals("GET", headers.method().toString());
+            assertEquals("avalue", headers.get(new AsciiString("akey")).toString());
+        }
+    }
+
     private static byte[] b(String string) {
         return string.getBytes(UTF_8);
     }
@@ -808,6 +808,33 @@ public abstract class DefaultHttp2RemoteFlowControllerTest {
         assertTrue(controller.isWritable(stream(STREAM_D)));
     }
 
+    @Test
+    public void streamRemovedWhileWritingDoesNotAffectStreamReusingItsSlot() throws Exception {
+        final Http2RemoteFlowController.FlowControlled flowControlled =
+                mock(Http2RemoteFlowController.FlowControlled.class);
+        final Http2Stream stream = stream(STREAM_A);
+        final int slot = StreamStateTable.of(connection).slot(stream);
+        final Http2Stream[] next = new Http2Stream[1];
+        when(flowControlled.size()).thenReturn(100);
+        doAnswer((Answer<Void>) in -> {
+            // Write half of the bytes, then remove the stream and create another one that is assigned its slot.
+            when(flowControlled.size()).thenReturn(50);
+            stream.close();
+            next[0] = connection.local().createStream(9, false);
+            return null;
+        }).when(flowControlled).write(any(ChannelHandlerContext.class), anyInt());
+
+        controller.addFlowControlled(stream, flowControlled);
+        controller.writePendingBytes();
+
+        assertEquals(slot, StreamStateTable.of(connection).slot(next[0]));
+        verify(flowControlled).error(any(ChannelHandlerContext.class), any(Throwable.class));
+        assertEquals(DEFAULT_WINDOW_SIZE - 50, window(CONNECTION_STREAM_ID));
+        assertEquals(DEFAULT_WINDOW_SIZE, controller.windowSize(next[0]));
+        assertFalse(controller.hasFlowControlled(next[0]));
+        assertTrue(controller.isWritable(next[0]));
+    }
+
     @Test
     public void nonWritableChannelDoesNotAttemptToWrite() throws Exception {
         // Start the channel as not writable and exercise the public methods of the flow controller
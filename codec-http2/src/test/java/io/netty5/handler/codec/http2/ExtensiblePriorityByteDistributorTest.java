@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.handler.codec.http2.Http2TestUtil.TestStreamByteDistributorStreamState;
+import io.netty5.util.collection.IntObjectHashMap;
+import io.netty5.util.collection.IntObjectMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+
+import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_MIN_ALLOCATION_CHUNK;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_URGENCY;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.MAX_URGENCY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.same;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+/**
+ * Tests for {@link ExtensiblePriorityByteDistributor}.
+ */
+public class ExtensiblePriorityByteDistributorTest {
+    private static final int CHUNK_SIZE = DEFAULT_MIN_ALLOCATION_CHUNK;
+
+    private static final int STREAM_A = 1;
+    private static final int STREAM_B = 3;
+    private static final int STREAM_C = 5;
+    private static final int STREAM_D = 7;
+
+    private Http2Connection connection;
+    private ExtensiblePriorityByteDistributor distributor;
+    private IntObjectMap<TestStreamByteDistributorStreamState> stateMap;
+
+    @Mock
+    private StreamByteDistributor.Writer writer;
+
+    @BeforeEach
+    public void setup() throws Http2Exception {
+        MockitoAnnotations.initMocks(this);
+
+        stateMap = new IntObjectHashMap<>();
+        connection = new DefaultHttp2Connection(false);
+        distributor = new ExtensiblePriorityByteDistributor(connection);
+
+        // Assume we always write all the allocated bytes.
+        resetWriter();
+
+        connection.local().createStream(STREAM_A, false);
+        connection.local().createStream(STREAM_B, false);
+        connection.local().createStream(STREAM_C, false);
+        connection.local().createStream(STREAM_D, false);
+    }
+
+    private Answer<Void> writeAnswer() {
+        return in -> {
+            Http2Stream stream = in.getArgument(0);
+            int numBytes = in.getArgument(1);
+            TestStreamByteDistributorStreamState state = stateMap.get(stream.id());
+            state.pendingBytes -= numBytes;
+            state.hasFrame = state.pendingBytes > 0;
+            distributor.updateStreamableBytes(state);
+            return null;
+        };
+    }
+
+    private void resetWriter() {
+        reset(writer);
+        doAnswer(writeAnswer()).when(writer).write(any(Http2Stream.class), anyInt());
+    }
+
+    @Test
+    public void bytesUnassignedAfterProcessing() throws Http2Exception {
+        initState(STREAM_A, 1, true);
+        initState(STREAM_B, 2, true);
+        initState(STREAM_C, 3, true);
+        initState(STREAM_D, 4, true);
+
+        assertFalse(write(10));
+        InOrder inOrder = inOrder(writer);
+        verifyWrite(inOrder, STREAM_A, 1);
+        verifyWrite(inOrder, STREAM_B, 2);
+        verifyWrite(inOrder, STREAM_C, 3);
+        verifyWrite(inOrder, STREAM_D, 4);
+        verifyNoMoreInteractions(writer);
+
+        assertFalse(write(10));
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void connectionErrorForWriterException() throws Http2Exception {
+        initState(STREAM_A, 1, true);
+
+        Exception fakeException = new RuntimeException("Fake exception");
+        doThrow(fakeException).when(writer).write(same(stream(STREAM_A)), eq(1));
+
+        Http2Exception e = assertThrows(Http2Exception.class, () -> write(10));
+        assertFalse(Http2Exception.isStreamError(e));
+        assertEquals(Http2Error.INTERNAL_ERROR, e.error());
+        assertSame(fakeException, e.getCause());
+    }
+
+    @Test
+    public void moreUrgentStreamIsWrittenFirst() throws Http2Exception {
+        initState(STREAM_A, CHUNK_SIZE, true);
+        initState(STREAM_B, CHUNK_SIZE, true);
+        initState(STREAM_C, CHUNK_SIZE, true);
+        distributor.updatePriority(STREAM_B, 0, false);
+        distributor.updatePriority(STREAM_C, DEFAULT_URGENCY + 1, false);
+
+        assertTrue(write(2 * CHUNK_SIZE));
+        InOrder inOrder = inOrder(writer);
+        verifyWrite(inOrder, STREAM_B, CHUNK_SIZE);
+        verifyWrite(inOrder, STREAM_A, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+
+        resetWriter();
+        assertFalse(write(CHUNK_SIZE));
+        verifyWrite(STREAM_C, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void nonIncrementalStreamIsCompletedBeforeNextStream() throws Http2Exception {
+        initState(STREAM_A, 3 * CHUNK_SIZE, true);
+        initState(STREAM_B, 3 * CHUNK_SIZE, true);
+
+        assertTrue(write(2 * CHUNK_SIZE));
+        verifyWrite(STREAM_A, 2 * CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+
+        resetWriter();
+        assertTrue(write(2 * CHUNK_SIZE));
+        InOrder inOrder = inOrder(writer);
+        verifyWrite(inOrder, STREAM_A, CHUNK_SIZE);
+        verifyWrite(inOrder, STREAM_B, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void nonIncrementalStreamsAreWrittenInOrderOfStreamId() throws Http2Exception {
+        initState(STREAM_D, CHUNK_SIZE, true);
+        initState(STREAM_B, CHUNK_SIZE, true);
+        initState(STREAM_C, CHUNK_SIZE, true);
+        initState(STREAM_A, CHUNK_SIZE, true);
+
+        assertFalse(write(4 * CHUNK_SIZE));
+        InOrder inOrder = inOrder(writer);
+        verifyWrite(inOrder, STREAM_A, CHUNK_SIZE);
+        verifyWrite(inOrder, STREAM_B, CHUNK_SIZE);
+        verifyWrite(inOrder, STREAM_C, CHUNK_SIZE);
+        verifyWrite(inOrder, STREAM_D, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void nonIncrementalStreamsAreQueuedInConstantTime() throws Http2Exception {
+        final int streams = 10000;
+        for (int i = 0; i < streams; i++) {
+            int streamId = STREAM_D + 2 * (i + 1);
+            connection.local().createStream(streamId, false);
+            initState(streamId, 2 * CHUNK_SIZE, true);
+        }
+
+        // Every write leaves the head stream with bytes, so it is put back before all other streams. Every fourth
+        // write completes a stream.
+        for (int i = 0; i < 100; i++) {
+            assertTrue(write(CHUNK_SIZE / 2));
+        }
+        assertEquals(0, distributor.insertSteps);
+
+        // A stream with an ID between those of queued streams still searches its position from the tail.
+        initState(STREAM_A, CHUNK_SIZE, true);
+        assertEquals(0, distributor.insertSteps);
+        initState(STREAM_B, CHUNK_SIZE, true);
+        assertEquals(streams - 25, distributor.insertSteps);
+    }
+
+    @Test
+    public void incrementalStreamsShareBytes() throws Http2Exception {
+        distributor.updatePriority(STREAM_A, DEFAULT_URGENCY, true);
+        distributor.updatePriority(STREAM_B, DEFAULT_URGENCY, true);
+        initState(STREAM_A, 4 * CHUNK_SIZE, true);
+        initState(STREAM_B, 4 * CHUNK_SIZE, true);
+
+        assertTrue(write(4 * CHUNK_SIZE));
+        verifyWrite(STREAM_A, 2 * CHUNK_SIZE);
+        verifyWrite(STREAM_B, 2 * CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void minChunkShouldBeAllocatedPerIncrementalStream() throws Http2Exception {
+        distributor.updatePriority(STREAM_A, DEFAULT_URGENCY, true);
+        distributor.updatePriority(STREAM_B, DEFAULT_URGENCY, true);
+        distributor.updatePriority(STREAM_C, DEFAULT_URGENCY, true);
+        initState(STREAM_A, CHUNK_SIZE, true);
+        initState(STREAM_B, CHUNK_SIZE, true);
+        initState(STREAM_C, CHUNK_SIZE, true);
+
+        assertTrue(write(2 * CHUNK_SIZE));
+        InOrder inOrder = inOrder(writer);
+        verifyWrite(inOrder, STREAM_A, CHUNK_SIZE);
+        verifyWrite(inOrder, STREAM_B, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+
+        resetWriter();
+        assertFalse(write(CHUNK_SIZE));
+        verifyWrite(STREAM_C, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void nonIncrementalStreamIsWrittenBeforeIncrementalStreamOfSameUrgency() throws Http2Exception {
+        distributor.updatePriority(STREAM_A, DEFAULT_URGENCY, true);
+        initState(STREAM_A, CHUNK_SIZE, true);
+        initState(STREAM_B, CHUNK_SIZE, true);
+
+        assertTrue(write(CHUNK_SIZE));
+        verifyWrite(STREAM_B, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void priorityUpdateOfQueuedStreamMovesIt() throws Http2Exception {
+        initState(STREAM_A, CHUNK_SIZE, true);
+        initState(STREAM_B, CHUNK_SIZE, true);
+        distributor.updatePriority(STREAM_A, MAX_URGENCY, false);
+
+        assertTrue(write(CHUNK_SIZE));
+        verifyWrite(STREAM_B, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void closedStreamIsNotWritten() throws Http2Exception {
+        initState(STREAM_A, CHUNK_SIZE, true);
+        initState(STREAM_B, CHUNK_SIZE, true);
+        stream(STREAM_A).close();
+
+        assertFalse(write(2 * CHUNK_SIZE));
+        verifyWrite(STREAM_B, CHUNK_SIZE);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void emptyFrameAtHeadIsWritten() throws Http2Exception {
+        initState(STREAM_A, 10, true);
+        initState(STREAM_B, 0, true);
+        initState(STREAM_C, 0, true);
+        initState(STREAM_D, 10, true);
+
+        assertTrue(write(10));
+        verifyWrite(STREAM_A, 10);
+        verifyWrite(STREAM_B, 0);
+        verifyWrite(STREAM_C, 0);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void streamWindowExhaustedDoesNotWrite() throws Http2Exception {
+        initState(STREAM_A, 0, true, false);
+        initState(STREAM_B, 0, true);
+        initState(STREAM_C, 0, true);
+        initState(STREAM_D, 0, true, false);
+
+        assertFalse(write(10));
+        verifyWrite(STREAM_B, 0);
+        verifyWrite(STREAM_C, 0);
+        verifyNoMoreInteractions(writer);
+    }
+
+    @Test
+    public void invalidUrgencyThrows() {
+        assertThrows(IllegalArgumentException.class, () -> distributor.updatePriority(STREAM_A, 8, false));
+        assertThrows(IllegalArgumentException.class, () -> distributor.updatePriority(STREAM_A, -1, false));
+    }
+
+    private Http2Stream stream(int streamId) {
+        return connection.stream(streamId);
+    }
+
+    private void initState(final int streamId, final long streamableBytes, final boolean hasFrame) {
+        initState(streamId, streamableBytes, hasFrame, hasFrame);
+    }
+
+    private void initState(final int streamId, final long pendingBytes, final boolean hasFrame,
+            final boolean isWriteAllowed) {
+        final Http2Stream stream = stream(streamId);
+        TestStreamByteDistributorStreamState state = new TestStreamByteDistributorStreamState(stream, pendingBytes,
+                hasFrame, isWriteAllowed);
+        stateMap.put(streamId, state);
+        distributor.updateStreamableBytes(state);
+    }
+
+    private boolean write(int numBytes) throws Http2Exception {
+        return distributor.distribute(numBytes, writer);
+    }
+
+    private void verifyWrite(int streamId, int numBytes) {
+        verify(writer).write(same(stream(streamId)), eq(numBytes));
+    }
+
+    private void verifyWrite(InOrder inOrder, int streamId, int numBytes) {
+        inOrder.verify(writer).write(same(stream(streamId)), eq(numBytes));
+    }
+}
@@ -32,6 +32,7 @@
 package io.netty5.handler.codec.http2;
 
 import io.netty5.buffer.api.Buffer;
+import io.netty5.util.AsciiString;
 import io.netty5.util.internal.StringUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -43,11 +44,13 @@ import static io.netty5.handler.codec.http2.Http2HeadersEncoder.NEVER_SENSITIVE;
 import static io.netty5.util.AsciiString.EMPTY_STRING;
 import static io.netty5.util.AsciiString.of;
 import static java.lang.Integer.MAX_VALUE;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -704,4 +707,55 @@ public class HpackDecoderTest {
             assertEquals("bar", decoded.get("foo").toString());
         }
     }
+    @Test
+    public void decodeReadOnlyMatchesDecode() throws Exception {
+        HpackDecoder readOnlyDecoder = new HpackDecoder(8192);
+        HpackEncoder hpackEncoder = new HpackEncoder(true);
+        Http2Headers toEncode = new DefaultHttp2Headers()
+                .method("POST").path("/grpc.Service/Method").scheme("https").authority("example.com")
+                .add("content-type", "application/grpc")
+                .add("te", "trailers")
+                .add("grpc-timeout", "1S")
+                .add("x-huffman", new String(new char[600]).replace('\0', 'a'));
+        // The second block refers to the header fields added to the dynamic table by the first one.
+        for (int i = 0; i < 2; i++) {
+            try (Buffer in = onHeapAllocator().allocate(256)) {
+                hpackEncoder.encodeHeaders(1, in, toEncode, NEVER_SENSITIVE);
+                Http2Headers expected = new DefaultHttp2Headers();
+                try (Buffer copy = in.copy()) {
+                    hpackDecoder.decode(1, copy, expected, true);
+                }
+
+                Http2Headers decoded = readOnlyDecoder.decodeReadOnly(1, in, 4, true);
+                assertThat(decoded, instanceOf(ReadOnlyHttp2Headers.class));
+                assertEquals(0, in.readableBytes());
+                assertEquals(expected.size(), decoded.size());
+                assertEquals(expected.toString().replace(expected.getClass().getSimpleName(), ""),
+                        decoded.toString().replace(decoded.getClass().getSimpleName(), ""));
+                assertEquals("/grpc.Service/Method", decoded.path().toString());
+                assertEquals("application/grpc", decoded.get("content-type").toString());
+            }
+        }
+
+        // Header fields in the dynamic table must not be views of a header block.
+        for (int i = 0; i < readOnlyDecoder.length(); i++) {
+            HpackHeaderField field = readOnlyDecoder.getHeaderField(i);
+            assertTrue(((AsciiString) field.name).isEntireArrayUsed());
+            assertTrue(((AsciiString) field.value).isEntireArrayUsed());
+        }
+    }
+
+    @Test
+    public void decodeReadOnlyPseudoHeaderAfterRegularHeader() throws Exception {
+        try (Buffer in = onHeapAllocator().allocate(200)) {
+            HpackEncoder hpackEncoder = new HpackEncoder(true);
+
+            Http2Headers toEncode = new InOrderHttp2Headers();
+            toEncode.add("test", "1");
+            toEncode.add(":method", "GET");
+            hpackEncoder.encodeHeaders(1, in, toEncode, NEVER_SENSITIVE);
+
+            assertThrows(Http2Exception.StreamException.class, () -> hpackDecoder.decodeReadOnly(1, in, 4, true));
+        }
+    }
 }
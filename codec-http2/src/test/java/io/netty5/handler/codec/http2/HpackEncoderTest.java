@@ -82,6 +82,39 @@ public class HpackEncoderTest {
         }
     }
 
+    @Test
+    public void testEncodedHeaderCacheMatchesUncachedEncoding() throws Http2Exception {
+        HpackEncoder uncachedEncoder = new HpackEncoder(false, 16, HpackEncoder.HUFF_CODE_THRESHOLD, 0);
+        try (Buffer cached = onHeapAllocator().allocate(256);
+             Buffer uncached = onHeapAllocator().allocate(256)) {
+            long[] tableSizes = { 256, 0, 64, 4096 };
+            for (int round = 0; round < 64; round++) {
+                if (round % 16 == 0) {
+                    long tableSize = tableSizes[round / 16];
+                    hpackEncoder.setMaxHeaderTableSize(cached, tableSize);
+                    uncachedEncoder.setMaxHeaderTableSize(uncached, tableSize);
+                }
+                // The varying value evicts the other fields from the small dynamic tables every few rounds.
+                Http2Headers headers = new DefaultHttp2Headers()
+                        .status("200")
+                        .add("content-type", "application/json; charset=utf-8")
+                        .add("server", "netty")
+                        .add("cache-control", "private, max-age=0, no-cache")
+                        .add("x-request-id", "request-" + round % 5)
+                        .add("x-large", new String(new char[100]).replace('\0', 'x'));
+                hpackEncoder.encodeHeaders(3, cached, headers, Http2HeadersEncoder.NEVER_SENSITIVE);
+                uncachedEncoder.encodeHeaders(3, uncached, headers, Http2HeadersEncoder.NEVER_SENSITIVE);
+                assertEquals(uncached, cached);
+
+                Http2Headers decoded = new DefaultHttp2Headers();
+                hpackDecoder.decode(3, cached, decoded, true);
+                assertEquals(headers, decoded);
+                cached.resetOffsets();
+                uncached.resetOffsets();
+            }
+        }
+    }
+
     @Test
     public void testSetMaxHeaderListSizeEnforcedAfterSet() throws Http2Exception {
         try (Buffer buf = onHeapAllocator().allocate(256)) {
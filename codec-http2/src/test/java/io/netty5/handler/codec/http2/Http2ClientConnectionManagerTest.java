@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelInitializer;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.local.LocalAddress;
+import io.netty5.channel.local.LocalChannel;
+import io.netty5.channel.local.LocalHandler;
+import io.netty5.channel.local.LocalServerChannel;
+import io.netty5.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static io.netty5.handler.codec.http2.Http2FrameCodecBuilder.forClient;
+import static io.netty5.handler.codec.http2.Http2FrameCodecBuilder.forServer;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(value = 30, unit = TimeUnit.SECONDS)
+public class Http2ClientConnectionManagerTest {
+    private static final ChannelHandler STREAM_HANDLER = new ChannelHandler() {
+        @Override
+        public boolean isSharable() {
+            return true;
+        }
+    };
+
+    private EventLoopGroup group;
+    private LocalAddress address;
+    private Channel serverChannel;
+    private final Queue<Channel> serverConnections = new ConcurrentLinkedQueue<>();
+    private Http2ClientConnectionManager manager;
+
+    @BeforeEach
+    public void setUp() {
+        group = new MultithreadEventLoopGroup(2, LocalHandler.newFactory());
+        address = new LocalAddress(getClass());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (manager != null) {
+            manager.close().asStage().sync();
+        }
+        if (serverChannel != null) {
+            serverChannel.close().asStage().sync();
+        }
+        group.shutdownGracefully(0, 3, TimeUnit.SECONDS);
+    }
+
+    private void startServer(long maxConcurrentStreams) throws Exception {
+        serverChannel = new ServerBootstrap()
+                .channel(LocalServerChannel.class)
+                .group(group)
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        serverConnections.add(ch);
+                        ch.pipeline().addLast(forServer().initialSettings(
+                                new Http2Settings().maxConcurrentStreams(maxConcurrentStreams)).build(),
+                                new Http2MultiplexHandler(STREAM_HANDLER));
+                    }
+                }).bind(address).asStage().get();
+    }
+
+    private Http2ClientConnectionManagerBuilder newBuilder() {
+        return new Http2ClientConnectionManagerBuilder(new Bootstrap()
+                .channel(LocalChannel.class)
+                .group(group)
+                .handler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        ch.pipeline().addLast(forClient().build(), new Http2MultiplexHandler(STREAM_HANDLER));
+                    }
+                }));
+    }
+
+    private Http2StreamChannel open() throws Exception {
+        return manager.open(address, STREAM_HANDLER).asStage().get();
+    }
+
+    @Test
+    public void streamsAreSpreadOverConnections() throws Exception {
+        startServer(2);
+        manager = newBuilder().maxConnectionsPerAuthority(2).build();
+
+        List<Http2StreamChannel> streams = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            streams.add(open());
+        }
+        Http2ClientConnectionManagerMetrics metrics = manager.metrics(address);
+        assertEquals(2, metrics.connections());
+        assertEquals(4, metrics.activeStreams());
+        for (Http2ClientConnectionMetrics connection : metrics.connectionMetrics()) {
+            assertEquals(2, connection.activeStreams());
+            assertEquals(2, connection.maxConcurrentStreams());
+        }
+        assertSame(streams.get(0).parent(), streams.get(1).parent());
+        assertSame(streams.get(2).parent(), streams.get(3).parent());
+        assertNotSame(streams.get(0).parent(), streams.get(2).parent());
+
+        // All connections are full, so the next stream has to wait.
+        Future<Http2StreamChannel> pending = manager.open(address, STREAM_HANDLER);
+        awaitCondition(() -> metrics.pendingStreams() == 1);
+        assertFalse(pending.isDone());
+
+        streams.get(2).close().asStage().sync();
+        Http2StreamChannel stream = pending.asStage().get();
+        assertSame(streams.get(3).parent(), stream.parent());
+        assertEquals(0, metrics.pendingStreams());
+        assertEquals(5, metrics.openedStreams());
+        // The first and third stream waited for a new connection.
+        assertEquals(3, metrics.queuedStreams());
+        assertTrue(metrics.maxQueueTimeNanos() > 0);
+        assertEquals(5, manager.metrics().openedStreams());
+    }
+
+    @Test
+    public void streamIsPlacedOnLeastLoadedConnection() throws Exception {
+        startServer(2);
+        manager = newBuilder().maxConnectionsPerAuthority(2).build();
+
+        Http2StreamChannel first = open();
+        open();
+        Http2StreamChannel third = open();
+        assertNotSame(first.parent(), third.parent());
+
+        first.close().asStage().sync();
+        awaitCondition(() -> manager.metrics(address).activeStreams() == 2);
+        assertSame(first.parent(), open().parent());
+    }
+
+    @Test
+    public void tooManyPendingStreams() throws Exception {
+        startServer(1);
+        manager = newBuilder().maxConnectionsPerAuthority(1).maxPendingStreamsPerAuthority(1).build();
+
+        open();
+        Future<Http2StreamChannel> pending = manager.open(address, STREAM_HANDLER);
+        awaitCondition(() -> manager.metrics(address).pendingStreams() == 1);
+        ExecutionException e = assertThrows(ExecutionException.class, this::open);
+        assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+        assertFalse(pending.isDone());
+    }
+
+    @Test
+    public void connectionIsDrainedOnGoAway() throws Exception {
+        startServer(10);
+        manager = newBuilder().maxConnectionsPerAuthority(1).build();
+
+        Http2StreamChannel stream = open();
+        Channel connection = stream.parent();
+        awaitCondition(() -> !serverConnections.isEmpty());
+        serverConnections.poll().writeAndFlush(new DefaultHttp2GoAwayFrame(Http2Error.NO_ERROR));
+
+        Http2ClientConnectionManagerMetrics metrics = manager.metrics(address);
+        awaitCondition(() -> metrics.connectionMetrics().get(0).isDraining());
+        assertTrue(connection.isActive());
+
+        // The draining connection doesn't count against the limit, a new one is opened.
+        Http2StreamChannel next = open();
+        assertNotSame(connection, next.parent());
+
+        stream.close().asStage().sync();
+        connection.closeFuture().asStage().sync();
+        awaitCondition(() -> metrics.connections() == 1);
+    }
+
+    @Test
+    public void connectFailureFailsPendingStreams() throws Exception {
+        manager = newBuilder().build();
+        ExecutionException e = assertThrows(ExecutionException.class, this::open);
+        assertFalse(e.getCause() instanceof IllegalStateException);
+        // The authority without connections and pending streams is removed.
+        awaitCondition(() -> manager.metrics(address) == null);
+        assertEquals(0, manager.metrics().pendingConnects());
+    }
+
+    @Test
+    public void authorityIsRemovedOnceLastConnectionIsClosed() throws Exception {
+        startServer(10);
+        manager = newBuilder().build();
+
+        Http2StreamChannel stream = open();
+        assertNotNull(manager.metrics(address));
+        stream.close().asStage().sync();
+        stream.parent().close().asStage().sync();
+
+        awaitCondition(() -> manager.metrics(address) == null);
+        // The counters of the removed authority are kept.
+        assertEquals(1, manager.metrics().openedStreams());
+        assertEquals(0, manager.metrics().connections());
+
+        stream = open();
+        assertEquals(1, manager.metrics(address).openedStreams());
+        assertEquals(2, manager.metrics().openedStreams());
+        stream.close().asStage().sync();
+    }
+
+    @Test
+    public void closeFailsPendingStreams() throws Exception {
+        startServer(1);
+        manager = newBuilder().maxConnectionsPerAuthority(1).build();
+
+        Http2StreamChannel stream = open();
+        Future<Http2StreamChannel> pending = manager.open(address, STREAM_HANDLER);
+        manager.close().asStage().sync();
+        manager = null;
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pending.asStage().get());
+        assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+        assertFalse(stream.parent().isActive());
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import org.junit.jupiter.api.Test;
+
+import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_URGENCY;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.INCREMENTAL_PRIORITY;
+import static io.netty5.handler.codec.http2.Http2CodecUtil.parsePriority;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class Http2CodecUtilTest {
+
+    @Test
+    public void parsePriorityDefaults() {
+        assertEquals(DEFAULT_URGENCY, parsePriority(""));
+        assertEquals(DEFAULT_URGENCY, parsePriority("foo=bar"));
+    }
+
+    @Test
+    public void parsePriorityUrgency() {
+        assertEquals(0, parsePriority("u=0"));
+        assertEquals(7, parsePriority("u=7"));
+        assertEquals(5, parsePriority(" u=5 "));
+    }
+
+    @Test
+    public void parsePriorityIncremental() {
+        assertEquals(DEFAULT_URGENCY | INCREMENTAL_PRIORITY, parsePriority("i"));
+        assertEquals(DEFAULT_URGENCY | INCREMENTAL_PRIORITY, parsePriority("i=?1"));
+        assertEquals(DEFAULT_URGENCY, parsePriority("i=?0"));
+        assertEquals(1 | INCREMENTAL_PRIORITY, parsePriority("u=1, i"));
+        assertEquals(1 | INCREMENTAL_PRIORITY, parsePriority("i,u=1"));
+    }
+
+    @Test
+    public void parsePriorityIgnoresInvalidValues() {
+        assertEquals(DEFAULT_URGENCY, parsePriority("u=8"));
+        assertEquals(DEFAULT_URGENCY, parsePriority("u=10"));
+        assertEquals(DEFAULT_URGENCY, parsePriority("u=a, i=1"));
+        assertEquals(2, parsePriority("u=9, u=2"));
+    }
+
+    @Test
+    public void parsePriorityIgnoresParameters() {
+        assertEquals(2 | INCREMENTAL_PRIORITY, parsePriority("u=2;foo=bar, i;a"));
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.http.HttpMethod;
+import io.netty5.handler.codec.http.HttpScheme;
+import io.netty5.util.AsciiString;
+import io.netty5.util.Resource;
+import io.netty5.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static io.netty5.handler.codec.http2.Http2TestUtil.anyHttp2Settings;
+import static io.netty5.handler.codec.http2.Http2TestUtil.bb;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class Http2StreamHandlerMultiplexerTest {
+    private final Http2Headers request = new DefaultHttp2Headers()
+            .method(HttpMethod.GET.asciiName()).scheme(HttpScheme.HTTPS.name())
+            .authority(new AsciiString("example.org")).path(new AsciiString("/foo"));
+
+    private EmbeddedChannel parentChannel;
+    private Http2FrameWriter frameWriter;
+    private Http2FrameInboundWriter frameInboundWriter;
+    private Http2FrameCodec codec;
+    private Http2StreamHandlerMultiplexer multiplexer;
+    private final List<RecordingStreamHandler> handlers = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        parentChannel = new EmbeddedChannel();
+        frameInboundWriter = new Http2FrameInboundWriter(parentChannel);
+        parentChannel.connect(new InetSocketAddress(0));
+        frameWriter = Http2TestUtil.mockedFrameWriter();
+        codec = new Http2FrameCodecBuilder(true).frameWriter(frameWriter).build();
+        parentChannel.pipeline().addLast(codec);
+        multiplexer = new Http2StreamHandlerMultiplexer(() -> {
+            RecordingStreamHandler handler = new RecordingStreamHandler();
+            handlers.add(handler);
+            return handler;
+        });
+        parentChannel.pipeline().addLast(multiplexer);
+
+        parentChannel.pipeline().fireChannelActive();
+
+        parentChannel.writeInbound(Http2CodecUtil.connectionPrefaceBuffer());
+        frameInboundWriter.writeInboundSettings(new Http2Settings());
+        verify(frameWriter).writeSettingsAck(any(ChannelHandlerContext.class));
+        frameInboundWriter.writeInboundSettingsAck();
+
+        Http2SettingsFrame settingsFrame = parentChannel.readInbound();
+        assertNotNull(settingsFrame);
+        Http2SettingsAckFrame settingsAckFrame = parentChannel.readInbound();
+        assertNotNull(settingsAckFrame);
+
+        verify(frameWriter).writeSettings(any(ChannelHandlerContext.class), anyHttp2Settings());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (RecordingStreamHandler handler : handlers) {
+            handler.releaseAll();
+        }
+        parentChannel.finishAndReleaseAll();
+    }
+
+    private RecordingStreamHandler newInboundStream(int streamId, boolean endStream) throws Exception {
+        int count = handlers.size();
+        frameInboundWriter.writeInboundHeaders(streamId, request, 0, endStream);
+        assertEquals(count + 1, handlers.size());
+        RecordingStreamHandler handler = handlers.get(count);
+        assertEquals(streamId, handler.ctx.stream().id());
+        return handler;
+    }
+
+    private int unconsumedBytes(int streamId) {
+        Http2Connection connection = codec.connection();
+        return connection.local().flowController().unconsumedBytes(connection.stream(streamId));
+    }
+
+    @Test
+    public void framesAreDispatchedToStreamHandler() throws Exception {
+        RecordingStreamHandler handler3 = newInboundStream(3, false);
+        RecordingStreamHandler handler5 = newInboundStream(5, false);
+        assertEquals(1, handler3.activeCount);
+        assertEquals(1, handler5.activeCount);
+
+        frameInboundWriter.writeInboundData(5, bb("hello"), 0, false);
+        frameInboundWriter.writeInboundData(3, bb("world"), 0, true);
+
+        Http2HeadersFrame headersFrame = handler3.readFrame();
+        assertEquals(request, headersFrame.headers());
+        Http2DataFrame dataFrame = handler3.readFrame();
+        assertTrue(dataFrame.isEndStream());
+        assertEquals("world", dataFrame.content().toString(StandardCharsets.UTF_8));
+        Resource.dispose(dataFrame);
+        assertNull(handler3.frames.poll());
+
+        assertNotNull(handler5.readFrame());
+        dataFrame = handler5.readFrame();
+        assertEquals("hello", dataFrame.content().toString(StandardCharsets.UTF_8));
+        Resource.dispose(dataFrame);
+        assertNull(handler5.frames.poll());
+    }
+
+    @Test
+    public void writesAreFlushedOnReadComplete() throws Exception {
+        RecordingStreamHandler handler = newInboundStream(3, true);
+        handler.ctx.writeAndFlush(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200"), true));
+
+        verify(frameWriter).writeHeaders(any(ChannelHandlerContext.class), eq(3), any(Http2Headers.class),
+                eq(0), eq(true));
+        assertTrue(handler.closed);
+        assertTrue(handler.ctx.isClosed());
+        verify(frameWriter, never()).writeRstStream(any(ChannelHandlerContext.class), anyInt(), anyLong());
+    }
+
+    @Test
+    public void receivedBytesAreConsumedAutomatically() throws Exception {
+        RecordingStreamHandler handler = newInboundStream(3, false);
+        frameInboundWriter.writeInboundData(3, bb("hello world"), 0, false);
+        Resource.dispose(handler.readFrame());
+        Resource.dispose(handler.readFrame());
+        assertEquals(0, unconsumedBytes(3));
+    }
+
+    @Test
+    public void receivedBytesAreConsumedManually() throws Exception {
+        RecordingStreamHandler handler = newInboundStream(3, false);
+        handler.ctx.setAutoConsume(false);
+        frameInboundWriter.writeInboundData(3, bb("hello world"), 0, false);
+        assertEquals(11, unconsumedBytes(3));
+
+        Resource.dispose(handler.readFrame());
+        Http2DataFrame dataFrame = handler.readFrame();
+        handler.ctx.consumeBytes(dataFrame.initialFlowControlledBytes());
+        Resource.dispose(dataFrame);
+        assertEquals(0, unconsumedBytes(3));
+    }
+
+    @Test
+    public void closeResetsStream() throws Exception {
+        RecordingStreamHandler handler = newInboundStream(3, false);
+        handler.ctx.close().asStage().sync();
+
+        verify(frameWriter).writeRstStream(any(ChannelHandlerContext.class), eq(3), eq(Http2Error.CANCEL.code()));
+        assertTrue(handler.closed);
+
+        Future<Void> future = handler.ctx.write(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers()));
+        assertInstanceOf(ClosedChannelException.class, future.cause());
+        assertFalse(handler.ctx.isWritable());
+    }
+
+    @Test
+    public void closeAfterEndStreamDoesNotResetStream() throws Exception {
+        RecordingStreamHandler handler = newInboundStream(3, true);
+        handler.ctx.close().asStage().sync();
+
+        verify(frameWriter, never()).writeRstStream(any(ChannelHandlerContext.class), anyInt(), anyLong());
+        assertTrue(handler.closed);
+    }
+
+    @Test
+    public void resetFrameIsDelivered() throws Exception {
+        RecordingStreamHandler handler = newInboundStream(3, false);
+        frameInboundWriter.writeInboundRstStream(3, Http2Error.NO_ERROR.code());
+
+        assertNotNull(handler.readFrame());
+        Http2ResetFrame resetFrame = handler.readFrame();
+        assertEquals(Http2Error.NO_ERROR.code(), resetFrame.errorCode());
+        assertTrue(handler.closed);
+    }
+
+    @Test
+    public void exceptionInHandlerResetsStream() throws Exception {
+        RecordingStreamHandler handler = newInboundStream(3, false);
+        handler.failOnRead = true;
+        frameInboundWriter.writeInboundData(3, bb("hello"), 0, false);
+
+        assertInstanceOf(IllegalStateException.class, handler.cause);
+        verify(frameWriter).writeRstStream(any(ChannelHandlerContext.class), eq(3), eq(Http2Error.CANCEL.code()));
+        assertTrue(handler.closed);
+    }
+
+    @Test
+    public void outboundStream() throws Exception {
+        RecordingStreamHandler handler = new RecordingStreamHandler();
+        handlers.add(handler);
+        Http2StreamContext ctx = multiplexer.newStream(handler);
+        assertSame(handler, ctx.handler());
+        assertEquals(0, handler.activeCount);
+        assertFalse(ctx.isWritable());
+
+        ctx.writeAndFlush(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers()));
+        assertEquals(2, ctx.stream().id());
+        assertEquals(1, handler.activeCount);
+        assertSame(ctx, handler.ctx);
+        assertTrue(ctx.isWritable());
+        verify(frameWriter).writeHeaders(any(ChannelHandlerContext.class), eq(2), any(Http2Headers.class),
+                eq(0), anyBoolean());
+
+        frameInboundWriter.writeInboundRstStream(2, Http2Error.CANCEL.code());
+        Http2ResetFrame resetFrame = handler.readFrame();
+        assertEquals(Http2Error.CANCEL.code(), resetFrame.errorCode());
+        assertTrue(handler.closed);
+    }
+
+    @Test
+    public void idleOutboundStreamShouldNotWriteResetFrameOnClose() throws Exception {
+        RecordingStreamHandler handler = new RecordingStreamHandler();
+        handlers.add(handler);
+        Http2StreamContext ctx = multiplexer.newStream(handler);
+        ctx.close().asStage().sync();
+
+        verify(frameWriter, never()).writeRstStream(any(ChannelHandlerContext.class), anyInt(), anyLong());
+        assertTrue(handler.closed);
+    }
+
+    private static final class RecordingStreamHandler implements Http2StreamHandler {
+        private final Queue<Object> frames = new ArrayDeque<>();
+        private Http2StreamContext ctx;
+        private int activeCount;
+        private boolean closed;
+        private boolean failOnRead;
+        private Throwable cause;
+
+        @Override
+        public void streamActive(Http2StreamContext ctx) {
+            this.ctx = ctx;
+            activeCount++;
+        }
+
+        @Override
+        public void frameRead(Http2StreamContext ctx, Http2StreamFrame frame) {
+            this.ctx = ctx;
+            frames.add(frame);
+            if (failOnRead) {
+                throw new IllegalStateException();
+            }
+        }
+
+        @Override
+        public void inboundEvent(Http2StreamContext ctx, Object evt) {
+            frames.add(evt);
+        }
+
+        @Override
+        public void exceptionCaught(Http2StreamContext ctx, Throwable cause) throws Exception {
+            this.cause = cause;
+            Http2StreamHandler.super.exceptionCaught(ctx, cause);
+        }
+
+        @Override
+        public void streamClosed(Http2StreamContext ctx) {
+            assertFalse(closed);
+            closed = true;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T readFrame() {
+            T frame = (T) frames.poll();
+            assertNotNull(frame);
+            return frame;
+        }
+
+        void releaseAll() {
+            for (Object frame : frames) {
+                Resource.dispose(frame);
+            }
+            frames.clear();
+        }
+    }
+}
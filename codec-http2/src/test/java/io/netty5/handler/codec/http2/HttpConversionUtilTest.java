@@ -17,6 +17,7 @@ package io.netty5.handler.codec.http2;
 
 import io.netty5.handler.codec.http.DefaultHttpHeaders;
 import io.netty5.handler.codec.http.DefaultHttpRequest;
+import io.netty5.handler.codec.http.HttpHeaderNames;
 import io.netty5.handler.codec.http.HttpHeaders;
 import io.netty5.handler.codec.http.HttpMethod;
 import io.netty5.handler.codec.http.HttpRequest;
@@ -25,6 +26,11 @@ import io.netty5.util.AsciiString;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+
 import static io.netty5.handler.codec.http.HttpHeaderNames.CONNECTION;
 import static io.netty5.handler.codec.http.HttpHeaderNames.COOKIE;
 import static io.netty5.handler.codec.http.HttpHeaderNames.HOST;
@@ -264,4 +270,135 @@ public class HttpConversionUtilTest {
         assertTrue(httpHeaders.contains(HttpConversionUtil.ExtensionHeaderNames.PATH.text()));
         assertEquals("meow", httpHeaders.get("cat"));
     }
+
+    @Test
+    public void http2ToHttpHeadersViewMatchesCopy() throws Exception {
+        Http2Headers http2Headers = new DefaultHttp2Headers();
+        http2Headers.method("GET");
+        http2Headers.path("/meow");
+        http2Headers.scheme("https");
+        http2Headers.authority("example.com");
+        http2Headers.add("cat", "meow");
+        http2Headers.add(COOKIE, "foo=bar");
+        http2Headers.add(CONNECTION, "close");
+        http2Headers.add(TRANSFER_ENCODING, "chunked");
+        http2Headers.add(HttpHeaderNames.TRAILER, "x-checksum");
+        http2Headers.add(COOKIE, "bax=baz");
+        http2Headers.add("cat", "purr");
+
+        for (boolean isRequest : new boolean[] { true, false }) {
+            for (boolean isTrailer : new boolean[] { true, false }) {
+                HttpHeaders copy = new DefaultHttpHeaders();
+                HttpConversionUtil.addHttp2ToHttpHeaders(
+                        3, http2Headers, copy, HttpVersion.HTTP_1_1, isTrailer, isRequest);
+                HttpHeaders view = HttpConversionUtil.toHttpHeadersView(3, http2Headers, isRequest, isTrailer);
+                assertEquals(entries(copy.iteratorCharSequence()), entries(view.iteratorCharSequence()));
+                assertEquals(copy.size(), view.size());
+                assertEquals(new ArrayList<>(copy.names()), new ArrayList<>(view.names()));
+                for (String name : copy.names()) {
+                    assertEquals(copy.get(name), view.get(name));
+                    assertEquals(copy.getAll(name), view.getAll(name));
+                    assertTrue(view.contains(name));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void http2ToHttpHeadersViewLookups() {
+        Http2Headers http2Headers = new DefaultHttp2Headers();
+        http2Headers.authority("example.com");
+        http2Headers.add("content-length", "42");
+        http2Headers.add(COOKIE, "foo=bar");
+        http2Headers.add(COOKIE, "bax=baz");
+        http2Headers.add(CONNECTION, "close");
+
+        HttpHeaders view = HttpConversionUtil.toHttpHeadersView(5, http2Headers, true, false);
+        assertEquals("example.com", view.get(HOST));
+        assertEquals("example.com", view.get("Host"));
+        assertEquals(42, view.getInt("Content-Length"));
+        assertEquals("foo=bar; bax=baz", view.get(COOKIE));
+        assertEquals(5, view.getInt(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text()));
+        assertFalse(view.contains(CONNECTION));
+        assertFalse(view.contains(":authority"));
+        assertNull(view.get("missing"));
+        assertTrue(view.getAll("missing").isEmpty());
+    }
+
+    @Test
+    public void http2ToHttpHeadersViewCopiesOnWrite() {
+        Http2Headers http2Headers = new DefaultHttp2Headers();
+        http2Headers.status("200");
+        http2Headers.add("cat", "meow");
+
+        HttpHeaders view = HttpConversionUtil.toHttpHeadersView(3, http2Headers, false, false);
+        view.add("dog", "woof");
+        view.remove("cat");
+
+        assertEquals("woof", view.get("dog"));
+        assertFalse(view.contains("cat"));
+        assertEquals("3", view.get(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text()));
+        assertEquals(2, view.size());
+        assertEquals("meow", http2Headers.get("cat"));
+        assertFalse(http2Headers.contains("dog"));
+    }
+
+    @Test
+    public void httpToHttp2HeadersViewMatchesCopy() {
+        HttpRequest msg = new DefaultHttpRequest(
+                HttpVersion.HTTP_1_1, HttpMethod.GET, "http://example.com/path/to/something", true);
+        HttpHeaders inHeaders = msg.headers();
+        inHeaders.add(CONNECTION, "Foo,  bar");
+        inHeaders.add("Foo", "hidden");
+        inHeaders.add("Content-Type", "text/plain");
+        inHeaders.add(TE, "gzip, trailers");
+        inHeaders.add(COOKIE, "a=b; c=d; e=f");
+        inHeaders.add(UPGRADE, "h2c");
+        inHeaders.add(HOST, "example.com");
+        inHeaders.add("hello", "world");
+        inHeaders.add(COOKIE, "g=h");
+
+        Http2Headers copy = HttpConversionUtil.toHttp2Headers(msg, true);
+        Http2Headers view = HttpConversionUtil.toHttp2HeadersView(msg);
+        assertEquals(entries(copy.iterator()), entries(view.iterator()));
+        assertEquals(copy.size(), view.size());
+        assertEquals(new ArrayList<>(copy.names()), new ArrayList<>(view.names()));
+        for (CharSequence name : copy.names()) {
+            assertEquals(copy.get(name), view.get(name));
+            assertEquals(copy.getAll(name), view.getAll(name));
+        }
+        assertEquals(copy.path(), view.path());
+        assertEquals(copy.authority(), view.authority());
+        assertNull(view.get("foo"));
+        assertNull(view.get(UPGRADE));
+        assertEquals(TRAILERS, view.get(TE));
+        assertTrue(view.contains("content-type", "text/plain"));
+        assertTrue(view.contains(COOKIE, "C=D", true));
+    }
+
+    @Test
+    public void httpToHttp2HeadersViewCopiesOnWrite() {
+        HttpHeaders inHeaders = new DefaultHttpHeaders();
+        inHeaders.add("x-checksum", "abc");
+
+        Http2Headers view = HttpConversionUtil.toHttp2HeadersView(inHeaders);
+        assertEquals(1, view.size());
+        view.add("x-other", "def");
+        view.set("x-checksum", "ghi");
+
+        assertEquals("def", view.get("x-other"));
+        assertEquals("ghi", view.get("x-checksum"));
+        assertEquals(2, view.size());
+        assertEquals("abc", inHeaders.get("x-checksum"));
+        assertFalse(inHeaders.contains("x-other"));
+    }
+
+    private static List<String> entries(Iterator<Entry<CharSequence, CharSequence>> iterator) {
+        List<String> entries = new ArrayList<>();
+        while (iterator.hasNext()) {
+            Entry<CharSequence, CharSequence> entry = iterator.next();
+            entries.add(entry.getKey() + ": " + entry.getValue());
+        }
+        return entries;
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamStateTableTest {
+    private DefaultHttp2Connection connection;
+    private StreamStateTable table;
+
+    @BeforeEach
+    public void setUp() {
+        connection = new DefaultHttp2Connection(false);
+        table = StreamStateTable.of(connection);
+    }
+
+    @Test
+    public void connectionSharesTable() {
+        assertSame(table, StreamStateTable.of(connection));
+        assertSame(connection.connectionStream(), table.stream(table.slot(connection.connectionStream())));
+    }
+
+    @Test
+    public void slotIsReusedWithClearedColumns() throws Http2Exception {
+        int column = table.addIntColumn();
+        Http2Stream stream = connection.local().createStream(3, false);
+        int slot = table.slot(stream);
+        assertSame(stream, table.stream(slot));
+        assertEquals(0, table.getInt(column, slot));
+        table.setInt(column, slot, 42);
+
+        stream.close();
+        assertNull(table.stream(slot));
+
+        Http2Stream next = connection.local().createStream(5, false);
+        assertEquals(slot, table.slot(next));
+        assertSame(next, table.stream(slot));
+        assertEquals(0, table.getInt(column, slot));
+    }
+
+    @Test
+    public void columnsGrowWithStreams() throws Http2Exception {
+        int column = table.addIntColumn();
+        List<Http2Stream> streams = new ArrayList<>();
+        Set<Integer> slots = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            Http2Stream stream = connection.local().createStream(2 * i + 3, false);
+            streams.add(stream);
+            assertTrue(slots.add(table.slot(stream)));
+            table.setInt(column, table.slot(stream), stream.id());
+        }
+        // Columns that are added later cover all assigned slots as well.
+        int laterColumn = table.addIntColumn();
+        for (Http2Stream stream : streams) {
+            assertEquals(stream.id(), table.getInt(column, table.slot(stream)));
+            assertEquals(0, table.getInt(laterColumn, table.slot(stream)));
+        }
+        assertNotEquals(table.slot(connection.connectionStream()), table.slot(streams.get(0)));
+    }
+
+    @Test
+    public void foreignConnectionSharesTable() {
+        Http2Connection foreign = foreignConnection();
+        StreamStateTable foreignTable = StreamStateTable.of(foreign);
+        assertNotSame(table, foreignTable);
+        assertSame(foreignTable, StreamStateTable.of(foreign));
+        assertSame(foreign.connectionStream(), foreignTable.stream(foreignTable.slot(foreign.connectionStream())));
+    }
+
+    @Test
+    public void foreignConnectionReleasesSlotAfterAllListeners() throws Http2Exception {
+        Http2Connection foreign = foreignConnection();
+        StreamStateTable foreignTable = StreamStateTable.of(foreign);
+        List<Http2Stream> removed = new ArrayList<>();
+        foreign.addListener(new Http2ConnectionAdapter() {
+            @Override
+            public void onStreamRemoved(Http2Stream stream) {
+                // Listeners that were registered after the table can still access the slot of the stream.
+                assertSame(stream, foreignTable.stream(foreignTable.slot(stream)));
+                removed.add(stream);
+            }
+        });
+        Http2Stream stream = foreign.local().createStream(3, false);
+        int slot = foreignTable.slot(stream);
+        stream.close();
+        assertEquals(1, removed.size());
+
+        Http2Stream next = foreign.local().createStream(5, false);
+        assertEquals(slot, foreignTable.slot(next));
+        assertSame(next, foreignTable.stream(slot));
+    }
+
+    /**
+     * Returns a connection that is not a {@link DefaultHttp2Connection}, but delegates to one.
+     */
+    private static Http2Connection foreignConnection() {
+        Http2Connection delegate = new DefaultHttp2Connection(false);
+        return (Http2Connection) Proxy.newProxyInstance(StreamStateTableTest.class.getClassLoader(),
+                new Class<?>[] { Http2Connection.class }, (proxy, method, args) -> {
+                    try {
+                        return method.invoke(delegate, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.http.HttpContent;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpMethod;
+import io.netty5.handler.codec.http.HttpRequest;
+import io.netty5.handler.codec.http.HttpResponse;
+import io.netty5.handler.codec.http.HttpResponseStatus;
+import io.netty5.handler.codec.http.LastHttpContent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingInboundHttp2ToHttpAdapterTest {
+    private EmbeddedChannel channel;
+    private ChannelHandlerContext ctx;
+
+    @BeforeEach
+    public void setUp() {
+        channel = new EmbeddedChannel(new ChannelHandler() { });
+        ctx = channel.pipeline().firstContext();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void requestIsStreamed() throws Exception {
+        Http2Connection connection = new DefaultHttp2Connection(true);
+        Http2Stream stream = connection.remote().createStream(3, false);
+        StreamingInboundHttp2ToHttpAdapter adapter = new StreamingInboundHttp2ToHttpAdapter(connection);
+
+        Http2Headers headers = new DefaultHttp2Headers().method("POST").path("/upload").scheme("https")
+                .authority("example.com");
+        headers.add("content-type", "text/plain");
+        adapter.onHeadersRead(ctx, stream.id(), headers, 0, false);
+
+        HttpRequest request = channel.readInbound();
+        assertEquals(HttpMethod.POST, request.method());
+        assertEquals("/upload", request.uri());
+        assertEquals("example.com", request.headers().get(HttpHeaderNames.HOST));
+        assertEquals("text/plain", request.headers().get(HttpHeaderNames.CONTENT_TYPE));
+        assertEquals(3, request.headers().getInt(HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text()));
+        assertNull(channel.readInbound());
+
+        Buffer data = channel.bufferAllocator().copyOf("hello", UTF_8);
+        assertEquals(7, adapter.onDataRead(ctx, stream.id(), data, 2, false));
+        try (HttpContent<?> content = channel.readInbound()) {
+            assertFalse(content instanceof LastHttpContent);
+            // The payload is handed over without a copy.
+            assertSame(data, content.payload());
+        }
+
+        Http2Headers trailers = new DefaultHttp2Headers();
+        trailers.add("x-checksum", "abc");
+        adapter.onHeadersRead(ctx, stream.id(), trailers, 0, true);
+        try (LastHttpContent<?> last = channel.readInbound()) {
+            assertEquals(0, last.payload().readableBytes());
+            assertEquals("abc", last.trailingHeaders().get("x-checksum"));
+        }
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void lastDataFrameIsLastContent() throws Exception {
+        Http2Connection connection = new DefaultHttp2Connection(true);
+        Http2Stream stream = connection.remote().createStream(3, false);
+        StreamingInboundHttp2ToHttpAdapter adapter = new StreamingInboundHttp2ToHttpAdapter(connection);
+
+        adapter.onHeadersRead(ctx, stream.id(), new DefaultHttp2Headers().method("PUT").path("/").scheme("http"),
+                0, false);
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+
+        adapter.onDataRead(ctx, stream.id(), channel.bufferAllocator().copyOf("bye", UTF_8), 0, true);
+        try (LastHttpContent<?> last = channel.readInbound()) {
+            assertEquals("bye", last.payload().toString(UTF_8));
+        }
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void headersOnlyRequestEndsWithEmptyLastContent() throws Exception {
+        Http2Connection connection = new DefaultHttp2Connection(true);
+        Http2Stream stream = connection.remote().createStream(3, true);
+        StreamingInboundHttp2ToHttpAdapter adapter = new StreamingInboundHttp2ToHttpAdapter(connection);
+
+        adapter.onHeadersRead(ctx, stream.id(), new DefaultHttp2Headers().method("GET").path("/").scheme("http"),
+                0, true);
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+        try (LastHttpContent<?> last = channel.readInbound()) {
+            assertEquals(0, last.payload().readableBytes());
+        }
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void informationalResponseIsFollowedByFinalResponse() throws Exception {
+        Http2Connection connection = new DefaultHttp2Connection(false);
+        Http2Stream stream = connection.local().createStream(3, false);
+        StreamingInboundHttp2ToHttpAdapter adapter = new StreamingInboundHttp2ToHttpAdapter(connection);
+
+        adapter.onHeadersRead(ctx, stream.id(), new DefaultHttp2Headers().status("100"), 0, false);
+        HttpResponse response = channel.readInbound();
+        assertEquals(HttpResponseStatus.CONTINUE, response.status());
+        try (LastHttpContent<?> last = channel.readInbound()) {
+            assertEquals(0, last.payload().readableBytes());
+        }
+
+        adapter.onHeadersRead(ctx, stream.id(), new DefaultHttp2Headers().status("200"), 0, false);
+        response = channel.readInbound();
+        assertEquals(HttpResponseStatus.OK, response.status());
+        assertNull(channel.readInbound());
+    }
+
+    @Test
+    public void dataBeforeHeadersFails() {
+        Http2Connection connection = new DefaultHttp2Connection(true);
+        StreamingInboundHttp2ToHttpAdapter adapter = new StreamingInboundHttp2ToHttpAdapter(connection);
+
+        Buffer data = channel.bufferAllocator().copyOf("hello", UTF_8);
+        assertThrows(Http2Exception.class, () -> adapter.onDataRead(ctx, 3, data, 0, false));
+        assertFalse(data.isAccessible());
+    }
+
+    @Test
+    public void resetIsPropagated() throws Exception {
+        Http2Connection connection = new DefaultHttp2Connection(true);
+        Http2Stream stream = connection.remote().createStream(3, false);
+        StreamingInboundHttp2ToHttpAdapter adapter = new StreamingInboundHttp2ToHttpAdapter(connection);
+
+        adapter.onHeadersRead(ctx, stream.id(), new DefaultHttp2Headers().method("GET").path("/").scheme("http"),
+                0, false);
+        assertInstanceOf(HttpRequest.class, channel.readInbound());
+
+        adapter.onRstStreamRead(ctx, stream.id(), Http2Error.CANCEL.code());
+        Http2Exception.StreamException cause =
+                assertThrows(Http2Exception.StreamException.class, channel::checkException);
+        assertEquals(Http2Error.CANCEL, cause.error());
+        assertTrue(channel.isOpen());
+    }
+}
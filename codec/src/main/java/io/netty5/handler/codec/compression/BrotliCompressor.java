@@ -15,11 +15,15 @@
  */
 package io.netty5.handler.codec.compression;
 
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
 import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.aayushatharva.brotli4j.encoder.PreparedDictionary;
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -32,6 +36,9 @@ import static java.util.Objects.requireNonNull;
  */
 public final class BrotliCompressor implements Compressor {
     private final Encoder.Parameters parameters;
+    private final PreparedDictionary dictionary;
+    // The prepared dictionary refers to the native memory of this buffer, so it must stay reachable.
+    private final ByteBuffer dictionaryBuffer;
 
     private enum State {
         PROCESSING,
@@ -46,8 +53,11 @@ public final class BrotliCompressor implements Compressor {
      *
      * @param parameters {@link Encoder.Parameters} Instance
      */
-    private BrotliCompressor(Encoder.Parameters parameters) {
+    private BrotliCompressor(Encoder.Parameters parameters, PreparedDictionary dictionary,
+                             ByteBuffer dictionaryBuffer) {
         this.parameters = requireNonNull(parameters, "Parameters");
+        this.dictionary = dictionary;
+        this.dictionaryBuffer = dictionaryBuffer;
     }
 
     /**
@@ -58,7 +68,27 @@ public final class BrotliCompressor implements Compressor {
      */
     public static Supplier<BrotliCompressor> newFactory(Encoder.Parameters parameters) {
         Objects.requireNonNull(parameters, "parameters");
-        return () -> new BrotliCompressor(parameters);
+        return () -> new BrotliCompressor(parameters, null, null);
+    }
+
+    /**
+     * Create a new {@link BrotliCompressor} factory that compresses with the given dictionary. The compressed data
+     * can only be decompressed with the same dictionary. The encoder only makes use of the dictionary with a
+     * {@linkplain Encoder.Parameters#setQuality(int) quality} of at least {@code 5}.
+     *
+     * @param parameters {@link Encoder.Parameters} Instance
+     * @param dictionary the dictionary to compress with
+     * @return the factory.
+     */
+    public static Supplier<BrotliCompressor> newFactory(Encoder.Parameters parameters,
+                                                        CompressionDictionary dictionary) {
+        Objects.requireNonNull(parameters, "parameters");
+        Objects.requireNonNull(dictionary, "dictionary");
+        byte[] content = dictionary.unsafeContent();
+        ByteBuffer dictionaryBuffer = ByteBuffer.allocateDirect(content.length).put(content).flip();
+        // Preparing the dictionary is expensive, so it is done once and shared by all compressors.
+        PreparedDictionary prepared = Encoder.prepareDictionary(dictionaryBuffer, 0);
+        return () -> new BrotliCompressor(parameters, prepared, dictionaryBuffer);
     }
 
     /**
@@ -98,7 +128,8 @@ public final class BrotliCompressor implements Compressor {
                 byte[] uncompressed = new byte[input.readableBytes()];
                 try {
                     input.readBytes(uncompressed, 0, uncompressed.length);
-                    byte[] compressed = Encoder.compress(uncompressed, parameters);
+                    byte[] compressed = dictionary == null ?
+                            Encoder.compress(uncompressed, parameters) : compressWithDictionary(uncompressed);
                     return allocator.copyOf(compressed);
                 } catch (IOException e) {
                     state = State.FINISHED;
@@ -109,6 +140,15 @@ public final class BrotliCompressor implements Compressor {
         }
     }
 
+    private byte[] compressWithDictionary(byte[] uncompressed) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(uncompressed.length / 2 + 16);
+        try (BrotliOutputStream out = new BrotliOutputStream(compressed, parameters)) {
+            out.attachDictionary(dictionary);
+            out.write(uncompressed);
+        }
+        return compressed.toByteArray();
+    }
+
     @Override
     public Buffer finish(BufferAllocator allocator) {
         switch (state) {
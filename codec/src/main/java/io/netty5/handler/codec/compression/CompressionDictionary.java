@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.compression;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A dictionary that is shared by a compressor and the matching decompressor. Compressing small messages that are
+ * similar to the dictionary, for example JSON documents that share most of their keys, yields much smaller output
+ * than compressing them without a dictionary.
+ * <p>
+ * The same dictionary can be used with {@link ZstdCompressor}, {@link BrotliCompressor} and {@link ZlibCompressor},
+ * in which case it is used as raw content the compressed data can refer to. Only the last {@code 32 KiB} of the
+ * dictionary are used by {@link ZlibCompressor}.
+ * <p>
+ * A dictionary for a specific kind of payload can be trained from samples via {@link #train(Collection, int)}.
+ */
+public final class CompressionDictionary {
+    private final byte[] content;
+    private final byte[] sha256;
+
+    private CompressionDictionary(byte[] content) {
+        this.content = content;
+        sha256 = sha256(content);
+    }
+
+    /**
+     * Creates a new dictionary from the given content. The array is copied.
+     *
+     * @param content the content of the dictionary.
+     * @return the dictionary.
+     */
+    public static CompressionDictionary of(byte[] content) {
+        requireNonNull(content, "content");
+        if (content.length == 0) {
+            throw new IllegalArgumentException("content must not be empty");
+        }
+        return new CompressionDictionary(content.clone());
+    }
+
+    /**
+     * Trains a dictionary of at most {@code maxSize} bytes from the given sample payloads, using the training
+     * algorithm of Zstandard. The samples should be representative for the payloads that will be compressed, and
+     * there should be many of them: a good rule of thumb is a total sample size of about 100 times
+     * {@code maxSize}, and {@code maxSize} of about {@code 16 KiB} to {@code 110 KiB}.
+     * <p>
+     * The resulting dictionary is in the Zstandard dictionary format, which is also usable as raw dictionary for the
+     * other compression algorithms.
+     *
+     * @param samples   the sample payloads.
+     * @param maxSize   the maximum size of the dictionary.
+     * @return the trained dictionary.
+     * @throws UnsupportedOperationException if {@link Zstd#isAvailable()} returns {@code false}.
+     * @throws CompressionException if the training failed, for example because there were too few samples.
+     */
+    public static CompressionDictionary train(Collection<byte[]> samples, int maxSize) {
+        requireNonNull(samples, "samples");
+        checkPositive(maxSize, "maxSize");
+        if (!Zstd.isAvailable()) {
+            throw new UnsupportedOperationException("Training a dictionary requires zstd-jni", Zstd.cause());
+        }
+        byte[][] sampleArray = samples.toArray(new byte[0][]);
+        byte[] dictionary = new byte[maxSize];
+        long size = com.github.luben.zstd.Zstd.trainFromBuffer(sampleArray, dictionary);
+        if (com.github.luben.zstd.Zstd.isError(size)) {
+            throw new CompressionException("Failed to train dictionary from " + sampleArray.length + " samples: " +
+                    com.github.luben.zstd.Zstd.getErrorName(size));
+        }
+        return new CompressionDictionary(Arrays.copyOf(dictionary, (int) size));
+    }
+
+    /**
+     * Returns the size of the dictionary in bytes.
+     */
+    public int size() {
+        return content.length;
+    }
+
+    /**
+     * Returns a copy of the content of the dictionary.
+     */
+    public byte[] content() {
+        return content.clone();
+    }
+
+    /**
+     * Returns a copy of the {@code SHA-256} digest of the content of the dictionary, which is used to identify it, for
+     * example by <a href="https://www.rfc-editor.org/rfc/rfc9842">Compression Dictionary Transport</a>.
+     */
+    public byte[] sha256() {
+        return sha256.clone();
+    }
+
+    // Internal access to the content that avoids the copy, must not be modified.
+    byte[] unsafeContent() {
+        return content;
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof CompressionDictionary &&
+                Arrays.equals(sha256, ((CompressionDictionary) o).sha256);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(sha256);
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionDictionary(size: " + content.length + ')';
+    }
+}
@@ -59,6 +59,11 @@ public final class ZlibCodecFactory {
         return new CompressionHandler(ZlibCompressor.newFactory(compressionLevel, dictionary));
     }
 
+    public static ChannelHandler newZlibEncoder(ZlibWrapper wrapper, int compressionLevel,
+                                                CompressionDictionary dictionary) {
+        return new CompressionHandler(ZlibCompressor.newFactory(wrapper, compressionLevel, dictionary));
+    }
+
     public static ChannelHandler newZlibDecoder() {
         return new DecompressionHandler(ZlibDecompressor.newFactory(true));
     }
@@ -71,6 +76,10 @@ public final class ZlibCodecFactory {
         return new DecompressionHandler(ZlibDecompressor.newFactory(dictionary));
     }
 
+    public static ChannelHandler newZlibDecoder(ZlibWrapper wrapper, CompressionDictionary dictionary) {
+        return new DecompressionHandler(ZlibDecompressor.newFactory(wrapper, dictionary, 0));
+    }
+
     private ZlibCodecFactory() {
         // Unused
     }
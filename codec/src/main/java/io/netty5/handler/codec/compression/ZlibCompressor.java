@@ -52,9 +52,9 @@ public final class ZlibCompressor implements Compressor {
         deflater = new Deflater(compressionLevel, wrapper != ZlibWrapper.ZLIB);
     }
 
-    private ZlibCompressor(int compressionLevel, byte[] dictionary) {
-        wrapper = ZlibWrapper.ZLIB;
-        deflater = new Deflater(compressionLevel);
+    private ZlibCompressor(ZlibWrapper wrapper, int compressionLevel, byte[] dictionary) {
+        this.wrapper = wrapper;
+        deflater = new Deflater(compressionLevel, wrapper != ZlibWrapper.ZLIB);
         deflater.setDictionary(dictionary);
     }
 
@@ -153,7 +153,34 @@ public final class ZlibCompressor implements Compressor {
         }
         requireNonNull(dictionary, "dictionary");
 
-        return () -> new ZlibCompressor(compressionLevel, dictionary);
+        return () -> new ZlibCompressor(ZlibWrapper.ZLIB, compressionLevel, dictionary);
+    }
+
+    /**
+     * Creates a zlib compressor factory with the specified {@code compressionLevel},
+     * wrapper and preset dictionary.  Only {@link ZlibWrapper#ZLIB}, which stores the
+     * identifier of the dictionary in its header, and {@link ZlibWrapper#NONE}, for which
+     * both sides have to agree on the dictionary out of band, support a preset dictionary.
+     *
+     * @param compressionLevel
+     *        {@code 1} yields the fastest compression and {@code 9} yields the
+     *        best compression.  {@code 0} means no compression.  The default
+     *        compression level is {@code 6}.
+     * @param dictionary  the preset dictionary
+     * @return the factory.
+     * @throws CompressionException if failed to initialize zlib
+     */
+    public static Supplier<ZlibCompressor> newFactory(ZlibWrapper wrapper, int compressionLevel,
+                                                      CompressionDictionary dictionary) {
+        checkInRange(compressionLevel, 0, 9 , "compressionLevel");
+        requireNonNull(wrapper, "wrapper");
+        requireNonNull(dictionary, "dictionary");
+        if (wrapper != ZlibWrapper.ZLIB && wrapper != ZlibWrapper.NONE) {
+            throw new IllegalArgumentException(
+                    "wrapper '" + wrapper + "' does not support a preset dictionary.");
+        }
+        byte[] content = dictionary.unsafeContent();
+        return () -> new ZlibCompressor(wrapper, compressionLevel, content);
     }
 
     @Override
@@ -80,6 +80,10 @@ public final class ZlibDecompressor implements Decompressor {
                 break;
             case NONE:
                 inflater = new Inflater(true);
+                if (dictionary != null) {
+                    // The raw format does not signal that a dictionary is needed, so it is set upfront.
+                    inflater.setDictionary(dictionary);
+                }
                 crc = null;
                 break;
             case ZLIB:
@@ -169,6 +173,27 @@ public final class ZlibDecompressor implements Decompressor {
         return newFactory(wrapper, null, false, maxAllocation);
     }
 
+    /**
+     * Creates zlib decompressor factory with the specified wrapper, preset dictionary and maximum buffer allocation.
+     * Only {@link ZlibWrapper#ZLIB} and {@link ZlibWrapper#NONE} support a preset dictionary.
+     *
+     * @param dictionary
+     *          the preset dictionary that was used to compress the data.
+     * @param maxAllocation
+     *          Maximum size of the decompression buffer. Must be &gt;= 0.
+     *          If zero, maximum size is decided by the {@link BufferAllocator}.
+     * @return the factory.
+     */
+    public static Supplier<ZlibDecompressor> newFactory(ZlibWrapper wrapper, CompressionDictionary dictionary,
+                                                        int maxAllocation) {
+        requireNonNull(dictionary, "dictionary");
+        if (wrapper != ZlibWrapper.ZLIB && wrapper != ZlibWrapper.NONE) {
+            throw new IllegalArgumentException(
+                    "wrapper '" + wrapper + "' does not support a preset dictionary.");
+        }
+        return newFactory(wrapper, dictionary.unsafeContent(), false, maxAllocation);
+    }
+
     public static Supplier<ZlibDecompressor> newFactory(ZlibWrapper wrapper, boolean decompressConcatenated) {
         return newFactory(wrapper, null, decompressConcatenated, 0);
     }
@@ -16,12 +16,14 @@
 package io.netty5.handler.codec.compression;
 
 import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.BufferAllocator;
 import io.netty5.handler.codec.EncoderException;
 import io.netty5.util.internal.ObjectUtil;
 
 import java.nio.ByteBuffer;
+import java.util.Objects;
 import java.util.function.Supplier;
 
 import static io.netty5.handler.codec.compression.ZstdConstants.DEFAULT_BLOCK_SIZE;
@@ -38,6 +40,7 @@ public final class ZstdCompressor implements Compressor {
     private final int blockSize;
     private final int compressionLevel;
     private final int maxEncodeSize;
+    private final ZstdDictCompress dictionary;
 
     private enum State {
         PROCESSING,
@@ -97,8 +100,34 @@ public final class ZstdCompressor implements Compressor {
         ObjectUtil.checkInRange(compressionLevel, 0, MAX_COMPRESSION_LEVEL, "compressionLevel");
         ObjectUtil.checkPositive(blockSize, "blockSize");
         ObjectUtil.checkPositive(maxEncodeSize, "maxEncodeSize");
-        return () -> new ZstdCompressor(compressionLevel, blockSize, maxEncodeSize);
+        return () -> new ZstdCompressor(compressionLevel, blockSize, maxEncodeSize, null);
     }
+
+    /**
+     * Creates a new Zstd compressor factory that compresses with the given dictionary. The compressed data can only
+     * be decompressed with the same dictionary.
+     *
+     * @param  compressionLevel
+     *           specifies the level of the compression
+     * @param  blockSize
+     *           is used to calculate the compressionLevel
+     * @param  maxEncodeSize
+     *           specifies the size of the largest compressed object
+     * @param  dictionary
+     *           the dictionary to compress with
+     * @return the factory.
+     */
+    public static Supplier<ZstdCompressor> newFactory(int compressionLevel, int blockSize, int maxEncodeSize,
+                                                      CompressionDictionary dictionary) {
+        ObjectUtil.checkInRange(compressionLevel, 0, MAX_COMPRESSION_LEVEL, "compressionLevel");
+        ObjectUtil.checkPositive(blockSize, "blockSize");
+        ObjectUtil.checkPositive(maxEncodeSize, "maxEncodeSize");
+        Objects.requireNonNull(dictionary, "dictionary");
+        // The digested dictionary is immutable and so can be shared by all compressors.
+        ZstdDictCompress dictCompress = new ZstdDictCompress(dictionary.unsafeContent(), compressionLevel);
+        return () -> new ZstdCompressor(compressionLevel, blockSize, maxEncodeSize, dictCompress);
+    }
+
     /**
      * @param  blockSize
      *           is used to calculate the compressionLevel
@@ -106,11 +135,14 @@ public final class ZstdCompressor implements Compressor {
      *           specifies the size of the largest compressed object
      * @param  compressionLevel
      *           specifies the level of the compression
+     * @param  dictionary
+     *           the digested dictionary or {@code null} if none should be used
      */
-    private ZstdCompressor(int compressionLevel, int blockSize, int maxEncodeSize) {
+    private ZstdCompressor(int compressionLevel, int blockSize, int maxEncodeSize, ZstdDictCompress dictionary) {
         this.compressionLevel = compressionLevel;
         this.blockSize = blockSize;
         this.maxEncodeSize = maxEncodeSize;
+        this.dictionary = dictionary;
     }
 
     private Buffer allocateBuffer(BufferAllocator allocator, Buffer msg) {
@@ -203,10 +235,13 @@ public final class ZstdCompressor implements Compressor {
                         final int compressedLength;
                         if (in.isDirect() && out.isDirect()) {
                             ByteBuffer inNioBuffer = readableComponent.readableBuffer();
-                            compressedLength = Zstd.compress(
+                            compressedLength = dictionary == null ? Zstd.compress(
+                                    writableComponent.writableBuffer(),
+                                    inNioBuffer,
+                                    compressionLevel) : Zstd.compress(
                                     writableComponent.writableBuffer(),
                                     inNioBuffer,
-                                    compressionLevel);
+                                    dictionary);
                         } else {
                             final byte[] inArray;
                             final int inOffset;
@@ -231,8 +266,13 @@ public final class ZstdCompressor implements Compressor {
                                 outOffset = 0;
                             }
 
-                            compressedLength = (int) Zstd.compressByteArray(
-                                    outArray, outOffset, outLen, inArray, inOffset, inLen, compressionLevel);
+                            final long result = dictionary == null ? Zstd.compressByteArray(
+                                    outArray, outOffset, outLen, inArray, inOffset, inLen, compressionLevel) :
+                                    Zstd.compressFastDict(outArray, outOffset, inArray, inOffset, inLen, dictionary);
+                            if (Zstd.isError(result)) {
+                                throw new CompressionException(Zstd.getErrorName(result));
+                            }
+                            compressedLength = (int) result;
                             if (!writableComponent.hasWritableArray()) {
                                 writableComponent.writableBuffer().put(outArray);
                             }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.compression;
+
+import com.aayushatharva.brotli4j.decoder.BrotliInputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class CompressionDictionaryTest {
+    private static final BufferAllocator ALLOCATOR = BufferAllocator.onHeapUnpooled();
+    private static final byte[] DICTIONARY = ("{\"id\":0,\"name\":\"\",\"email\":\"@example.com\",\"active\":true," +
+            "\"roles\":[\"admin\",\"user\"],\"created\":\"2026-01-01T00:00:00Z\"}").getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PAYLOAD = ("{\"id\":42,\"name\":\"netty\",\"email\":\"netty@example.com\"," +
+            "\"active\":true,\"roles\":[\"user\"],\"created\":\"2026-10-19T12:00:00Z\"}")
+            .getBytes(StandardCharsets.US_ASCII);
+
+    @Test
+    public void testOf() {
+        CompressionDictionary dictionary = CompressionDictionary.of(DICTIONARY);
+        assertEquals(DICTIONARY.length, dictionary.size());
+        assertArrayEquals(DICTIONARY, dictionary.content());
+        assertEquals(32, dictionary.sha256().length);
+        assertEquals(dictionary, CompressionDictionary.of(DICTIONARY.clone()));
+        assertNotEquals(dictionary, CompressionDictionary.of(PAYLOAD));
+        assertThrows(IllegalArgumentException.class, () -> CompressionDictionary.of(new byte[0]));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ZlibWrapper.class, names = { "ZLIB", "NONE" })
+    public void testZlibRoundTrip(ZlibWrapper wrapper) {
+        CompressionDictionary dictionary = CompressionDictionary.of(DICTIONARY);
+        byte[] compressed = compress(ZlibCompressor.newFactory(wrapper, 6, dictionary));
+        assertTrue(compressed.length < compress(ZlibCompressor.newFactory(wrapper, 6)).length);
+
+        try (Decompressor decompressor = ZlibDecompressor.newFactory(wrapper, dictionary, 0).get();
+             Buffer input = ALLOCATOR.copyOf(compressed);
+             Buffer decompressed = decompressor.decompress(input, ALLOCATOR)) {
+            assertEquals(ALLOCATOR.copyOf(PAYLOAD), decompressed);
+        }
+    }
+
+    @Test
+    public void testZlibRejectsGzip() {
+        assertThrows(IllegalArgumentException.class, () -> ZlibCompressor.newFactory(
+                ZlibWrapper.GZIP, 6, CompressionDictionary.of(DICTIONARY)));
+    }
+
+    @Test
+    public void testZstdRoundTrip() {
+        assumeTrue(Zstd.isAvailable());
+        CompressionDictionary dictionary = CompressionDictionary.of(DICTIONARY);
+        byte[] compressed = compress(ZstdCompressor.newFactory(3, 64 * 1024, 1 << 25, dictionary));
+        assertTrue(compressed.length < compress(ZstdCompressor.newFactory(3)).length);
+
+        byte[] decompressed = com.github.luben.zstd.Zstd.decompress(compressed,
+                new com.github.luben.zstd.ZstdDictDecompress(DICTIONARY), PAYLOAD.length);
+        assertArrayEquals(PAYLOAD, decompressed);
+    }
+
+    @Test
+    public void testBrotliRoundTrip() throws Exception {
+        assumeTrue(Brotli.isAvailable());
+        CompressionDictionary dictionary = CompressionDictionary.of(DICTIONARY);
+        // Brotli only uses the dictionary from quality 5 on.
+        Encoder.Parameters parameters = new Encoder.Parameters().setQuality(5);
+        byte[] compressed = compress(BrotliCompressor.newFactory(parameters, dictionary));
+        assertTrue(compressed.length < compress(BrotliCompressor.newFactory(parameters)).length);
+
+        ByteBuffer dictionaryBuffer = ByteBuffer.allocateDirect(DICTIONARY.length).put(DICTIONARY).flip();
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (BrotliInputStream in = new BrotliInputStream(new ByteArrayInputStream(compressed))) {
+            in.attachDictionary(dictionaryBuffer);
+            in.transferTo(decompressed);
+        }
+        assertArrayEquals(PAYLOAD, decompressed.toByteArray());
+    }
+
+    @Test
+    public void testTrain() {
+        assumeTrue(Zstd.isAvailable());
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            samples.add(("{\"id\":" + i + ",\"name\":\"user" + i % 97 + "\",\"email\":\"user" + i +
+                    "@example.com\",\"active\":" + (i % 3 == 0) + ",\"score\":" + i * 31 % 1000 + '}')
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+        CompressionDictionary dictionary = CompressionDictionary.train(samples, 4096);
+        assertTrue(dictionary.size() > 0 && dictionary.size() <= 4096);
+    }
+
+    private static byte[] compress(Supplier<? extends Compressor> factory) {
+        try (Compressor compressor = factory.get();
+             Buffer input = ALLOCATOR.copyOf(PAYLOAD);
+             Buffer compressed = compressor.compress(input, ALLOCATOR);
+             Buffer last = compressor.finish(ALLOCATOR)) {
+            byte[] bytes = new byte[compressed.readableBytes() + last.readableBytes()];
+            compressed.readBytes(bytes, 0, compressed.readableBytes());
+            last.readBytes(bytes, bytes.length - last.readableBytes(), last.readableBytes());
+            return bytes;
+        }
+    }
+}
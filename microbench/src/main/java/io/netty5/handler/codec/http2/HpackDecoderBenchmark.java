@@ -83,6 +83,22 @@ public class HpackDecoderBenchmark extends AbstractMicrobenchmark {
         hpackDecoder.decode(0, input.copy(true), headers, true);
     }
 
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Http2Headers decodeDefaultHeaders() throws Http2Exception {
+        HpackDecoder hpackDecoder = new HpackDecoder(Integer.MAX_VALUE);
+        Http2Headers headers = new DefaultHttp2Headers();
+        hpackDecoder.decode(0, input.copy(true), headers, true);
+        return headers;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public Http2Headers decodeReadOnlyHeaders() throws Http2Exception {
+        HpackDecoder hpackDecoder = new HpackDecoder(Integer.MAX_VALUE);
+        return hpackDecoder.decodeReadOnly(0, input.copy(true), 16, true);
+    }
+
     private byte[] getSerializedHeaders(Http2Headers headers, boolean sensitive) throws Http2Exception {
         HpackEncoder hpackEncoder = HpackUtilBenchmark.newTestEncoder();
         try (Buffer out = size.newOutBuffer()) {
@@ -108,4 +108,51 @@ public class HpackEncoderBenchmark extends AbstractMicrobenchmark {
         hpackEncoder.encodeHeaders(3 /*randomly chosen*/, output, http2Headers, sensitivityDetector);
         bh.consume(output);
     }
+
+    /**
+     * Encodes the same response header set over and over again with a single encoder, like a server does for the
+     * responses it sends on a connection.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void encodeRepeatedResponseHeaders(RepeatedHeaders repeated, Blackhole bh) throws Exception {
+        repeated.output.resetOffsets();
+        repeated.encoder.encodeHeaders(3 /*randomly chosen*/, repeated.output, repeated.headers, sensitivityDetector);
+        bh.consume(repeated.output);
+    }
+
+    @State(Scope.Thread)
+    public static class RepeatedHeaders {
+        // 0 disables the cache of encoded header fields.
+        @Param({ "0", "64" })
+        public int encodedHeaderCacheSize;
+
+        // 0 restricts the encoder to the static table.
+        @Param({ "0", "4096" })
+        public long maxHeaderTableSize;
+
+        HpackEncoder encoder;
+        Http2Headers headers;
+        Buffer output;
+
+        @Setup(Level.Trial)
+        public void setup() throws Http2Exception {
+            encoder = new HpackEncoder(false, 16, HpackEncoder.HUFF_CODE_THRESHOLD, encodedHeaderCacheSize);
+            headers = new DefaultHttp2Headers()
+                    .status("200")
+                    .add("content-type", "application/json; charset=utf-8")
+                    .add("content-length", "1024")
+                    .add("server", "netty")
+                    .add("cache-control", "private, max-age=0, no-cache")
+                    .add("vary", "accept-encoding")
+                    .add("strict-transport-security", "max-age=31536000; includeSubDomains");
+            output = HpackHeadersSize.MEDIUM.newOutBuffer();
+            encoder.setMaxHeaderTableSize(output, maxHeaderTableSize);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            output.close();
+        }
+    }
 }
@@ -54,15 +54,23 @@ public class Http2FrameWriterDataBenchmark extends AbstractMicrobenchmark {
     @Param({ "true", "false" })
     public boolean pooled;
 
+    // 0 allocates every frame header separately.
+    @Param({ "0", "16384" })
+    public int writeArenaSize;
+
+    // Number of DATA frames, each on its own stream, that are written before flushing.
+    @Param({ "1", "500" })
+    public int framesPerFlush;
+
     private Buffer payload;
     private ChannelHandlerContext ctx;
-    private Http2DataWriter writer;
+    private DefaultHttp2FrameWriter writer;
     private Http2DataWriter oldWriter;
     private BufferAllocator allocator;
 
     @Setup(Level.Trial)
     public void setup() {
-        writer = new DefaultHttp2FrameWriter();
+        writer = new DefaultHttp2FrameWriter(new DefaultHttp2HeadersEncoder(), writeArenaSize);
         allocator = pooled ? onHeapPooled() : onHeapUnpooled();
         payload = allocator.allocate(payloadSize);
         for (int i = 0; i < payloadSize; i++) {
@@ -85,13 +93,16 @@ public class Http2FrameWriterDataBenchmark extends AbstractMicrobenchmark {
         if (ctx != null) {
             ctx.close();
         }
+        writer.close();
         allocator.close();
     }
 
     @Benchmark
     @BenchmarkMode(Mode.AverageTime)
     public void newWriter() {
-        writer.writeData(ctx, 3, payload.copy(true), padding, true);
+        for (int i = 0; i < framesPerFlush; i++) {
+            writer.writeData(ctx, 3 + 2 * i, payload.copy(true), padding, true);
+        }
         ctx.flush();
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of serving short-lived streams, which consist of a single HEADERS frame in each direction, with
+ * child channels ({@link Http2MultiplexHandler}) and with {@link Http2StreamHandler}s
+ * ({@link Http2StreamHandlerMultiplexer}).
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Http2StreamCreationBenchmark extends AbstractMicrobenchmark {
+    // HPACK indexed representations of ":method: GET", ":scheme: https" and ":path: /".
+    private static final byte[] REQUEST_HEADER_BLOCK = { (byte) 0x82, (byte) 0x87, (byte) 0x84 };
+    private static final byte END_STREAM_AND_HEADERS = 0x5;
+
+    public enum Multiplexer {
+        CHILD_CHANNEL,
+        STREAM_HANDLER
+    }
+
+    @Param
+    public Multiplexer multiplexer;
+
+    // Number of streams that are opened by a single read of the connection.
+    @Param({ "1", "100" })
+    public int streamsPerRead;
+
+    private EmbeddedChannel channel;
+    private int nextStreamId;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        Http2FrameCodec codec = Http2FrameCodecBuilder.forServer().build();
+        final ChannelHandler handler;
+        if (multiplexer == Multiplexer.CHILD_CHANNEL) {
+            handler = new Http2MultiplexHandler(new ChildChannelHandler());
+        } else {
+            Http2StreamHandler streamHandler = new ResponseStreamHandler();
+            handler = new Http2StreamHandlerMultiplexer(() -> streamHandler);
+        }
+        channel = new EmbeddedChannel(codec, handler);
+        channel.writeInbound(Http2CodecUtil.connectionPrefaceBuffer());
+        // Empty SETTINGS frame.
+        channel.writeInbound(channel.bufferAllocator().copyOf(new byte[] { 0, 0, 0, 4, 0, 0, 0, 0, 0 }));
+        drainOutbound();
+        // The EmbeddedChannel has no parent, so stream 1 would be considered as the upgrade stream of a client.
+        nextStreamId = 3;
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public void openStreams() {
+        Buffer in = channel.bufferAllocator().allocate(streamsPerRead * (9 + REQUEST_HEADER_BLOCK.length));
+        for (int i = 0; i < streamsPerRead; i++) {
+            in.writeMedium(REQUEST_HEADER_BLOCK.length)
+              .writeByte(Http2FrameTypes.HEADERS)
+              .writeByte(END_STREAM_AND_HEADERS)
+              .writeInt(nextStreamId)
+              .writeBytes(REQUEST_HEADER_BLOCK);
+            nextStreamId += 2;
+        }
+        channel.writeInbound(in);
+        drainOutbound();
+    }
+
+    private void drainOutbound() {
+        for (;;) {
+            Object msg = channel.readOutbound();
+            if (msg == null) {
+                break;
+            }
+            Resource.dispose(msg);
+        }
+    }
+
+    private static Http2HeadersFrame newResponse() {
+        return new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200"), true);
+    }
+
+    private static final class ChildChannelHandler implements ChannelHandler {
+        @Override
+        public boolean isSharable() {
+            return true;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof Http2HeadersFrame) {
+                ctx.writeAndFlush(newResponse());
+            }
+            Resource.dispose(msg);
+        }
+    }
+
+    private static final class ResponseStreamHandler implements Http2StreamHandler {
+        @Override
+        public void frameRead(Http2StreamContext ctx, Http2StreamFrame frame) {
+            if (frame instanceof Http2HeadersFrame) {
+                ctx.writeAndFlush(newResponse());
+            }
+            Resource.dispose(frame);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.handler.codec.http2;
+
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the access to the flow control state of many concurrent streams through a state object that is looked up
+ * via {@link Http2Stream#getProperty(Http2Connection.PropertyKey)} with the columns of a {@link StreamStateTable}, as
+ * {@link DefaultHttp2LocalFlowController} does when DATA frames are received and consumed. The streams are visited in
+ * random order, like the frames of concurrent streams arrive.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StreamStateTableBenchmark extends AbstractMicrobenchmark {
+    @Param({ "100", "1000", "10000" })
+    public int numStreams;
+
+    private Http2Stream[] streams;
+    private Http2Connection.PropertyKey stateKey;
+    private StreamStateTable table;
+    private int windowColumn;
+    private int processedWindowColumn;
+    // Allocated in between the state objects, as other per-stream objects are in a real connection.
+    private List<Object> garbage;
+
+    @Setup(Level.Trial)
+    public void setup() throws Http2Exception {
+        DefaultHttp2Connection connection = new DefaultHttp2Connection(true);
+        stateKey = connection.newKey();
+        table = StreamStateTable.of(connection);
+        windowColumn = table.addIntColumn();
+        processedWindowColumn = table.addIntColumn();
+        garbage = new ArrayList<>(numStreams);
+        List<Http2Stream> list = new ArrayList<>(numStreams);
+        for (int i = 0; i < numStreams; i++) {
+            Http2Stream stream = connection.remote().createStream(2 * i + 3, false);
+            stream.setProperty(stateKey, new FlowState());
+            garbage.add(new byte[128]);
+            list.add(stream);
+        }
+        Collections.shuffle(list, new Random(42));
+        streams = list.toArray(new Http2Stream[0]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int property() {
+        int sum = 0;
+        for (Http2Stream stream : streams) {
+            FlowState state = stream.getProperty(stateKey);
+            state.window--;
+            state.processedWindow--;
+            sum += state.window;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public int table() {
+        int sum = 0;
+        for (Http2Stream stream : streams) {
+            int slot = table.slot(stream);
+            int window = table.getInt(windowColumn, slot) - 1;
+            table.setInt(windowColumn, slot, window);
+            table.setInt(processedWindowColumn, slot, table.getInt(processedWindowColumn, slot) - 1);
+            sum += window;
+        }
+        return sum;
+    }
+
+    private static final class FlowState {
+        int window;
+        int processedWindow;
+    }
+}
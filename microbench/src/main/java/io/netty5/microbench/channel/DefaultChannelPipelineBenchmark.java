@@ -21,6 +21,7 @@ import io.netty5.channel.ChannelPipeline;
 import io.netty5.channel.embedded.EmbeddedChannel;
 import io.netty5.microbench.util.AbstractMicrobenchmark;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Param;
@@ -49,13 +50,20 @@ public class DefaultChannelPipelineBenchmark extends AbstractMicrobenchmark {
             return true;
         }
 
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            // NOOP
+        }
+
         @Override
         public void channelReadComplete(ChannelHandlerContext ctx) {
             // NOOP
         }
     };
 
-    @Param({ "4" })
+    private static final Object MSG = new Object();
+
+    @Param({ "4", "16" })
     public int extraHandlers;
 
     private ChannelPipeline pipeline;
@@ -80,4 +88,26 @@ public class DefaultChannelPipelineBenchmark extends AbstractMicrobenchmark {
             hole.consume(pipeline.fireChannelReadComplete());
         }
     }
+
+    @Benchmark
+    public void propagateChannelRead(Blackhole hole) {
+        for (int i = 0; i < 100; i++) {
+            hole.consume(pipeline.fireChannelRead(MSG));
+        }
+    }
+
+    @Benchmark
+    public void propagateRead(Blackhole hole) {
+        for (int i = 0; i < 100; i++) {
+            hole.consume(pipeline.read());
+        }
+    }
+
+    /**
+     * Runs the same benchmarks but walks the linked list of handlers for every event instead of using the
+     * precomputed handler chains.
+     */
+    @Fork(value = DEFAULT_FORKS, jvmArgsAppend = "-Dio.netty5.transport.precomputeHandlerChains=false")
+    public static class LinearScan extends DefaultChannelPipelineBenchmark {
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.http;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.buffer.api.DefaultBufferAllocators;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.http.DefaultHttpContent;
+import io.netty5.handler.codec.http.DefaultHttpRequest;
+import io.netty5.handler.codec.http.DefaultLastHttpContent;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpMethod;
+import io.netty5.handler.codec.http.HttpRequest;
+import io.netty5.handler.codec.http.HttpVersion;
+import io.netty5.handler.codec.http.multipart.HttpFileUploadChunk;
+import io.netty5.handler.codec.http.multipart.HttpPostBodyDecoder;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.Resource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Decodes a {@code multipart/form-data} upload of a single file, delivered in chunks like the ones produced by
+ * {@link io.netty5.handler.codec.http.HttpRequestDecoder}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class HttpPostBodyDecoderBenchmark extends AbstractMicrobenchmark {
+    private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+    // 1 MiB and 1 GiB uploads.
+    @Param({ "1048576", "1073741824" })
+    public long contentLength;
+
+    @Param({ "8192", "65536" })
+    public int chunkSize;
+
+    private final BufferAllocator allocator = DefaultBufferAllocators.preferredAllocator();
+    private byte[] head;
+    private byte[] chunk;
+    private byte[] tail;
+
+    @Setup
+    public void setup() {
+        head = ("--" + BOUNDARY + "\r\n" +
+                "Content-Disposition: form-data; name=\"file\"; filename=\"upload.bin\"\r\n" +
+                "Content-Type: application/octet-stream\r\n" +
+                "\r\n").getBytes(StandardCharsets.US_ASCII);
+        tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        // Random content contains a CR every 256 bytes on average, which the boundary search has to check.
+        chunk = new byte[chunkSize];
+        new SplittableRandom(42).nextBytes(chunk);
+    }
+
+    @Benchmark
+    public long decodeUpload() {
+        Sink sink = new Sink();
+        EmbeddedChannel channel = new EmbeddedChannel(new HttpPostBodyDecoder(), sink);
+        HttpRequest request = new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/upload");
+        request.headers().set(HttpHeaderNames.CONTENT_TYPE, "multipart/form-data; boundary=" + BOUNDARY);
+        channel.writeInbound(request);
+        channel.writeInbound(new DefaultHttpContent(allocator.allocate(head.length).writeBytes(head)));
+        for (long remaining = contentLength; remaining > 0; remaining -= chunkSize) {
+            int length = (int) Math.min(chunkSize, remaining);
+            Buffer payload = allocator.allocate(length).writeBytes(chunk, 0, length);
+            channel.writeInbound(new DefaultHttpContent(payload));
+        }
+        channel.writeInbound(new DefaultLastHttpContent(allocator.allocate(tail.length).writeBytes(tail)));
+        channel.finishAndReleaseAll();
+        return sink.bytes;
+    }
+
+    private static final class Sink implements ChannelHandler {
+        long bytes;
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof HttpFileUploadChunk) {
+                bytes += ((HttpFileUploadChunk) msg).payload().readableBytes();
+            }
+            Resource.dispose(msg);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.netty5.microbench.http;
 import io.netty5.buffer.api.Buffer;
 import io.netty5.buffer.api.MemoryManager;
 import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.http.HttpObjectDecoder;
 import io.netty5.handler.codec.http.HttpRequestDecoder;
 import io.netty5.microbench.util.AbstractMicrobenchmark;
 import io.netty5.util.CharsetUtil;
@@ -39,9 +40,13 @@ public class HttpRequestDecoderBenchmark extends AbstractMicrobenchmark {
     private static final byte[] CONTENT_MIXED_DELIMITERS = createContent("\r\n", "\n");
     private static final int CONTENT_LENGTH = 120;
 
-    @Param({ "2", "4", "8", "16", "32" })
+    // 1024 delivers the whole header section at once.
+    @Param({ "2", "4", "8", "16", "32", "1024" })
     public int step;
 
+    @Param({ "false", "true" })
+    public boolean zeroCopyHeaders;
+
     private static byte[] createContent(String... lineDelimiters) {
         String lineDelimiter;
         String lineDelimiter2;
@@ -87,8 +92,11 @@ public class HttpRequestDecoderBenchmark extends AbstractMicrobenchmark {
         testDecodeWholeRequestInMultipleSteps(CONTENT_MIXED_DELIMITERS, step);
     }
 
-    private static void testDecodeWholeRequestInMultipleSteps(byte[] content, int fragmentSize) {
-        final EmbeddedChannel channel = new EmbeddedChannel(new HttpRequestDecoder());
+    private void testDecodeWholeRequestInMultipleSteps(byte[] content, int fragmentSize) {
+        final EmbeddedChannel channel = new EmbeddedChannel(new HttpRequestDecoder(
+                HttpObjectDecoder.DEFAULT_MAX_INITIAL_LINE_LENGTH, HttpObjectDecoder.DEFAULT_MAX_HEADER_SIZE,
+                HttpObjectDecoder.DEFAULT_VALIDATE_HEADERS, HttpObjectDecoder.DEFAULT_INITIAL_BUFFER_SIZE,
+                HttpObjectDecoder.DEFAULT_ALLOW_DUPLICATE_CONTENT_LENGTHS, zeroCopyHeaders));
 
         final int headerLength = content.length - CONTENT_LENGTH;
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.http;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.handler.codec.http.DefaultFullHttpResponse;
+import io.netty5.handler.codec.http.DefaultHttpHeaders;
+import io.netty5.handler.codec.http.FullHttpResponse;
+import io.netty5.handler.codec.http.HttpDateCache;
+import io.netty5.handler.codec.http.HttpHeaderNames;
+import io.netty5.handler.codec.http.HttpHeaderValues;
+import io.netty5.handler.codec.http.HttpHeaders;
+import io.netty5.handler.codec.http.HttpResponseEncoder;
+import io.netty5.handler.codec.http.HttpResponseStatus;
+import io.netty5.handler.codec.http.HttpResponseTemplate;
+import io.netty5.handler.codec.http.HttpVersion;
+import io.netty5.microbench.channel.EmbeddedChannelWriteReleaseHandlerContext;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Encodes a hello-world response, either created from a {@link HttpResponseTemplate} or built header by header.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class HttpResponseTemplateBenchmark extends AbstractMicrobenchmark {
+    private static final byte[] HELLO_WORLD = "Hello, World!".getBytes(US_ASCII);
+
+    private HttpResponseEncoder encoder;
+    private HttpResponseTemplate template;
+    private Supplier<Buffer> payload;
+    private BufferAllocator allocator;
+    private ChannelHandlerContext context;
+
+    @Param({ "true", "false" })
+    public boolean templated;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        allocator = BufferAllocator.offHeapPooled();
+        payload = allocator.constBufferSupplier(HELLO_WORLD);
+        HttpHeaders headers = new DefaultHttpHeaders();
+        headers.add(HttpHeaderNames.SERVER, "netty");
+        headers.add(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN);
+        template = new HttpResponseTemplate(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, headers);
+
+        encoder = new HttpResponseEncoder();
+        context = new EmbeddedChannelWriteReleaseHandlerContext(allocator, encoder) {
+            @Override
+            protected void handleException(Throwable t) {
+                handleUnexpectedException(t);
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() {
+        allocator.close();
+    }
+
+    @Benchmark
+    public void helloWorld() {
+        final FullHttpResponse response;
+        if (templated) {
+            response = template.newFullResponse(payload.get());
+        } else {
+            response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK, payload.get());
+            response.headers().add(HttpHeaderNames.SERVER, "netty");
+            response.headers().add(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN);
+            response.headers().add(HttpHeaderNames.DATE, HttpDateCache.currentDate());
+        }
+        response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, HELLO_WORLD.length);
+        encoder.write(context, response);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.http;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.embedded.EmbeddedChannel;
+import io.netty5.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty5.handler.codec.http.websocketx.Utf8FrameValidator;
+import io.netty5.handler.codec.http.websocketx.WebSocket13FrameDecoder;
+import io.netty5.handler.codec.http.websocketx.WebSocket13FrameEncoder;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes masked text frames, as sent by clients, including the unmasking and the UTF-8 validation of the payload.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+public class WebSocketFrameDecoderBenchmark extends AbstractMicrobenchmark {
+
+    @Param({ "1024", "65536" })
+    public int payloadSize;
+
+    // Either plain ASCII or mostly ASCII with a multibyte character every 64 bytes.
+    @Param({ "true", "false" })
+    public boolean ascii;
+
+    private byte[] frame;
+    private EmbeddedChannel channel;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder text = new StringBuilder(payloadSize);
+        while (text.length() < payloadSize) {
+            text.append(!ascii && text.length() % 64 == 63 ? '\u00e9' : (char) ('a' + text.length() % 26));
+        }
+        EmbeddedChannel encoder = new EmbeddedChannel(new WebSocket13FrameEncoder(true));
+        encoder.writeOutbound(new TextWebSocketFrame(encoder.bufferAllocator(), text.toString()));
+        try (Buffer encoded = encoder.bufferAllocator().allocate(payloadSize * 2 + 14)) {
+            for (;;) {
+                try (Buffer buffer = encoder.readOutbound()) {
+                    if (buffer == null) {
+                        break;
+                    }
+                    encoded.writeBytes(buffer);
+                }
+            }
+            frame = new byte[encoded.readableBytes()];
+            encoded.readBytes(frame, 0, frame.length);
+        }
+        encoder.finishAndReleaseAll();
+
+        channel = new EmbeddedChannel(new WebSocket13FrameDecoder(true, false, payloadSize * 2),
+                new Utf8FrameValidator());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public int decodeMaskedTextFrame() {
+        BufferAllocator allocator = channel.bufferAllocator();
+        channel.writeInbound(allocator.copyOf(frame));
+        try (TextWebSocketFrame decoded = channel.readInbound()) {
+            return decoded.binaryData().readableBytes();
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.microbench.http2;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.ChannelInitializer;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.IoHandlerFactory;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.ServerChannel;
+import io.netty5.channel.epoll.Epoll;
+import io.netty5.channel.epoll.EpollHandler;
+import io.netty5.channel.epoll.EpollServerSocketChannel;
+import io.netty5.channel.epoll.EpollSocketChannel;
+import io.netty5.channel.local.LocalAddress;
+import io.netty5.channel.local.LocalChannel;
+import io.netty5.channel.local.LocalHandler;
+import io.netty5.channel.local.LocalServerChannel;
+import io.netty5.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty5.handler.codec.http2.DefaultHttp2Headers;
+import io.netty5.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty5.handler.codec.http2.Http2DataFrame;
+import io.netty5.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty5.handler.codec.http2.Http2Headers;
+import io.netty5.handler.codec.http2.Http2HeadersFrame;
+import io.netty5.handler.codec.http2.Http2MultiplexHandler;
+import io.netty5.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty5.handler.ssl.SslContext;
+import io.netty5.handler.ssl.SslContextBuilder;
+import io.netty5.handler.ssl.SslProvider;
+import io.netty5.handler.ssl.util.InsecureTrustManagerFactory;
+import io.netty5.microbench.handler.ssl.AbstractSslHandlerBenchmark;
+import io.netty5.microbench.util.AbstractMicrobenchmark;
+import io.netty5.util.NetUtil;
+import io.netty5.util.Resource;
+import io.netty5.util.concurrent.Promise;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty5.buffer.api.DefaultBufferAllocators.preferredAllocator;
+
+/**
+ * Measures complete HTTP/2 request/response exchanges between a client and a server connection in the same process,
+ * so the whole stack is covered: {@link io.netty5.handler.codec.http2.Http2FrameCodec},
+ * {@link Http2MultiplexHandler}, HPACK, flow control and the stream byte distributor.
+ * <p>
+ * Each invocation opens {@link #concurrency} streams on the same connection, every one sending a request with
+ * {@link #headerCount} additional headers and a body of {@link #bodySize} bytes, which the server echoes back. The
+ * {@code requests} counter reports the completed exchanges per second, and the {@link GCProfiler} reports the
+ * allocation rate. The {@link Transport#EPOLL} loopback transport can be selected with {@code -p transport=EPOLL}.
+ */
+public class Http2EndToEndBenchmark extends AbstractMicrobenchmark {
+
+    public enum Transport {
+        LOCAL {
+            @Override
+            IoHandlerFactory newIoHandlerFactory() {
+                return LocalHandler.newFactory();
+            }
+
+            @Override
+            Class<? extends ServerChannel> serverChannelClass() {
+                return LocalServerChannel.class;
+            }
+
+            @Override
+            Class<? extends Channel> channelClass() {
+                return LocalChannel.class;
+            }
+
+            @Override
+            SocketAddress newBindAddress() {
+                return new LocalAddress(Http2EndToEndBenchmark.class);
+            }
+        },
+        EPOLL {
+            @Override
+            IoHandlerFactory newIoHandlerFactory() {
+                Epoll.ensureAvailability();
+                return EpollHandler.newFactory();
+            }
+
+            @Override
+            Class<? extends ServerChannel> serverChannelClass() {
+                return EpollServerSocketChannel.class;
+            }
+
+            @Override
+            Class<? extends Channel> channelClass() {
+                return EpollSocketChannel.class;
+            }
+
+            @Override
+            SocketAddress newBindAddress() {
+                return new InetSocketAddress(NetUtil.LOCALHOST, 0);
+            }
+        };
+
+        abstract IoHandlerFactory newIoHandlerFactory();
+
+        abstract Class<? extends ServerChannel> serverChannelClass();
+
+        abstract Class<? extends Channel> channelClass();
+
+        abstract SocketAddress newBindAddress();
+    }
+
+    /**
+     * Counts the completed request/response exchanges, as every invocation completes {@link #concurrency} of them.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class RequestCounter {
+        public long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            requests = 0;
+        }
+    }
+
+    @Param({ "LOCAL" })
+    public Transport transport;
+
+    @Param({ "false", "true" })
+    public boolean tls;
+
+    @Param({ "1", "10", "100" })
+    public int concurrency;
+
+    @Param({ "0", "1024", "65536" })
+    public int bodySize;
+
+    @Param({ "0", "32" })
+    public int headerCount;
+
+    private EventLoopGroup serverGroup;
+    private EventLoopGroup clientGroup;
+    private Channel serverChannel;
+    private Channel clientChannel;
+    private Http2StreamChannelBootstrap streamBootstrap;
+    private Http2Headers requestHeaders;
+    private Http2Headers responseHeaders;
+    private Buffer body;
+
+    // Only accessed from the event loop of the client channel.
+    private int remaining;
+    private Promise<Void> batchPromise;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        requestHeaders = new DefaultHttp2Headers()
+                .method("POST").scheme(tls ? "https" : "http").authority("localhost").path("/echo");
+        responseHeaders = new DefaultHttp2Headers().status("200");
+        for (int i = 0; i < headerCount; i++) {
+            requestHeaders.add("x-request-header-" + i, "request-value-" + i);
+            responseHeaders.add("x-response-header-" + i, "response-value-" + i);
+        }
+        if (bodySize > 0) {
+            byte[] bytes = new byte[bodySize];
+            ThreadLocalRandom.current().nextBytes(bytes);
+            body = preferredAllocator().copyOf(bytes);
+        }
+
+        SslContext serverSslContext = null;
+        SslContext clientSslContext = null;
+        if (tls) {
+            File keyFile = new File(AbstractSslHandlerBenchmark.class.getResource("test_unencrypted.pem").getFile());
+            File crtFile = new File(AbstractSslHandlerBenchmark.class.getResource("test.crt").getFile());
+            serverSslContext = SslContextBuilder.forServer(crtFile, keyFile).sslProvider(SslProvider.JDK).build();
+            clientSslContext = SslContextBuilder.forClient().sslProvider(SslProvider.JDK)
+                    .trustManager(InsecureTrustManagerFactory.INSTANCE).build();
+        }
+
+        // Like a real client and server, both sides run on their own event loop.
+        serverGroup = new MultithreadEventLoopGroup(1, transport.newIoHandlerFactory());
+        clientGroup = new MultithreadEventLoopGroup(1, transport.newIoHandlerFactory());
+
+        final SslContext serverSsl = serverSslContext;
+        final ChannelHandler echoHandler = new EchoHandler();
+        serverChannel = new ServerBootstrap()
+                .group(serverGroup)
+                .channel(transport.serverChannelClass())
+                .childHandler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        // Both sides know they speak HTTP/2, so it is not negotiated via ALPN.
+                        if (serverSsl != null) {
+                            ch.pipeline().addLast(serverSsl.newHandler(ch.bufferAllocator()));
+                        }
+                        ch.pipeline().addLast(Http2FrameCodecBuilder.forServer().build(),
+                                new Http2MultiplexHandler(echoHandler));
+                    }
+                })
+                .bind(transport.newBindAddress()).asStage().get();
+
+        final SslContext clientSsl = clientSslContext;
+        clientChannel = new Bootstrap()
+                .group(clientGroup)
+                .channel(transport.channelClass())
+                .handler(new ChannelInitializer<>() {
+                    @Override
+                    protected void initChannel(Channel ch) {
+                        if (clientSsl != null) {
+                            ch.pipeline().addLast(clientSsl.newHandler(ch.bufferAllocator()));
+                        }
+                        ch.pipeline().addLast(Http2FrameCodecBuilder.forClient().build(),
+                                new Http2MultiplexHandler(new ChannelHandler() { }));
+                    }
+                })
+                .connect(serverChannel.localAddress()).asStage().get();
+        streamBootstrap = new Http2StreamChannelBootstrap(clientChannel).handler(new RequestHandler());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        clientChannel.close().asStage().sync();
+        serverChannel.close().asStage().sync();
+        clientGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+        serverGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).asStage().sync();
+        if (body != null) {
+            body.close();
+        }
+    }
+
+    @Benchmark
+    public void requests(RequestCounter counter) throws Exception {
+        Promise<Void> promise = clientChannel.executor().newPromise();
+        clientChannel.executor().execute(() -> startBatch(promise));
+        promise.asFuture().asStage().sync();
+        counter.requests += concurrency;
+    }
+
+    @Override
+    protected ChainedOptionsBuilder newOptionsBuilder() throws Exception {
+        return super.newOptionsBuilder().addProfiler(GCProfiler.class);
+    }
+
+    private void startBatch(Promise<Void> promise) {
+        remaining = concurrency;
+        batchPromise = promise;
+        for (int i = 0; i < concurrency; i++) {
+            streamBootstrap.open().addListener(future -> {
+                if (future.isFailed()) {
+                    promise.tryFailure(future.cause());
+                }
+            });
+        }
+    }
+
+    private void responseCompleted() {
+        if (--remaining == 0) {
+            batchPromise.trySuccess(null);
+        }
+    }
+
+    /**
+     * Sends the request once a stream was opened and completes the exchange once the response ended.
+     */
+    private final class RequestHandler implements ChannelHandler {
+        @Override
+        public boolean isSharable() {
+            return true;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            if (body == null) {
+                ctx.write(new DefaultHttp2HeadersFrame(requestHeaders, true));
+            } else {
+                ctx.write(new DefaultHttp2HeadersFrame(requestHeaders));
+                // A read-only copy would share the memory of the body, but the local transport hands the written
+                // buffers to the server as they are and its decoder needs to own them.
+                ctx.write(new DefaultHttp2DataFrame(body.copy().send(), true));
+            }
+            ctx.flush();
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            try {
+                if (msg instanceof Http2HeadersFrame && ((Http2HeadersFrame) msg).isEndStream() ||
+                        msg instanceof Http2DataFrame && ((Http2DataFrame) msg).isEndStream()) {
+                    responseCompleted();
+                }
+            } finally {
+                Resource.dispose(msg);
+            }
+        }
+
+        @Override
+        public void channelExceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            batchPromise.tryFailure(cause);
+            ctx.close();
+        }
+    }
+
+    /**
+     * Answers every request with the response headers and echoes its body back.
+     */
+    private final class EchoHandler implements ChannelHandler {
+        @Override
+        public boolean isSharable() {
+            return true;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof Http2HeadersFrame) {
+                Http2HeadersFrame headersFrame = (Http2HeadersFrame) msg;
+                ctx.write(new DefaultHttp2HeadersFrame(responseHeaders, headersFrame.isEndStream()));
+                if (headersFrame.isEndStream()) {
+                    ctx.flush();
+                }
+            } else if (msg instanceof Http2DataFrame) {
+                Http2DataFrame dataFrame = (Http2DataFrame) msg;
+                boolean endStream = dataFrame.isEndStream();
+                ctx.write(new DefaultHttp2DataFrame(dataFrame.content().send(), endStream));
+                if (endStream) {
+                    ctx.flush();
+                }
+            } else {
+                Resource.dispose(msg);
+            }
+        }
+
+        @Override
+        public void channelExceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            ctx.close();
+        }
+    }
+}
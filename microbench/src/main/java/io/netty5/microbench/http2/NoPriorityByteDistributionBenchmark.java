@@ -18,6 +18,7 @@ import io.netty5.buffer.api.BufferAllocator;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.handler.codec.http2.DefaultHttp2Connection;
 import io.netty5.handler.codec.http2.DefaultHttp2RemoteFlowController;
+import io.netty5.handler.codec.http2.ExtensiblePriorityByteDistributor;
 import io.netty5.handler.codec.http2.Http2Connection;
 import io.netty5.handler.codec.http2.Http2ConnectionHandler;
 import io.netty5.handler.codec.http2.Http2ConnectionHandlerBuilder;
@@ -41,6 +42,8 @@ import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Threads;
 
+import static io.netty5.handler.codec.http2.Http2CodecUtil.DEFAULT_URGENCY;
+
 /**
  * Benchmark to compare stream byte distribution algorithms when priorities are identical for
  * all streams.
@@ -50,10 +53,12 @@ import org.openjdk.jmh.annotations.Threads;
 public class NoPriorityByteDistributionBenchmark extends AbstractMicrobenchmark {
     public enum Algorithm {
         WFQ,
-        UNIFORM
+        UNIFORM,
+        EXTENSIBLE,
+        EXTENSIBLE_INCREMENTAL
     }
 
-    @Param({ "100", "10000" })
+    @Param({ "100", "1000", "10000" })
     private int numStreams;
 
     @Param({ "1024", "65536", "1048576" })
@@ -128,6 +133,10 @@ public class NoPriorityByteDistributionBenchmark extends AbstractMicrobenchmark
             case UNIFORM:
                 distributor = new UniformStreamByteDistributor(connection);
                 break;
+            case EXTENSIBLE:
+            case EXTENSIBLE_INCREMENTAL:
+                distributor = new ExtensiblePriorityByteDistributor(connection);
+                break;
         }
         controller = new DefaultHttp2RemoteFlowController(connection, new ByteCounter(distributor));
         connection.remote().flowController(controller);
@@ -148,6 +157,10 @@ public class NoPriorityByteDistributionBenchmark extends AbstractMicrobenchmark
         // Create the streams, each initialized with MAX_INT bytes.
         for (int i = 0; i < numStreams; ++i) {
             Http2Stream stream = connection.local().createStream(toStreamId(i), false);
+            if (algorithm == Algorithm.EXTENSIBLE_INCREMENTAL) {
+                // Incremental streams of the same urgency share the bytes, like the other algorithms do.
+                controller.updatePriority(stream.id(), DEFAULT_URGENCY, true);
+            }
             addData(stream, Integer.MAX_VALUE);
             stream.setProperty(dataRefresherKey, new DataRefresher(stream));
         }
@@ -259,6 +272,11 @@ public class NoPriorityByteDistributionBenchmark extends AbstractMicrobenchmark
             delegate.updateDependencyTree(childStreamId, parentStreamId, weight, exclusive);
         }
 
+        @Override
+        public void updatePriority(int streamId, int urgency, boolean incremental) {
+            delegate.updatePriority(streamId, urgency, incremental);
+        }
+
         @Override
         public boolean distribute(int maxBytes, Writer writer) throws Http2Exception {
             return delegate.distribute(maxBytes, new CountingWriter(writer));
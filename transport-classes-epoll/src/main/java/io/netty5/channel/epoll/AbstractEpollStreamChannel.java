@@ -22,6 +22,7 @@ import io.netty5.channel.ChannelShutdownDirection;
 import io.netty5.channel.unix.UnixChannel;
 import io.netty5.util.Resource;
 import io.netty5.channel.ChannelMetadata;
+import io.netty5.channel.ChannelOption;
 import io.netty5.channel.ChannelOutboundBuffer;
 import io.netty5.channel.ChannelPipeline;
 import io.netty5.channel.DefaultFileRegion;
@@ -43,6 +44,7 @@ import java.nio.channels.WritableByteChannel;
 import static io.netty5.channel.internal.ChannelUtils.MAX_BYTES_PER_GATHERING_WRITE_ATTEMPTED_LOW_THRESHOLD;
 import static io.netty5.channel.internal.ChannelUtils.WRITE_STATUS_SNDBUF_FULL;
 import static io.netty5.channel.unix.Limits.SSIZE_MAX;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
 
 public abstract class AbstractEpollStreamChannel
         <P extends UnixChannel, L extends SocketAddress, R extends SocketAddress>
@@ -57,6 +59,12 @@ public abstract class AbstractEpollStreamChannel
 
     private WritableByteChannel byteChannel;
     private volatile long maxBytesPerGatheringWrite = SSIZE_MAX;
+    private volatile int exactReadSizeLimit;
+
+    // Single-writer counters, only written from the EventLoop.
+    private volatile long readReadyEvents;
+    private volatile long readCalls;
+    private volatile long queuedBytesQueries;
 
     protected AbstractEpollStreamChannel(P parent, EventLoop eventLoop, int fd) {
         this(parent, eventLoop, new LinuxSocket(fd));
@@ -123,6 +131,55 @@ public abstract class AbstractEpollStreamChannel
         }
     }
 
+    /**
+     * Returns the number of {@code EPOLLIN} readiness events that were processed for this channel.
+     * Together with {@link #readCalls()} this gives the average number of reads per readiness event.
+     */
+    public final long readReadyEvents() {
+        return readReadyEvents;
+    }
+
+    /**
+     * Returns the number of {@code read(...)} calls that were made for this channel.
+     */
+    public final long readCalls() {
+        return readCalls;
+    }
+
+    /**
+     * Returns the number of times the queued bytes were queried via {@code ioctl(FIONREAD)}, which is only done once
+     * per readiness event if {@link EpollChannelOption#EXACT_READ_SIZE_LIMIT} is set.
+     */
+    public final long queuedBytesQueries() {
+        return queuedBytesQueries;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <T> T getExtendedOption(ChannelOption<T> option) {
+        if (option == EpollChannelOption.EXACT_READ_SIZE_LIMIT) {
+            return (T) Integer.valueOf(exactReadSizeLimit);
+        }
+        return super.getExtendedOption(option);
+    }
+
+    @Override
+    protected <T> void setExtendedOption(ChannelOption<T> option, T value) {
+        if (option == EpollChannelOption.EXACT_READ_SIZE_LIMIT) {
+            exactReadSizeLimit = checkPositiveOrZero((Integer) value, "exactReadSizeLimit");
+        } else {
+            super.setExtendedOption(option, value);
+        }
+    }
+
+    @Override
+    protected boolean isExtendedOptionSupported(ChannelOption<?> option) {
+        if (option == EpollChannelOption.EXACT_READ_SIZE_LIMIT) {
+            return true;
+        }
+        return super.isExtendedOptionSupported(option);
+    }
+
     final void setMaxBytesPerGatheringWrite(long maxBytesPerGatheringWrite) {
         this.maxBytesPerGatheringWrite = maxBytesPerGatheringWrite;
     }
@@ -459,17 +516,41 @@ public abstract class AbstractEpollStreamChannel
 
         final ChannelPipeline pipeline = pipeline();
         final BufferAllocator bufferAllocator = bufferAllocator();
+        final int exactReadSizeLimit = this.exactReadSizeLimit;
         recvAlloc.reset();
         epollInBefore();
+        readReadyEvents++;
 
         Buffer buffer = null;
         boolean close = false;
+        // The number of bytes that are left to read of those that were queued when the readiness event was
+        // processed, or -1 if exact size reads are disabled.
+        int queued = -1;
+        int reads = 0;
         try {
+            if (exactReadSizeLimit > 0) {
+                queued = socket.getQueuedBytes();
+                queuedBytesQueries++;
+            }
             do {
                 // we use a direct buffer here as the native implementations only be able
                 // to handle direct buffers.
-                buffer = recvAlloc.allocate(bufferAllocator);
+                if (queued > 0) {
+                    buffer = recvAlloc.allocate(bufferAllocator, Math.min(queued, exactReadSizeLimit));
+                } else if (queued == 0 && reads > 0 && !recvAlloc.isReceivedRdHup()) {
+                    // We read everything that was queued, so there is no need to call read(...) just to see EAGAIN.
+                    // Data that arrived in the meantime triggers another readiness event. The first read is always
+                    // done as it is the only way to detect EOF.
+                    recvAlloc.lastBytesRead(0);
+                    break;
+                } else {
+                    buffer = recvAlloc.allocate(bufferAllocator);
+                }
+                reads++;
                 doReadBytes(buffer);
+                if (queued > 0) {
+                    queued = Math.max(0, queued - recvAlloc.lastBytesRead());
+                }
                 if (recvAlloc.lastBytesRead() <= 0) {
                     // nothing was read, release the buffer.
                     Resource.dispose(buffer);
@@ -513,6 +594,8 @@ public abstract class AbstractEpollStreamChannel
         } catch (Throwable t) {
             handleReadException(pipeline, buffer, t, close, recvAlloc);
         } finally {
+            // Only update the counter once per readiness event, as every write to it is a volatile write.
+            readCalls += reads;
             epollInFinally();
         }
     }
@@ -51,6 +51,13 @@ public final class EpollChannelOption<T> extends UnixChannelOption<T> {
     public static final ChannelOption<Map<InetAddress, byte[]>> TCP_MD5SIG = valueOf("TCP_MD5SIG");
     public static final ChannelOption<Integer> MAX_DATAGRAM_PAYLOAD_SIZE = valueOf("MAX_DATAGRAM_PAYLOAD_SIZE");
     public static final ChannelOption<Boolean> UDP_GRO = valueOf("UDP_GRO");
+    /**
+     * If set to a value greater than {@code 0}, stream channels query the number of queued bytes via
+     * {@code ioctl(FIONREAD)} once per readiness event and read exactly those bytes into buffers of at most this size,
+     * instead of guessing the size via the {@link io.netty5.channel.RecvBufferAllocator}. {@code 0} disables it.
+     */
+    public static final ChannelOption<Integer> EXACT_READ_SIZE_LIMIT =
+            valueOf(EpollChannelOption.class, "EXACT_READ_SIZE_LIMIT");
 
     @SuppressWarnings({ "unused", "deprecation" })
     private EpollChannelOption() {
@@ -60,6 +60,16 @@ class EpollRecvBufferAllocatorHandle extends DelegatingHandle {
         return super.allocate(alloc);
     }
 
+    /**
+     * Allocate a {@link Buffer} of exactly the given size, ignoring the guess of the wrapped {@link Handle}.
+     */
+    final Buffer allocate(BufferAllocator alloc, int size) {
+        if (!alloc.getAllocationType().isDirect()) {
+            return DefaultBufferAllocators.offHeapAllocator().allocate(size);
+        }
+        return alloc.allocate(size);
+    }
+
     @Override
     public final boolean continueReading(boolean autoRead) {
         // We must override the supplier which determines if there maybe more data to read.
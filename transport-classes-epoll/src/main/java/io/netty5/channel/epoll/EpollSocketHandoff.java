@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.epoll;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelFutureListeners;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.ServerChannelFactory;
+import io.netty5.channel.socket.DomainSocketAddress;
+import io.netty5.channel.unix.DomainSocketReadMode;
+import io.netty5.channel.unix.FileDescriptor;
+import io.netty5.channel.unix.UnixChannel;
+import io.netty5.channel.unix.UnixChannelOption;
+import io.netty5.util.Resource;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.FutureListener;
+import io.netty5.util.concurrent.Promise;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Hands listening sockets, and optionally established connections, over from a running process to a new one using
+ * {@code SCM_RIGHTS} over a unix domain socket. This allows to restart a server without ever closing its listening
+ * socket, so connections that arrive during the restart are queued in the accept backlog instead of being refused.
+ * <p>
+ * The running process makes its channels available by calling
+ * {@link #serve(EventLoopGroup, DomainSocketAddress, Supplier, FutureListener)}. Every process that connects to the
+ * handoff address receives the file descriptors of the supplied channels, in the order of the supplied
+ * {@link Collection}, after which the connection is closed by the sending side.
+ * <p>
+ * There is no authentication, <strong>anyone who can connect to the handoff address receives the file
+ * descriptors</strong> and so can accept connections on the listening sockets or read and write established
+ * connections. The handoff address must therefore be in a directory that only the user of the server can access,
+ * or be bound only for the duration of the restart.
+ * <p>
+ * The new process obtains them via {@link #receive(EventLoopGroup, DomainSocketAddress)} and adopts the listening
+ * sockets with a {@link ServerBootstrap} without binding again:
+ * <pre>
+ * for (FileDescriptor fd : EpollSocketHandoff.receive(group, address).asStage().get()) {
+ *     if (EpollSocketHandoff.isListening(fd)) {
+ *         new ServerBootstrap()
+ *                 .group(group)
+ *                 .channelFactory(EpollSocketHandoff.adopt(fd))
+ *                 .childHandler(childHandler)
+ *                 .register();
+ *     }
+ * }
+ * </pre>
+ * Once the handoff completed the old process should stop reading from its listening channels (for example by
+ * disabling {@link io.netty5.channel.ChannelOption#AUTO_READ}) and can close them after it drained the connections it
+ * accepted already. Closing them only releases the reference of the old process, the listening socket stays open.
+ * <p>
+ * Established connections are handed over at the socket level only, any protocol state (for example TLS sessions or
+ * partially decoded messages) is not transferred. They can be adopted via
+ * {@link EpollSocketChannel#EpollSocketChannel(EventLoop, int)}.
+ */
+public final class EpollSocketHandoff {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(EpollSocketHandoff.class);
+
+    private EpollSocketHandoff() { }
+
+    /**
+     * Bind a handoff server to the given {@link DomainSocketAddress}.
+     *
+     * @param group     the {@link EventLoopGroup} to use, must support {@link EpollServerDomainSocketChannel}.
+     * @param address   the address to bind the handoff server to.
+     * @param channels  queried for each handoff, returns the channels whose file descriptors are sent.
+     * @param listener  notified once the file descriptors were written to a receiving process, or the handoff failed.
+     * @return          the {@link Future} that is notified once the handoff server is bound.
+     */
+    public static Future<Channel> serve(EventLoopGroup group, DomainSocketAddress address,
+                                        Supplier<? extends Collection<? extends UnixChannel>> channels,
+                                        FutureListener<Void> listener) {
+        requireNonNull(group, "group");
+        requireNonNull(address, "address");
+        requireNonNull(channels, "channels");
+        requireNonNull(listener, "listener");
+        return new ServerBootstrap()
+                .group(group)
+                .channel(EpollServerDomainSocketChannel.class)
+                .childHandler(new SendHandler(channels, listener))
+                .bind(address);
+    }
+
+    /**
+     * Connect to the handoff server that listens on the given {@link DomainSocketAddress} and receive all the file
+     * descriptors it sends. The returned {@link Future} is notified once the sending side closed the connection.
+     * <p>
+     * The caller takes ownership of the received file descriptors and is responsible to either adopt them or to
+     * {@linkplain FileDescriptor#close() close} them.
+     *
+     * @param group     the {@link EventLoopGroup} to use, must support {@link EpollDomainSocketChannel}.
+     * @param address   the address of the handoff server.
+     * @return          the received file descriptors, in the order they were sent.
+     */
+    public static Future<List<FileDescriptor>> receive(EventLoopGroup group, DomainSocketAddress address) {
+        requireNonNull(group, "group");
+        requireNonNull(address, "address");
+        EventLoop loop = group.next();
+        Promise<List<FileDescriptor>> promise = loop.newPromise();
+        new Bootstrap()
+                .group(loop)
+                .channel(EpollDomainSocketChannel.class)
+                .option(UnixChannelOption.DOMAIN_SOCKET_READ_MODE, DomainSocketReadMode.FILE_DESCRIPTORS)
+                .handler(new ReceiveHandler(promise))
+                .connect(address)
+                .addListener(future -> {
+                    if (future.isFailed()) {
+                        promise.tryFailure(future.cause());
+                    }
+                });
+        return promise.asFuture();
+    }
+
+    /**
+     * Returns {@code true} if the given {@link FileDescriptor} refers to a stream socket that is listening for
+     * connections, as determined by {@code SO_TYPE} and {@code SO_ACCEPTCONN}.
+     *
+     * @throws IOException if the file descriptor does not refer to a socket.
+     */
+    public static boolean isListening(FileDescriptor fd) throws IOException {
+        LinuxSocket socket = new LinuxSocket(fd.intValue());
+        return socket.isStreamSocket() && socket.isSoAcceptConn();
+    }
+
+    /**
+     * Returns a {@link ServerChannelFactory} that adopts the given listening socket as an
+     * {@link EpollServerSocketChannel}. The socket must already be bound and listening, so the {@link ServerBootstrap}
+     * using it should be {@linkplain ServerBootstrap#register() registered} and not bound.
+     * <p>
+     * The returned factory can only create a single channel.
+     */
+    public static ServerChannelFactory<EpollServerSocketChannel> adopt(FileDescriptor fd) {
+        requireNonNull(fd, "fd");
+        return new ServerChannelFactory<>() {
+            private boolean used;
+
+            @Override
+            public synchronized EpollServerSocketChannel newChannel(EventLoop eventLoop,
+                                                                    EventLoopGroup childEventLoopGroup) {
+                if (used) {
+                    throw new IllegalStateException("File descriptor " + fd + " was adopted already");
+                }
+                used = true;
+                return new EpollServerSocketChannel(eventLoop, childEventLoopGroup, fd.intValue());
+            }
+        };
+    }
+
+    private static final class SendHandler implements ChannelHandler {
+        private final Supplier<? extends Collection<? extends UnixChannel>> channels;
+        private final FutureListener<Void> listener;
+
+        SendHandler(Supplier<? extends Collection<? extends UnixChannel>> channels, FutureListener<Void> listener) {
+            this.channels = channels;
+            this.listener = listener;
+        }
+
+        @Override
+        public boolean isSharable() {
+            return true;
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) {
+            Future<Void> last = null;
+            for (UnixChannel channel : channels.get()) {
+                last = ctx.write(channel.fd());
+            }
+            ctx.flush();
+            if (last == null) {
+                last = ctx.newSucceededFuture();
+            }
+            last.addListener(listener);
+            last.addListener(ctx, ChannelFutureListeners.CLOSE);
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            // The receiving side is not expected to send anything.
+            Resource.dispose(msg);
+        }
+    }
+
+    private static final class ReceiveHandler implements ChannelHandler {
+        private final Promise<List<FileDescriptor>> promise;
+        private final List<FileDescriptor> received = new ArrayList<>();
+
+        ReceiveHandler(Promise<List<FileDescriptor>> promise) {
+            this.promise = promise;
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof FileDescriptor && !promise.isDone()) {
+                received.add((FileDescriptor) msg);
+            } else {
+                Resource.dispose(msg);
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) {
+            if (!promise.trySuccess(received)) {
+                closeAll();
+            }
+            ctx.fireChannelInactive();
+        }
+
+        @Override
+        public void channelExceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            if (promise.tryFailure(cause)) {
+                closeAll();
+            }
+            ctx.close();
+        }
+
+        private void closeAll() {
+            for (FileDescriptor fd : received) {
+                try {
+                    fd.close();
+                } catch (IOException e) {
+                    logger.debug("Failed to close received file descriptor {}", fd, e);
+                }
+            }
+            received.clear();
+        }
+    }
+}
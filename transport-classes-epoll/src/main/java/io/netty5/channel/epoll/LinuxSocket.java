@@ -234,6 +234,20 @@ public final class LinuxSocket extends Socket {
         return isTcpCork(intValue()) != 0;
     }
 
+    /**
+     * Returns {@code true} if this socket is listening for connections, see {@code SO_ACCEPTCONN}.
+     */
+    boolean isSoAcceptConn() throws IOException {
+        return isSoAcceptConn(intValue()) != 0;
+    }
+
+    /**
+     * Returns {@code true} if this is a {@code SOCK_STREAM} socket, see {@code SO_TYPE}.
+     */
+    boolean isStreamSocket() throws IOException {
+        return isStreamSocket(intValue()) != 0;
+    }
+
     int getSoBusyPoll() throws IOException  {
         return getSoBusyPoll(intValue());
     }
@@ -250,6 +264,14 @@ public final class LinuxSocket extends Socket {
         return getTcpNotSentLowAt(intValue()) & MAX_UINT32_T;
     }
 
+    /**
+     * Returns the number of bytes that are queued in the receive buffer and can be read without blocking
+     * (see {@code FIONREAD} in <a href="https://man7.org/linux/man-pages/man7/tcp.7.html">tcp man</a>).
+     */
+    int getQueuedBytes() throws IOException {
+        return getQueuedBytes(intValue());
+    }
+
     int getTcpKeepIdle() throws IOException {
         return getTcpKeepIdle(intValue());
     }
@@ -380,7 +402,10 @@ public final class LinuxSocket extends Socket {
     private static native int isTcpQuickAck(int fd) throws IOException;
     private static native int isTcpCork(int fd) throws IOException;
     private static native int getSoBusyPoll(int fd) throws IOException;
+    private static native int isSoAcceptConn(int fd) throws IOException;
+    private static native int isStreamSocket(int fd) throws IOException;
     private static native int getTcpNotSentLowAt(int fd) throws IOException;
+    private static native int getQueuedBytes(int fd) throws IOException;
     private static native int getTcpKeepIdle(int fd) throws IOException;
     private static native int getTcpKeepIntvl(int fd) throws IOException;
     private static native int getTcpKeepCnt(int fd) throws IOException;
@@ -26,6 +26,7 @@
 #include <errno.h>
 #include <netinet/in.h>
 #include <netinet/udp.h> // SOL_UDP
+#include <sys/ioctl.h>
 #include <sys/sendfile.h>
 #include <linux/tcp.h> // TCP_NOTSENT_LOWAT is a linux specific define
 #include "netty5_epoll_linuxsocket.h"
@@ -573,6 +574,22 @@ static jint netty5_epoll_linuxsocket_isTcpCork(JNIEnv* env, jclass clazz, jint f
     return optval;
 }
 
+static jint netty5_epoll_linuxsocket_isSoAcceptConn(JNIEnv* env, jclass clazz, jint fd) {
+    int optval;
+    if (netty5_unix_socket_getOption(env, fd, SOL_SOCKET, SO_ACCEPTCONN, &optval, sizeof(optval)) == -1) {
+        return -1;
+    }
+    return optval;
+}
+
+static jint netty5_epoll_linuxsocket_isStreamSocket(JNIEnv* env, jclass clazz, jint fd) {
+    int optval;
+    if (netty5_unix_socket_getOption(env, fd, SOL_SOCKET, SO_TYPE, &optval, sizeof(optval)) == -1) {
+        return -1;
+    }
+    return optval == SOCK_STREAM ? 1 : 0;
+}
+
 static jint netty5_epoll_linuxsocket_getSoBusyPoll(JNIEnv* env, jclass clazz, jint fd) {
     int optval;
     if (netty5_unix_socket_getOption(env, fd, SOL_SOCKET, SO_BUSY_POLL, &optval, sizeof(optval)) == -1) {
@@ -605,6 +622,15 @@ static jint netty5_epoll_linuxsocket_getTcpNotSentLowAt(JNIEnv* env, jclass claz
     return optval;
 }
 
+static jint netty5_epoll_linuxsocket_getQueuedBytes(JNIEnv* env, jclass clazz, jint fd) {
+    int queued;
+    if (ioctl(fd, FIONREAD, &queued) == -1) {
+        netty5_unix_errors_throwIOExceptionErrorNo(env, "ioctl(FIONREAD) failed: ", errno);
+        return -1;
+    }
+    return queued;
+}
+
 static jobject netty5_epoll_linuxsocket_getPeerCredentials(JNIEnv *env, jclass clazz, jint fd) {
      struct ucred credentials;
      if(netty5_unix_socket_getOption(env,fd, SOL_SOCKET, SO_PEERCRED, &credentials, sizeof (credentials)) == -1) {
@@ -678,8 +704,11 @@ static const JNINativeMethod fixed_method_table[] = {
   { "setTcpNotSentLowAt", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpNotSentLowAt },
   { "isTcpCork", "(I)I", (void *) netty5_epoll_linuxsocket_isTcpCork },
   { "getSoBusyPoll", "(I)I", (void *) netty5_epoll_linuxsocket_getSoBusyPoll },
+  { "isSoAcceptConn", "(I)I", (void *) netty5_epoll_linuxsocket_isSoAcceptConn },
+  { "isStreamSocket", "(I)I", (void *) netty5_epoll_linuxsocket_isStreamSocket },
   { "getTcpDeferAccept", "(I)I", (void *) netty5_epoll_linuxsocket_getTcpDeferAccept },
   { "getTcpNotSentLowAt", "(I)I", (void *) netty5_epoll_linuxsocket_getTcpNotSentLowAt },
+  { "getQueuedBytes", "(I)I", (void *) netty5_epoll_linuxsocket_getQueuedBytes },
   { "isTcpQuickAck", "(I)I", (void *) netty5_epoll_linuxsocket_isTcpQuickAck },
   { "setTcpFastOpen", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpFastOpen },
   { "setTcpKeepIdle", "(II)V", (void *) netty5_epoll_linuxsocket_setTcpKeepIdle },
@@ -16,14 +16,25 @@
 package io.netty5.channel.epoll;
 
 import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.channel.ChannelOption;
 import io.netty5.channel.EventLoopGroup;
 import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.util.NetUtil;
 import org.junit.jupiter.api.Test;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -120,4 +131,72 @@ public class EpollSocketChannelTest {
             group.shutdownGracefully();
         }
     }
+
+    @Test
+    public void testExactSizeReads() throws Exception {
+        EventLoopGroup group = new MultithreadEventLoopGroup(1, EpollHandler.newFactory());
+
+        try {
+            byte[] data = new byte[8192];
+            ThreadLocalRandom.current().nextBytes(data);
+            CountDownLatch done = new CountDownLatch(1);
+            CountDownLatch inactive = new CountDownLatch(1);
+            AtomicReference<EpollSocketChannel> accepted = new AtomicReference<>();
+            AtomicInteger largestRead = new AtomicInteger();
+            Channel server = new ServerBootstrap()
+                    .group(group)
+                    .channel(EpollServerSocketChannel.class)
+                    .childOption(EpollChannelOption.EXACT_READ_SIZE_LIMIT, 4096)
+                    .childHandler(new ChannelHandler() {
+                        private int received;
+
+                        @Override
+                        public void channelActive(ChannelHandlerContext ctx) {
+                            accepted.set((EpollSocketChannel) ctx.channel());
+                        }
+
+                        @Override
+                        public void channelInactive(ChannelHandlerContext ctx) {
+                            inactive.countDown();
+                        }
+
+                        @Override
+                        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                            try (Buffer buffer = (Buffer) msg) {
+                                largestRead.accumulateAndGet(buffer.readableBytes(), Math::max);
+                                received += buffer.readableBytes();
+                            }
+                            if (received == data.length) {
+                                done.countDown();
+                            }
+                        }
+                    })
+                    .bind(new InetSocketAddress(NetUtil.LOCALHOST, 0)).asStage().get();
+            Channel client = new Bootstrap()
+                    .group(group)
+                    .channel(EpollSocketChannel.class)
+                    .handler(new ChannelHandler() { })
+                    .connect(server.localAddress()).asStage().get();
+
+            client.writeAndFlush(client.bufferAllocator().copyOf(data)).asStage().sync();
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+
+            EpollSocketChannel ch = accepted.get();
+            // The counters are updated once the read loop is done, make sure that it is.
+            ch.executor().submit(() -> { }).asStage().sync();
+            assertEquals(Integer.valueOf(4096), ch.getOption(EpollChannelOption.EXACT_READ_SIZE_LIMIT));
+            assertTrue(largestRead.get() <= 4096);
+            assertTrue(ch.readReadyEvents() > 0);
+            assertTrue(ch.readCalls() >= data.length / 4096);
+            // The queued bytes are only queried once per readiness event.
+            assertEquals(ch.readReadyEvents(), ch.queuedBytesQueries());
+
+            // The EOF is still detected when the option is set.
+            client.close().asStage().sync();
+            assertTrue(inactive.await(10, TimeUnit.SECONDS));
+            server.close().asStage().sync();
+        } finally {
+            group.shutdownGracefully();
+        }
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.epoll;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.ServerChannelFactory;
+import io.netty5.channel.socket.DomainSocketAddress;
+import io.netty5.channel.unix.FileDescriptor;
+import io.netty5.testsuite.transport.socket.SocketTestPermutation;
+import io.netty5.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EpollSocketHandoffTest {
+
+    private EventLoopGroup group;
+
+    @BeforeEach
+    public void setUp() {
+        group = new MultithreadEventLoopGroup(1, EpollHandler.newFactory());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        group.shutdownGracefully().asStage().sync();
+    }
+
+    @Test
+    @Timeout(value = 30000, unit = TimeUnit.MILLISECONDS)
+    public void testHandoffListeningSocket() throws Throwable {
+        Channel oldServer = new ServerBootstrap()
+                .group(group)
+                .channel(EpollServerSocketChannel.class)
+                .childHandler(new ChannelHandler() { })
+                .bind(new InetSocketAddress(0)).asStage().get();
+        InetSocketAddress address = (InetSocketAddress) oldServer.localAddress();
+
+        DomainSocketAddress handoffAddress = SocketTestPermutation.newDomainSocketAddress();
+        CountDownLatch handedOff = new CountDownLatch(1);
+        Channel handoffServer = EpollSocketHandoff.serve(group, handoffAddress,
+                () -> List.of((EpollServerSocketChannel) oldServer), future -> {
+                    if (future.isSuccess()) {
+                        handedOff.countDown();
+                    }
+                }).asStage().get();
+
+        List<FileDescriptor> fds = EpollSocketHandoff.receive(group, handoffAddress).asStage().get();
+        assertTrue(handedOff.await(10, TimeUnit.SECONDS));
+        assertEquals(1, fds.size());
+        FileDescriptor fd = fds.get(0);
+        assertTrue(EpollSocketHandoff.isListening(fd));
+
+        // Closing the old channel must not close the listening socket as it is still referenced by the new channel.
+        handoffServer.close().asStage().sync();
+        oldServer.close().asStage().sync();
+
+        CountDownLatch accepted = new CountDownLatch(1);
+        Channel newServer = new ServerBootstrap()
+                .group(group)
+                .channelFactory(EpollSocketHandoff.adopt(fd))
+                .childHandler(new ChannelHandler() {
+                    @Override
+                    public void channelActive(ChannelHandlerContext ctx) {
+                        accepted.countDown();
+                        ctx.fireChannelActive();
+                    }
+                })
+                .register().asStage().get();
+        assertTrue(newServer.isActive());
+        assertEquals(address.getPort(), ((InetSocketAddress) newServer.localAddress()).getPort());
+
+        Channel client = new Bootstrap()
+                .group(group)
+                .channel(EpollSocketChannel.class)
+                .handler(new ChannelHandler() { })
+                .connect(new InetSocketAddress(address.getAddress(), address.getPort())).asStage().get();
+        assertTrue(accepted.await(10, TimeUnit.SECONDS));
+
+        client.close().asStage().sync();
+        newServer.close().asStage().sync();
+    }
+
+    @Test
+    public void testIsListening() throws Throwable {
+        LinuxSocket unconnected = LinuxSocket.newSocketStream();
+        LinuxSocket datagram = LinuxSocket.newSocketDgram();
+        LinuxSocket listening = LinuxSocket.newSocketStream();
+        try {
+            // Neither of them has a remote address, but only one of them is listening.
+            assertFalse(EpollSocketHandoff.isListening(unconnected));
+            assertFalse(EpollSocketHandoff.isListening(datagram));
+            listening.bind(new InetSocketAddress(0));
+            assertFalse(EpollSocketHandoff.isListening(listening));
+            listening.listen(1);
+            assertTrue(EpollSocketHandoff.isListening(listening));
+        } finally {
+            unconnected.close();
+            datagram.close();
+            listening.close();
+        }
+    }
+
+    @Test
+    @Timeout(value = 30000, unit = TimeUnit.MILLISECONDS)
+    public void testHandoffNothing() throws Throwable {
+        DomainSocketAddress handoffAddress = SocketTestPermutation.newDomainSocketAddress();
+        Channel handoffServer = EpollSocketHandoff.serve(group, handoffAddress, List::of, future -> { })
+                .asStage().get();
+
+        List<FileDescriptor> fds = EpollSocketHandoff.receive(group, handoffAddress).asStage().get();
+        assertTrue(fds.isEmpty());
+        handoffServer.close().asStage().sync();
+    }
+
+    @Test
+    @Timeout(value = 30000, unit = TimeUnit.MILLISECONDS)
+    public void testReceiveWithoutServerFails() throws Throwable {
+        Future<List<FileDescriptor>> future = EpollSocketHandoff.receive(
+                group, SocketTestPermutation.newDomainSocketAddress());
+        future.asStage().await();
+        assertFalse(future.isSuccess());
+    }
+
+    @Test
+    public void testAdoptOnlyOnce() throws Throwable {
+        Channel server = new ServerBootstrap()
+                .group(group)
+                .channel(EpollServerSocketChannel.class)
+                .childHandler(new ChannelHandler() { })
+                .bind(new InetSocketAddress(0)).asStage().get();
+        try {
+            FileDescriptor fd = new FileDescriptor(((EpollServerSocketChannel) server).fd().intValue());
+            ServerChannelFactory<EpollServerSocketChannel> factory = EpollSocketHandoff.adopt(fd);
+            factory.newChannel(group.next(), group);
+            assertThrows(IllegalStateException.class, () -> factory.newChannel(group.next(), group));
+        } finally {
+            server.close().asStage().sync();
+        }
+    }
+}
@@ -81,6 +81,14 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
      */
     private static final int REMOVE_COMPLETE = 3;
 
+    /**
+     * If {@code true} the next {@link DefaultChannelHandlerContext} for the hottest events ({@code channelRead},
+     * {@code channelReadComplete}, {@code read}, {@code write} and {@code flush}) is precomputed for every context in
+     * the pipeline, so dispatching these events does not need to walk over handlers that are not interested in them.
+     */
+    static final boolean PRECOMPUTE_HANDLER_CHAINS =
+            SystemPropertyUtil.getBoolean("io.netty5.transport.precomputeHandlerChains", true);
+
     private final int executionMask;
     private final DefaultChannelPipeline pipeline;
     private final ChannelHandler handler;
@@ -100,6 +108,16 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
     DefaultChannelHandlerContext next;
     DefaultChannelHandlerContext prev;
 
+    // Precomputed next contexts, only valid if handlerChainsVersion matches the version of the pipeline.
+    // See precomputeHandlerChains(...). Only accessed from the EventLoop.
+    private int handlerChainsVersion;
+    private DefaultChannelHandlerContext nextChannelRead;
+    private DefaultChannelHandlerContext nextChannelReadComplete;
+    private DefaultChannelHandlerContext prevRead;
+    private DefaultChannelHandlerContext prevWrite;
+    private DefaultChannelHandlerContext prevWriteAndFlush;
+    private DefaultChannelHandlerContext prevFlush;
+
     DefaultChannelHandlerContext(DefaultChannelPipeline pipeline, String name,
                                  ChannelHandler handler) {
         this.name = requireNonNull(name, "name");
@@ -975,6 +993,10 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
     }
 
     private DefaultChannelHandlerContext findContextInbound(int mask) {
+        if (PRECOMPUTE_HANDLER_CHAINS && (mask == MASK_CHANNEL_READ || mask == MASK_CHANNEL_READ_COMPLETE) &&
+                hasPrecomputedHandlerChains()) {
+            return mask == MASK_CHANNEL_READ ? nextChannelRead : nextChannelReadComplete;
+        }
         DefaultChannelHandlerContext ctx = this;
         if (ctx.next == null) {
             return null;
@@ -986,6 +1008,20 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
     }
 
     private DefaultChannelHandlerContext findContextOutbound(int mask) {
+        if (PRECOMPUTE_HANDLER_CHAINS && hasPrecomputedHandlerChains()) {
+            switch (mask) {
+                case MASK_WRITE:
+                    return prevWrite;
+                case MASK_WRITE | MASK_FLUSH:
+                    return prevWriteAndFlush;
+                case MASK_FLUSH:
+                    return prevFlush;
+                case MASK_READ:
+                    return prevRead;
+                default:
+                    break;
+            }
+        }
         DefaultChannelHandlerContext ctx = this;
         if (ctx.prev == null) {
             return null;
@@ -996,6 +1032,61 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
         return ctx;
     }
 
+    private boolean hasPrecomputedHandlerChains() {
+        // Contexts that were removed from the pipeline are never part of a rebuild and so will always
+        // fall back to walking the linked list.
+        return handlerChainsVersion == pipeline.handlerChainsVersion();
+    }
+
+    private static boolean isTarget(DefaultChannelHandlerContext ctx, int mask) {
+        return (ctx.executionMask & mask) != 0 && ctx.handlerState != REMOVE_STARTED;
+    }
+
+    /**
+     * Precompute the next context for the hottest events for all contexts between {@code head} and {@code tail}.
+     * This produces exactly the same result as {@link #findContextInbound(int)} and {@link #findContextOutbound(int)}
+     * would by walking the linked list. Must be called from the {@link EventLoop}.
+     */
+    static void precomputeHandlerChains(DefaultChannelHandlerContext head, DefaultChannelHandlerContext tail,
+                                        int version) {
+        DefaultChannelHandlerContext channelRead = null;
+        DefaultChannelHandlerContext channelReadComplete = null;
+        for (DefaultChannelHandlerContext ctx = tail; ctx != null; ctx = ctx.prev) {
+            ctx.nextChannelRead = channelRead;
+            ctx.nextChannelReadComplete = channelReadComplete;
+            if (isTarget(ctx, MASK_CHANNEL_READ)) {
+                channelRead = ctx;
+            }
+            if (isTarget(ctx, MASK_CHANNEL_READ_COMPLETE)) {
+                channelReadComplete = ctx;
+            }
+        }
+
+        DefaultChannelHandlerContext read = null;
+        DefaultChannelHandlerContext write = null;
+        DefaultChannelHandlerContext writeAndFlush = null;
+        DefaultChannelHandlerContext flush = null;
+        for (DefaultChannelHandlerContext ctx = head; ctx != null; ctx = ctx.next) {
+            ctx.prevRead = read;
+            ctx.prevWrite = write;
+            ctx.prevWriteAndFlush = writeAndFlush;
+            ctx.prevFlush = flush;
+            ctx.handlerChainsVersion = version;
+            if (isTarget(ctx, MASK_READ)) {
+                read = ctx;
+            }
+            if (isTarget(ctx, MASK_WRITE)) {
+                write = ctx;
+            }
+            if (isTarget(ctx, MASK_WRITE | MASK_FLUSH)) {
+                writeAndFlush = ctx;
+            }
+            if (isTarget(ctx, MASK_FLUSH)) {
+                flush = ctx;
+            }
+        }
+    }
+
     boolean setAddComplete() {
         // Ensure we never update when the handlerState is REMOVE_COMPLETE already.
         // oldState is usually ADD_PENDING but can also be REMOVE_COMPLETE when an EventExecutor is used that is not
@@ -1027,6 +1118,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
             // Only call handlerRemoved(...) if we called handlerAdded(...) before.
             if (handlerState == ADD_COMPLETE) {
                 handlerState = REMOVE_STARTED;
+                pipeline.invalidateHandlerChains();
                 try {
                     handler().handlerRemoved(this);
                 } finally {
@@ -1043,6 +1135,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
             // Mark the handler as removed in any case.
             handlerState = REMOVE_COMPLETE;
             removed = true;
+            pipeline.invalidateHandlerChains();
         }
     }
 
@@ -1067,6 +1160,7 @@ final class DefaultChannelHandlerContext implements ChannelHandlerContext, Resou
 
         prev = null;
         next = null;
+        pipeline.invalidateHandlerChains();
     }
 
     static boolean safeExecute(EventExecutor executor, Runnable runnable, Promise<Void> promise, Object msg) {
@@ -81,6 +81,11 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
 
     private volatile long pendingOutboundBytes;
 
+    // Only accessed from the EventLoop.
+    // See DefaultChannelHandlerContext.PRECOMPUTE_HANDLER_CHAINS.
+    private int handlerChainsVersion;
+    private boolean handlerChainsValid;
+
     protected DefaultChannelPipeline(Channel channel) {
         this.channel = requireNonNull(channel, "channel");
         succeededFuture = channel.executor().newSucceededFuture(null);
@@ -112,6 +117,26 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         return msg;
     }
 
+    /**
+     * Returns the current version of the precomputed handler chains, rebuilding them first if the pipeline was
+     * modified since they were last computed.
+     */
+    final int handlerChainsVersion() {
+        if (!handlerChainsValid) {
+            DefaultChannelHandlerContext.precomputeHandlerChains(head, tail, ++handlerChainsVersion);
+            handlerChainsValid = true;
+        }
+        return handlerChainsVersion;
+    }
+
+    /**
+     * Must be called whenever the links between the contexts, or the state of a context that is taken into account
+     * when searching for the next context, changes.
+     */
+    final void invalidateHandlerChains() {
+        handlerChainsValid = false;
+    }
+
     private DefaultChannelHandlerContext newContext(String name, ChannelHandler handler) {
         checkMultiplicity(handler);
         if (name == null) {
@@ -173,6 +198,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         newCtx.next = nextCtx;
         head.next = newCtx;
         nextCtx.prev = newCtx;
+        invalidateHandlerChains();
         callHandlerAdded0(newCtx);
     }
 
@@ -206,6 +232,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         newCtx.next = tail;
         prev.next = newCtx;
         tail.prev = newCtx;
+        invalidateHandlerChains();
         callHandlerAdded0(newCtx);
     }
 
@@ -242,6 +269,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         newCtx.next = ctx;
         ctx.prev.next = newCtx;
         ctx.prev = newCtx;
+        invalidateHandlerChains();
         callHandlerAdded0(newCtx);
     }
 
@@ -283,6 +311,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         newCtx.next = ctx.next;
         ctx.next.prev = newCtx;
         ctx.next = newCtx;
+        invalidateHandlerChains();
         callHandlerAdded0(newCtx);
     }
 
@@ -532,6 +561,7 @@ public abstract class DefaultChannelPipeline implements ChannelPipeline {
         // update the reference to the replacement so forward of buffered content will work correctly
         oldCtx.prev = newCtx;
         oldCtx.next = newCtx;
+        invalidateHandlerChains();
 
         try {
             // Invoke newHandler.handlerAdded() first (i.e. before oldHandler.handlerRemoved() is invoked)
@@ -315,16 +315,20 @@ public class LocalChannel extends AbstractChannel<LocalServerChannel, LocalAddre
                     // It is possible the peer could have closed while we are writing, and in this case we should
                     // simulate real socket behavior and ensure the write operation is failed.
                     if (peer.state == State.CONNECTED) {
+                        Object peerMsg;
                         if (msg instanceof ReferenceCounted) {
-                            peer.inboundBuffer.add(ReferenceCountUtil.retain(msg));
+                            peerMsg = ReferenceCountUtil.retain(msg);
                         } else if (msg instanceof ResourceSupport) {
-                            peer.inboundBuffer.add(Statics.acquire((ResourceSupport<?, ?>) msg));
+                            peerMsg = Statics.acquire((ResourceSupport<?, ?>) msg);
                         } else if (msg instanceof Resource) {
-                            peer.inboundBuffer.add(((Resource<?>) msg).send().receive());
+                            peerMsg = ((Resource<?>) msg).send().receive();
                         } else {
-                            peer.inboundBuffer.add(msg);
+                            peerMsg = msg;
                         }
+                        // Release our reference before the peer can see the message, as the peer may run on another
+                        // thread and must own the buffer exclusively, for example to split it.
                         in.remove();
+                        peer.inboundBuffer.add(peerMsg);
                     } else {
                         break;
                     }
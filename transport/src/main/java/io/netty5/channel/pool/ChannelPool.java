@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.pool;
+
+import io.netty5.channel.Channel;
+import io.netty5.channel.EventLoop;
+import io.netty5.util.concurrent.Future;
+
+/**
+ * Allows to acquire and release {@link Channel}s and so act as a pool of these.
+ * <p>
+ * Each {@link Channel} that was acquired from a {@link ChannelPool} <strong>must</strong> be released back to the
+ * same pool via {@link #release(Channel)}, even if it was closed in the meantime.
+ */
+public interface ChannelPool {
+
+    /**
+     * Acquire a {@link Channel} from this {@link ChannelPool}. If called from one of the {@link EventLoop}s the pool
+     * manages, a {@link Channel} that is registered to that same {@link EventLoop} is returned.
+     *
+     * @return the {@link Future} that is notified once the acquire is successful or failed.
+     */
+    Future<Channel> acquire();
+
+    /**
+     * Acquire a {@link Channel} from this {@link ChannelPool} that is registered to the given {@link EventLoop}.
+     *
+     * @param eventLoop the {@link EventLoop} the returned {@link Channel} must be registered to.
+     * @return the {@link Future} that is notified once the acquire is successful or failed.
+     */
+    Future<Channel> acquire(EventLoop eventLoop);
+
+    /**
+     * Release a {@link Channel} back to this {@link ChannelPool}.
+     *
+     * @param channel the {@link Channel} that was previously acquired from this pool.
+     * @return the {@link Future} that is notified once the release is successful or failed.
+     */
+    Future<Void> release(Channel channel);
+
+    /**
+     * Returns the {@link ChannelPoolMetrics} of this {@link ChannelPool}.
+     */
+    ChannelPoolMetrics metrics();
+
+    /**
+     * Close this {@link ChannelPool}. All idle {@link Channel}s are closed, all pending acquires are failed and
+     * every {@link Channel} that is released after this call is closed as well.
+     *
+     * @return the {@link Future} that is notified once all idle {@link Channel}s were closed.
+     */
+    Future<Void> close();
+}
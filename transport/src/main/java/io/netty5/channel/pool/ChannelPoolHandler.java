@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.pool;
+
+import io.netty5.channel.Channel;
+
+/**
+ * Handler which is called for various actions done by the {@link ChannelPool}.
+ * <p>
+ * All methods are called from the {@link io.netty5.channel.EventLoop} of the {@link Channel}.
+ */
+public interface ChannelPoolHandler {
+
+    /**
+     * Called once a new {@link Channel} was created by the {@link ChannelPool}, before it is connected.
+     * This is the right place to add the {@link io.netty5.channel.ChannelHandler}s to its pipeline.
+     */
+    default void channelCreated(Channel ch) throws Exception {
+    }
+
+    /**
+     * Called once a {@link Channel} was acquired by calling {@link ChannelPool#acquire()}.
+     */
+    default void channelAcquired(Channel ch) throws Exception {
+    }
+
+    /**
+     * Called once a {@link Channel} was released by calling {@link ChannelPool#release(Channel)}.
+     */
+    default void channelReleased(Channel ch) throws Exception {
+    }
+}
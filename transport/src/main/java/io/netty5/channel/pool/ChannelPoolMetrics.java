@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.pool;
+
+/**
+ * Exposes metrics of a {@link ChannelPool}. All values are a snapshot and may be stale by the time they are read.
+ */
+public interface ChannelPoolMetrics {
+
+    /**
+     * Returns the number of {@link io.netty5.channel.Channel}s that are currently idle in the pool.
+     */
+    int idleChannels();
+
+    /**
+     * Returns the number of {@link io.netty5.channel.Channel}s that are currently acquired.
+     */
+    int acquiredChannels();
+
+    /**
+     * Returns the number of {@link io.netty5.channel.Channel}s that are currently being connected.
+     */
+    int pendingConnects();
+
+    /**
+     * Returns the number of acquire operations that are waiting for a {@link io.netty5.channel.Channel}.
+     */
+    int pendingAcquires();
+
+    /**
+     * Returns the total number of successful acquire operations.
+     */
+    long acquires();
+
+    /**
+     * Returns the total number of acquire operations that failed because they timed out.
+     */
+    long acquireTimeouts();
+
+    /**
+     * Returns the total number of {@link io.netty5.channel.Channel}s created by the pool.
+     */
+    long createdChannels();
+
+    /**
+     * Returns the total number of {@link io.netty5.channel.Channel}s closed because they were idle for too long.
+     */
+    long evictedChannels();
+
+    /**
+     * Returns the sum of the time, in nanoseconds, successful acquire operations had to wait for a
+     * {@link io.netty5.channel.Channel}.
+     */
+    long totalAcquireWaitTimeNanos();
+
+    /**
+     * Returns the longest time, in nanoseconds, a successful acquire operation had to wait for a
+     * {@link io.netty5.channel.Channel}.
+     */
+    long maxAcquireWaitTimeNanos();
+}
@@ -0,0 +1,631 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.pool;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelInitializer;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.util.AttributeKey;
+import io.netty5.util.concurrent.EventExecutor;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.ImmediateEventExecutor;
+import io.netty5.util.concurrent.Promise;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded {@link ChannelPool} that keeps one sub-pool per {@link EventLoop} of the {@link EventLoopGroup} used
+ * by the {@link Bootstrap}.
+ * <p>
+ * Each sub-pool only ever contains {@link Channel}s that are registered to its {@link EventLoop} and all of its
+ * state is only touched from that {@link EventLoop}. As long as {@link #acquire()} is called from one of these
+ * {@link EventLoop}s, acquiring and releasing a {@link Channel} never crosses threads and never takes a lock.
+ * Acquires from other threads are dispatched to the sub-pools in a round-robin fashion.
+ * <p>
+ * Instances are created via {@link EventLoopChannelPoolBuilder}.
+ */
+public final class EventLoopChannelPool implements ChannelPool {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(EventLoopChannelPool.class);
+
+    private static final AttributeKey<SubPool> POOL_KEY =
+            AttributeKey.newInstance("io.netty5.channel.pool.EventLoopChannelPool.subPool");
+
+    private final EventLoopGroup group;
+    private final SubPool[] subPools;
+    private final ChannelPoolHandler handler;
+    private final ChannelHealthChecker healthChecker;
+    private final boolean releaseHealthCheck;
+    private final int maxConnections;
+    private final int maxPendingAcquires;
+    private final long acquireTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final ChannelPoolMetrics metrics = new AggregatedMetrics();
+    private volatile boolean closed;
+
+    EventLoopChannelPool(Bootstrap bootstrap, ChannelPoolHandler handler, ChannelHealthChecker healthChecker,
+                         boolean releaseHealthCheck, int maxConnections, int maxPendingAcquires,
+                         long acquireTimeoutNanos, long idleTimeoutNanos) {
+        group = requireNonNull(bootstrap.config().group(), "bootstrap.group()");
+        this.handler = handler;
+        this.healthChecker = healthChecker;
+        this.releaseHealthCheck = releaseHealthCheck;
+        this.maxConnections = maxConnections;
+        this.maxPendingAcquires = maxPendingAcquires;
+        this.acquireTimeoutNanos = acquireTimeoutNanos;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+
+        List<SubPool> pools = new ArrayList<>();
+        for (EventExecutor executor : group) {
+            pools.add(new SubPool((EventLoop) executor, bootstrap));
+        }
+        subPools = pools.toArray(new SubPool[0]);
+    }
+
+    @Override
+    public Future<Channel> acquire() {
+        for (SubPool pool : subPools) {
+            if (pool.loop.inEventLoop()) {
+                return pool.acquire();
+            }
+        }
+        return subPool(group.next()).acquire();
+    }
+
+    @Override
+    public Future<Channel> acquire(EventLoop eventLoop) {
+        return subPool(requireNonNull(eventLoop, "eventLoop")).acquire();
+    }
+
+    @Override
+    public Future<Void> release(Channel channel) {
+        requireNonNull(channel, "channel");
+        SubPool pool = channel.attr(POOL_KEY).get();
+        if (pool == null || pool.parent() != this) {
+            return channel.executor().newFailedFuture(new IllegalArgumentException(
+                    "Channel " + channel + " was not acquired from this ChannelPool"));
+        }
+        return pool.release(channel);
+    }
+
+    @Override
+    public ChannelPoolMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the {@link ChannelPoolMetrics} of the sub-pool that belongs to the given {@link EventLoop}.
+     */
+    public ChannelPoolMetrics metrics(EventLoop eventLoop) {
+        return subPool(requireNonNull(eventLoop, "eventLoop"));
+    }
+
+    @Override
+    public Future<Void> close() {
+        closed = true;
+        Promise<Void> promise = ImmediateEventExecutor.INSTANCE.newPromise();
+        AtomicInteger remaining = new AtomicInteger(subPools.length);
+        for (SubPool pool : subPools) {
+            pool.loop.submit(pool::close0).addListener(f -> {
+                if (remaining.decrementAndGet() == 0) {
+                    promise.trySuccess(null);
+                }
+            });
+        }
+        return promise.asFuture();
+    }
+
+    private SubPool subPool(EventLoop eventLoop) {
+        for (SubPool pool : subPools) {
+            if (pool.loop == eventLoop) {
+                return pool;
+            }
+        }
+        throw new IllegalArgumentException("EventLoop " + eventLoop + " is not part of the pool's EventLoopGroup");
+    }
+
+    private static final class AcquireTimeoutException extends TimeoutException {
+        private static final long serialVersionUID = -4599161193004906079L;
+
+        AcquireTimeoutException() {
+            super("Acquire operation took longer than the configured maximum time");
+        }
+
+        @Override
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    private static final class IdleChannel {
+        final Channel channel;
+        final long idleSinceNanos;
+
+        IdleChannel(Channel channel, long idleSinceNanos) {
+            this.channel = channel;
+            this.idleSinceNanos = idleSinceNanos;
+        }
+    }
+
+    private static final class PendingAcquire implements Runnable {
+        final SubPool pool;
+        final Promise<Channel> promise;
+        final long startNanos;
+        Future<Void> timeoutFuture;
+
+        PendingAcquire(SubPool pool, Promise<Channel> promise, long startNanos) {
+            this.pool = pool;
+            this.promise = promise;
+            this.startNanos = startNanos;
+        }
+
+        // Called when the acquire timed out.
+        @Override
+        public void run() {
+            if (pool.pendingAcquires.remove(this)) {
+                pool.pendingAcquireCount = pool.pendingAcquires.size();
+                pool.acquireTimeouts++;
+                promise.tryFailure(new AcquireTimeoutException());
+            }
+        }
+
+        void cancelTimeout() {
+            if (timeoutFuture != null) {
+                timeoutFuture.cancel();
+            }
+        }
+    }
+
+    /**
+     * The part of the pool that belongs to one {@link EventLoop}. Apart from the volatile counters that are read by
+     * {@link ChannelPoolMetrics}, all state is only accessed from {@link #loop}.
+     */
+    private final class SubPool implements ChannelPoolMetrics {
+        final EventLoop loop;
+        private final Bootstrap bootstrap;
+        // Most recently released channels are at the tail, the eviction task scans from the head.
+        private final ArrayDeque<IdleChannel> idleChannels = new ArrayDeque<>();
+        final ArrayDeque<PendingAcquire> pendingAcquires = new ArrayDeque<>();
+        private int acquired;
+        private int connecting;
+        private Future<Void> evictionFuture;
+
+        // Single-writer counters, only written from the loop.
+        private volatile int idleCount;
+        private volatile int acquiredCount;
+        private volatile int connectingCount;
+        volatile int pendingAcquireCount;
+        private volatile long acquireCount;
+        volatile long acquireTimeouts;
+        private volatile long createdCount;
+        private volatile long evictedCount;
+        private volatile long totalWaitNanos;
+        private volatile long maxWaitNanos;
+
+        SubPool(EventLoop loop, Bootstrap bootstrap) {
+            this.loop = loop;
+            this.bootstrap = bootstrap.clone(loop).handler(new ChannelInitializer<>() {
+                @Override
+                protected void initChannel(Channel ch) throws Exception {
+                    handler.channelCreated(ch);
+                }
+            });
+        }
+
+        EventLoopChannelPool parent() {
+            return EventLoopChannelPool.this;
+        }
+
+        Future<Channel> acquire() {
+            Promise<Channel> promise = loop.newPromise();
+            long startNanos = System.nanoTime();
+            if (loop.inEventLoop()) {
+                acquire0(promise, startNanos);
+            } else {
+                loop.execute(() -> acquire0(promise, startNanos));
+            }
+            return promise.asFuture();
+        }
+
+        Future<Void> release(Channel channel) {
+            Promise<Void> promise = loop.newPromise();
+            if (loop.inEventLoop()) {
+                release0(channel, promise);
+            } else {
+                loop.execute(() -> release0(channel, promise));
+            }
+            return promise.asFuture();
+        }
+
+        private void acquire0(Promise<Channel> promise, long startNanos) {
+            if (closed) {
+                promise.tryFailure(new IllegalStateException("ChannelPool was closed"));
+                return;
+            }
+            if (promise.isDone()) {
+                return;
+            }
+            IdleChannel idle = pollIdle();
+            if (idle != null) {
+                acquired++;
+                checkHealthAndComplete(idle.channel, promise, startNanos);
+            } else if (hasCapacity()) {
+                connect(promise, startNanos);
+            } else if (pendingAcquires.size() >= maxPendingAcquires) {
+                promise.tryFailure(new IllegalStateException("Too many outstanding acquire operations"));
+            } else {
+                PendingAcquire pending = new PendingAcquire(this, promise, startNanos);
+                pendingAcquires.add(pending);
+                pendingAcquireCount = pendingAcquires.size();
+                if (acquireTimeoutNanos > 0) {
+                    pending.timeoutFuture = loop.schedule(pending, acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+
+        private boolean hasCapacity() {
+            return idleChannels.size() + acquired + connecting < maxConnections;
+        }
+
+        private IdleChannel pollIdle() {
+            IdleChannel idle = idleChannels.pollLast();
+            if (idle != null) {
+                idleCount = idleChannels.size();
+            }
+            return idle;
+        }
+
+        private void connect(Promise<Channel> promise, long startNanos) {
+            connecting++;
+            connectingCount = connecting;
+            bootstrap.connect().addListener(future -> {
+                connecting--;
+                connectingCount = connecting;
+                if (future.isSuccess()) {
+                    Channel channel = future.getNow();
+                    createdCount++;
+                    acquired++;
+                    channel.attr(POOL_KEY).set(this);
+                    channel.closeFuture().addListener(channel, this::channelClosed);
+                    complete(channel, promise, startNanos);
+                } else {
+                    promise.tryFailure(future.cause());
+                    drainPendingAcquires();
+                }
+            });
+        }
+
+        private void checkHealthAndComplete(Channel channel, Promise<Channel> promise, long startNanos) {
+            Future<Boolean> healthy = healthChecker.isHealthy(channel);
+            if (healthy.isDone()) {
+                onHealthChecked(healthy, channel, promise, startNanos);
+            } else {
+                healthy.addListener(f -> onHealthChecked(f, channel, promise, startNanos));
+            }
+        }
+
+        private void onHealthChecked(Future<? extends Boolean> healthy, Channel channel, Promise<Channel> promise,
+                                     long startNanos) {
+            if (healthy.isSuccess() && healthy.getNow()) {
+                complete(channel, promise, startNanos);
+            } else {
+                acquired--;
+                acquiredCount = acquired;
+                channel.close();
+                if (promise.isDone()) {
+                    drainPendingAcquires();
+                } else {
+                    // Try again, this will either pick the next idle channel or connect a new one.
+                    acquire0(promise, startNanos);
+                }
+            }
+        }
+
+        private void complete(Channel channel, Promise<Channel> promise, long startNanos) {
+            acquiredCount = acquired;
+            try {
+                handler.channelAcquired(channel);
+            } catch (Throwable cause) {
+                logger.warn("Unexpected exception from ChannelPoolHandler.channelAcquired(...)", cause);
+            }
+            if (promise.trySuccess(channel)) {
+                long waitNanos = System.nanoTime() - startNanos;
+                acquireCount++;
+                totalWaitNanos += waitNanos;
+                if (waitNanos > maxWaitNanos) {
+                    maxWaitNanos = waitNanos;
+                }
+            } else {
+                // The acquire was cancelled in the meantime, put the channel back.
+                release0(channel, loop.newPromise());
+            }
+        }
+
+        private void release0(Channel channel, Promise<Void> promise) {
+            acquired--;
+            acquiredCount = acquired;
+            try {
+                handler.channelReleased(channel);
+            } catch (Throwable cause) {
+                channel.close();
+                promise.setFailure(cause);
+                drainPendingAcquires();
+                return;
+            }
+            if (closed || !channel.isActive()) {
+                channel.close();
+                promise.setSuccess(null);
+                drainPendingAcquires();
+            } else if (releaseHealthCheck) {
+                Future<Boolean> healthy = healthChecker.isHealthy(channel);
+                if (healthy.isDone()) {
+                    onReleaseHealthChecked(healthy, channel, promise);
+                } else {
+                    healthy.addListener(f -> onReleaseHealthChecked(f, channel, promise));
+                }
+            } else {
+                offer(channel);
+                promise.setSuccess(null);
+            }
+        }
+
+        private void onReleaseHealthChecked(Future<? extends Boolean> healthy, Channel channel,
+                                            Promise<Void> promise) {
+            if (healthy.isSuccess() && healthy.getNow()) {
+                offer(channel);
+            } else {
+                channel.close();
+                drainPendingAcquires();
+            }
+            promise.setSuccess(null);
+        }
+
+        private void offer(Channel channel) {
+            PendingAcquire pending = pollPendingAcquire();
+            if (pending != null) {
+                // Hand the channel over directly, it was just checked so there is no need to do it again.
+                acquired++;
+                complete(channel, pending.promise, pending.startNanos);
+                return;
+            }
+            idleChannels.addLast(new IdleChannel(channel, System.nanoTime()));
+            idleCount = idleChannels.size();
+            if (idleTimeoutNanos > 0 && evictionFuture == null) {
+                evictionFuture = loop.scheduleWithFixedDelay(
+                        this::evictIdleChannels, idleTimeoutNanos, idleTimeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private PendingAcquire pollPendingAcquire() {
+            PendingAcquire pending;
+            while ((pending = pendingAcquires.poll()) != null) {
+                pendingAcquireCount = pendingAcquires.size();
+                pending.cancelTimeout();
+                if (!pending.promise.isDone()) {
+                    return pending;
+                }
+            }
+            return null;
+        }
+
+        private void drainPendingAcquires() {
+            while (!pendingAcquires.isEmpty() && (!idleChannels.isEmpty() || hasCapacity())) {
+                PendingAcquire pending = pollPendingAcquire();
+                if (pending == null) {
+                    return;
+                }
+                acquire0(pending.promise, pending.startNanos);
+            }
+        }
+
+        private void channelClosed(Channel channel, Future<?> ignore) {
+            for (Iterator<IdleChannel> i = idleChannels.iterator(); i.hasNext();) {
+                if (i.next().channel == channel) {
+                    i.remove();
+                    idleCount = idleChannels.size();
+                    drainPendingAcquires();
+                    return;
+                }
+            }
+        }
+
+        private void evictIdleChannels() {
+            long now = System.nanoTime();
+            IdleChannel idle;
+            while ((idle = idleChannels.peekFirst()) != null && now - idle.idleSinceNanos >= idleTimeoutNanos) {
+                idleChannels.pollFirst();
+                idleCount = idleChannels.size();
+                evictedCount++;
+                idle.channel.close();
+            }
+            if (idleChannels.isEmpty()) {
+                evictionFuture.cancel();
+                evictionFuture = null;
+            }
+        }
+
+        private void close0() {
+            if (evictionFuture != null) {
+                evictionFuture.cancel();
+                evictionFuture = null;
+            }
+            PendingAcquire pending;
+            while ((pending = pendingAcquires.poll()) != null) {
+                pending.cancelTimeout();
+                pending.promise.tryFailure(new IllegalStateException("ChannelPool was closed"));
+            }
+            pendingAcquireCount = 0;
+            IdleChannel idle;
+            while ((idle = idleChannels.poll()) != null) {
+                idle.channel.close();
+            }
+            idleCount = 0;
+        }
+
+        @Override
+        public int idleChannels() {
+            return idleCount;
+        }
+
+        @Override
+        public int acquiredChannels() {
+            return acquiredCount;
+        }
+
+        @Override
+        public int pendingConnects() {
+            return connectingCount;
+        }
+
+        @Override
+        public int pendingAcquires() {
+            return pendingAcquireCount;
+        }
+
+        @Override
+        public long acquires() {
+            return acquireCount;
+        }
+
+        @Override
+        public long acquireTimeouts() {
+            return acquireTimeouts;
+        }
+
+        @Override
+        public long createdChannels() {
+            return createdCount;
+        }
+
+        @Override
+        public long evictedChannels() {
+            return evictedCount;
+        }
+
+        @Override
+        public long totalAcquireWaitTimeNanos() {
+            return totalWaitNanos;
+        }
+
+        @Override
+        public long maxAcquireWaitTimeNanos() {
+            return maxWaitNanos;
+        }
+    }
+
+    private final class AggregatedMetrics implements ChannelPoolMetrics {
+        @Override
+        public int idleChannels() {
+            int sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.idleChannels();
+            }
+            return sum;
+        }
+
+        @Override
+        public int acquiredChannels() {
+            int sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.acquiredChannels();
+            }
+            return sum;
+        }
+
+        @Override
+        public int pendingConnects() {
+            int sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.pendingConnects();
+            }
+            return sum;
+        }
+
+        @Override
+        public int pendingAcquires() {
+            int sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.pendingAcquires();
+            }
+            return sum;
+        }
+
+        @Override
+        public long acquires() {
+            long sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.acquires();
+            }
+            return sum;
+        }
+
+        @Override
+        public long acquireTimeouts() {
+            long sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.acquireTimeouts();
+            }
+            return sum;
+        }
+
+        @Override
+        public long createdChannels() {
+            long sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.createdChannels();
+            }
+            return sum;
+        }
+
+        @Override
+        public long evictedChannels() {
+            long sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.evictedChannels();
+            }
+            return sum;
+        }
+
+        @Override
+        public long totalAcquireWaitTimeNanos() {
+            long sum = 0;
+            for (SubPool pool : subPools) {
+                sum += pool.totalAcquireWaitTimeNanos();
+            }
+            return sum;
+        }
+
+        @Override
+        public long maxAcquireWaitTimeNanos() {
+            long max = 0;
+            for (SubPool pool : subPools) {
+                max = Math.max(max, pool.maxAcquireWaitTimeNanos());
+            }
+            return max;
+        }
+    }
+}
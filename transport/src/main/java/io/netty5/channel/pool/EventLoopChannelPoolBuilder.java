@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.pool;
+
+import io.netty5.bootstrap.Bootstrap;
+
+import java.time.Duration;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static io.netty5.util.internal.ObjectUtil.checkPositiveOrZero;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builder for {@link EventLoopChannelPool}.
+ */
+public final class EventLoopChannelPoolBuilder {
+
+    private final Bootstrap bootstrap;
+    private ChannelPoolHandler handler = new ChannelPoolHandler() { };
+    private ChannelHealthChecker healthChecker = ChannelHealthChecker.ACTIVE;
+    private boolean releaseHealthCheck = true;
+    private int maxConnectionsPerEventLoop = Integer.MAX_VALUE;
+    private int maxPendingAcquiresPerEventLoop = Integer.MAX_VALUE;
+    private long acquireTimeoutNanos;
+    private long idleTimeoutNanos;
+
+    /**
+     * Creates a new builder.
+     *
+     * @param bootstrap the {@link Bootstrap} that is used to connect new {@link io.netty5.channel.Channel}s. Its
+     *                  {@link io.netty5.channel.EventLoopGroup} defines the {@link io.netty5.channel.EventLoop}s
+     *                  the pool keeps sub-pools for. Any handler set on the {@link Bootstrap} is replaced, use
+     *                  {@link ChannelPoolHandler#channelCreated(io.netty5.channel.Channel)} to set up the pipeline.
+     */
+    public EventLoopChannelPoolBuilder(Bootstrap bootstrap) {
+        this.bootstrap = requireNonNull(bootstrap, "bootstrap");
+    }
+
+    /**
+     * Sets the {@link ChannelPoolHandler} that is notified when {@link io.netty5.channel.Channel}s are created,
+     * acquired and released.
+     */
+    public EventLoopChannelPoolBuilder handler(ChannelPoolHandler handler) {
+        this.handler = requireNonNull(handler, "handler");
+        return this;
+    }
+
+    /**
+     * Sets the {@link ChannelHealthChecker} that is used to check if an idle {@link io.netty5.channel.Channel} is
+     * still usable. Defaults to {@link ChannelHealthChecker#ACTIVE}.
+     */
+    public EventLoopChannelPoolBuilder healthChecker(ChannelHealthChecker healthChecker) {
+        this.healthChecker = requireNonNull(healthChecker, "healthChecker");
+        return this;
+    }
+
+    /**
+     * Sets whether the {@link ChannelHealthChecker} is also consulted when a {@link io.netty5.channel.Channel} is
+     * released. Defaults to {@code true}.
+     */
+    public EventLoopChannelPoolBuilder releaseHealthCheck(boolean releaseHealthCheck) {
+        this.releaseHealthCheck = releaseHealthCheck;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of {@link io.netty5.channel.Channel}s (idle, acquired and connecting) each
+     * {@link io.netty5.channel.EventLoop} may own. Defaults to unbounded.
+     */
+    public EventLoopChannelPoolBuilder maxConnectionsPerEventLoop(int maxConnectionsPerEventLoop) {
+        this.maxConnectionsPerEventLoop = checkPositive(maxConnectionsPerEventLoop, "maxConnectionsPerEventLoop");
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of acquire operations that may wait for a {@link io.netty5.channel.Channel} on each
+     * {@link io.netty5.channel.EventLoop}. Once reached, further acquires fail immediately. Defaults to unbounded.
+     */
+    public EventLoopChannelPoolBuilder maxPendingAcquiresPerEventLoop(int maxPendingAcquiresPerEventLoop) {
+        this.maxPendingAcquiresPerEventLoop = checkPositiveOrZero(
+                maxPendingAcquiresPerEventLoop, "maxPendingAcquiresPerEventLoop");
+        return this;
+    }
+
+    /**
+     * Sets how long an acquire operation may wait for a {@link io.netty5.channel.Channel} to become available
+     * before it is failed with a {@link java.util.concurrent.TimeoutException}. {@link Duration#ZERO} disables the
+     * timeout, which is the default.
+     */
+    public EventLoopChannelPoolBuilder acquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeoutNanos = checkPositiveOrZero(
+                requireNonNull(acquireTimeout, "acquireTimeout").toNanos(), "acquireTimeout");
+        return this;
+    }
+
+    /**
+     * Sets how long a {@link io.netty5.channel.Channel} may stay idle in the pool before it is closed.
+     * {@link Duration#ZERO} disables eviction, which is the default.
+     */
+    public EventLoopChannelPoolBuilder idleTimeout(Duration idleTimeout) {
+        this.idleTimeoutNanos = checkPositiveOrZero(
+                requireNonNull(idleTimeout, "idleTimeout").toNanos(), "idleTimeout");
+        return this;
+    }
+
+    /**
+     * Builds a new {@link EventLoopChannelPool}.
+     */
+    public EventLoopChannelPool build() {
+        return new EventLoopChannelPool(bootstrap, handler, healthChecker, releaseHealthCheck,
+                maxConnectionsPerEventLoop, maxPendingAcquiresPerEventLoop, acquireTimeoutNanos, idleTimeoutNanos);
+    }
+}
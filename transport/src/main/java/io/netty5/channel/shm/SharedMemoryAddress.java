@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import java.net.SocketAddress;
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An endpoint in the shared memory transport. It is represented by a directory which the
+ * {@link SharedMemoryServerChannel} owns and in which the ring buffer files of each connection are created.
+ * <p>
+ * For best performance the directory should be located on a memory backed file system like {@code /dev/shm}.
+ */
+public final class SharedMemoryAddress extends SocketAddress implements Comparable<SharedMemoryAddress> {
+
+    private static final long serialVersionUID = -3601961747680808645L;
+
+    private final String path;
+
+    /**
+     * Creates a new instance with the given directory.
+     */
+    public SharedMemoryAddress(Path directory) {
+        path = requireNonNull(directory, "directory").toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Returns the directory of this address.
+     */
+    public Path directory() {
+        return Path.of(path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SharedMemoryAddress)) {
+            return false;
+        }
+
+        return path.equals(((SharedMemoryAddress) o).path);
+    }
+
+    @Override
+    public int compareTo(SharedMemoryAddress o) {
+        return path.compareTo(o.path);
+    }
+
+    @Override
+    public String toString() {
+        return "shm:" + path;
+    }
+}
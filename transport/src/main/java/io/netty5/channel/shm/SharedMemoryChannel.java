@@ -0,0 +1,510 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import io.netty5.channel.AbstractChannel;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelMetadata;
+import io.netty5.channel.ChannelOption;
+import io.netty5.channel.ChannelOutboundBuffer;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.channel.ChannelShutdownDirection;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.util.Resource;
+import io.netty5.util.internal.StringUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AlreadyConnectedException;
+import java.nio.channels.NotYetConnectedException;
+import java.nio.channels.UnsupportedAddressTypeException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link Channel} for the shared memory transport which allows communication with another process on the same
+ * host. Each direction of a connection is a memory-mapped single-producer single-consumer ring buffer, so
+ * exchanging bytes only costs a copy into and out of the shared mapping and no system call.
+ * <p>
+ * Only {@link Buffer}s can be written.
+ */
+public class SharedMemoryChannel extends AbstractChannel<SharedMemoryServerChannel, SharedMemoryAddress,
+        SharedMemoryAddress> implements SharedMemoryChannelUnsafe {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(SharedMemoryChannel.class);
+    private static final ChannelMetadata METADATA = new ChannelMetadata(false, 16);
+    private static final String EXPECTED_TYPES = " (expected: " + StringUtil.simpleClassName(Buffer.class) + ')';
+
+    static final String CLIENT_TO_SERVER_SUFFIX = ".c2s";
+    static final String SERVER_TO_CLIENT_SUFFIX = ".s2c";
+    static final String CONNECT_SUFFIX = ".conn";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private enum State { OPEN, CONNECTING, CONNECTED, CLOSED }
+
+    private volatile State state;
+    private volatile SharedMemoryAddress localAddress;
+    private volatile SharedMemoryAddress remoteAddress;
+    private volatile int ringBufferSize = SharedMemoryRingBuffer.DEFAULT_CAPACITY;
+    private volatile boolean inputShutdown;
+    private volatile boolean outputShutdown;
+    private SharedMemoryRingBuffer inbound;
+    private SharedMemoryRingBuffer outbound;
+    private Path connectFile;
+    private SharedMemoryDoorbell doorbell;
+    private boolean readPending;
+    private boolean writePending;
+    private boolean inputClosedSeenErrorOnRead;
+
+    public SharedMemoryChannel(EventLoop eventLoop) {
+        super(null, eventLoop, METADATA);
+        state = State.OPEN;
+    }
+
+    SharedMemoryChannel(SharedMemoryServerChannel parent, EventLoop eventLoop,
+                        SharedMemoryRingBuffer inbound, SharedMemoryRingBuffer outbound) {
+        super(parent, eventLoop, METADATA);
+        this.inbound = inbound;
+        this.outbound = outbound;
+        localAddress = parent.localAddress();
+        state = State.CONNECTED;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return state != State.CLOSED;
+    }
+
+    @Override
+    public boolean isActive() {
+        return state == State.CONNECTED;
+    }
+
+    @Override
+    protected SharedMemoryAddress localAddress0() {
+        return localAddress;
+    }
+
+    @Override
+    protected SharedMemoryAddress remoteAddress0() {
+        return remoteAddress;
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) {
+        throw new UnsupportedOperationException("bind");
+    }
+
+    @Override
+    protected boolean doConnect(SocketAddress remoteAddress, SocketAddress localAddress) throws Exception {
+        if (state == State.CONNECTED) {
+            throw new AlreadyConnectedException();
+        }
+        if (!(remoteAddress instanceof SharedMemoryAddress)) {
+            throw new UnsupportedAddressTypeException();
+        }
+        if (localAddress != null) {
+            throw new UnsupportedOperationException("bind");
+        }
+        SharedMemoryAddress address = (SharedMemoryAddress) remoteAddress;
+        Path directory = address.directory();
+        if (!Files.exists(directory.resolve(SharedMemoryServerChannel.LOCK_FILE))) {
+            throw new ConnectException("connection refused: " + remoteAddress);
+        }
+
+        String id = Long.toHexString(ProcessHandle.current().pid()) + '-' +
+                Long.toHexString(ThreadLocalRandom.current().nextLong());
+        try {
+            outbound = SharedMemoryRingBuffer.create(directory.resolve(id + CLIENT_TO_SERVER_SUFFIX), ringBufferSize);
+            inbound = SharedMemoryRingBuffer.create(directory.resolve(id + SERVER_TO_CLIENT_SUFFIX), ringBufferSize);
+            publishDoorbell();
+            // Only publish the connection request once both ring buffers are fully initialized.
+            Path tmp = Files.createFile(directory.resolve(id + TMP_SUFFIX));
+            connectFile = Files.move(tmp, directory.resolve(id + CONNECT_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            if (doorbell != null) {
+                ringServer(directory);
+            }
+        } catch (Throwable cause) {
+            releaseRingBuffers();
+            Files.deleteIfExists(directory.resolve(id + TMP_SUFFIX));
+            throw cause;
+        }
+        this.remoteAddress = address;
+        state = State.CONNECTING;
+        return false;
+    }
+
+    private void ringServer(Path directory) {
+        ByteBuffer lock;
+        try {
+            lock = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(SharedMemoryServerChannel.LOCK_FILE)));
+        } catch (IOException e) {
+            // The server will still pick up the request when it polls the next time.
+            logger.debug("Failed to read the doorbell of the server in {}", directory, e);
+            return;
+        }
+        if (lock.remaining() >= Integer.BYTES + Long.BYTES) {
+            doorbell.ring(lock.getInt(), lock.getLong());
+        }
+    }
+
+    private void publishDoorbell() {
+        int port = doorbell == null ? 0 : doorbell.port();
+        long key = doorbell == null ? 0 : doorbell.key();
+        inbound.consumerDoorbell(port, key);
+        outbound.producerDoorbell(port, key);
+    }
+
+    private void wakeConsumer() {
+        if (doorbell != null) {
+            int port = outbound.consumerToWake();
+            if (port != 0) {
+                doorbell.ring(port, outbound.consumerDoorbellKey());
+            }
+        }
+    }
+
+    private void wakeProducer() {
+        if (doorbell != null) {
+            int port = inbound.producerToWake();
+            if (port != 0) {
+                doorbell.ring(port, inbound.producerDoorbellKey());
+            }
+        }
+    }
+
+    @Override
+    protected boolean doFinishConnect(SharedMemoryAddress requestedRemoteAddress) {
+        connectFile = null;
+        state = State.CONNECTED;
+        return true;
+    }
+
+    @Override
+    protected void doDisconnect() throws Exception {
+        doClose();
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        if (state == State.CLOSED) {
+            return;
+        }
+        state = State.CLOSED;
+        if (outbound != null) {
+            outbound.closeProducer();
+            wakeConsumer();
+        }
+        if (inbound != null) {
+            inbound.closeConsumer();
+            wakeProducer();
+        }
+        releaseRingBuffers();
+        if (connectFile != null) {
+            // The server never picked up the connection request.
+            deleteQuietly(connectFile);
+            connectFile = null;
+        }
+    }
+
+    private void releaseRingBuffers() {
+        if (outbound != null) {
+            outbound.release();
+            deleteQuietly(outbound.path());
+        }
+        if (inbound != null) {
+            inbound.release();
+            deleteQuietly(inbound.path());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.debug("Failed to delete {}", path, e);
+        }
+    }
+
+    @Override
+    protected void doShutdown(ChannelShutdownDirection direction) {
+        switch (direction) {
+            case Inbound:
+                inputShutdown = true;
+                inbound.closeConsumer();
+                wakeProducer();
+                break;
+            case Outbound:
+                outputShutdown = true;
+                outbound.closeProducer();
+                wakeConsumer();
+                break;
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    @Override
+    public boolean isShutdown(ChannelShutdownDirection direction) {
+        if (!isActive()) {
+            return true;
+        }
+        switch (direction) {
+            case Inbound:
+                return inputShutdown;
+            case Outbound:
+                return outputShutdown;
+            default:
+                throw new AssertionError();
+        }
+    }
+
+    @Override
+    protected void doBeginRead() {
+        readPending = true;
+    }
+
+    @Override
+    protected void autoReadCleared() {
+        readPending = false;
+    }
+
+    @Override
+    protected Object filterOutboundMessage(Object msg) {
+        if (msg instanceof Buffer) {
+            return msg;
+        }
+        throw new UnsupportedOperationException(
+                "unsupported message type: " + StringUtil.simpleClassName(msg) + EXPECTED_TYPES);
+    }
+
+    @Override
+    protected void doWrite(ChannelOutboundBuffer in) throws Exception {
+        if (state != State.CONNECTED) {
+            throw new NotYetConnectedException();
+        }
+        if (outbound.isConsumerClosed()) {
+            throw new IOException("Connection reset by peer");
+        }
+        boolean written = false;
+        try {
+            for (;;) {
+                Object msg = in.current();
+                if (msg == null) {
+                    writePending = false;
+                    return;
+                }
+                Buffer buf = (Buffer) msg;
+                if (buf.readableBytes() > 0) {
+                    int bytes = outbound.write(buf);
+                    if (bytes == 0) {
+                        // The ring buffer is full, try again once the peer consumed some bytes.
+                        writePending = true;
+                        return;
+                    }
+                    written = true;
+                    in.progress(bytes);
+                }
+                if (buf.readableBytes() == 0) {
+                    in.remove();
+                }
+            }
+        } finally {
+            if (written) {
+                wakeConsumer();
+            }
+        }
+    }
+
+    @Override
+    public boolean pollTransportNow() {
+        switch (state) {
+            case CONNECTING:
+                if (inbound.isAccepted() && isConnectPending()) {
+                    finishConnect();
+                    return true;
+                }
+                return false;
+            case CONNECTED:
+                boolean progress = false;
+                if (writePending && (outbound.writableBytes() > 0 || outbound.isConsumerClosed())) {
+                    writePending = false;
+                    writeFlushed();
+                    progress = true;
+                }
+                if (readPending && state == State.CONNECTED && !shouldBreakReadReady() &&
+                        (inbound.readableBytes() > 0 || inbound.isProducerClosed())) {
+                    readNow();
+                    progress = true;
+                }
+                return progress;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public void registerTransportNow(SharedMemoryDoorbell doorbell) {
+        this.doorbell = doorbell;
+        if (state == State.CONNECTING || state == State.CONNECTED) {
+            publishDoorbell();
+        }
+    }
+
+    @Override
+    public boolean armTransportNow() {
+        switch (state) {
+            case CONNECTING:
+                // The server always rings our doorbell once it accepted the connection.
+                return !inbound.isAccepted();
+            case CONNECTED:
+                if (writePending && !outbound.armProducer()) {
+                    return false;
+                }
+                if (readPending && !shouldBreakReadReady() && !inbound.armConsumer()) {
+                    outbound.disarmProducer();
+                    return false;
+                }
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    @Override
+    public void disarmTransportNow() {
+        if (state == State.CONNECTED) {
+            outbound.disarmProducer();
+            inbound.disarmConsumer();
+        }
+    }
+
+    private boolean shouldBreakReadReady() {
+        return isShutdown(ChannelShutdownDirection.Inbound) &&
+                (inputClosedSeenErrorOnRead || !isAllowHalfClosure());
+    }
+
+    private void readNow() {
+        final ChannelPipeline pipeline = pipeline();
+        final BufferAllocator bufferAllocator = bufferAllocator();
+        final RecvBufferAllocator.Handle allocHandle = recvBufAllocHandle();
+        allocHandle.reset();
+
+        Buffer buffer = null;
+        boolean close = false;
+        boolean consumed = false;
+        try {
+            do {
+                buffer = allocHandle.allocate(bufferAllocator);
+                allocHandle.lastBytesRead(inbound.read(buffer));
+                if (allocHandle.lastBytesRead() <= 0) {
+                    // nothing was read. release the buffer.
+                    Resource.dispose(buffer);
+                    buffer = null;
+                    close = allocHandle.lastBytesRead() < 0;
+                    if (close) {
+                        // There is nothing left to read as we received an EOF.
+                        readPending = false;
+                    }
+                    break;
+                }
+
+                consumed = true;
+                allocHandle.incMessagesRead(1);
+                readPending = false;
+                pipeline.fireChannelRead(buffer);
+                buffer = null;
+            } while (allocHandle.continueReading(isAutoRead()) && !isShutdown(ChannelShutdownDirection.Inbound));
+            if (consumed) {
+                wakeProducer();
+            }
+
+            allocHandle.readComplete();
+            pipeline.fireChannelReadComplete();
+
+            if (close) {
+                closeOnRead();
+            } else {
+                readIfIsAutoRead();
+            }
+        } catch (Throwable cause) {
+            if (buffer != null) {
+                buffer.close();
+            }
+            if (consumed) {
+                wakeProducer();
+            }
+            allocHandle.readComplete();
+            pipeline.fireChannelReadComplete();
+            pipeline.fireChannelExceptionCaught(cause);
+            closeTransport(newPromise());
+        }
+    }
+
+    private void closeOnRead() {
+        if (!isShutdown(ChannelShutdownDirection.Inbound)) {
+            if (isAllowHalfClosure()) {
+                shutdownTransport(ChannelShutdownDirection.Inbound, newPromise());
+            } else {
+                closeTransport(newPromise());
+            }
+        } else {
+            inputClosedSeenErrorOnRead = true;
+        }
+    }
+
+    @Override
+    public void closeTransportNow() {
+        closeTransport(newPromise());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected <T> T getExtendedOption(ChannelOption<T> option) {
+        if (option == SharedMemoryChannelOption.RING_BUFFER_SIZE) {
+            return (T) Integer.valueOf(ringBufferSize);
+        }
+        return super.getExtendedOption(option);
+    }
+
+    @Override
+    protected <T> void setExtendedOption(ChannelOption<T> option, T value) {
+        if (option == SharedMemoryChannelOption.RING_BUFFER_SIZE) {
+            int size = (Integer) value;
+            if (!SharedMemoryRingBuffer.isValidCapacity(size)) {
+                throw new IllegalArgumentException("RING_BUFFER_SIZE: " + size + " (expected: power of two in " +
+                        "range [" + SharedMemoryRingBuffer.MIN_CAPACITY + ", " +
+                        SharedMemoryRingBuffer.MAX_CAPACITY + "])");
+            }
+            ringBufferSize = size;
+        } else {
+            super.setExtendedOption(option, value);
+        }
+    }
+
+    @Override
+    protected boolean isExtendedOptionSupported(ChannelOption<?> option) {
+        return option == SharedMemoryChannelOption.RING_BUFFER_SIZE || super.isExtendedOptionSupported(option);
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import io.netty5.channel.ChannelOption;
+
+/**
+ * {@link ChannelOption}s that are supported by {@link SharedMemoryChannel}.
+ */
+public final class SharedMemoryChannelOption<T> extends ChannelOption<T> {
+
+    /**
+     * The size in bytes of the ring buffer that is created for each direction of a connection. Must be a power of
+     * two. Only used by the connecting side, the accepting side uses the size the peer picked.
+     */
+    public static final ChannelOption<Integer> RING_BUFFER_SIZE =
+            valueOf(SharedMemoryChannelOption.class, "RING_BUFFER_SIZE");
+
+    @SuppressWarnings({ "unused", "deprecation" })
+    private SharedMemoryChannelOption() {
+        super(null);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+interface SharedMemoryChannelUnsafe {
+    /**
+     * Check the ring buffers for progress and handle it.
+     *
+     * @return {@code true} if any I/O was handled.
+     */
+    boolean pollTransportNow();
+
+    /**
+     * Called once the channel was registered, so it can publish the port of the {@link SharedMemoryDoorbell} to
+     * its peer and ring the peer's doorbell when it made progress.
+     */
+    void registerTransportNow(SharedMemoryDoorbell doorbell);
+
+    /**
+     * Mark the channel as waiting for its peer before the {@link SharedMemoryHandler} blocks on its
+     * {@link SharedMemoryDoorbell}.
+     *
+     * @return {@code false} if there is I/O to handle already, in which case the handler must not block.
+     */
+    boolean armTransportNow();
+
+    /**
+     * Undo {@link #armTransportNow()} once the {@link SharedMemoryHandler} stopped blocking.
+     */
+    void disarmTransportNow();
+
+    void closeTransportNow();
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Wakes up a {@link SharedMemoryHandler} of another process that blocks until its peer made progress.
+ * <p>
+ * There is no portable way to block on a change of shared memory, so every handler owns a loopback
+ * {@link DatagramChannel} whose port is published in the ring buffer headers. A side that is about to block marks
+ * itself as waiting in the header and then waits on its {@link Selector}; the other side sends a datagram to the
+ * published port once it made progress and observed the mark. As datagrams are queued by the kernel a ring that
+ * happens before the waiter blocks is never lost.
+ * <p>
+ * This is a fallback for an {@code eventfd} or a {@code futex} on the shared memory, which the JDK does not expose.
+ * Ringing costs a {@code sendto} system call and a trip through the loopback network stack, and the waiter needs
+ * a {@code recvfrom} after it was woken up, which is a few microseconds more than waking a {@code futex}. Peers only
+ * ring a side that marked itself as waiting, so the cost is only paid when an idle side is woken up, not per write.
+ * <p>
+ * Any process on the host can send datagrams to the port, so every doorbell also publishes a random key next to the
+ * port, which only processes that can read the shared memory know. Datagrams that do not carry the key are
+ * discarded and do not count as a ring, although they still wake up the {@link Selector} once.
+ * <p>
+ * Instances are not thread-safe, except for {@link #wakeup()}.
+ */
+final class SharedMemoryDoorbell {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(SharedMemoryDoorbell.class);
+
+    private final DatagramChannel channel;
+    private final Selector selector;
+    private final int port;
+    private final long key;
+    private final ByteBuffer signal = ByteBuffer.allocate(Long.BYTES);
+    private final ByteBuffer drain = ByteBuffer.allocate(64);
+    // Incremented by wakeup(), so await(...) does not keep blocking if a wakeup raced with a foreign datagram.
+    private final AtomicInteger wakeups = new AtomicInteger();
+
+    private SharedMemoryDoorbell(DatagramChannel channel, Selector selector, int port, long key) {
+        this.channel = channel;
+        this.selector = selector;
+        this.port = port;
+        this.key = key;
+    }
+
+    /**
+     * Open a new doorbell.
+     *
+     * @param listen    {@code true} if the doorbell should be bound so the peers can ring it, {@code false} if it is
+     *                  only used to ring the doorbells of others.
+     */
+    static SharedMemoryDoorbell open(boolean listen) throws IOException {
+        DatagramChannel channel = DatagramChannel.open();
+        Selector selector = null;
+        try {
+            channel.configureBlocking(false);
+            if (!listen) {
+                return new SharedMemoryDoorbell(channel, null, 0, 0);
+            }
+            channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            selector = Selector.open();
+            channel.register(selector, SelectionKey.OP_READ);
+            int port = ((InetSocketAddress) channel.getLocalAddress()).getPort();
+            return new SharedMemoryDoorbell(channel, selector, port, new SecureRandom().nextLong());
+        } catch (Throwable cause) {
+            if (selector != null) {
+                selector.close();
+            }
+            channel.close();
+            throw cause;
+        }
+    }
+
+    /**
+     * Returns the port to publish in the ring buffer headers, or {@code 0} if this doorbell can not be rung.
+     */
+    int port() {
+        return port;
+    }
+
+    /**
+     * Returns the key to publish next to the {@link #port()}, which must be sent when ringing this doorbell.
+     */
+    long key() {
+        return key;
+    }
+
+    /**
+     * Ring the doorbell that listens on the given port with the key the doorbell published. Failures are ignored, as
+     * the peer may have gone already.
+     */
+    void ring(int port, long key) {
+        if (port == 0) {
+            return;
+        }
+        signal.clear();
+        signal.putLong(0, key);
+        try {
+            channel.send(signal, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (IOException e) {
+            logger.debug("Failed to ring shared memory doorbell on port {}", port, e);
+        }
+    }
+
+    /**
+     * Block until the doorbell was rung, {@link #wakeup()} was called or the timeout elapsed.
+     *
+     * @return {@code true} if the doorbell was rung.
+     */
+    boolean await(long timeoutNanos) throws IOException {
+        int wakeups = this.wakeups.get();
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (;;) {
+            long timeoutMillis = (timeoutNanos + 500000L) / 1000000L;
+            int selected = timeoutMillis <= 0 ? selector.selectNow() : selector.select(timeoutMillis);
+            selector.selectedKeys().clear();
+            if (selected == 0) {
+                // Timed out or woken up.
+                return false;
+            }
+            if (drain()) {
+                return true;
+            }
+            // Only foreign datagrams, keep waiting.
+            timeoutNanos = deadline - System.nanoTime();
+            if (timeoutNanos <= 0 || this.wakeups.get() != wakeups) {
+                return false;
+            }
+        }
+    }
+
+    private boolean drain() throws IOException {
+        boolean rung = false;
+        for (;;) {
+            drain.clear();
+            if (channel.receive(drain) == null) {
+                return rung;
+            }
+            if (drain.position() == Long.BYTES && drain.getLong(0) == key) {
+                rung = true;
+            }
+        }
+    }
+
+    /**
+     * Wakeup a thread that blocks in {@link #await(long)}. Can be called from any thread.
+     */
+    void wakeup() {
+        if (selector != null) {
+            wakeups.incrementAndGet();
+            selector.wakeup();
+        }
+    }
+
+    void close() {
+        try {
+            if (selector != null) {
+                selector.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to close a selector.", e);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close a doorbell channel.", e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelException;
+import io.netty5.channel.IoExecutionContext;
+import io.netty5.channel.IoHandler;
+import io.netty5.channel.IoHandlerFactory;
+import io.netty5.util.internal.StringUtil;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.netty5.util.internal.ObjectUtil.checkPositive;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link IoHandler} implementation for {@link SharedMemoryChannel} and {@link SharedMemoryServerChannel}.
+ * <p>
+ * The ring buffers are shared with another process, so every {@link #run(IoExecutionContext)} polls all registered
+ * channels. If none of them made progress the thread spins for a few iterations and then marks all channels as
+ * waiting in the shared ring buffer headers and blocks on a {@link SharedMemoryDoorbell} until the peer rings it or
+ * the next scheduled task is due, so an idle {@link io.netty5.channel.EventLoop} does not consume any CPU.
+ * <p>
+ * Alternatively, handlers created via {@link #newFactory(Duration)} never block on the doorbell but keep polling,
+ * parking for at most the given time in between. This spares the peer the system call that is needed to ring the
+ * doorbell, at the expense of CPU usage while idle.
+ */
+public final class SharedMemoryHandler implements IoHandler {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(SharedMemoryHandler.class);
+    private static final SharedMemoryChannelUnsafe[] EMPTY = new SharedMemoryChannelUnsafe[0];
+    private static final int SPIN_ITERATIONS = 64;
+
+    private final SharedMemoryDoorbell doorbell;
+    // 0 if we block on the doorbell while idle.
+    private final long maxParkNanos;
+    // Copy-on-write as channels are registered rarely but polled all the time.
+    private SharedMemoryChannelUnsafe[] registeredChannels = EMPTY;
+    private int idleIterations;
+    private volatile Thread executionThread;
+
+    private SharedMemoryHandler(long maxParkNanos) {
+        try {
+            doorbell = SharedMemoryDoorbell.open(maxParkNanos == 0);
+        } catch (IOException e) {
+            throw new ChannelException("failed to open a shared memory doorbell", e);
+        }
+        this.maxParkNanos = maxParkNanos;
+    }
+
+    /**
+     * Returns a new {@link IoHandlerFactory} that creates {@link SharedMemoryHandler} instances which block until
+     * the peer rings their doorbell while idle.
+     */
+    public static IoHandlerFactory newFactory() {
+        return () -> new SharedMemoryHandler(0);
+    }
+
+    /**
+     * Returns a new {@link IoHandlerFactory} that creates {@link SharedMemoryHandler} instances which keep polling
+     * while idle instead of blocking until the peer rings their doorbell.
+     *
+     * @param maxParkTime   the maximum time to park between polls while there is no I/O. Lower values decrease
+     *                      latency at the expense of CPU usage.
+     */
+    public static IoHandlerFactory newFactory(Duration maxParkTime) {
+        long maxParkNanos = checkPositive(requireNonNull(maxParkTime, "maxParkTime").toNanos(), "maxParkTime");
+        return () -> new SharedMemoryHandler(maxParkNanos);
+    }
+
+    private static SharedMemoryChannelUnsafe cast(Channel channel) {
+        if (channel instanceof SharedMemoryChannelUnsafe) {
+            return (SharedMemoryChannelUnsafe) channel;
+        }
+        throw new IllegalArgumentException("Channel of type " + StringUtil.simpleClassName(channel) + " not supported");
+    }
+
+    @Override
+    public int run(IoExecutionContext runner) {
+        if (executionThread == null) {
+            executionThread = Thread.currentThread();
+        }
+        int handled = 0;
+        // Take a local copy as channels may be deregistered while we poll.
+        SharedMemoryChannelUnsafe[] channels = registeredChannels;
+        for (SharedMemoryChannelUnsafe channel : channels) {
+            if (channel.pollTransportNow()) {
+                handled++;
+            }
+        }
+        if (handled > 0) {
+            idleIterations = 0;
+        } else if (runner.canBlock()) {
+            if (channels.length > 0 && idleIterations < SPIN_ITERATIONS) {
+                idleIterations++;
+                Thread.onSpinWait();
+            } else if (maxParkNanos == 0) {
+                await(channels, runner);
+            } else if (channels.length == 0) {
+                // Nothing to poll, just block until there is a task ready to process or wakeup(...) is called.
+                LockSupport.parkNanos(this, runner.delayNanos(System.nanoTime()));
+            } else {
+                LockSupport.parkNanos(this, Math.min(maxParkNanos, runner.delayNanos(System.nanoTime())));
+            }
+        }
+        return handled;
+    }
+
+    private void await(SharedMemoryChannelUnsafe[] channels, IoExecutionContext runner) {
+        int armed = 0;
+        try {
+            while (armed < channels.length) {
+                if (!channels[armed].armTransportNow()) {
+                    // The peer made progress since we polled, don't block.
+                    return;
+                }
+                armed++;
+            }
+            doorbell.await(runner.delayNanos(System.nanoTime()));
+        } catch (IOException e) {
+            logger.warn("Unexpected exception while waiting on the shared memory doorbell.", e);
+        } finally {
+            for (int i = 0; i < armed; i++) {
+                channels[i].disarmTransportNow();
+            }
+        }
+    }
+
+    @Override
+    public void wakeup(boolean inEventLoop) {
+        if (!inEventLoop) {
+            if (maxParkNanos == 0) {
+                doorbell.wakeup();
+                return;
+            }
+            Thread thread = executionThread;
+            if (thread != null) {
+                // Wakeup if we block at the moment.
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    @Override
+    public void prepareToDestroy() {
+        for (SharedMemoryChannelUnsafe channel : registeredChannels) {
+            channel.closeTransportNow();
+        }
+        registeredChannels = EMPTY;
+    }
+
+    @Override
+    public void destroy() {
+        doorbell.close();
+    }
+
+    @Override
+    public void register(Channel channel) {
+        SharedMemoryChannelUnsafe unsafe = cast(channel);
+        SharedMemoryChannelUnsafe[] channels = registeredChannels;
+        for (SharedMemoryChannelUnsafe registered : channels) {
+            if (registered == unsafe) {
+                return;
+            }
+        }
+        channels = Arrays.copyOf(channels, channels.length + 1);
+        channels[channels.length - 1] = unsafe;
+        registeredChannels = channels;
+        unsafe.registerTransportNow(doorbell);
+    }
+
+    @Override
+    public void deregister(Channel channel) {
+        SharedMemoryChannelUnsafe unsafe = cast(channel);
+        SharedMemoryChannelUnsafe[] channels = registeredChannels;
+        for (int i = 0; i < channels.length; i++) {
+            if (channels[i] == unsafe) {
+                SharedMemoryChannelUnsafe[] newChannels = new SharedMemoryChannelUnsafe[channels.length - 1];
+                System.arraycopy(channels, 0, newChannels, 0, i);
+                System.arraycopy(channels, i + 1, newChannels, i, channels.length - i - 1);
+                registeredChannels = newChannels;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isCompatible(Class<? extends Channel> channelType) {
+        return SharedMemoryChannelUnsafe.class.isAssignableFrom(channelType);
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.util.internal.PlatformDependent;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * A single-producer single-consumer byte ring buffer that lives in a memory-mapped file and so can be shared
+ * between two processes.
+ * <p>
+ * The file starts with a header that contains the capacity and the state flags, followed by the write index
+ * (only written by the producer) and the read index (only written by the consumer), each on its own cache line.
+ * The indexes are ever-increasing {@code long} values which are published with release semantics after the data
+ * was copied, so the other side never observes bytes that were not fully written.
+ * <p>
+ * The header also contains a waiting flag and the {@link SharedMemoryDoorbell} port and key for each side. A side that
+ * wants to block until the other side made progress arms its flag and re-checks the ring afterwards, while the
+ * other side checks the flag after it published its index and rings the doorbell if it is set.
+ * <p>
+ * Instances are not thread-safe, the producer and the consumer side must each only be used by one thread.
+ */
+final class SharedMemoryRingBuffer {
+    static final int MIN_CAPACITY = 4096;
+    static final int MAX_CAPACITY = 1 << 30;
+    static final int DEFAULT_CAPACITY = 1 << 20;
+
+    private static final int MAGIC = 0x4E53484D; // "NSHM"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int ACCEPTED_OFFSET = 8;
+    private static final int PRODUCER_CLOSED_OFFSET = 12;
+    private static final int CONSUMER_CLOSED_OFFSET = 16;
+    private static final int CONSUMER_WAITING_OFFSET = 20;
+    private static final int PRODUCER_WAITING_OFFSET = 24;
+    private static final int CONSUMER_DOORBELL_OFFSET = 28;
+    private static final int PRODUCER_DOORBELL_OFFSET = 32;
+    private static final int CONSUMER_DOORBELL_KEY_OFFSET = 40;
+    private static final int PRODUCER_DOORBELL_KEY_OFFSET = 48;
+    private static final int WRITE_INDEX_OFFSET = 64;
+    private static final int READ_INDEX_OFFSET = 128;
+    static final int HEADER_SIZE = 192;
+
+    private static final VarHandle INT_HANDLE =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG_HANDLE =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final Path path;
+    private final MappedByteBuffer mapped;
+    private final ByteBuffer data;
+    // Only used by the consumer to copy out of the ring without allocating a new view for every read.
+    private final ByteBuffer readView;
+    private final int capacity;
+    private final int mask;
+    private boolean released;
+
+    // Local copies of the indexes, so we only need to touch the cache line of the other side if we run out of
+    // readable or writable bytes.
+    private long writeIndex;
+    private long readIndex;
+    private long cachedPeerIndex;
+
+    private SharedMemoryRingBuffer(Path path, MappedByteBuffer mapped, int capacity) {
+        this.path = path;
+        this.mapped = mapped;
+        this.capacity = capacity;
+        mask = capacity - 1;
+        data = mapped.duplicate().position(HEADER_SIZE).slice();
+        readView = data.duplicate();
+        writeIndex = (long) LONG_HANDLE.getAcquire(mapped, WRITE_INDEX_OFFSET);
+        readIndex = (long) LONG_HANDLE.getAcquire(mapped, READ_INDEX_OFFSET);
+    }
+
+    /**
+     * Create a new file at the given {@link Path} and map it as ring buffer with the given capacity.
+     */
+    static SharedMemoryRingBuffer create(Path path, int capacity) throws IOException {
+        if (!isValidCapacity(capacity)) {
+            throw new IllegalArgumentException("capacity: " + capacity +
+                    " (expected: power of two in range [" + MIN_CAPACITY + ", " + MAX_CAPACITY + "])");
+        }
+        MappedByteBuffer mapped = map(path, HEADER_SIZE + capacity, true);
+        INT_HANDLE.set(mapped, CAPACITY_OFFSET, capacity);
+        INT_HANDLE.setRelease(mapped, MAGIC_OFFSET, MAGIC);
+        return new SharedMemoryRingBuffer(path, mapped, capacity);
+    }
+
+    /**
+     * Map an existing ring buffer file that was created via {@link #create(Path, int)}.
+     */
+    static SharedMemoryRingBuffer open(Path path) throws IOException {
+        MappedByteBuffer header = map(path, HEADER_SIZE, false);
+        int capacity;
+        try {
+            if ((int) INT_HANDLE.getAcquire(header, MAGIC_OFFSET) != MAGIC) {
+                throw new IOException("Not a shared memory ring buffer: " + path);
+            }
+            capacity = (int) INT_HANDLE.get(header, CAPACITY_OFFSET);
+        } finally {
+            PlatformDependent.freeDirectBuffer(header);
+        }
+        if (!isValidCapacity(capacity)) {
+            throw new IOException("Invalid capacity " + capacity + " in " + path);
+        }
+        return new SharedMemoryRingBuffer(path, map(path, HEADER_SIZE + capacity, false), capacity);
+    }
+
+    static boolean isValidCapacity(int capacity) {
+        return capacity >= MIN_CAPACITY && capacity <= MAX_CAPACITY && (capacity & capacity - 1) == 0;
+    }
+
+    private static MappedByteBuffer map(Path path, int size, boolean create) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            if (create) {
+                file.setLength(size);
+            } else if (file.length() < size) {
+                throw new IOException("File too small for a shared memory ring buffer: " + path);
+            }
+            return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Copy as many readable bytes from the given {@link Buffer} into the ring as fit and advance its reader offset.
+     * Must only be called by the producer.
+     *
+     * @return the number of bytes that were copied.
+     */
+    int write(Buffer src) throws ClosedChannelException {
+        ensureNotReleased();
+        int length = Math.min(src.readableBytes(), writableBytes(src.readableBytes()));
+        if (length == 0) {
+            return 0;
+        }
+        int offset = (int) writeIndex & mask;
+        int first = Math.min(length, capacity - offset);
+        int srcPos = src.readerOffset();
+        src.copyInto(srcPos, data, offset, first);
+        if (first < length) {
+            src.copyInto(srcPos + first, data, 0, length - first);
+        }
+        src.skipReadableBytes(length);
+        writeIndex += length;
+        LONG_HANDLE.setRelease(mapped, WRITE_INDEX_OFFSET, writeIndex);
+        return length;
+    }
+
+    /**
+     * Copy as many bytes from the ring into the given {@link Buffer} as are readable and fit.
+     * Must only be called by the consumer.
+     *
+     * @return the number of bytes that were copied, or {@code -1} if the ring is empty and the producer closed it.
+     */
+    int read(Buffer dst) throws ClosedChannelException {
+        ensureNotReleased();
+        int readable = readableBytes(dst.writableBytes());
+        if (readable == 0) {
+            // Check the index again after we observed the close, as the producer may have written before.
+            return isProducerClosed() && readableBytes() == 0 ? -1 : 0;
+        }
+        int length = Math.min(readable, dst.writableBytes());
+        if (length == 0) {
+            return 0;
+        }
+        int offset = (int) readIndex & mask;
+        int first = Math.min(length, capacity - offset);
+        readView.limit(offset + first).position(offset);
+        dst.writeBytes(readView);
+        if (first < length) {
+            readView.limit(length - first).position(0);
+            dst.writeBytes(readView);
+        }
+        readIndex += length;
+        LONG_HANDLE.setRelease(mapped, READ_INDEX_OFFSET, readIndex);
+        return length;
+    }
+
+    /**
+     * Returns the number of bytes that can be read. Must only be called by the consumer.
+     */
+    int readableBytes() {
+        return readableBytes(Integer.MAX_VALUE);
+    }
+
+    private int readableBytes(int wanted) {
+        long readable = cachedPeerIndex - readIndex;
+        if (readable < wanted) {
+            cachedPeerIndex = (long) LONG_HANDLE.getAcquire(mapped, WRITE_INDEX_OFFSET);
+            readable = cachedPeerIndex - readIndex;
+        }
+        return (int) readable;
+    }
+
+    /**
+     * Returns the number of bytes that can be written. Must only be called by the producer.
+     */
+    int writableBytes() {
+        return writableBytes(Integer.MAX_VALUE);
+    }
+
+    private int writableBytes(int wanted) {
+        long writable = capacity - (writeIndex - cachedPeerIndex);
+        if (writable < wanted) {
+            cachedPeerIndex = (long) LONG_HANDLE.getAcquire(mapped, READ_INDEX_OFFSET);
+            writable = capacity - (writeIndex - cachedPeerIndex);
+        }
+        return (int) writable;
+    }
+
+    void markAccepted() {
+        INT_HANDLE.setRelease(mapped, ACCEPTED_OFFSET, 1);
+    }
+
+    boolean isAccepted() {
+        return (int) INT_HANDLE.getAcquire(mapped, ACCEPTED_OFFSET) != 0;
+    }
+
+    /**
+     * Signal the consumer that no more bytes will be written.
+     */
+    void closeProducer() {
+        if (!released) {
+            INT_HANDLE.setRelease(mapped, PRODUCER_CLOSED_OFFSET, 1);
+        }
+    }
+
+    boolean isProducerClosed() {
+        return (int) INT_HANDLE.getAcquire(mapped, PRODUCER_CLOSED_OFFSET) != 0;
+    }
+
+    /**
+     * Signal the producer that no more bytes will be read.
+     */
+    void closeConsumer() {
+        if (!released) {
+            INT_HANDLE.setRelease(mapped, CONSUMER_CLOSED_OFFSET, 1);
+        }
+    }
+
+    boolean isConsumerClosed() {
+        return (int) INT_HANDLE.getAcquire(mapped, CONSUMER_CLOSED_OFFSET) != 0;
+    }
+
+    /**
+     * Publish the {@link SharedMemoryDoorbell} port and key of the consumer, port {@code 0} if it can not be woken
+     * up.
+     */
+    void consumerDoorbell(int port, long key) {
+        LONG_HANDLE.setRelease(mapped, CONSUMER_DOORBELL_KEY_OFFSET, key);
+        INT_HANDLE.setRelease(mapped, CONSUMER_DOORBELL_OFFSET, port);
+    }
+
+    /**
+     * Publish the {@link SharedMemoryDoorbell} port and key of the producer, port {@code 0} if it can not be woken
+     * up.
+     */
+    void producerDoorbell(int port, long key) {
+        LONG_HANDLE.setRelease(mapped, PRODUCER_DOORBELL_KEY_OFFSET, key);
+        INT_HANDLE.setRelease(mapped, PRODUCER_DOORBELL_OFFSET, port);
+    }
+
+    /**
+     * Returns the {@link SharedMemoryDoorbell} port of the consumer, {@code 0} if it can not be woken up.
+     */
+    int consumerDoorbell() {
+        return (int) INT_HANDLE.getAcquire(mapped, CONSUMER_DOORBELL_OFFSET);
+    }
+
+    /**
+     * Returns the {@link SharedMemoryDoorbell} key of the consumer, which must be sent when ringing its doorbell.
+     */
+    long consumerDoorbellKey() {
+        return (long) LONG_HANDLE.getAcquire(mapped, CONSUMER_DOORBELL_KEY_OFFSET);
+    }
+
+    /**
+     * Returns the {@link SharedMemoryDoorbell} key of the producer, which must be sent when ringing its doorbell.
+     */
+    long producerDoorbellKey() {
+        return (long) LONG_HANDLE.getAcquire(mapped, PRODUCER_DOORBELL_KEY_OFFSET);
+    }
+
+    /**
+     * Mark the consumer as waiting for bytes. Must only be called by the consumer.
+     *
+     * @return {@code false} if there are bytes to read or the producer closed the ring meanwhile, in which case the
+     * consumer must not block.
+     */
+    boolean armConsumer() {
+        INT_HANDLE.setVolatile(mapped, CONSUMER_WAITING_OFFSET, 1);
+        // Pairs with the fence in consumerToWake(), so either we see the new bytes or the producer sees the flag.
+        VarHandle.fullFence();
+        if (readableBytes() > 0 || isProducerClosed()) {
+            disarmConsumer();
+            return false;
+        }
+        return true;
+    }
+
+    void disarmConsumer() {
+        INT_HANDLE.setRelease(mapped, CONSUMER_WAITING_OFFSET, 0);
+    }
+
+    /**
+     * Mark the producer as waiting for space. Must only be called by the producer.
+     *
+     * @return {@code false} if there are bytes to write or the consumer closed the ring meanwhile, in which case the
+     * producer must not block.
+     */
+    boolean armProducer() {
+        INT_HANDLE.setVolatile(mapped, PRODUCER_WAITING_OFFSET, 1);
+        VarHandle.fullFence();
+        if (writableBytes() > 0 || isConsumerClosed()) {
+            disarmProducer();
+            return false;
+        }
+        return true;
+    }
+
+    void disarmProducer() {
+        INT_HANDLE.setRelease(mapped, PRODUCER_WAITING_OFFSET, 0);
+    }
+
+    /**
+     * Must be called by the producer after it wrote bytes or closed the ring.
+     *
+     * @return the doorbell port of the consumer if it is waiting and so must be woken up, {@code 0} otherwise.
+     */
+    int consumerToWake() {
+        return toWake(CONSUMER_WAITING_OFFSET, CONSUMER_DOORBELL_OFFSET);
+    }
+
+    /**
+     * Must be called by the consumer after it read bytes or closed the ring.
+     *
+     * @return the doorbell port of the producer if it is waiting and so must be woken up, {@code 0} otherwise.
+     */
+    int producerToWake() {
+        return toWake(PRODUCER_WAITING_OFFSET, PRODUCER_DOORBELL_OFFSET);
+    }
+
+    private int toWake(int waitingOffset, int doorbellOffset) {
+        if (released) {
+            return 0;
+        }
+        VarHandle.fullFence();
+        // Only one ring per wait, the waiter sets the flag again before it blocks the next time.
+        if ((int) INT_HANDLE.getVolatile(mapped, waitingOffset) != 0 &&
+                INT_HANDLE.compareAndSet(mapped, waitingOffset, 1, 0)) {
+            return (int) INT_HANDLE.getAcquire(mapped, doorbellOffset);
+        }
+        return 0;
+    }
+
+    /**
+     * Unmap the ring buffer. Any further access fails with a {@link ClosedChannelException}.
+     */
+    void release() {
+        if (!released) {
+            released = true;
+            PlatformDependent.freeDirectBuffer(mapped);
+        }
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    private void ensureNotReleased() throws ClosedChannelException {
+        if (released) {
+            throw new ClosedChannelException();
+        }
+    }
+}
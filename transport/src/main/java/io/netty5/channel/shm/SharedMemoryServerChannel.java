@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import io.netty5.channel.AbstractServerChannel;
+import io.netty5.channel.ChannelPipeline;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.RecvBufferAllocator;
+import io.netty5.channel.ServerChannel;
+import io.netty5.util.internal.logging.InternalLogger;
+import io.netty5.util.internal.logging.InternalLoggerFactory;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.channels.UnsupportedAddressTypeException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import static io.netty5.channel.shm.SharedMemoryChannel.CLIENT_TO_SERVER_SUFFIX;
+import static io.netty5.channel.shm.SharedMemoryChannel.CONNECT_SUFFIX;
+import static io.netty5.channel.shm.SharedMemoryChannel.SERVER_TO_CLIENT_SUFFIX;
+
+/**
+ * A {@link ServerChannel} for the shared memory transport.
+ * <p>
+ * Binding creates the directory of the {@link SharedMemoryAddress} and takes an exclusive lock on a file within it.
+ * Connecting {@link SharedMemoryChannel}s create their ring buffers in the same directory and publish a connection
+ * request file, which this channel picks up while it is reading. The lock file contains the port and key of the
+ * {@link SharedMemoryDoorbell} of this channel, which connecting channels ring after they published their request.
+ */
+public class SharedMemoryServerChannel
+        extends AbstractServerChannel<SharedMemoryChannel, SharedMemoryAddress, SharedMemoryAddress>
+        implements SharedMemoryChannelUnsafe {
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(SharedMemoryServerChannel.class);
+
+    static final String LOCK_FILE = "server.lock";
+    // Scanning the directory is comparatively expensive, so don't do it on every poll.
+    private static final long ACCEPT_POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private volatile int state; // 0 - open, 1 - active, 2 - closed
+    private volatile SharedMemoryAddress localAddress;
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private boolean readPending;
+    private long nextAcceptPollNanos;
+    private SharedMemoryDoorbell doorbell;
+
+    public SharedMemoryServerChannel(EventLoop eventLoop, EventLoopGroup childEventLoopGroup) {
+        super(eventLoop, childEventLoopGroup, SharedMemoryChannel.class);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return state < 2;
+    }
+
+    @Override
+    public boolean isActive() {
+        return state == 1;
+    }
+
+    @Override
+    protected SharedMemoryAddress localAddress0() {
+        return localAddress;
+    }
+
+    @Override
+    protected void doBind(SocketAddress localAddress) throws Exception {
+        if (!(localAddress instanceof SharedMemoryAddress)) {
+            throw new UnsupportedAddressTypeException();
+        }
+        SharedMemoryAddress address = (SharedMemoryAddress) localAddress;
+        Path directory = Files.createDirectories(address.directory());
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            channel.close();
+            throw new BindException("Address already in use: " + address);
+        }
+        try {
+            ByteBuffer port = ByteBuffer.allocate(Integer.BYTES + Long.BYTES)
+                    .putInt(doorbell == null ? 0 : doorbell.port())
+                    .putLong(doorbell == null ? 0 : doorbell.key());
+            channel.write(port.flip(), 0);
+        } catch (IOException e) {
+            lock.release();
+            channel.close();
+            throw e;
+        }
+        lockChannel = channel;
+        this.lock = lock;
+        this.localAddress = address;
+        state = 1;
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        if (state <= 1) {
+            // Update all internal state before the closeFuture is notified.
+            state = 2;
+            if (lockChannel != null) {
+                try {
+                    Files.deleteIfExists(localAddress.directory().resolve(LOCK_FILE));
+                    lock.release();
+                } finally {
+                    lockChannel.close();
+                    lockChannel = null;
+                    lock = null;
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void doBeginRead() {
+        readPending = true;
+    }
+
+    @Override
+    protected void autoReadCleared() {
+        readPending = false;
+    }
+
+    @Override
+    public boolean pollTransportNow() {
+        if (!readPending || !isActive()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (now - nextAcceptPollNanos < 0) {
+            return false;
+        }
+        nextAcceptPollNanos = now + ACCEPT_POLL_INTERVAL_NANOS;
+        return acceptNow();
+    }
+
+    private boolean acceptNow() {
+        RecvBufferAllocator.Handle allocHandle = recvBufAllocHandle();
+        allocHandle.reset();
+        ChannelPipeline pipeline = pipeline();
+        Path directory = localAddress.directory();
+        boolean accepted = false;
+        try (DirectoryStream<Path> requests = Files.newDirectoryStream(directory, '*' + CONNECT_SUFFIX)) {
+            for (Path request : requests) {
+                String name = request.getFileName().toString();
+                String id = name.substring(0, name.length() - CONNECT_SUFFIX.length());
+                if (!Files.deleteIfExists(request)) {
+                    continue;
+                }
+                SharedMemoryChannel child = accept(directory, id);
+                if (child == null) {
+                    continue;
+                }
+                accepted = true;
+                readPending = false;
+                allocHandle.incMessagesRead(1);
+                pipeline.fireChannelRead(child);
+                if (!allocHandle.continueReading(isAutoRead())) {
+                    break;
+                }
+            }
+        } catch (Throwable cause) {
+            pipeline.fireChannelExceptionCaught(cause);
+        }
+        if (accepted) {
+            allocHandle.readComplete();
+            pipeline.fireChannelReadComplete();
+            readIfIsAutoRead();
+        }
+        return accepted;
+    }
+
+    private SharedMemoryChannel accept(Path directory, String id) {
+        SharedMemoryRingBuffer inbound = null;
+        SharedMemoryRingBuffer outbound = null;
+        try {
+            inbound = SharedMemoryRingBuffer.open(directory.resolve(id + CLIENT_TO_SERVER_SUFFIX));
+            outbound = SharedMemoryRingBuffer.open(directory.resolve(id + SERVER_TO_CLIENT_SUFFIX));
+            SharedMemoryChannel child = new SharedMemoryChannel(
+                    this, childEventLoopGroup().next(), inbound, outbound);
+            outbound.markAccepted();
+            if (doorbell != null) {
+                doorbell.ring(outbound.consumerDoorbell(), outbound.consumerDoorbellKey());
+            }
+            return child;
+        } catch (Throwable cause) {
+            logger.warn("Failed to accept shared memory connection {} in {}", id, directory, cause);
+            if (inbound != null) {
+                inbound.closeConsumer();
+                inbound.release();
+            }
+            if (outbound != null) {
+                outbound.closeProducer();
+                outbound.release();
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public void registerTransportNow(SharedMemoryDoorbell doorbell) {
+        this.doorbell = doorbell;
+    }
+
+    @Override
+    public boolean armTransportNow() {
+        // Connecting channels always ring our doorbell, so scan the directory as soon as we were woken up.
+        nextAcceptPollNanos = System.nanoTime();
+        return true;
+    }
+
+    @Override
+    public void disarmTransportNow() {
+    }
+
+    @Override
+    public void closeTransportNow() {
+        closeTransport(newPromise());
+    }
+}
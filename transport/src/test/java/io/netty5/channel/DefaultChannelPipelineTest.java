@@ -1662,6 +1662,81 @@ public class DefaultChannelPipelineTest {
         doneLatch.await();
     }
 
+    @Test
+    public void testPipelineModifiedDuringChannelRead() {
+        final List<String> events = new ArrayList<>();
+        final ChannelHandler removed = new ChannelHandler() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                events.add("removed");
+                ctx.fireChannelRead(msg);
+            }
+        };
+        final ChannelHandler added = new ChannelHandler() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                events.add("added");
+                ctx.fireChannelRead(msg);
+            }
+        };
+        EmbeddedChannel channel = new EmbeddedChannel(new ChannelHandler() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                events.add("first");
+                if ("modify".equals(msg)) {
+                    ctx.pipeline().remove(removed);
+                    ctx.pipeline().addAfter(ctx.name(), null, added);
+                }
+                ctx.fireChannelRead(msg);
+            }
+        }, removed);
+
+        assertTrue(channel.writeInbound("modify"));
+        assertEquals(List.of("first", "added"), events);
+        assertEquals("modify", channel.readInbound());
+
+        events.clear();
+        assertTrue(channel.writeInbound("again"));
+        assertEquals(List.of("first", "added"), events);
+        assertEquals("again", channel.readInbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    public void testPipelineModifiedDuringWrite() {
+        final List<String> events = new ArrayList<>();
+        final ChannelHandler replacement = new ChannelHandler() {
+            @Override
+            public Future<Void> write(ChannelHandlerContext ctx, Object msg) {
+                events.add("replacement");
+                return ctx.write(msg);
+            }
+        };
+        final ChannelHandler replaced = new ChannelHandler() {
+            @Override
+            public Future<Void> write(ChannelHandlerContext ctx, Object msg) {
+                events.add("replaced");
+                Future<Void> future = ctx.write(msg);
+                ctx.pipeline().replace(this, null, replacement);
+                return future;
+            }
+        };
+        EmbeddedChannel channel = new EmbeddedChannel(replaced, new ChannelHandler() {
+            @Override
+            public void flush(ChannelHandlerContext ctx) {
+                events.add("flush");
+                ctx.flush();
+            }
+        });
+
+        assertTrue(channel.writeOutbound("first"));
+        assertTrue(channel.writeOutbound("second"));
+        assertEquals(List.of("replaced", "flush", "replacement", "flush"), events);
+        assertEquals("first", channel.readOutbound());
+        assertEquals("second", channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
     private static final class TestTask implements Runnable {
 
         private final ChannelPipeline pipeline;
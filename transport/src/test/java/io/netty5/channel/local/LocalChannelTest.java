@@ -479,6 +479,60 @@ public class LocalChannelTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("allocators")
+    public void testPeerOnDifferentEventLoopOwnsReceivedBuffers(IntFunction<Buffer> allocator) throws Exception {
+        final int messages = 100000;
+        Bootstrap cb = new Bootstrap();
+        ServerBootstrap sb = new ServerBootstrap();
+        final CountDownLatch messageLatch = new CountDownLatch(messages);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        cb.group(group1)
+          .channel(LocalChannel.class)
+          .handler(new TestHandler());
+
+        sb.group(group2)
+          .channel(LocalServerChannel.class)
+          .childHandler(new ChannelHandler() {
+              @Override
+              public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                  // Splitting requires the buffer to be owned, so the writer must have released it already.
+                  try (Buffer buffer = (Buffer) msg; Buffer ignore = buffer.split(4)) {
+                      messageLatch.countDown();
+                  } catch (Throwable cause) {
+                      failure.compareAndSet(null, cause);
+                  }
+              }
+          });
+
+        Channel sc = null;
+        Channel cc = null;
+        try {
+            // Start server
+            sc = sb.bind(TEST_ADDRESS).asStage().get();
+
+            // Connect to the server
+            cc = cb.connect(sc.localAddress()).asStage().get();
+
+            final Channel ccCpy = cc;
+            // Flush in batches, so the peer reads the earlier ones while we hand over the next ones.
+            cc.executor().execute(() -> {
+                for (int i = 0; i < messages; i++) {
+                    ccCpy.write(allocator.apply(8).writeLong(i));
+                    if (i % 100 == 99) {
+                        ccCpy.flush();
+                    }
+                }
+            });
+            assertTrue(messageLatch.await(10, SECONDS) || failure.get() != null);
+            assertNull(failure.get());
+        } finally {
+            closeChannel(cc);
+            closeChannel(sc);
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("allocators")
     public void testWriteInWritePromiseCompletePreservesOrder(IntFunction<Buffer> allocator) throws Exception {
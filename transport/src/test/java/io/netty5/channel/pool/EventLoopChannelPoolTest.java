@@ -0,0 +1,262 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.pool;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.EventLoop;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.local.LocalAddress;
+import io.netty5.channel.local.LocalChannel;
+import io.netty5.channel.local.LocalHandler;
+import io.netty5.channel.local.LocalServerChannel;
+import io.netty5.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventLoopChannelPoolTest {
+
+    private static EventLoopGroup group;
+
+    private LocalAddress address;
+    private Channel serverChannel;
+
+    @BeforeAll
+    public static void createGroup() {
+        group = new MultithreadEventLoopGroup(2, LocalHandler.newFactory());
+    }
+
+    @AfterAll
+    public static void destroyGroup() throws Exception {
+        group.shutdownGracefully(0, 0, SECONDS).asStage().sync();
+    }
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        address = new LocalAddress(getClass());
+        serverChannel = new ServerBootstrap()
+                .group(group)
+                .channel(LocalServerChannel.class)
+                .childHandler(new ChannelHandler() { })
+                .bind(address).asStage().get();
+    }
+
+    @AfterEach
+    public void stopServer() throws Exception {
+        serverChannel.close().asStage().sync();
+    }
+
+    private Bootstrap bootstrap() {
+        return new Bootstrap().group(group).channel(LocalChannel.class).remoteAddress(address);
+    }
+
+    @Test
+    public void testAcquireReleaseReusesChannel() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger acquired = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap())
+                .handler(new ChannelPoolHandler() {
+                    @Override
+                    public void channelCreated(Channel ch) {
+                        created.incrementAndGet();
+                    }
+
+                    @Override
+                    public void channelAcquired(Channel ch) {
+                        acquired.incrementAndGet();
+                    }
+
+                    @Override
+                    public void channelReleased(Channel ch) {
+                        released.incrementAndGet();
+                    }
+                }).build();
+
+        EventLoop loop = group.next();
+        Channel channel = pool.acquire(loop).asStage().get();
+        assertSame(loop, channel.executor());
+        assertEquals(1, pool.metrics().acquiredChannels());
+        pool.release(channel).asStage().sync();
+        assertEquals(0, pool.metrics().acquiredChannels());
+        assertEquals(1, pool.metrics().idleChannels());
+
+        Channel channel2 = pool.acquire(loop).asStage().get();
+        assertSame(channel, channel2);
+        pool.release(channel2).asStage().sync();
+
+        assertEquals(1, created.get());
+        assertEquals(2, acquired.get());
+        assertEquals(2, released.get());
+        assertEquals(1, pool.metrics().createdChannels());
+        assertEquals(2, pool.metrics().acquires());
+        pool.close().asStage().sync();
+        channel.closeFuture().asStage().sync();
+    }
+
+    @Test
+    public void testAcquireFromEventLoopUsesSameEventLoop() throws Exception {
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap()).build();
+        for (int i = 0; i < 4; i++) {
+            EventLoop loop = group.next();
+            Callable<Future<Channel>> acquire = pool::acquire;
+            Channel channel = loop.submit(acquire).asStage().get().asStage().get();
+            assertSame(loop, channel.executor());
+            pool.release(channel).asStage().sync();
+        }
+        pool.close().asStage().sync();
+    }
+
+    @Test
+    public void testPendingAcquireIsServedOnRelease() throws Exception {
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap())
+                .maxConnectionsPerEventLoop(1).build();
+        EventLoop loop = group.next();
+        Channel channel = pool.acquire(loop).asStage().get();
+        Future<Channel> pending = pool.acquire(loop);
+        assertFalse(pending.asStage().await(100, MILLISECONDS));
+        assertEquals(1, pool.metrics(loop).pendingAcquires());
+
+        pool.release(channel).asStage().sync();
+        assertSame(channel, pending.asStage().get());
+        assertEquals(0, pool.metrics(loop).pendingAcquires());
+        assertThat(pool.metrics().maxAcquireWaitTimeNanos()).isGreaterThan(0);
+        pool.release(channel).asStage().sync();
+        pool.close().asStage().sync();
+    }
+
+    @Test
+    public void testAcquireTimeout() throws Exception {
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap())
+                .maxConnectionsPerEventLoop(1)
+                .acquireTimeout(Duration.ofMillis(50)).build();
+        EventLoop loop = group.next();
+        Channel channel = pool.acquire(loop).asStage().get();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pool.acquire(loop).asStage().get());
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(1, pool.metrics().acquireTimeouts());
+        pool.release(channel).asStage().sync();
+        pool.close().asStage().sync();
+    }
+
+    @Test
+    public void testMaxPendingAcquires() throws Exception {
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap())
+                .maxConnectionsPerEventLoop(1)
+                .maxPendingAcquiresPerEventLoop(0).build();
+        EventLoop loop = group.next();
+        Channel channel = pool.acquire(loop).asStage().get();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pool.acquire(loop).asStage().get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        pool.release(channel).asStage().sync();
+        pool.close().asStage().sync();
+    }
+
+    @Test
+    public void testUnhealthyChannelIsReplaced() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap())
+                .releaseHealthCheck(false)
+                .healthChecker(ch -> ch.executor().newSucceededFuture(checks.incrementAndGet() > 1))
+                .build();
+        EventLoop loop = group.next();
+        Channel channel = pool.acquire(loop).asStage().get();
+        pool.release(channel).asStage().sync();
+
+        Channel channel2 = pool.acquire(loop).asStage().get();
+        assertNotSame(channel, channel2);
+        channel.closeFuture().asStage().sync();
+        assertEquals(2, pool.metrics().createdChannels());
+        pool.release(channel2).asStage().sync();
+        pool.close().asStage().sync();
+    }
+
+    @Test
+    public void testClosedChannelIsNotPooled() throws Exception {
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap()).build();
+        EventLoop loop = group.next();
+        Channel channel = pool.acquire(loop).asStage().get();
+        channel.close().asStage().sync();
+        pool.release(channel).asStage().sync();
+        assertEquals(0, pool.metrics().idleChannels());
+        assertEquals(0, pool.metrics().acquiredChannels());
+        pool.close().asStage().sync();
+    }
+
+    @Test
+    public void testIdleChannelsAreEvicted() throws Exception {
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap())
+                .idleTimeout(Duration.ofMillis(50)).build();
+        EventLoop loop = group.next();
+        Channel channel = pool.acquire(loop).asStage().get();
+        pool.release(channel).asStage().sync();
+        channel.closeFuture().asStage().sync();
+        assertEquals(1, pool.metrics().evictedChannels());
+        assertEquals(0, pool.metrics().idleChannels());
+        pool.close().asStage().sync();
+    }
+
+    @Test
+    public void testReleaseForeignChannelFails() throws Exception {
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap()).build();
+        EventLoopChannelPool other = new EventLoopChannelPoolBuilder(bootstrap()).build();
+        Channel channel = other.acquire().asStage().get();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pool.release(channel).asStage().get());
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        other.release(channel).asStage().sync();
+        pool.close().asStage().sync();
+        other.close().asStage().sync();
+    }
+
+    @Test
+    public void testCloseFailsPendingAcquiresAndClosesIdleChannels() throws Exception {
+        EventLoopChannelPool pool = new EventLoopChannelPoolBuilder(bootstrap())
+                .maxConnectionsPerEventLoop(1).build();
+        EventLoop loop = group.next();
+        Channel channel = pool.acquire(loop).asStage().get();
+        Future<Channel> pending = pool.acquire(loop);
+        pool.close().asStage().sync();
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pending.asStage().get());
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+
+        pool.release(channel).asStage().sync();
+        channel.closeFuture().asStage().sync();
+        assertTrue(pool.acquire(loop).asStage().await().isFailed());
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import io.netty5.bootstrap.Bootstrap;
+import io.netty5.bootstrap.ServerBootstrap;
+import io.netty5.buffer.api.Buffer;
+import io.netty5.channel.Channel;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.channel.EventLoopGroup;
+import io.netty5.channel.MultithreadEventLoopGroup;
+import io.netty5.channel.SimpleChannelInboundHandler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.BindException;
+import java.net.ConnectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(value = 30, unit = SECONDS)
+public class SharedMemoryChannelTest {
+
+    private static EventLoopGroup group;
+    private static EventLoopGroup pollingGroup;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    public static void createGroup() {
+        group = new MultithreadEventLoopGroup(2, SharedMemoryHandler.newFactory());
+        pollingGroup = new MultithreadEventLoopGroup(1, SharedMemoryHandler.newFactory(Duration.ofNanos(50_000)));
+    }
+
+    @AfterAll
+    public static void destroyGroup() throws Exception {
+        group.shutdownGracefully(0, 0, SECONDS).asStage().sync();
+        pollingGroup.shutdownGracefully(0, 0, SECONDS).asStage().sync();
+    }
+
+    private Channel bindEchoServer(SharedMemoryAddress address) throws Exception {
+        return new ServerBootstrap()
+                .group(group)
+                .channel(SharedMemoryServerChannel.class)
+                .childHandler(new ChannelHandler() {
+                    @Override
+                    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+                        ctx.write(msg);
+                    }
+
+                    @Override
+                    public void channelReadComplete(ChannelHandlerContext ctx) {
+                        ctx.flush();
+                    }
+                })
+                .bind(address).asStage().get();
+    }
+
+    @Test
+    public void testEchoLargerThanRingBuffer() throws Exception {
+        testEchoLargerThanRingBuffer(group);
+    }
+
+    @Test
+    public void testEchoLargerThanRingBufferWithPollingPeer() throws Exception {
+        testEchoLargerThanRingBuffer(pollingGroup);
+    }
+
+    private void testEchoLargerThanRingBuffer(EventLoopGroup clientGroup) throws Exception {
+        SharedMemoryAddress address = new SharedMemoryAddress(dir.resolve("echo"));
+        Channel server = bindEchoServer(address);
+
+        byte[] data = new byte[SharedMemoryRingBuffer.MIN_CAPACITY * 16 + 7];
+        ThreadLocalRandom.current().nextBytes(data);
+        byte[] received = new byte[data.length];
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Channel client = new Bootstrap()
+                .group(clientGroup)
+                .channel(SharedMemoryChannel.class)
+                .option(SharedMemoryChannelOption.RING_BUFFER_SIZE, SharedMemoryRingBuffer.MIN_CAPACITY)
+                .handler(new SimpleChannelInboundHandler<Buffer>() {
+                    private int offset;
+
+                    @Override
+                    protected void messageReceived(ChannelHandlerContext ctx, Buffer msg) {
+                        int length = msg.readableBytes();
+                        msg.readBytes(received, offset, length);
+                        offset += length;
+                        if (offset == received.length) {
+                            latch.countDown();
+                        }
+                    }
+                })
+                .connect(address).asStage().get();
+
+        client.writeAndFlush(client.bufferAllocator().copyOf(data)).asStage().sync();
+        assertTrue(latch.await(10, SECONDS));
+        assertArrayEquals(data, received);
+
+        client.close().asStage().sync();
+        server.close().asStage().sync();
+    }
+
+    @Test
+    public void testCloseIsPropagatedToPeer() throws Exception {
+        SharedMemoryAddress address = new SharedMemoryAddress(dir.resolve("close"));
+        CountDownLatch childInactive = new CountDownLatch(1);
+        Channel server = new ServerBootstrap()
+                .group(group)
+                .channel(SharedMemoryServerChannel.class)
+                .childHandler(new ChannelHandler() {
+                    @Override
+                    public void channelInactive(ChannelHandlerContext ctx) {
+                        childInactive.countDown();
+                    }
+                })
+                .bind(address).asStage().get();
+
+        Channel client = new Bootstrap()
+                .group(group)
+                .channel(SharedMemoryChannel.class)
+                .handler(new ChannelHandler() { })
+                .connect(address).asStage().get();
+        assertTrue(client.isActive());
+
+        client.close().asStage().sync();
+        assertTrue(childInactive.await(10, SECONDS));
+        server.close().asStage().sync();
+
+        try (var files = Files.list(address.directory())) {
+            assertFalse(files.findAny().isPresent());
+        }
+    }
+
+    @Test
+    public void testConnectRefused() {
+        SharedMemoryAddress address = new SharedMemoryAddress(dir.resolve("nobody"));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> new Bootstrap()
+                .group(group)
+                .channel(SharedMemoryChannel.class)
+                .handler(new ChannelHandler() { })
+                .connect(address).asStage().get());
+        assertInstanceOf(ConnectException.class, e.getCause());
+    }
+
+    @Test
+    public void testBindTwice() throws Exception {
+        SharedMemoryAddress address = new SharedMemoryAddress(dir.resolve("twice"));
+        Channel server = bindEchoServer(address);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> bindEchoServer(address));
+        assertInstanceOf(BindException.class, e.getCause());
+        server.close().asStage().sync();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedMemoryDoorbellTest {
+
+    @Test
+    public void testRing() throws Exception {
+        SharedMemoryDoorbell doorbell = SharedMemoryDoorbell.open(true);
+        SharedMemoryDoorbell peer = SharedMemoryDoorbell.open(false);
+        try {
+            assertEquals(0, peer.port());
+            peer.ring(doorbell.port(), doorbell.key());
+            assertTrue(doorbell.await(TimeUnit.SECONDS.toNanos(10)));
+            assertFalse(doorbell.await(0));
+        } finally {
+            peer.close();
+            doorbell.close();
+        }
+    }
+
+    @Test
+    public void testDiscardsForeignDatagrams() throws Exception {
+        SharedMemoryDoorbell doorbell = SharedMemoryDoorbell.open(true);
+        SharedMemoryDoorbell peer = SharedMemoryDoorbell.open(false);
+        try (DatagramChannel foreign = DatagramChannel.open()) {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), doorbell.port());
+            foreign.send(ByteBuffer.allocate(1), address);
+            foreign.send(ByteBuffer.allocate(Long.BYTES).putLong(0, doorbell.key() + 1), address);
+            peer.ring(doorbell.port(), doorbell.key() - 1);
+            assertFalse(doorbell.await(TimeUnit.MILLISECONDS.toNanos(100)));
+
+            peer.ring(doorbell.port(), doorbell.key());
+            assertTrue(doorbell.await(TimeUnit.SECONDS.toNanos(10)));
+        } finally {
+            peer.close();
+            doorbell.close();
+        }
+    }
+
+    @Test
+    public void testWakeup() throws Exception {
+        SharedMemoryDoorbell doorbell = SharedMemoryDoorbell.open(true);
+        try {
+            doorbell.wakeup();
+            long start = System.nanoTime();
+            assertFalse(doorbell.await(TimeUnit.SECONDS.toNanos(10)));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        } finally {
+            doorbell.close();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.netty5.channel.shm;
+
+import io.netty5.buffer.api.Buffer;
+import io.netty5.buffer.api.BufferAllocator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SharedMemoryRingBufferTest {
+    private static final int CAPACITY = SharedMemoryRingBuffer.MIN_CAPACITY;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SharedMemoryRingBuffer.create(dir.resolve("ring"), CAPACITY + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> SharedMemoryRingBuffer.create(dir.resolve("ring"), CAPACITY / 2));
+    }
+
+    @Test
+    public void testOpenInvalidFile() throws Exception {
+        Path file = dir.resolve("ring");
+        Files.write(file, new byte[SharedMemoryRingBuffer.HEADER_SIZE]);
+        assertThrows(IOException.class, () -> SharedMemoryRingBuffer.open(file));
+    }
+
+    @Test
+    public void testWriteAndReadWithWrapAround() throws Exception {
+        Path file = dir.resolve("ring");
+        SharedMemoryRingBuffer producer = SharedMemoryRingBuffer.create(file, CAPACITY);
+        SharedMemoryRingBuffer consumer = SharedMemoryRingBuffer.open(file);
+        BufferAllocator allocator = BufferAllocator.onHeapUnpooled();
+        try (Buffer src = allocator.allocate(CAPACITY * 3);
+             Buffer dst = allocator.allocate(CAPACITY * 3)) {
+            for (int i = 0; i < CAPACITY * 3; i++) {
+                src.writeByte((byte) i);
+            }
+            int chunk = CAPACITY / 3 * 2;
+            while (src.readableBytes() > 0) {
+                try (Buffer slice = src.readSplit(Math.min(chunk, src.readableBytes()))) {
+                    assertEquals(slice.readableBytes(), producer.write(slice));
+                }
+                assertEquals(0, producer.write(allocator.allocate(0)));
+                while (consumer.readableBytes() > 0) {
+                    consumer.read(dst);
+                }
+            }
+            assertEquals(CAPACITY * 3, dst.readableBytes());
+            for (int i = 0; i < CAPACITY * 3; i++) {
+                assertEquals((byte) i, dst.readByte());
+            }
+        } finally {
+            producer.release();
+            consumer.release();
+        }
+    }
+
+    @Test
+    public void testWriteWhenFull() throws Exception {
+        Path file = dir.resolve("ring");
+        SharedMemoryRingBuffer producer = SharedMemoryRingBuffer.create(file, CAPACITY);
+        SharedMemoryRingBuffer consumer = SharedMemoryRingBuffer.open(file);
+        BufferAllocator allocator = BufferAllocator.onHeapUnpooled();
+        try (Buffer src = allocator.allocate(CAPACITY + 10).fill((byte) 1).writerOffset(CAPACITY + 10);
+             Buffer dst = allocator.allocate(16)) {
+            assertEquals(CAPACITY, producer.write(src));
+            assertEquals(10, src.readableBytes());
+            assertEquals(0, producer.writableBytes());
+            assertEquals(0, producer.write(src));
+
+            assertEquals(16, consumer.read(dst));
+            assertEquals(10, producer.write(src));
+            assertEquals(CAPACITY - 6, consumer.readableBytes());
+        } finally {
+            producer.release();
+            consumer.release();
+        }
+    }
+
+    @Test
+    public void testProducerClosedSignalsEndOfStream() throws Exception {
+        Path file = dir.resolve("ring");
+        SharedMemoryRingBuffer producer = SharedMemoryRingBuffer.create(file, CAPACITY);
+        SharedMemoryRingBuffer consumer = SharedMemoryRingBuffer.open(file);
+        BufferAllocator allocator = BufferAllocator.onHeapUnpooled();
+        try (Buffer src = allocator.allocate(4).writeInt(42);
+             Buffer dst = allocator.allocate(16)) {
+            producer.write(src);
+            producer.closeProducer();
+            assertFalse(consumer.isConsumerClosed());
+            assertEquals(4, consumer.read(dst));
+            assertEquals(42, dst.readInt());
+            assertEquals(-1, consumer.read(dst));
+
+            consumer.closeConsumer();
+            assertTrue(producer.isConsumerClosed());
+        } finally {
+            producer.release();
+            consumer.release();
+        }
+    }
+
+    @Test
+    public void testWaitingSideIsWokenUpOnce() throws Exception {
+        Path file = dir.resolve("ring");
+        SharedMemoryRingBuffer producer = SharedMemoryRingBuffer.create(file, CAPACITY);
+        SharedMemoryRingBuffer consumer = SharedMemoryRingBuffer.open(file);
+        BufferAllocator allocator = BufferAllocator.onHeapUnpooled();
+        try (Buffer src = allocator.allocate(CAPACITY).fill((byte) 1).writerOffset(CAPACITY);
+             Buffer dst = allocator.allocate(16)) {
+            consumer.consumerDoorbell(1234, 42);
+            producer.producerDoorbell(4321, 24);
+            assertEquals(0, producer.consumerToWake());
+
+            assertTrue(consumer.armConsumer());
+            assertEquals(CAPACITY, producer.write(src));
+            assertEquals(1234, producer.consumerToWake());
+            assertEquals(42, producer.consumerDoorbellKey());
+            assertEquals(0, producer.consumerToWake());
+            // There are bytes to read, so the consumer must not block.
+            assertFalse(consumer.armConsumer());
+
+            assertTrue(producer.armProducer());
+            assertEquals(16, consumer.read(dst));
+            assertEquals(4321, consumer.producerToWake());
+            assertEquals(24, consumer.producerDoorbellKey());
+            assertEquals(0, consumer.producerToWake());
+            assertFalse(producer.armProducer());
+        } finally {
+            producer.release();
+            consumer.release();
+        }
+    }
+
+    @Test
+    public void testAccessAfterRelease() throws Exception {
+        SharedMemoryRingBuffer ring = SharedMemoryRingBuffer.create(dir.resolve("ring"), CAPACITY);
+        ring.release();
+        assertTrue(ring.isReleased());
+        try (Buffer buffer = BufferAllocator.onHeapUnpooled().allocate(8)) {
+            assertThrows(ClosedChannelException.class, () -> ring.read(buffer));
+            assertThrows(ClosedChannelException.class, () -> ring.write(buffer));
+        }
+    }
+}